@@ -0,0 +1,85 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.condition;
+
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.jboss.reddeer.common.util.Display;
+import org.jboss.reddeer.common.wait.WaitNotifier;
+
+/**
+ * Abstract implementation of {@link EventAwareWaitCondition} which notifies 
+ * waits whenever SWT event of specified type is dispatched by the display, 
+ * e.g. SWT.Show, SWT.Dispose, SWT.Activate or SWT.Modify.
+ * 
+ * @since 2.0
+ */
+public abstract class AbstractDisplayEventWaitCondition extends AbstractWaitCondition 
+	implements EventAwareWaitCondition {
+
+	private final int[] eventTypes;
+
+	private Listener listener;
+
+	/**
+	 * Constructs wait condition notified about events of specified types.
+	 * 
+	 * @param eventTypes SWT event types
+	 */
+	protected AbstractDisplayEventWaitCondition(int... eventTypes) {
+		this.eventTypes = eventTypes.clone();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventAwareWaitCondition#registerListeners(org.jboss.reddeer.common.wait.WaitNotifier)
+	 */
+	@Override
+	public void registerListeners(final WaitNotifier notifier) {
+		final Listener newListener = new Listener() {
+
+			@Override
+			public void handleEvent(Event event) {
+				notifier.notifyWait();
+			}
+		};
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				for (int eventType : eventTypes) {
+					Display.getDisplay().addFilter(eventType, newListener);
+				}
+			}
+		});
+		listener = newListener;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventAwareWaitCondition#unregisterListeners()
+	 */
+	@Override
+	public void unregisterListeners() {
+		final Listener oldListener = listener;
+		listener = null;
+		if (oldListener == null) {
+			return;
+		}
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				for (int eventType : eventTypes) {
+					Display.getDisplay().removeFilter(eventType, oldListener);
+				}
+			}
+		});
+	}
+}
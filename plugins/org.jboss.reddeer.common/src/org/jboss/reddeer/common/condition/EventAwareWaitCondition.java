@@ -0,0 +1,38 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.condition;
+
+import org.jboss.reddeer.common.wait.WaitNotifier;
+
+/**
+ * Wait condition which is able to wake up a waiting thread as soon as 
+ * an event which can change result of the condition occurs, e.g. a shell 
+ * is activated or a job is finished. Waits test such condition immediately 
+ * after a notification instead of waiting for next polling tick.
+ * 
+ * @since 2.0
+ */
+public interface EventAwareWaitCondition extends WaitCondition {
+
+	/**
+	 * Registers listeners notifying specified notifier about relevant events. 
+	 * Called once before the condition is tested for the first time.
+	 * 
+	 * @param notifier notifier to be notified about relevant events
+	 */
+	void registerListeners(WaitNotifier notifier);
+
+	/**
+	 * Unregisters all listeners registered by {@link #registerListeners(WaitNotifier)}.
+	 * Called once waiting is finished.
+	 */
+	void unregisterListeners();
+}
@@ -0,0 +1,179 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Log appender which stores log messages into a bounded ring buffer and writes them 
+ * in batches from a background thread to a given output stream. Logging thread is 
+ * blocked only if the ring buffer is full.
+ * 
+ * @since 2.0
+ */
+public class AsyncLogAppender implements LogAppender {
+
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+	private final String[] buffer;
+	private final Writer writer;
+	private final boolean closeOutput;
+	private final Thread writerThread;
+
+	// index of the next message to write
+	private long head = 0;
+	// index of the next free slot
+	private long tail = 0;
+	// index of the last message which was written to the output
+	private long written = 0;
+	private boolean closed = false;
+
+	/**
+	 * Creates asynchronous appender with default capacity writing to a given stream.
+	 * 
+	 * @param out output stream to write log messages to
+	 */
+	public AsyncLogAppender(OutputStream out) {
+		this(out, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates asynchronous appender writing to a given stream.
+	 * 
+	 * @param out output stream to write log messages to
+	 * @param capacity maximal count of messages waiting to be written
+	 */
+	public AsyncLogAppender(OutputStream out, int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity has to be greater than 0");
+		}
+		this.buffer = new String[capacity];
+		this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+		// standard streams are shared with the rest of the application
+		this.closeOutput = out != System.out && out != System.err;
+		this.writerThread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				writeMessages();
+			}
+		}, "RedDeer log appender");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.logging.LogAppender#append(java.lang.String)
+	 */
+	@Override
+	public synchronized void append(String message) {
+		while (!closed && tail - head == buffer.length) {
+			awaitChange();
+		}
+		if (closed) {
+			System.out.println(message);
+			return;
+		}
+		buffer[(int) (tail % buffer.length)] = message;
+		tail++;
+		notifyAll();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.logging.LogAppender#flush()
+	 */
+	@Override
+	public synchronized void flush() {
+		long target = tail;
+		while (!closed && written < target) {
+			awaitChange();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.logging.LogAppender#close()
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			flush();
+			closed = true;
+			notifyAll();
+		}
+		try {
+			writerThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void writeMessages() {
+		StringBuilder batch = new StringBuilder();
+		while (true) {
+			long batchEnd;
+			synchronized (this) {
+				while (!closed && head == tail) {
+					awaitChange();
+				}
+				if (head == tail) {
+					break;
+				}
+				batchEnd = tail;
+				for (long i = head; i < batchEnd; i++) {
+					int index = (int) (i % buffer.length);
+					batch.append(buffer[index]).append(LINE_SEPARATOR);
+					buffer[index] = null;
+				}
+				head = batchEnd;
+				// producers can continue while the batch is being written
+				notifyAll();
+			}
+			try {
+				writer.write(batch.toString());
+				writer.flush();
+			} catch (IOException e) {
+				System.err.println("Unable to write log messages: " + e.getMessage());
+			}
+			batch.setLength(0);
+			synchronized (this) {
+				written = batchEnd;
+				notifyAll();
+			}
+		}
+		try {
+			if (closeOutput) {
+				writer.close();
+			} else {
+				writer.flush();
+			}
+		} catch (IOException e) {
+			System.err.println("Unable to flush log messages: " + e.getMessage());
+		}
+	}
+
+	private void awaitChange() {
+		try {
+			wait();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Waiting for log appender interrupted", e);
+		}
+	}
+}
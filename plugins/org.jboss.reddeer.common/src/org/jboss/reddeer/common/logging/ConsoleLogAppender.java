@@ -0,0 +1,43 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.logging;
+
+/**
+ * Log appender synchronously printing log messages to standard output.
+ * 
+ * @since 2.0
+ */
+public class ConsoleLogAppender implements LogAppender {
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.logging.LogAppender#append(java.lang.String)
+	 */
+	@Override
+	public void append(String message) {
+		System.out.println(message);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.logging.LogAppender#flush()
+	 */
+	@Override
+	public void flush() {
+		System.out.flush();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.logging.LogAppender#close()
+	 */
+	@Override
+	public void close() {
+		flush();
+	}
+}
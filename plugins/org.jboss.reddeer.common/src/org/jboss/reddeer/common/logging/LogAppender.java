@@ -0,0 +1,36 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.logging;
+
+/**
+ * Log appender writes formatted log messages produced by {@link Logger}.
+ * 
+ * @since 2.0
+ */
+public interface LogAppender {
+
+	/**
+	 * Appends formatted log message.
+	 * 
+	 * @param message formatted log message
+	 */
+	void append(String message);
+
+	/**
+	 * Makes sure all appended messages are written.
+	 */
+	void flush();
+
+	/**
+	 * Flushes all appended messages and releases resources held by the appender.
+	 */
+	void close();
+}
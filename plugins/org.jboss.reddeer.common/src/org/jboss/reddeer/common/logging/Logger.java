@@ -10,12 +10,19 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.common.logging;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import org.jboss.reddeer.common.context.ExecutionSetting;
 import org.jboss.reddeer.common.exception.RedDeerException;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
 
 /**
  * Simple console logger for Reddeer
@@ -25,7 +32,18 @@ import org.jboss.reddeer.common.exception.RedDeerException;
  */
 public class Logger {
 
-	private DateFormat dateFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+	private static final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+	private static final ConcurrentMap<Class<?>, Logger> loggers = new ConcurrentHashMap<Class<?>, Logger>();
+
+	private static final ThreadLocal<StringBuilder> messageBuilder = new ThreadLocal<StringBuilder>() {
+		@Override
+		protected StringBuilder initialValue() {
+			return new StringBuilder(256);
+		}
+	};
+
+	private static volatile LogAppender appender;
 
 	private static final String error = "ERROR";
 	private static final String warning = "WARNING";
@@ -36,16 +54,25 @@ public class Logger {
 	private static final String fatal = "FATAL";
 	private static final String step = "STEP";
 
-	private Class<?> loggerClass;
+	private String loggerName;
 
 	/**
-	 * Returns logger based on given class.
+	 * Returns logger based on given class. Loggers are cached, so there is 
+	 * only one logger instance per class.
 	 *
 	 * @param c given class
 	 * @return logger instance
 	 */
 	public static Logger getLogger(Class<?> c) {
-		return new Logger(c);
+		Logger logger = loggers.get(c);
+		if (logger == null) {
+			Logger newLogger = new Logger(c);
+			logger = loggers.putIfAbsent(c, newLogger);
+			if (logger == null) {
+				logger = newLogger;
+			}
+		}
+		return logger;
 	}
 
 	/**
@@ -54,7 +81,109 @@ public class Logger {
 	 * @param c given class
 	 */
 	public Logger(Class<?> c) {
-		this.loggerClass = c;
+		this.loggerName = c.getSimpleName();
+	}
+
+	/**
+	 * Returns appender used by all loggers. Appender is created on first use according 
+	 * to rd.logAppender and rd.logFile properties.
+	 * 
+	 * @return log appender
+	 */
+	public static LogAppender getAppender() {
+		LogAppender result = appender;
+		if (result == null) {
+			synchronized (Logger.class) {
+				if (appender == null) {
+					appender = createAppender();
+				}
+				result = appender;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Sets appender used by all loggers. Previous appender is flushed but not closed.
+	 * 
+	 * @param newAppender new log appender
+	 */
+	public static void setAppender(LogAppender newAppender) {
+		if (newAppender == null) {
+			throw new IllegalArgumentException("appender can't be null");
+		}
+		synchronized (Logger.class) {
+			if (appender != null) {
+				appender.flush();
+			}
+			appender = newAppender;
+		}
+	}
+
+	private static LogAppender createAppender() {
+		String logFile = RedDeerProperties.LOG_FILE.getValue();
+		final LogAppender result;
+		if (logFile != null) {
+			try {
+				result = new AsyncLogAppender(new FileOutputStream(logFile, true));
+			} catch (FileNotFoundException e) {
+				throw new RedDeerException("Cannot open log file " + logFile, e);
+			}
+		} else if ("async".equals(RedDeerProperties.LOG_APPENDER.getValue())) {
+			result = new AsyncLogAppender(System.out);
+		} else {
+			return new ConsoleLogAppender();
+		}
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				result.close();
+			}
+		}, "RedDeer log appender shutdown"));
+		return result;
+	}
+
+	/**
+	 * Finds out whether messages of given type would be logged.
+	 * 
+	 * @param type message type, see {@link MessageType}
+	 * @return true if messages of given type are logged, false otherwise
+	 */
+	public boolean isEnabled(int type) {
+		ExecutionSetting setting = ExecutionSetting.getInstance();
+		if ((type & setting.getLogMessageFilter()) != type) {
+			return false;
+		}
+		return setting.getLogLevel() >= getLevelFromMsgType(type).getValue();
+	}
+
+	/**
+	 * Finds out whether debug messages are logged. Use it to avoid building 
+	 * of expensive messages which would be filtered out anyway.
+	 * 
+	 * @return true if debug messages are logged, false otherwise
+	 */
+	public boolean isDebugEnabled() {
+		return isEnabled(MessageType.DEBUG);
+	}
+
+	/**
+	 * Finds out whether trace messages are logged.
+	 * 
+	 * @return true if trace messages are logged, false otherwise
+	 */
+	public boolean isTraceEnabled() {
+		return isEnabled(MessageType.TRACE);
+	}
+
+	/**
+	 * Finds out whether info messages are logged.
+	 * 
+	 * @return true if info messages are logged, false otherwise
+	 */
+	public boolean isInfoEnabled() {
+		return isEnabled(MessageType.INFO);
 	}
 
 	/**
@@ -66,6 +195,18 @@ public class Logger {
 		print(debug, msg, MessageType.DEBUG);
 	}
 
+	/**
+	 * Log debug message supplied by given supplier. Supplier is called only
+	 * if the message is really logged.
+	 *
+	 * @param msgSupplier message supplier
+	 */
+	public void debug(Supplier<String> msgSupplier) {
+		if (isEnabled(MessageType.DEBUG)) {
+			print(debug, msgSupplier.get(), MessageType.DEBUG);
+		}
+	}
+
 	/**
 	 * Log debug message using formatting string and arguments.
 	 *
@@ -74,7 +215,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void debug(String fmtString, Object... args) {
-		debug(String.format(fmtString, args));
+		if (isEnabled(MessageType.DEBUG)) {
+			debug(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -86,6 +229,18 @@ public class Logger {
 		print(trace, msg, MessageType.TRACE);
 	}
 
+	/**
+	 * Log trace message supplied by given supplier. Supplier is called only
+	 * if the message is really logged.
+	 *
+	 * @param msgSupplier message supplier
+	 */
+	public void trace(Supplier<String> msgSupplier) {
+		if (isEnabled(MessageType.TRACE)) {
+			print(trace, msgSupplier.get(), MessageType.TRACE);
+		}
+	}
+
 	/**
 	 * Log trace message using formatting string and arguments.
 	 *
@@ -94,7 +249,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void trace(String fmtString, Object... args) {
-		trace(String.format(fmtString, args));
+		if (isEnabled(MessageType.TRACE)) {
+			trace(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -106,6 +263,18 @@ public class Logger {
 		print(warning, msg, MessageType.WARN);
 	}
 
+	/**
+	 * Log warning message supplied by given supplier. Supplier is called only
+	 * if the message is really logged.
+	 *
+	 * @param msgSupplier message supplier
+	 */
+	public void warn(Supplier<String> msgSupplier) {
+		if (isEnabled(MessageType.WARN)) {
+			print(warning, msgSupplier.get(), MessageType.WARN);
+		}
+	}
+
 	/**
 	 * Log warning message using formatting string and arguments.
 	 *
@@ -114,7 +283,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void warn(String fmtString, Object... args) {
-		warn(String.format(fmtString, args));
+		if (isEnabled(MessageType.WARN)) {
+			warn(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -134,7 +305,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void error(String fmtString, Object... args) {
-		error(String.format(fmtString, args));
+		if (isEnabled(MessageType.ERROR)) {
+			error(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -144,8 +317,10 @@ public class Logger {
 	 * @param t throwable
 	 */
 	public void error(String msg, Throwable t) {
-		print(error, msg, MessageType.ERROR);
-		printStackTraceRecursive(t);
+		if (isEnabled(MessageType.ERROR)) {
+			print(error, msg, MessageType.ERROR);
+			printStackTraceRecursive(t);
+		}
 	}
 
 	/**
@@ -158,7 +333,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void error(String fmtString, Throwable t, Object... args) {
-		error(String.format(fmtString, args), t);
+		if (isEnabled(MessageType.ERROR)) {
+			error(String.format(fmtString, args), t);
+		}
 	}
 
 	/**
@@ -170,6 +347,18 @@ public class Logger {
 		print(info, msg, MessageType.INFO);
 	}
 
+	/**
+	 * Log info message supplied by given supplier. Supplier is called only
+	 * if the message is really logged.
+	 *
+	 * @param msgSupplier message supplier
+	 */
+	public void info(Supplier<String> msgSupplier) {
+		if (isEnabled(MessageType.INFO)) {
+			print(info, msgSupplier.get(), MessageType.INFO);
+		}
+	}
+
 	/**
 	 * Log info message using formatting string and arguments.
 	 *
@@ -178,7 +367,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void info(String fmtString, Object... args) {
-		info(String.format(fmtString, args));
+		if (isEnabled(MessageType.INFO)) {
+			info(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -190,6 +381,18 @@ public class Logger {
 		print(dump, msg, MessageType.DUMP);
 	}
 
+	/**
+	 * Log dump message supplied by given supplier. Supplier is called only
+	 * if the message is really logged.
+	 *
+	 * @param msgSupplier message supplier
+	 */
+	public void dump(Supplier<String> msgSupplier) {
+		if (isEnabled(MessageType.DUMP)) {
+			print(dump, msgSupplier.get(), MessageType.DUMP);
+		}
+	}
+
 	/**
 	 * Log dump message using formatting string and arguments.
 	 *
@@ -198,7 +401,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void dump(String fmtString, Object... args) {
-		dump(String.format(fmtString, args));
+		if (isEnabled(MessageType.DUMP)) {
+			dump(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -226,7 +431,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void step(String fmtString, Object... args) {
-		step(String.format(fmtString, args));
+		if (isEnabled(MessageType.STEP)) {
+			step(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -254,30 +461,29 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void fatal(String fmtString, Object... args) {
-		fatal(String.format(fmtString, args));
+		if (isEnabled(MessageType.FATAL)) {
+			fatal(String.format(fmtString, args));
+		}
 	}
 
 	private void print(String severity, String msg, int type) {
-		if ((type & ExecutionSetting.getInstance().getLogMessageFilter()) != type)
+		if (!isEnabled(type)) {
 			return;
-		
-		int logLevel = ExecutionSetting.getInstance().getLogLevel();
-		if (logLevel < getLevelFromMsgType(type).getValue()) {
-			return; 
 		}
 
-		StringBuilder sb = new StringBuilder();
-		sb.append(dateFormat.format(new Date()) + " ");		
-
+		StringBuilder sb = messageBuilder.get();
+		sb.setLength(0);
+		dateFormat.formatTo(LocalTime.now(), sb);
+		sb.append(' ');
 		sb.append(severity);
 		sb.append(" [");
 		sb.append(getThreadName());
 		sb.append("]");
 		sb.append("[");
-		sb.append(loggerClass.getSimpleName());
+		sb.append(loggerName);
 		sb.append("] ");
 		sb.append(msg);
-		System.out.println(sb.toString());
+		getAppender().append(sb.toString());
 	}
 
 	private LogLevel getLevelFromMsgType(int msgType) {
@@ -305,7 +511,14 @@ public class Logger {
 
 	private void printStackTraceRecursive(Throwable t) {
 		if ((t != null) && (t.getStackTrace() != null)) {
-			t.printStackTrace();
+			LogAppender currentAppender = getAppender();
+			if (currentAppender instanceof ConsoleLogAppender) {
+				t.printStackTrace();
+			} else {
+				StringWriter stackTrace = new StringWriter();
+				t.printStackTrace(new PrintWriter(stackTrace));
+				currentAppender.append(stackTrace.toString());
+			}
 			printStackTraceRecursive(t.getCause());
 		}
 	}
@@ -29,6 +29,16 @@ public enum RedDeerProperties {
 
 	LOG_LEVEL("rd.logLevel", "ALL"),
 
+	/**
+	 * System property defining whether log messages are printed synchronously or by a background thread. 
+	 */
+	LOG_APPENDER("rd.logAppender", "sync", "sync", "async"),
+
+	/**
+	 * System property pointing to the file log messages are asynchronously written to instead of the standard output. 
+	 */
+	LOG_FILE("rd.logFile", (String) null),
+
 	CLOSE_WELCOME_SCREEN("rd.closeWelcomeScreen", true),
 
 	CLOSE_ALL_SHELLS("rd.closeShells", true),
@@ -48,9 +58,119 @@ public enum RedDeerProperties {
 
 	RELATIVE_SCREENSHOT_DIRECTORY("rd.relativeScreenshotDirectory", (String) null),
 
+	/**
+	 * System property defining whether screenshots are encoded and saved synchronously or by a background thread. 
+	 */
+	SCREENSHOT_WRITER("rd.screenshotWriter", "async", "sync", "async"),
+
+	/**
+	 * System property defining PNG compression level of screenshots. 
+	 */
+	SCREENSHOT_COMPRESSION("rd.screenshotCompression", "fast", "none", "fast", "default", "best"),
+
+	/**
+	 * System property defining factor screenshots are scaled by before they are saved, e.g. 0.5 halves their size. 
+	 */
+	SCREENSHOT_SCALE("rd.screenshotScale", 1.f),
+
 	OPEN_ASSOCIATED_PERSPECTIVE("rd.openAssociatedPerspective", "never"),
 
-	TIME_PERIOD_FACTOR("rd.timePeriodFactor", 1.f);
+	TIME_PERIOD_FACTOR("rd.timePeriodFactor", 1.f),
+
+	/**
+	 * System property turning on/off walking of the whole widget tree in single UI thread execution during widget lookup. 
+	 */
+	SNAPSHOT_WIDGET_LOOKUP("rd.snapshotWidgetLookup", true),
+
+	/**
+	 * System property turning on/off resolving of tree item text paths from a per tree index. 
+	 */
+	INDEXED_TREE_ITEM_LOOKUP("rd.indexedTreeItemLookup", true),
+
+	/**
+	 * System property defining whether keyboard waits fixed delays between key events or posts them in batches. 
+	 */
+	TYPING_SPEED("rd.typingSpeed", "legacy", "legacy", "fast"),
+
+	/**
+	 * System property defining count of forked workers test run configurations of a suite are distributed to. 
+	 */
+	SHARD_COUNT("rd.shardCount", "1"),
+
+	/**
+	 * System property turning on/off starting of a virtual display (Xvfb) for each forked worker. 
+	 */
+	SHARD_VIRTUAL_DISPLAY("rd.shardVirtualDisplay", true),
+
+	/**
+	 * System property defining file durations of test run configurations are stored in. 
+	 */
+	SHARD_DURATIONS_FILE("rd.shardDurationsFile", "target/reddeer-shard-durations.properties"),
+
+	/**
+	 * System property set by suite coordinator on forked worker, it defines file listing suite and its test run configurations to run. 
+	 */
+	SHARD_WORKER("rd.shardWorker", (String) null),
+
+	/**
+	 * System property set by suite coordinator on forked worker, it defines file test events are written to. 
+	 */
+	SHARD_EVENT_FILE("rd.shardEventFile", (String) null),
+
+	/**
+	 * System property defining maximal time in seconds forked workers of a suite may run, workers running longer are stopped. 
+	 */
+	SHARD_TIMEOUT("rd.shardTimeout", "14400"),
+
+	/**
+	 * System property turning on/off recording of durations of tests, requirements, extensions and waits. 
+	 */
+	TEST_HISTORY("rd.testHistory", true),
+
+	/**
+	 * System property defining file durations of tests, requirements, extensions and waits are appended to. 
+	 */
+	TEST_HISTORY_FILE("rd.testHistoryFile", "target/reddeer-test-history.bin"),
+
+	/**
+	 * System property defining order of test classes of a test run configuration, declared, by recorded duration or grouped by required states. 
+	 */
+	TEST_CLASS_ORDER("rd.testClassOrder", "declared", "declared", "longestFirst", "requirements"),
+
+	/**
+	 * System property turning on/off reusing of states of reusable requirements by directly following test class. 
+	 */
+	REQUIREMENT_REUSE("rd.requirementReuse", true),
+
+	/**
+	 * System property defining how clean workspace requirement deletes projects, via Eclipse API or via UI. 
+	 */
+	CLEAN_WORKSPACE_MODE("rd.cleanWorkspaceMode", "api", "api", "ui"),
+
+	/**
+	 * System property turning on/off registry of workbench parts maintained by workbench listeners. 
+	 */
+	WORKBENCH_PART_REGISTRY("rd.workbenchPartRegistry", true),
+
+	/**
+	 * System property defining whether widget dumps of failed lookups are saved to files or included in exception messages. 
+	 */
+	DIAGNOSTIC_DUMP("rd.diagnosticDump", "file", "file", "inline"),
+
+	/**
+	 * System property defining format of widget dump files. 
+	 */
+	DIAGNOSTIC_DUMP_FORMAT("rd.diagnosticDumpFormat", "text", "text", "json"),
+
+	/**
+	 * System property defining directory widget dump files are saved to. 
+	 */
+	DIAGNOSTIC_DUMP_DIRECTORY("rd.diagnosticDumpDirectory", "target/diagnostics"),
+
+	/**
+	 * System property defining whether Problems and Markers views are queried via their trees or via workspace markers. 
+	 */
+	MARKERS_ENGINE("rd.markersEngine", "ui", "ui", "workspace");
 
 	private static final Logger log = Logger.getLogger(RedDeerProperties.class);
 
@@ -10,6 +10,8 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.common.util;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.jboss.reddeer.common.exception.RedDeerException;
 import org.jboss.reddeer.common.logging.Logger;
 
@@ -24,30 +26,98 @@ public class Display {
 
 	private static final Logger log = Logger.getLogger(Display.class);
 
-	private static org.eclipse.swt.widgets.Display display;
+	/*
+	 * Resolved display and its thread. Both are set at once when display is resolved 
+	 * and cleared by dispose runnable registered on the display.
+	 */
+	private static volatile org.eclipse.swt.widgets.Display display;
+
+	private static volatile Thread displayThread;
+
+	private static final AtomicLong syncExecCount = new AtomicLong();
+	private static final AtomicLong syncExecNanos = new AtomicLong();
+	private static final AtomicLong asyncExecCount = new AtomicLong();
+	private static final AtomicLong asyncExecNanos = new AtomicLong();
 
 	private Display(){
 		super();
 	}
 	
 	/**
-	 * Returns {@link org.eclipse.swt.widgets.Display} instance.
+	 * Returns {@link org.eclipse.swt.widgets.Display} instance. Display is resolved 
+	 * only once and cached until it is disposed.
 	 *    
 	 * @return current Display instance or throws CoreLayerException if there is no display
 	 */
 	public static org.eclipse.swt.widgets.Display getDisplay() {
-		if ((display == null) || display.isDisposed()) {
-			display = null;
-			Thread[] allThreads = allThreads();
-			for (Thread thread : allThreads) {
+		org.eclipse.swt.widgets.Display d = display;
+		if (d != null) {
+			return d;
+		}
+		return resolveDisplay();
+	}
+
+	/**
+	 * Returns statistics of UI thread executions performed so far. Only executions 
+	 * invoked from non UI thread are counted because executions invoked from UI thread 
+	 * are run directly.
+	 * 
+	 * @return snapshot of UI thread execution counters
+	 */
+	public static DisplayStatistics getStatistics() {
+		return new DisplayStatistics(syncExecCount.get(), syncExecNanos.get(), 
+				asyncExecCount.get(), asyncExecNanos.get());
+	}
+
+	private static synchronized org.eclipse.swt.widgets.Display resolveDisplay() {
+		if (display != null) {
+			return display;
+		}
+		org.eclipse.swt.widgets.Display resolved = org.eclipse.swt.widgets.Display.getCurrent();
+		if (resolved == null || resolved.isDisposed()) {
+			resolved = null;
+			for (Thread thread : allThreads()) {
 				org.eclipse.swt.widgets.Display d = org.eclipse.swt.widgets.Display.findDisplay(thread);
 				if (d != null && !d.isDisposed())
-					display = d;
+					resolved = d;
 			}
-			if (display == null)
-				throw new RedDeerException("Could not find a display");
 		}
-		return display;
+		if (resolved == null)
+			throw new RedDeerException("Could not find a display");
+
+		final org.eclipse.swt.widgets.Display registered = resolved;
+		final Runnable disposeRunnable = new Runnable() {
+
+			@Override
+			public void run() {
+				forgetDisplay(registered);
+			}
+		};
+		displayThread = registered.getThread();
+		display = registered;
+		if (displayThread == Thread.currentThread()) {
+			registered.disposeExec(disposeRunnable);
+		} else {
+			// do not block while holding the lock, UI thread may be waiting for it
+			registered.asyncExec(new Runnable() {
+
+				@Override
+				public void run() {
+					if (!registered.isDisposed()) {
+						registered.disposeExec(disposeRunnable);
+					}
+				}
+			});
+		}
+		log.debug("Display resolved");
+		return registered;
+	}
+
+	private static synchronized void forgetDisplay(org.eclipse.swt.widgets.Display disposed) {
+		if (display == disposed) {
+			display = null;
+			displayThread = null;
+		}
 	}
 
 	/**
@@ -71,7 +141,10 @@ public class Display {
 		ErrorHandlingRunnable<T> errorHandlingRunnable = new ErrorHandlingRunnable<T>(runnable);
 
 		if (!isUIThread()) {
+			long start = System.nanoTime();
 			Display.getDisplay().syncExec(errorHandlingRunnable);
+			syncExecNanos.addAndGet(System.nanoTime() - start);
+			syncExecCount.incrementAndGet();
 		} else {
 			if (runnable instanceof ErrorHandlingRunnable){
 				errorHandlingRunnable = (ErrorHandlingRunnable<T>) runnable;
@@ -95,7 +168,10 @@ public class Display {
 	public static void asyncExec(Runnable runnable) {
 		ErrorHandlingRunnable<Void> errorHandlingRunnable = new ErrorHandlingRunnable<Void>(new VoidResultRunnable(runnable));
 
+		long start = System.nanoTime();
 		getDisplay().asyncExec(errorHandlingRunnable);
+		asyncExecNanos.addAndGet(System.nanoTime() - start);
+		asyncExecCount.incrementAndGet();
 
 		if (errorHandlingRunnable.exceptionOccurred()){
 			handleErrorOccured(errorHandlingRunnable, false);
@@ -111,15 +187,29 @@ public class Display {
 		throw new RedDeerException("Exception during " +syncType+ " execution in UI thread", e);
 	}
 
-	private static boolean isUIThread() {
-		return getDisplay().getThread() == Thread.currentThread();			
+	/**
+	 * Finds out whether current thread is UI thread.
+	 * 
+	 * @return true if current thread is UI thread, false otherwise
+	 */
+	public static boolean isUIThread() {
+		Thread thread = displayThread;
+		if (thread == null) {
+			getDisplay();
+			thread = displayThread;
+		}
+		return thread == Thread.currentThread();
 	}
 
 	private static Thread[] allThreads() {
 		ThreadGroup threadGroup = primaryThreadGroup();
 
-		Thread[] threads = new Thread[64];
+		Thread[] threads = new Thread[Math.max(64, threadGroup.activeCount() * 2)];
 		int enumerate = threadGroup.enumerate(threads, true);
+		while (enumerate == threads.length) {
+			threads = new Thread[threads.length * 2];
+			enumerate = threadGroup.enumerate(threads, true);
+		}
 
 		Thread[] result = new Thread[enumerate];
 		System.arraycopy(threads, 0, result, 0, enumerate);
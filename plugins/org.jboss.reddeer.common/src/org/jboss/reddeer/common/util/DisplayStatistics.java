@@ -0,0 +1,94 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.util;
+
+/**
+ * Immutable snapshot of counters of UI thread executions performed through
+ * {@link Display}. Difference of two snapshots describes UI thread executions
+ * performed in between, e.g. during one test.
+ * 
+ * @since 2.0
+ */
+public final class DisplayStatistics {
+
+	private final long syncExecCount;
+	private final long syncExecNanos;
+	private final long asyncExecCount;
+	private final long asyncExecNanos;
+
+	/**
+	 * Creates a new snapshot of UI thread execution counters.
+	 * 
+	 * @param syncExecCount count of sync executions
+	 * @param syncExecNanos time spent in sync executions in nanoseconds
+	 * @param asyncExecCount count of async executions
+	 * @param asyncExecNanos time spent posting async executions in nanoseconds
+	 */
+	public DisplayStatistics(long syncExecCount, long syncExecNanos, long asyncExecCount, long asyncExecNanos) {
+		this.syncExecCount = syncExecCount;
+		this.syncExecNanos = syncExecNanos;
+		this.asyncExecCount = asyncExecCount;
+		this.asyncExecNanos = asyncExecNanos;
+	}
+
+	/**
+	 * Gets count of sync executions.
+	 * 
+	 * @return count of sync executions
+	 */
+	public long getSyncExecCount() {
+		return syncExecCount;
+	}
+
+	/**
+	 * Gets time spent in sync executions including waiting for UI thread.
+	 * 
+	 * @return time spent in sync executions in milliseconds
+	 */
+	public long getSyncExecTime() {
+		return syncExecNanos / 1000000;
+	}
+
+	/**
+	 * Gets count of async executions.
+	 * 
+	 * @return count of async executions
+	 */
+	public long getAsyncExecCount() {
+		return asyncExecCount;
+	}
+
+	/**
+	 * Gets time spent posting async executions.
+	 * 
+	 * @return time spent posting async executions in milliseconds
+	 */
+	public long getAsyncExecTime() {
+		return asyncExecNanos / 1000000;
+	}
+
+	/**
+	 * Computes difference between this snapshot and an older one.
+	 * 
+	 * @param previous older snapshot
+	 * @return statistics of executions performed since the older snapshot was taken
+	 */
+	public DisplayStatistics since(DisplayStatistics previous) {
+		return new DisplayStatistics(syncExecCount - previous.syncExecCount, syncExecNanos - previous.syncExecNanos,
+				asyncExecCount - previous.asyncExecCount, asyncExecNanos - previous.asyncExecNanos);
+	}
+
+	@Override
+	public String toString() {
+		return syncExecCount + " sync executions (" + getSyncExecTime() + " ms), " 
+				+ asyncExecCount + " async executions (" + getAsyncExecTime() + " ms)";
+	}
+}
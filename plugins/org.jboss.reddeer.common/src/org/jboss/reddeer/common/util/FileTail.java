@@ -0,0 +1,175 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * File tail follows a growing file, e.g. a log, and provides only bytes appended
+ * since the last read. Byte offset already processed is remembered, new bytes
+ * are transferred through NIO channels without reading the file from its start.
+ * <br>
+ * When the file is truncated, deleted or replaced by another file (e.g. log
+ * rotation), the tail starts again at the beginning of the current file. Bytes
+ * appended to the old file after the last read before it was replaced are not
+ * provided.
+ */
+public class FileTail {
+
+	private static final Map<String, FileTail> tails = new HashMap<String, FileTail>();
+
+	private final File file;
+	private long offset;
+	private Object fileIdentity;
+
+	/**
+	 * Creates tail of specified file starting at the beginning of the file.
+	 *
+	 * @param file followed file
+	 */
+	public FileTail(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Gets tail of specified file shared by all callers, so the processed offset
+	 * is remembered per file.
+	 *
+	 * @param file followed file
+	 * @return shared tail of the file
+	 */
+	public static FileTail getTail(File file) {
+		String path = file.getAbsolutePath();
+		synchronized (tails) {
+			FileTail tail = tails.get(path);
+			if (tail == null) {
+				tail = new FileTail(file);
+				tails.put(path, tail);
+			}
+			return tail;
+		}
+	}
+
+	/**
+	 * Gets followed file.
+	 *
+	 * @return followed file
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Gets byte offset of the first byte not processed yet.
+	 *
+	 * @return processed byte offset
+	 */
+	public synchronized long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Gets count of bytes appended since the last read.
+	 *
+	 * @return count of new bytes, 0 if file does not exist
+	 * @throws IOException if reading of file attributes fails
+	 */
+	public synchronized long getNewByteCount() throws IOException {
+		BasicFileAttributes attributes = readAttributes();
+		if (attributes == null) {
+			return 0;
+		}
+		return attributes.size() - offset;
+	}
+
+	/**
+	 * Marks whole current content of the file as processed.
+	 *
+	 * @throws IOException if reading of file attributes fails
+	 */
+	public synchronized void skipToEnd() throws IOException {
+		BasicFileAttributes attributes = readAttributes();
+		offset = attributes == null ? 0 : attributes.size();
+	}
+
+	/**
+	 * Transfers bytes appended since the last read to specified channel and marks
+	 * them as processed.
+	 *
+	 * @param target channel to write new bytes to
+	 * @return count of transferred bytes
+	 * @throws IOException if reading of the file or writing to the channel fails
+	 */
+	public synchronized long transferTo(WritableByteChannel target) throws IOException {
+		if (readAttributes() == null) {
+			return 0;
+		}
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long end = channel.size();
+			if (end < offset) {
+				offset = 0;
+			}
+			long position = offset;
+			while (position < end) {
+				long count = channel.transferTo(position, end - position, target);
+				if (count <= 0) {
+					break;
+				}
+				position += count;
+			}
+			long transferred = position - offset;
+			offset = position;
+			return transferred;
+		} catch (NoSuchFileException e) {
+			reset(null);
+			return 0;
+		}
+	}
+
+	/**
+	 * Reads attributes of the file and starts at the beginning of the file if it
+	 * was truncated or replaced since the last read.
+	 */
+	private BasicFileAttributes readAttributes() throws IOException {
+		if (!file.exists()) {
+			reset(null);
+			return null;
+		}
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		} catch (NoSuchFileException e) {
+			reset(null);
+			return null;
+		}
+		Object identity = attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+		if (attributes.size() < offset || (fileIdentity != null && !fileIdentity.equals(identity))) {
+			reset(identity);
+		} else {
+			fileIdentity = identity;
+		}
+		return attributes;
+	}
+
+	private void reset(Object identity) {
+		offset = 0;
+		fileIdentity = identity;
+	}
+}
@@ -10,6 +10,7 @@
  ******************************************************************************/
 package org.jboss.reddeer.common.wait;
 
+import org.jboss.reddeer.common.condition.EventAwareWaitCondition;
 import org.jboss.reddeer.common.condition.WaitCondition;
 import org.jboss.reddeer.common.exception.WaitTimeoutExpiredException;
 import org.jboss.reddeer.common.logging.Logger;
@@ -30,13 +31,17 @@ public abstract class AbstractWait implements Wait {
 	 * Wait logger.
 	 */
 	private static final Logger log = Logger.getLogger(AbstractWait.class);
-	// Default wait tick period in milliseconds
+	// Default (maximal) wait tick period in milliseconds
 	private static final long DEFAULT_TICK_PERIOD = 500;
+	// Initial wait tick period of adaptive backoff in milliseconds
+	private static final long MIN_TICK_PERIOD = 5;
 	
 	private TimePeriod timeout;
 
 	private boolean throwTimeoutException = true;
 
+	private boolean adaptiveTickPeriod = false;
+
 	/**
 	 * Waits till condition is met for default time period. Throws
 	 * WaitTimeoutExpiredException after waiting for specified time period and
@@ -78,7 +83,7 @@ public abstract class AbstractWait implements Wait {
 	 *             the wait timeout expired exception
 	 */
 	public AbstractWait(WaitCondition condition, TimePeriod timePeriod, boolean throwRuntimeException) {
-		this(condition, timePeriod, throwRuntimeException, DEFAULT_TICK_PERIOD);
+		this(condition, timePeriod, throwRuntimeException, DEFAULT_TICK_PERIOD, true);
 	}
 
 	/**
@@ -102,6 +107,11 @@ public abstract class AbstractWait implements Wait {
 	 */
 	public AbstractWait(WaitCondition condition, TimePeriod timePeriod, boolean throwRuntimeException,
 			long testPeriod) {
+		this(condition, timePeriod, throwRuntimeException, testPeriod, false);
+	}
+
+	private AbstractWait(WaitCondition condition, TimePeriod timePeriod, boolean throwRuntimeException,
+			long testPeriod, boolean adaptiveTickPeriod) {
 		if (condition == null) {
 			throw new IllegalArgumentException("condition can't be null");
 		}
@@ -113,12 +123,15 @@ public abstract class AbstractWait implements Wait {
 		}
 		this.timeout = timePeriod;
 		this.throwTimeoutException = throwRuntimeException;
+		this.adaptiveTickPeriod = adaptiveTickPeriod;
 		wait(condition, testPeriod);
 	}
 
 	@Override
 	public void wait(WaitCondition condition, long testPeriod) {
-		log.debug(this.description() + condition.description() + "...");
+		if (log.isDebugEnabled()) {
+			log.debug(this.description() + condition.description() + "...");
+		}
 
 		long limit;
 		if ((Long.MAX_VALUE - System.currentTimeMillis()) / 1000 > getTimeout().getSeconds()) {
@@ -127,19 +140,92 @@ public abstract class AbstractWait implements Wait {
 			limit = Long.MAX_VALUE;
 		}
 
-		while (true) {
-			if (stopWaiting(condition)) {
-				break;
-			}
+		long start = System.currentTimeMillis();
+		WaitNotifier notifier = registerListeners(condition);
+		try {
+			long tickPeriod = adaptiveTickPeriod ? Math.min(MIN_TICK_PERIOD, testPeriod) : testPeriod;
+			// minimal pause between tests, it grows while notifications keep arriving
+			long minPause = Math.min(MIN_TICK_PERIOD, testPeriod);
+			while (true) {
+				if (stopWaiting(condition)) {
+					break;
+				}
+
+				if (timeoutExceeded(condition, limit)) {
+					return;
+				}
 
-			if (timeoutExceeded(condition, limit)) {
-				return;
+				boolean notified = pause(notifier, minPause, tickPeriod);
+				if (adaptiveTickPeriod) {
+					if (notified) {
+						// first notification is reacted on at once, a flood of them is backed off
+						minPause = Math.min(minPause * 2, testPeriod);
+						tickPeriod = minPause;
+					} else {
+						minPause = Math.min(MIN_TICK_PERIOD, testPeriod);
+						tickPeriod = Math.min(tickPeriod * 2, testPeriod);
+					}
+				}
 			}
+		} finally {
+			unregisterListeners(condition, notifier);
+			WaitStatistics.getInstance().waitFinished(condition, System.currentTimeMillis() - start);
+		}
 
-			sleep(testPeriod);
+		if (log.isDebugEnabled()) {
+			log.debug(this.description() + condition.description() + " finished successfully");
 		}
+	}
 
-		log.debug(this.description() + condition.description() + " finished successfully");
+	/**
+	 * Registers listeners of event aware condition. If listeners cannot be registered, 
+	 * the condition is just polled.
+	 * 
+	 * @param condition wait condition
+	 * @return notifier notified by the condition or null if condition is not event aware
+	 */
+	private WaitNotifier registerListeners(WaitCondition condition) {
+		if (!(condition instanceof EventAwareWaitCondition)) {
+			return null;
+		}
+		WaitNotifier notifier = new WaitNotifier();
+		try {
+			((EventAwareWaitCondition) condition).registerListeners(notifier);
+		} catch (RuntimeException e) {
+			log.debug("Unable to register listeners of " + condition.description() + ", falling back to polling");
+			return null;
+		}
+		return notifier;
+	}
+
+	private void unregisterListeners(WaitCondition condition, WaitNotifier notifier) {
+		if (notifier != null) {
+			try {
+				((EventAwareWaitCondition) condition).unregisterListeners();
+			} catch (RuntimeException e) {
+				log.debug("Unable to unregister listeners of " + condition.description());
+			}
+		}
+	}
+
+	/**
+	 * Pauses execution for specified time period or until notifier is notified.
+	 * Execution is paused at least for specified minimal pause even if
+	 * notifications are flooding.
+	 * 
+	 * @param notifier notifier or null if there is no notifier
+	 * @param minPause minimal pause in milliseconds
+	 * @param tickPeriod maximal pause in milliseconds
+	 * @return true if a notification was received during the pause, false otherwise
+	 */
+	private static boolean pause(WaitNotifier notifier, long minPause, long tickPeriod) {
+		if (notifier == null) {
+			sleep(tickPeriod);
+			return false;
+		}
+		long floor = Math.min(minPause, tickPeriod);
+		sleep(floor);
+		return notifier.await(tickPeriod - floor);
 	}
 
 	/**
@@ -173,7 +259,7 @@ public abstract class AbstractWait implements Wait {
 	}
 	
 	private static void sleep(long milliseconds) {
-		if (Thread.currentThread().equals(Display.getDisplay().getThread())) {
+		if (Display.isUIThread()) {
 			throw new RuntimeException("Tried to execute sleep in UI thread!");
 		}
 		try {
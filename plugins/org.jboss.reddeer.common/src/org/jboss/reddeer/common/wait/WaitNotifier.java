@@ -0,0 +1,56 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.wait;
+
+/**
+ * Wait notifier wakes up a waiting thread as soon as an event relevant to 
+ * a wait condition occurs. Notifications are never lost - if the notifier is 
+ * notified before the waiting thread starts to await, the next await returns 
+ * immediately.
+ * 
+ * @since 2.0
+ */
+public class WaitNotifier {
+
+	private boolean notified = false;
+
+	/**
+	 * Notifies a waiting thread that a relevant event occurred. Can be called 
+	 * from any thread including UI thread.
+	 */
+	public synchronized void notifyWait() {
+		notified = true;
+		notifyAll();
+	}
+
+	/**
+	 * Awaits a notification for specified time period.
+	 * 
+	 * @param milliseconds maximal time to wait in milliseconds
+	 * @return true if notification was received, false if time period expired
+	 */
+	public synchronized boolean await(long milliseconds) {
+		long limit = System.currentTimeMillis() + milliseconds;
+		long remaining = milliseconds;
+		while (!notified && remaining > 0) {
+			try {
+				wait(remaining);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Sleep interrupted", e);
+			}
+			remaining = limit - System.currentTimeMillis();
+		}
+		boolean result = notified;
+		notified = false;
+		return result;
+	}
+}
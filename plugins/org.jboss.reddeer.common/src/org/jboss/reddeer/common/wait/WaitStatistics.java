@@ -0,0 +1,99 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.wait;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.reddeer.common.condition.WaitCondition;
+
+/**
+ * Collects time spent in waits performed by {@link AbstractWait}. Waits are
+ * aggregated by description of their wait condition. Nothing is collected
+ * until {@link #startCollecting()} is called.
+ *
+ * @since 2.0
+ */
+public class WaitStatistics {
+
+	private static WaitStatistics instance;
+
+	private Map<String, long[]> waits;
+
+	private WaitStatistics() {
+	}
+
+	/**
+	 * Gets instance of wait statistics.
+	 *
+	 * @return instance of wait statistics
+	 */
+	public static synchronized WaitStatistics getInstance() {
+		if (instance == null) {
+			instance = new WaitStatistics();
+		}
+		return instance;
+	}
+
+	/**
+	 * Starts collecting of waits. Waits collected so far are discarded.
+	 */
+	public synchronized void startCollecting() {
+		waits = new HashMap<String, long[]>();
+	}
+
+	/**
+	 * Stops collecting of waits.
+	 *
+	 * @return collected waits, keys are descriptions of wait conditions and
+	 *         values are arrays of wait count and total wait time in
+	 *         milliseconds
+	 */
+	public synchronized Map<String, long[]> stopCollecting() {
+		Map<String, long[]> result = waits != null ? waits : new HashMap<String, long[]>();
+		waits = null;
+		return result;
+	}
+
+	/**
+	 * Finds out whether waits are collected.
+	 *
+	 * @return true if waits are collected, false otherwise
+	 */
+	public synchronized boolean isCollecting() {
+		return waits != null;
+	}
+
+	/**
+	 * Records a finished wait.
+	 *
+	 * @param condition condition of the wait
+	 * @param milliseconds duration of the wait in milliseconds
+	 */
+	void waitFinished(WaitCondition condition, long milliseconds) {
+		if (!isCollecting()) {
+			return;
+		}
+		String description = condition.description();
+		synchronized (this) {
+			if (waits == null) {
+				return;
+			}
+			long[] wait = waits.get(description);
+			if (wait == null) {
+				wait = new long[2];
+				waits.put(description, wait);
+			}
+			wait[0]++;
+			wait[1] += milliseconds;
+		}
+	}
+}
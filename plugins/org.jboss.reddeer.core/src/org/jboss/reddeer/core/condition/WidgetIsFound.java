@@ -15,7 +15,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Widget;
 import org.hamcrest.Matcher;
-import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.common.condition.AbstractDisplayEventWaitCondition;
 import org.jboss.reddeer.common.matcher.AndMatcher;
 import org.jboss.reddeer.common.matcher.MatcherBuilder;
 import org.jboss.reddeer.common.platform.RunningPlatform;
@@ -29,7 +29,7 @@ import org.jboss.reddeer.core.matcher.ClassMatcher;
  * @author Jiri Peterka, mlabuda@redhat.com
  * 
  */
-public class WidgetIsFound extends AbstractWaitCondition {
+public class WidgetIsFound extends AbstractDisplayEventWaitCondition {
 
 	private Control parent;
 	private AndMatcher am;
@@ -46,6 +46,7 @@ public class WidgetIsFound extends AbstractWaitCondition {
 	 * @param matchers given matchers
 	 */
 	public WidgetIsFound(Class<? extends Widget> clazz, Control parent, int index, Matcher<?>... matchers) {
+		super(SWT.Show, SWT.Hide, SWT.Dispose, SWT.Activate, SWT.Modify);
 		if (parent == null) {
 			this.parent = widgetLookup.findParent();
 		} else {
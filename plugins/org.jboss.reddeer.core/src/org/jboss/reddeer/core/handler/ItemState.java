@@ -0,0 +1,95 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.handler;
+
+/**
+ * Immutable state of a table item read in UI thread together with states of
+ * other rows of a {@link TableSnapshot}. It holds texts and image presence of all item cells and check
+ * state of the item as they were at the time of the read.
+ *
+ * @since 2.0
+ */
+public final class ItemState {
+
+	private final String[] texts;
+	private final boolean[] images;
+	private final boolean checked;
+
+	/**
+	 * Creates a new item state.
+	 *
+	 * @param texts texts of item cells
+	 * @param images presence of images in item cells
+	 * @param checked check state of the item
+	 */
+	public ItemState(String[] texts, boolean[] images, boolean checked) {
+		this.texts = texts;
+		this.images = images;
+		this.checked = checked;
+	}
+
+	/**
+	 * Gets count of cells whose state was read.
+	 *
+	 * @return count of cells
+	 */
+	public int getCellCount() {
+		return texts.length;
+	}
+
+	/**
+	 * Gets text of the first cell of the item.
+	 *
+	 * @return text of the item
+	 */
+	public String getText() {
+		return texts[0];
+	}
+
+	/**
+	 * Gets text of a cell of the item.
+	 *
+	 * @param cellIndex index of cell
+	 * @return text of the cell
+	 */
+	public String getText(int cellIndex) {
+		return texts[cellIndex];
+	}
+
+	/**
+	 * Finds out whether a cell of the item has an image.
+	 *
+	 * @param cellIndex index of cell
+	 * @return true if the cell has an image, false otherwise
+	 */
+	public boolean hasImage(int cellIndex) {
+		return images[cellIndex];
+	}
+
+	/**
+	 * Finds out whether the item was checked.
+	 *
+	 * @return true if the item was checked, false otherwise
+	 */
+	public boolean isChecked() {
+		return checked;
+	}
+
+	/**
+	 * Finds out whether the state contains a cell with given index.
+	 *
+	 * @param cellIndex index of cell
+	 * @return true if state of the cell was read, false otherwise
+	 */
+	public boolean containsCell(int cellIndex) {
+		return cellIndex >= 0 && cellIndex < texts.length;
+	}
+}
@@ -34,6 +34,11 @@ import org.jboss.reddeer.core.handler.WidgetHandler;
  */
 public class TableHandler {
 
+	/**
+	 * Minimal count of rows of virtual table read in one UI thread execution.
+	 */
+	public static final int MIN_VIRTUAL_PAGE_SIZE = 16;
+
 	private static TableHandler instance;
 
 	private TableHandler() {
@@ -132,23 +137,11 @@ public class TableHandler {
 	 */
 	public int indexOf(final Table table, final String item,
 			final int columnIndex) {
-		final TableItem[] tableItems = getSWTItems(table);
-
-		for (int i = 0; i < tableItems.length; i++) {
-			final int y = i;
-			String itemText = Display.syncExec(new ResultRunnable<String>() {
-
-				@Override
-				public String run() {
-					return tableItems[y].getText(columnIndex);
-				}
-			});
-
-			if (itemText.equals(item)) {
-				return y;
-			}
+		int row = getSnapshot(table).indexOf(item, columnIndex);
+		if (row < 0) {
+			throw new CoreLayerException("Item " + item + " does not exist in table");
 		}
-		throw new CoreLayerException("Item " + item + " does not exist in table");
+		return row;
 	}
 
 	/**
@@ -269,6 +262,96 @@ public class TableHandler {
 		});
 	}
 
+	/**
+	 * Gets snapshot of all rows of specified {@link Table}.
+	 * 
+	 * @param table table to handle
+	 * @return snapshot of all rows
+	 * @see #getSnapshot(Table, int, int)
+	 */
+	public TableSnapshot getSnapshot(Table table) {
+		return getSnapshot(table, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Gets snapshot of a range of rows of specified {@link Table}. Texts, image
+	 * presence and check state of all cells and selection of rows are read in a
+	 * single UI thread execution. Rows of a table with {@link SWT#VIRTUAL} style
+	 * are read in pages of the size of the visible area of the table, so the UI
+	 * thread is not blocked by populating of all rows at once. When the table is
+	 * shrunk between pages, the snapshot ends at the last existing row.
+	 * 
+	 * @param table table to handle
+	 * @param start index of the first row
+	 * @param count maximal count of rows
+	 * @return snapshot of existing rows of the range
+	 */
+	public TableSnapshot getSnapshot(final Table table, final int start, final int count) {
+		final int[] pageSize = new int[1];
+		final TableSnapshot snapshot = Display.syncExec(new ResultRunnable<TableSnapshot>() {
+
+			@Override
+			public TableSnapshot run() {
+				int rowCount = table.getItemCount();
+				int from = Math.min(Math.max(start, 0), rowCount);
+				int to = (int) Math.min((long) from + Math.max(count, 0), rowCount);
+				TableSnapshot snapshot = new TableSnapshot(table, rowCount, from, to);
+				pageSize[0] = (table.getStyle() & SWT.VIRTUAL) != 0 ? getPageSize(table) : to - from;
+				readRows(snapshot, Math.min(to, from + pageSize[0]));
+				return snapshot;
+			}
+		});
+		while (snapshot.getReadEnd() < snapshot.getEnd()) {
+			Display.syncExec(new Runnable() {
+
+				@Override
+				public void run() {
+					readRows(snapshot, Math.min(snapshot.getEnd(), snapshot.getReadEnd() + pageSize[0]));
+				}
+			});
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Reads rows of snapshot from the first row not read yet up to specified row.
+	 * Has to be called in UI thread.
+	 */
+	private static void readRows(TableSnapshot snapshot, int end) {
+		Table table = snapshot.getTable();
+		int available = table.isDisposed() ? 0 : Math.min(end, table.getItemCount());
+		for (int row = snapshot.getReadEnd(); row < available; row++) {
+			TableItem item = table.getItem(row);
+			snapshot.setRow(row, item, readState(item), table.isSelected(row));
+		}
+		if (available < end) {
+			snapshot.truncate();
+		}
+	}
+
+	/**
+	 * Gets count of rows of virtual table read in one UI thread execution, i.e.
+	 * count of rows fitting into the visible area. Has to be called in UI thread.
+	 */
+	private static int getPageSize(Table table) {
+		int visibleRows = table.getClientArea().height / Math.max(1, table.getItemHeight()) + 1;
+		return Math.max(MIN_VIRTUAL_PAGE_SIZE, visibleRows);
+	}
+
+	/**
+	 * Reads state of table item. Has to be called in UI thread.
+	 */
+	private static ItemState readState(TableItem tableItem) {
+		int cells = Math.max(1, tableItem.getParent().getColumnCount());
+		String[] texts = new String[cells];
+		boolean[] images = new boolean[cells];
+		for (int i = 0; i < cells; i++) {
+			texts[i] = tableItem.getText(i);
+			images[i] = tableItem.getImage(i) != null;
+		}
+		return new ItemState(texts, images, tableItem.getChecked());
+	}
+
 	/**
 	 * Deselects all items from specified {@link Table}. 
 	 * 
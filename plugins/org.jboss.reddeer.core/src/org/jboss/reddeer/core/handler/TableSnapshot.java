@@ -0,0 +1,166 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.handler;
+
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+
+/**
+ * Snapshot of a range of rows of a table. It holds table items together with
+ * texts, image presence and check state of all their cells and their selection
+ * as they were at the time of the read. Snapshots are read by
+ * {@link TableHandler#getSnapshot(Table, int, int)}, rows of ordinary tables are
+ * read in a single UI thread execution, rows of virtual tables are read in pages
+ * of the size of the visible area.
+ * <br>
+ * Rows are indexed the same way as in the table, the first row of the snapshot
+ * does not need to be the first row of the table.
+ *
+ * @since 2.0
+ */
+public final class TableSnapshot {
+
+	private final Table table;
+	private final int rowCount;
+	private final int start;
+	private int end;
+	private int readEnd;
+	private final TableItem[] items;
+	private final ItemState[] states;
+	private final boolean[] selected;
+
+	TableSnapshot(Table table, int rowCount, int start, int end) {
+		this.table = table;
+		this.rowCount = rowCount;
+		this.start = start;
+		this.end = end;
+		this.readEnd = start;
+		this.items = new TableItem[end - start];
+		this.states = new ItemState[end - start];
+		this.selected = new boolean[end - start];
+	}
+
+	/**
+	 * Gets table the snapshot was read from.
+	 *
+	 * @return table
+	 */
+	public Table getTable() {
+		return table;
+	}
+
+	/**
+	 * Gets count of rows the table had when reading of the snapshot started.
+	 *
+	 * @return count of rows of the table
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Gets index of the first row of the snapshot.
+	 *
+	 * @return index of the first row
+	 */
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * Gets index after the last row of the snapshot.
+	 *
+	 * @return index after the last row
+	 */
+	public int getEnd() {
+		return end;
+	}
+
+	/**
+	 * Finds out whether the snapshot contains a row with given index.
+	 *
+	 * @param row index of row in the table
+	 * @return true if state of the row was read, false otherwise
+	 */
+	public boolean containsRow(int row) {
+		return row >= start && row < end;
+	}
+
+	/**
+	 * Gets table item of a row.
+	 *
+	 * @param row index of row in the table
+	 * @return table item
+	 */
+	public TableItem getItem(int row) {
+		return items[row - start];
+	}
+
+	/**
+	 * Gets state of a row.
+	 *
+	 * @param row index of row in the table
+	 * @return state of the row
+	 */
+	public ItemState getState(int row) {
+		return states[row - start];
+	}
+
+	/**
+	 * Finds out whether a row was selected.
+	 *
+	 * @param row index of row in the table
+	 * @return true if the row was selected, false otherwise
+	 */
+	public boolean isSelected(int row) {
+		return selected[row - start];
+	}
+
+	/**
+	 * Finds the first row containing specified text in specified cell.
+	 *
+	 * @param text text of the cell
+	 * @param cellIndex index of cell
+	 * @return index of the row in the table or -1 if no row of the snapshot contains the text
+	 */
+	public int indexOf(String text, int cellIndex) {
+		for (int row = start; row < end; row++) {
+			if (text.equals(getText(states[row - start], cellIndex))) {
+				return row;
+			}
+		}
+		return -1;
+	}
+
+	int getReadEnd() {
+		return readEnd;
+	}
+
+	void setRow(int row, TableItem item, ItemState state, boolean rowSelected) {
+		items[row - start] = item;
+		states[row - start] = state;
+		selected[row - start] = rowSelected;
+		readEnd = row + 1;
+	}
+
+	/**
+	 * Drops rows which were not read because the table was shrunk or disposed
+	 * while the snapshot was read.
+	 */
+	void truncate() {
+		end = readEnd;
+	}
+
+	private static String getText(ItemState state, int cellIndex) {
+		// table items return empty text for cells out of range of table columns
+		return state.containsCell(cellIndex) ? state.getText(cellIndex) : "";
+	}
+}
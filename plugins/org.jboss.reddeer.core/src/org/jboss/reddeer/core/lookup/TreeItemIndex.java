@@ -0,0 +1,196 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.lookup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * Index of tree items of a single tree used by {@link TreeItemLookup} to resolve
+ * text paths without walking all children of each tree item on the path. Children
+ * of the tree and of expanded tree items are indexed by their texts when they are
+ * walked for the first time. Indexed children are dropped when their parent is
+ * expanded, collapsed or disposed or when data of a child are set in virtual tree.
+ * <br>
+ * Index is accessed only from UI thread, all methods have to be called in UI thread.
+ *
+ * @since 2.0
+ */
+final class TreeItemIndex {
+
+	private static final Map<Tree, TreeItemIndex> indexes = new HashMap<Tree, TreeItemIndex>();
+
+	private final Tree tree;
+
+	private final Map<Widget, Level> levels = new HashMap<Widget, Level>();
+
+	private final Set<Widget> watchedItems = new HashSet<Widget>();
+
+	private final Listener listener = new Listener() {
+
+		@Override
+		public void handleEvent(Event event) {
+			switch (event.type) {
+				case SWT.Expand:
+				case SWT.Collapse:
+					levels.remove(event.item);
+					break;
+				case SWT.SetData:
+					if (event.item instanceof TreeItem) {
+						TreeItem parentItem = ((TreeItem) event.item).getParentItem();
+						levels.remove(parentItem == null ? tree : parentItem);
+					}
+					break;
+				case SWT.Dispose:
+					if (event.widget == tree) {
+						indexes.remove(tree);
+						levels.clear();
+						watchedItems.clear();
+					} else {
+						levels.remove(event.widget);
+						watchedItems.remove(event.widget);
+					}
+					break;
+				default:
+					break;
+			}
+		}
+	};
+
+	private TreeItemIndex(Tree tree) {
+		this.tree = tree;
+		tree.addListener(SWT.Expand, listener);
+		tree.addListener(SWT.Collapse, listener);
+		tree.addListener(SWT.SetData, listener);
+		tree.addListener(SWT.Dispose, listener);
+	}
+
+	/**
+	 * Gets index of specified tree. Index is created if it does not exist yet.
+	 *
+	 * @param tree tree to get index of
+	 * @return index of specified tree
+	 */
+	static TreeItemIndex getIndex(Tree tree) {
+		TreeItemIndex index = indexes.get(tree);
+		if (index == null) {
+			index = new TreeItemIndex(tree);
+			indexes.put(tree, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Resolves tree items with specified text path. Each text on the path has to be
+	 * equal to text of one tree item on the path, all tree items on the path except
+	 * of the last one have to be expanded.
+	 *
+	 * @param root tree or tree item the path starts at
+	 * @param path texts of tree items on the path
+	 * @return tree items with specified path or null if the path could not be resolved from the index
+	 */
+	List<TreeItem> resolve(Widget root, String[] path) {
+		List<? extends Widget> parents = Collections.singletonList(root);
+		List<TreeItem> matchingItems = null;
+		for (int i = 0; i < path.length; i++) {
+			matchingItems = new ArrayList<TreeItem>();
+			for (Widget parent : parents) {
+				Level level = getLevel(parent);
+				if (level == null) {
+					return null;
+				}
+				List<TreeItem> items = level.get(path[i]);
+				for (TreeItem item : items) {
+					if (item.isDisposed() || !path[i].equals(item.getText())) {
+						levels.remove(parent);
+						return null;
+					}
+				}
+				matchingItems.addAll(items);
+			}
+			if (matchingItems.isEmpty()) {
+				return null;
+			}
+			parents = matchingItems;
+		}
+		return matchingItems;
+	}
+
+	private Level getLevel(Widget parent) {
+		int itemCount;
+		if (parent instanceof TreeItem) {
+			TreeItem parentItem = (TreeItem) parent;
+			if (parentItem.isDisposed() || !parentItem.getExpanded()) {
+				return null;
+			}
+			itemCount = parentItem.getItemCount();
+		} else {
+			itemCount = tree.getItemCount();
+		}
+		if (itemCount == 0) {
+			return null;
+		}
+
+		Level level = levels.get(parent);
+		if (level != null && level.itemCount == itemCount) {
+			return level;
+		}
+
+		TreeItem[] items = parent instanceof TreeItem ? ((TreeItem) parent).getItems() : tree.getItems();
+		level = new Level(items);
+		levels.put(parent, level);
+		if (parent instanceof TreeItem && watchedItems.add(parent)) {
+			parent.addListener(SWT.Dispose, listener);
+		}
+		return level;
+	}
+
+	/**
+	 * Children of one tree item or of the tree indexed by their texts.
+	 */
+	private static class Level {
+
+		private final int itemCount;
+
+		private final Map<String, List<TreeItem>> itemsByText;
+
+		Level(TreeItem[] items) {
+			itemCount = items.length;
+			itemsByText = new HashMap<String, List<TreeItem>>(items.length * 2);
+			for (TreeItem item : items) {
+				String text = item.getText();
+				List<TreeItem> sameText = itemsByText.get(text);
+				if (sameText == null) {
+					sameText = new ArrayList<TreeItem>(1);
+					itemsByText.put(text, sameText);
+				}
+				sameText.add(item);
+			}
+		}
+
+		List<TreeItem> get(String text) {
+			List<TreeItem> items = itemsByText.get(text);
+			return items != null ? items : Collections.<TreeItem>emptyList();
+		}
+	}
+}
@@ -15,13 +15,18 @@ import java.util.List;
 
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.swt.widgets.Widget;
 import org.hamcrest.Matcher;
 import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.common.util.Display;
+import org.jboss.reddeer.common.util.ResultRunnable;
 import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.common.wait.WaitUntil;
 import org.jboss.reddeer.core.exception.CoreLayerException;
 import org.jboss.reddeer.core.handler.TreeHandler;
 import org.jboss.reddeer.core.handler.TreeItemHandler;
+import org.jboss.reddeer.core.matcher.TreeItemTextMatcher;
 
 /**
  * Tree item lookup provides methods for looking up tree items located within trees.
@@ -79,6 +84,10 @@ public class TreeItemLookup {
 	 * @return tree items matching specified matchers in specified tree
 	 */
 	public List<TreeItem> getTreeItems(Tree tree, Matcher<TreeItem>... pathItemMatchers){
+		List<TreeItem> indexedItems = getIndexedTreeItems(tree, pathItemMatchers);
+		if (indexedItems != null) {
+			return indexedItems;
+		}
 		new WaitUntil(new TreeHasChildren(tree));
 		List<TreeItem> items = TreeHandler.getInstance().getSWTItems(tree);
 		return getTreeItems(items, pathItemMatchers);
@@ -116,10 +125,50 @@ public class TreeItemLookup {
 	 * @return tree items matching specified matchers in specified tree item
 	 */
 	public List<TreeItem> getTreeItems(TreeItem treeItem, Matcher<TreeItem>... pathItemMatchers){
+		List<TreeItem> indexedItems = getIndexedTreeItems(treeItem, pathItemMatchers);
+		if (indexedItems != null) {
+			return indexedItems;
+		}
 		List<TreeItem> items = TreeItemHandler.getInstance().getChildrenItems(treeItem);
 		return getTreeItems(items, pathItemMatchers);
 	}
 	
+	/**
+	 * Resolves tree items from the index of the tree if all path matchers match exact text 
+	 * of the first cell of tree items. Index is kept up to date by listening to expand, 
+	 * collapse, dispose and set data events of the tree. 
+	 * 
+	 * @param root tree or tree item to start at
+	 * @param pathItemMatchers the path item matchers
+	 * @return tree items matching path matchers or null if they could not be resolved from the index
+	 */
+	private List<TreeItem> getIndexedTreeItems(final Widget root, Matcher<TreeItem>... pathItemMatchers) {
+		if (pathItemMatchers.length == 0 || !RedDeerProperties.INDEXED_TREE_ITEM_LOOKUP.getBooleanValue()) {
+			return null;
+		}
+		final String[] path = new String[pathItemMatchers.length];
+		for (int i = 0; i < pathItemMatchers.length; i++) {
+			if (!(pathItemMatchers[i] instanceof TreeItemTextMatcher)) {
+				return null;
+			}
+			TreeItemTextMatcher textMatcher = (TreeItemTextMatcher) pathItemMatchers[i];
+			if (textMatcher.getExpectedText() == null || textMatcher.getIndex() != 0) {
+				return null;
+			}
+			path[i] = textMatcher.getExpectedText();
+		}
+		return Display.syncExec(new ResultRunnable<List<TreeItem>>() {
+			@Override
+			public List<TreeItem> run() {
+				if (root.isDisposed()) {
+					return null;
+				}
+				Tree tree = root instanceof Tree ? (Tree) root : ((TreeItem) root).getParent();
+				return TreeItemIndex.getIndex(tree).resolve(root, path);
+			}
+		});
+	}
+
 	private List<TreeItem> getTreeItems(List<TreeItem> items, Matcher<TreeItem>... pathItemMatchers) {
 		if (pathItemMatchers.length == 0){
 			return items;
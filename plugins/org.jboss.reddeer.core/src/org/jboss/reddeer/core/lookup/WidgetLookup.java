@@ -11,10 +11,13 @@
 package org.jboss.reddeer.core.lookup;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
 
 import org.eclipse.swt.custom.CLabel;
 import org.eclipse.swt.layout.FormData;
@@ -30,6 +33,7 @@ import org.jboss.reddeer.common.exception.WaitTimeoutExpiredException;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.common.matcher.AndMatcher;
 import org.jboss.reddeer.common.matcher.MatcherBuilder;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
 import org.jboss.reddeer.common.util.Display;
 import org.jboss.reddeer.common.util.ObjectUtil;
 import org.jboss.reddeer.common.util.ResultRunnable;
@@ -96,7 +100,9 @@ public class WidgetLookup {
 	 */
 	@SuppressWarnings({ "rawtypes","unchecked" })
 	public <T extends Widget> T activeWidget(ReferencedComposite refComposite, Class<T> clazz, int index, TimePeriod timePeriod, Matcher... matchers) {				
-		logger.debug("Looking up active widget with class type " + clazz.getName() +  ", index " + index + " and " + createMatcherDebugMsg(matchers));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Looking up active widget with class type " + clazz.getName() +  ", index " + index + " and " + createMatcherDebugMsg(matchers));
+		}
 
 		Control parentControl = getParentControl(refComposite);
 		WidgetIsFound found = new WidgetIsFound(clazz, parentControl, index, matchers);
@@ -104,11 +110,13 @@ public class WidgetLookup {
 			new WaitUntil(found, timePeriod);
 		} catch (WaitTimeoutExpiredException ex){
 			String exceptionText = "No matching widget found with " + found.getAndMatcher().toString();
-			exceptionText += "\n" + new DiagnosticTool().getDiagnosticInformation(parentControl);
+			exceptionText += "\n" + new DiagnosticTool().dumpDiagnosticInformation(parentControl);
 			logger.error("Active widget with class type " + clazz.getName() +  " and index " + index + " was not found");
 			throw new CoreLayerException(exceptionText, ex);
 		}
-		logger.debug("Active widget with class type " + clazz.getName() +  " and index " + index + " was found");
+		if (logger.isDebugEnabled()) {
+			logger.debug("Active widget with class type " + clazz.getName() +  " and index " + index + " was found");
+		}
 		return (T)found.getWidget();
 	}
 	
@@ -122,7 +130,9 @@ public class WidgetLookup {
 	 * @return widgets located in specified referenced composite and matching specified matchers
 	 */
 	public <T extends Widget> List<T> activeWidgets(ReferencedComposite refComposite, Class<T> clazz, Matcher<?>... matchers) {				
-		logger.debug("Looking up active widgets with class type " + clazz.getName() +  " and " + createMatcherDebugMsg(matchers));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Looking up active widgets with class type " + clazz.getName() +  " and " + createMatcherDebugMsg(matchers));
+		}
 
 		ClassMatcher cm = new ClassMatcher(clazz);
 		Matcher<?>[] allMatchers = MatcherBuilder.getInstance().addMatcher(matchers, cm);
@@ -185,10 +195,13 @@ public class WidgetLookup {
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public <T extends Widget> T activeWidget(Control refComposite, Matcher matcher, int index) {
-		String widgetDescription = "widget with index " + index;
-		logger.trace("Looking up " + widgetDescription + " with specified parent and matchers");
+		if (logger.isTraceEnabled()) {
+			logger.trace("Looking up widget with index " + index + " with specified parent and matchers");
+		}
 		T widget = (T)findControl(refComposite, matcher, true, index);
-		logger.trace(widgetDescription + (widget != null ? " is found" : "is not found"));
+		if (logger.isTraceEnabled()) {
+			logger.trace("widget with index " + index + (widget != null ? " is found" : " is not found"));
+		}
 		return widget;
 	}
 
@@ -228,12 +241,16 @@ public class WidgetLookup {
 
 		if ((activeWorkbenchParentShell == null || !activeWorkbenchParentShell.equals(activeShell))
 				&& activeShell != null){
-			logger.trace("Setting active shell with title \"" + WidgetHandler.getInstance().getText(activeShell) + "\" as the parent");
+			if (logger.isTraceEnabled()) {
+				logger.trace("Setting active shell with title \"" + WidgetHandler.getInstance().getText(activeShell) + "\" as the parent");
+			}
 			control = activeShell;	
 		}			
 		else {
 			if (getWorkbenchLookup() != null && getWorkbenchLookup().getActiveWorkbenchPartTitle() != null){
-				logger.trace("Setting workbench part with title \"" + getWorkbenchLookup().getActiveWorkbenchPartTitle() + "\"as the parent");
+				if (logger.isTraceEnabled()) {
+					logger.trace("Setting workbench part with title \"" + getWorkbenchLookup().getActiveWorkbenchPartTitle() + "\"as the parent");
+				}
 				control = getWorkbenchLookup().getActiveWorkbenchPartControl();
 			}
 		}	
@@ -282,12 +299,154 @@ public class WidgetLookup {
 	 */
 	private <T extends Widget> List<T> findControls(final Widget parentWidget, 
 			final Matcher<T> matcher, final boolean recursive) {
-		return findControlsUI(parentWidget, matcher, recursive);
+		if (!isSnapshotLookup()) {
+			return findControlsUI(parentWidget, matcher, recursive);
+		}
+		List<T> controls = new ArrayList<T>();
+		for (WidgetSnapshot<T> snapshot : snapshotWidgets(parentWidget, matcher, recursive)) {
+			controls.add(snapshot.getWidget());
+		}
+		return controls;
 	}
 
 	private <T extends Widget> T findControl(final Widget parentWidget, 
 			final Matcher<T> matcher, final boolean recursive, final int index) {
-		return findControlUI(parentWidget, matcher, recursive, new Index(index));
+		if (!isSnapshotLookup()) {
+			return findControlUI(parentWidget, matcher, recursive, new Index(index));
+		}
+		WidgetSnapshot<T> snapshot = snapshotWidget(parentWidget, matcher, recursive, index);
+		return snapshot == null ? null : snapshot.getWidget();
+	}
+
+	/**
+	 * Finds out whether widget tree should be walked in single UI thread execution.
+	 * Can be turned off by setting rd.snapshotWidgetLookup system property to false.
+	 * 
+	 * @return true if snapshot lookup is enabled, false otherwise
+	 */
+	private boolean isSnapshotLookup() {
+		return RedDeerProperties.SNAPSHOT_WIDGET_LOOKUP.getBooleanValue();
+	}
+
+	/**
+	 * Walks widget tree of specified parent widget in single UI thread execution and 
+	 * returns snapshots of all distinct widgets matching specified matcher. Invisible 
+	 * controls and their descendants are skipped.
+	 * 
+	 * @param <T> type of widgets
+	 * @param parentWidget parent widget to walk
+	 * @param matcher matcher to match widgets
+	 * @param recursive true for recursive search, false otherwise
+	 * @return snapshots of matching widgets in the order they were found
+	 */
+	public <T extends Widget> List<WidgetSnapshot<T>> snapshotWidgets(final Widget parentWidget, 
+			final Matcher<T> matcher, final boolean recursive) {
+		if (parentWidget == null || parentWidget.isDisposed()) {
+			return new ArrayList<WidgetSnapshot<T>>();
+		}
+		return Display.syncExec(new ResultRunnable<List<WidgetSnapshot<T>>>() {
+
+			@Override
+			public List<WidgetSnapshot<T>> run() {
+				SnapshotWalk<T> walk = new SnapshotWalk<T>(matcher, recursive, true, Integer.MAX_VALUE);
+				walk.visit(parentWidget);
+				return walk.getResult();
+			}
+		});
+	}
+
+	/**
+	 * Walks widget tree of specified parent widget in single UI thread execution and 
+	 * returns snapshot of widget matching specified matcher with specified index.
+	 * 
+	 * @param <T> type of widget
+	 * @param parentWidget parent widget to walk
+	 * @param matcher matcher to match widget
+	 * @param recursive true for recursive search, false otherwise
+	 * @param index index of matching widget
+	 * @return snapshot of matching widget or null if there is no such widget
+	 */
+	public <T extends Widget> WidgetSnapshot<T> snapshotWidget(final Widget parentWidget, 
+			final Matcher<T> matcher, final boolean recursive, final int index) {
+		if (parentWidget == null || parentWidget.isDisposed()) {
+			return null;
+		}
+		return Display.syncExec(new ResultRunnable<WidgetSnapshot<T>>() {
+
+			@Override
+			public WidgetSnapshot<T> run() {
+				SnapshotWalk<T> walk = new SnapshotWalk<T>(matcher, recursive, false, Math.max(index, 0) + 1);
+				walk.visit(parentWidget);
+				List<WidgetSnapshot<T>> result = walk.getResult();
+				return result.size() > Math.max(index, 0) ? result.get(result.size() - 1) : null;
+			}
+		});
+	}
+
+	/**
+	 * Depth first walk of a widget tree collecting snapshots of matching widgets.
+	 * Note: Must be used in UI Thread
+	 */
+	private static class SnapshotWalk<T extends Widget> {
+
+		private final Matcher<T> matcher;
+		private final boolean recursive;
+		private final boolean distinct;
+		private final int limit;
+		private final Set<Widget> found = new HashSet<Widget>();
+		private final List<WidgetSnapshot<T>> result = new ArrayList<WidgetSnapshot<T>>();
+		private int[] path = new int[16];
+		private int depth = 0;
+
+		public SnapshotWalk(Matcher<T> matcher, boolean recursive, boolean distinct, int limit) {
+			this.matcher = matcher;
+			this.recursive = recursive;
+			this.distinct = distinct;
+			this.limit = limit;
+		}
+
+		@SuppressWarnings("unchecked")
+		public void visit(Widget widget) {
+			if (result.size() >= limit || widget == null || widget.isDisposed()) {
+				return;
+			}
+			if (widget instanceof Control && !((Control) widget).getVisible()) {
+				return;
+			}
+			if (matcher.matches(widget) && (!distinct || found.add(widget))) {
+				try {
+					result.add(new WidgetSnapshot<T>((T) widget, true, getText(widget), 
+							Arrays.copyOf(path, depth)));
+				} catch (ClassCastException exception) {
+					throw new IllegalArgumentException("The specified matcher should only match against is declared type.", exception);
+				}
+			}
+			if (recursive) {
+				List<Widget> children = WidgetResolver.getInstance().getChildren(widget);
+				if (depth == path.length) {
+					path = Arrays.copyOf(path, depth * 2);
+				}
+				depth++;
+				for (int i = 0; i < children.size() && result.size() < limit; i++) {
+					path[depth - 1] = i;
+					visit(children.get(i));
+				}
+				depth--;
+			}
+		}
+
+		public List<WidgetSnapshot<T>> getResult() {
+			return result;
+		}
+
+		private String getText(Widget widget) {
+			try {
+				Object text = widget.getClass().getMethod("getText").invoke(widget);
+				return text instanceof String ? (String) text : null;
+			} catch (Exception e) {
+				return null;
+			}
+		}
 	}
 
 	private static class Index {
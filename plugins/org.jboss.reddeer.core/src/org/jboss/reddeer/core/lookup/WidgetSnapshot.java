@@ -0,0 +1,109 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.lookup;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * Immutable snapshot of a widget captured by {@link WidgetLookup} during a single
+ * walk of a widget tree in UI thread. Besides the widget itself it holds values
+ * which were valid at the time of the walk, so they can be read from non UI thread
+ * without further UI thread round trips.
+ *
+ * @param <T> type of captured widget
+ */
+public final class WidgetSnapshot<T extends Widget> {
+
+	private final T widget;
+	private final Class<?> widgetClass;
+	private final boolean visible;
+	private final String text;
+	private final int[] indexPath;
+
+	/**
+	 * Creates a new widget snapshot.
+	 *
+	 * @param widget captured widget
+	 * @param visible visibility of the widget at the time of capture
+	 * @param text text of the widget at the time of capture or null if widget has no text
+	 * @param indexPath child indexes leading from the lookup root to the widget
+	 */
+	public WidgetSnapshot(T widget, boolean visible, String text, int[] indexPath) {
+		this.widget = widget;
+		this.widgetClass = widget.getClass();
+		this.visible = visible;
+		this.text = text;
+		this.indexPath = indexPath.clone();
+	}
+
+	/**
+	 * Gets captured widget.
+	 *
+	 * @return captured widget
+	 */
+	public T getWidget() {
+		return widget;
+	}
+
+	/**
+	 * Gets class of captured widget.
+	 *
+	 * @return class of captured widget
+	 */
+	public Class<?> getWidgetClass() {
+		return widgetClass;
+	}
+
+	/**
+	 * Finds out whether the widget was visible at the time of capture.
+	 *
+	 * @return true if widget was visible, false otherwise
+	 */
+	public boolean isVisible() {
+		return visible;
+	}
+
+	/**
+	 * Gets text of the widget at the time of capture.
+	 *
+	 * @return text of the widget or null if widget does not have any text
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * Gets child indexes leading from the lookup root to the widget. Root itself
+	 * has an empty index path.
+	 *
+	 * @return copy of index path
+	 */
+	public int[] getIndexPath() {
+		return indexPath.clone();
+	}
+
+	/**
+	 * Gets depth of the widget relative to the lookup root.
+	 *
+	 * @return depth of the widget
+	 */
+	public int getDepth() {
+		return indexPath.length;
+	}
+
+	@Override
+	public String toString() {
+		return widgetClass.getName() + (text != null ? " with text '" + text + "'" : "")
+				+ " at " + Arrays.toString(indexPath);
+	}
+}
@@ -28,6 +28,8 @@ public class TreeItemTextMatcher extends TypeSafeMatcher<TreeItem> {
 	private Matcher<String> expectedTextMatcher;
 	
 	private int index = 0;
+
+	private String expectedText;
 	
 	/**
 	 * Creates new TreeItemTextMatcher matching text of {@link TreeItem} located at cell with index 0 
@@ -49,6 +51,7 @@ public class TreeItemTextMatcher extends TypeSafeMatcher<TreeItem> {
 	 */
 	public TreeItemTextMatcher(String expectedText, int index) {
 		this(new IsEqual<String>(expectedText), index);
+		this.expectedText = expectedText;
 	}
 	
 	/**
@@ -73,6 +76,24 @@ public class TreeItemTextMatcher extends TypeSafeMatcher<TreeItem> {
 		this.index = index;
 	}
 	
+	/**
+	 * Gets text a tree item has to be equal to in order to be matched.
+	 * 
+	 * @return expected text or null if text is matched by a text matcher
+	 */
+	public String getExpectedText() {
+		return expectedText;
+	}
+
+	/**
+	 * Gets index of cell whose text is matched.
+	 * 
+	 * @return index of matched cell
+	 */
+	public int getIndex() {
+		return index;
+	}
+
 	/* (non-Javadoc)
 	 * @see org.hamcrest.TypeSafeMatcher#matchesSafely(java.lang.Object)
 	 */
@@ -0,0 +1,111 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+
+/**
+ * Diagnostic dump writer formats and saves widget dumps outside of UI thread
+ * and outside of the failing thread. Dumps are named by their hash, so an
+ * identical dump is saved only once and following failures refer to the same
+ * file.
+ *
+ * @since 2.0
+ */
+class DiagnosticDumpWriter {
+
+	public static final int QUEUE_CAPACITY = 8;
+
+	private static final Logger log = Logger.getLogger(DiagnosticDumpWriter.class);
+
+	private static DiagnosticDumpWriter instance;
+
+	private final ThreadPoolExecutor executor;
+
+	// guarded by this
+	private final Set<File> files = new HashSet<File>();
+
+	private DiagnosticDumpWriter() {
+		this.executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY), new ThreadFactory() {
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						return new Thread(runnable, "RedDeer diagnostic dump writer");
+					}
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		// let JVM exit when there is nothing to write
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Gets instance of diagnostic dump writer.
+	 *
+	 * @return diagnostic dump writer
+	 */
+	static synchronized DiagnosticDumpWriter getInstance() {
+		if (instance == null) {
+			instance = new DiagnosticDumpWriter();
+		}
+		return instance;
+	}
+
+	/**
+	 * Schedules saving of a widget dump in format defined by
+	 * {@link RedDeerProperties#DIAGNOSTIC_DUMP_FORMAT}.
+	 *
+	 * @param dump widget dump
+	 * @param indentation indentation used by text format
+	 * @param lineDelimiter line delimiter used by text format
+	 * @return file the dump is saved to
+	 */
+	File write(final WidgetDump dump, final String indentation, final String lineDelimiter) {
+		final boolean json = "json".equals(RedDeerProperties.DIAGNOSTIC_DUMP_FORMAT.getValue());
+		File directory = new File(RedDeerProperties.DIAGNOSTIC_DUMP_DIRECTORY.getValue());
+		final File file = new File(directory, "widgets-" + Long.toHexString(dump.getHash())
+				+ (json ? ".json" : ".txt")).getAbsoluteFile();
+		synchronized (this) {
+			if (!files.add(file)) {
+				log.debug("Widget dump is identical to " + file.getName());
+				return file;
+			}
+		}
+		executor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				String content = json ? dump.toJson() : dump.toText(0, indentation, lineDelimiter);
+				try {
+					file.getParentFile().mkdirs();
+					Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+				} catch (IOException e) {
+					log.error("Saving widget dump to " + file + " failed", e);
+					synchronized (DiagnosticDumpWriter.this) {
+						files.remove(file);
+					}
+				}
+			}
+		});
+		return file;
+	}
+}
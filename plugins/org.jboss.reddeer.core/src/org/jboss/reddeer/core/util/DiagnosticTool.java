@@ -10,19 +10,19 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.util;
 
-import org.eclipse.swt.widgets.Composite;
+import java.io.File;
+
 import org.eclipse.swt.widgets.Control;
-import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Widget;
-import org.jboss.reddeer.common.util.Display;
-import org.jboss.reddeer.common.util.ResultRunnable;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
 import org.jboss.reddeer.core.handler.WidgetHandler;
 import org.jboss.reddeer.core.lookup.ShellLookup;
 import org.jboss.reddeer.core.lookup.WidgetLookup;
 
 /**
  * A diagnostic tool which can be used for getting information about available
- * shells or widgets.
+ * shells or widgets. Widgets are captured by {@link WidgetDump} in one bounded
+ * UI thread pass, the information is formatted outside of UI thread.
  * 
  * @author apodhrad
  *
@@ -65,12 +65,8 @@ public class DiagnosticTool {
 	 * @return Information about all available shells
 	 */
 	public String getShellsDiagnosticInformation() {
-		StringBuffer result = new StringBuffer();
-		result.append("The following shells are available").append(lineDelimiter);
-		for (Shell shell : ShellLookup.getInstance().getShells()) {
-			result.append(indentation).append(getWidgetInformation(shell)).append(lineDelimiter);
-		}
-		return result.toString();
+		WidgetDump dump = WidgetDump.captureWidgets(ShellLookup.getInstance().getShells());
+		return "The following shells are available" + lineDelimiter + dump.toText(1, indentation, lineDelimiter);
 	}
 
 	/**
@@ -82,41 +78,28 @@ public class DiagnosticTool {
 	 * @return information about all available widgets in the parent
 	 */
 	public String getDiagnosticInformation(final Control parent) {
-		return Display.syncExec(new ResultRunnable<String>() {
-
-			@Override
-			public String run() {
-				return getDiagnosticInformation(parent, initialIndentation);
-			}
-
-		});
+		return WidgetDump.capture(parent).toText(initialIndentation, indentation, lineDelimiter);
 	}
 
 	/**
-	 * Returns diagnostic information about all available widgets in a given
-	 * parent with the specified depth.
+	 * Returns reference to diagnostic information about available widgets in a
+	 * given parent. The information is saved to a file outside of UI thread,
+	 * identical information is saved only once. The information is returned
+	 * directly if {@link RedDeerProperties#DIAGNOSTIC_DUMP} is set to inline.
 	 * 
 	 * @param parent
 	 *            Parent control
-	 * @param depth
-	 *            Depth in the widget tree; used for indentation
-	 * @return information about all available widgets in the parent
+	 * @return reference to file with information about widgets in the parent
 	 */
-	private String getDiagnosticInformation(Control parent, int depth) {
-		StringBuffer result = new StringBuffer();
-		for (int i = 0; i < depth; i++) {
-			result.append(indentation);
+	public String dumpDiagnosticInformation(final Control parent) {
+		WidgetDump dump = WidgetDump.capture(parent);
+		if ("inline".equals(RedDeerProperties.DIAGNOSTIC_DUMP.getValue())) {
+			return dump.toText(initialIndentation, indentation, lineDelimiter);
 		}
-		result.append(getWidgetInformation(parent)).append(lineDelimiter);
-		if (parent instanceof Composite) {
-			Composite composite = (Composite) parent;
-			if (composite != null && !composite.isDisposed() && composite.getChildren() != null){
-				for (Control child : composite.getChildren()) {
-					result.append(getDiagnosticInformation(child, depth + 1));
-				}
-			}
-		}
-		return result.toString();
+		File file = DiagnosticDumpWriter.getInstance().write(dump, indentation, lineDelimiter);
+		String root = dump.getRoot() == null ? "null" : dump.getRoot().getDescription();
+		return "Widgets of " + root + " (" + dump.getNodeCount() + " captured, " + dump.getOmittedCount()
+				+ " omitted) are dumped to " + file.toURI();
 	}
 
 	/**
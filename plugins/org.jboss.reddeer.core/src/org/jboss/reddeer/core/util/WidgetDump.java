@@ -0,0 +1,431 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.swt.custom.CLabel;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Widget;
+import org.jboss.reddeer.common.util.Display;
+import org.jboss.reddeer.common.util.ResultRunnable;
+import org.jboss.reddeer.core.handler.WidgetHandler;
+
+/**
+ * Immutable structured snapshot of a widget tree used for diagnostics. The
+ * snapshot is captured in a single UI thread pass which is bounded by maximal
+ * depth and maximal count of captured widgets, widget texts are truncated.
+ * Formatting of the snapshot to text or JSON is done outside of UI thread.
+ *
+ * @since 2.0
+ */
+public class WidgetDump {
+
+	public static final int DEFAULT_MAX_DEPTH = 40;
+	public static final int DEFAULT_MAX_NODES = 2000;
+	public static final int MAX_TEXT_LENGTH = 200;
+
+	private final Node root;
+	private final int nodeCount;
+	private final int omittedCount;
+
+	private WidgetDump(Node root, int nodeCount, int omittedCount) {
+		this.root = root;
+		this.nodeCount = nodeCount;
+		this.omittedCount = omittedCount;
+	}
+
+	/**
+	 * Captures widget tree of specified parent with default limits.
+	 *
+	 * @param parent parent control
+	 * @return captured widget dump
+	 */
+	public static WidgetDump capture(Control parent) {
+		return capture(parent, DEFAULT_MAX_DEPTH, DEFAULT_MAX_NODES);
+	}
+
+	/**
+	 * Captures widget tree of specified parent.
+	 *
+	 * @param parent parent control
+	 * @param maxDepth maximal depth of captured widgets, parent has depth 0
+	 * @param maxNodes maximal count of captured widgets
+	 * @return captured widget dump
+	 */
+	public static WidgetDump capture(final Control parent, final int maxDepth, final int maxNodes) {
+		return Display.syncExec(new ResultRunnable<WidgetDump>() {
+
+			@Override
+			public WidgetDump run() {
+				Capture capture = new Capture(maxDepth, maxNodes);
+				Node root = capture.capture(parent, null, 0);
+				return new WidgetDump(root, capture.nodeCount, capture.omittedCount);
+			}
+		});
+	}
+
+	/**
+	 * Captures specified widgets without their children.
+	 *
+	 * @param widgets widgets to capture
+	 * @return captured widget dump with artificial root containing the widgets
+	 */
+	public static WidgetDump captureWidgets(final Widget[] widgets) {
+		return Display.syncExec(new ResultRunnable<WidgetDump>() {
+
+			@Override
+			public WidgetDump run() {
+				Capture capture = new Capture(0, widgets.length);
+				List<Node> children = new ArrayList<Node>(widgets.length);
+				for (Widget widget : widgets) {
+					children.add(capture.capture(widget, null, 0));
+				}
+				return new WidgetDump(new Node(null, null, null, true, true, children, 0), capture.nodeCount, 0);
+			}
+		});
+	}
+
+	/**
+	 * Gets root node of the dump.
+	 *
+	 * @return root node
+	 */
+	public Node getRoot() {
+		return root;
+	}
+
+	/**
+	 * Gets count of captured widgets.
+	 *
+	 * @return count of captured widgets
+	 */
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Gets count of widgets which were not captured due to limits.
+	 *
+	 * @return count of omitted widgets, widgets under maximal depth are not counted
+	 */
+	public int getOmittedCount() {
+		return omittedCount;
+	}
+
+	/**
+	 * Gets hash of captured widget tree. Identical trees have identical hashes.
+	 *
+	 * @return hash of the dump
+	 */
+	public long getHash() {
+		return root == null ? 0 : root.hash(1125899906842597L);
+	}
+
+	/**
+	 * Formats the dump to indented text, one widget per line.
+	 *
+	 * @param initialIndentation count of indentations of the root
+	 * @param indentation indentation string
+	 * @param lineDelimiter line delimiter
+	 * @return formatted dump
+	 */
+	public String toText(int initialIndentation, String indentation, String lineDelimiter) {
+		StringBuilder result = new StringBuilder();
+		if (root != null) {
+			appendText(result, root, initialIndentation, indentation, lineDelimiter);
+		}
+		if (omittedCount > 0) {
+			result.append(omittedCount).append(" widget(s) omitted").append(lineDelimiter);
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Formats the dump to JSON.
+	 *
+	 * @return JSON representation of the dump
+	 */
+	public String toJson() {
+		StringBuilder result = new StringBuilder();
+		result.append("{\"nodeCount\":").append(nodeCount).append(",\"omittedCount\":").append(omittedCount)
+				.append(",\"root\":");
+		if (root == null) {
+			result.append("null");
+		} else {
+			appendJson(result, root);
+		}
+		return result.append("}").toString();
+	}
+
+	private static void appendText(StringBuilder result, Node node, int depth, String indentation,
+			String lineDelimiter) {
+		if (node.className != null) {
+			for (int i = 0; i < depth; i++) {
+				result.append(indentation);
+			}
+			result.append(node.getDescription()).append(lineDelimiter);
+		}
+		int childDepth = node.className == null ? depth : depth + 1;
+		for (Node child : node.children) {
+			appendText(result, child, childDepth, indentation, lineDelimiter);
+		}
+		if (node.omittedChildren > 0) {
+			for (int i = 0; i < childDepth; i++) {
+				result.append(indentation);
+			}
+			result.append("... ").append(node.omittedChildren).append(" more child(ren)").append(lineDelimiter);
+		}
+	}
+
+	private static void appendJson(StringBuilder result, Node node) {
+		result.append("{\"class\":");
+		appendJsonString(result, node.className);
+		result.append(",\"label\":");
+		appendJsonString(result, node.label);
+		result.append(",\"text\":");
+		appendJsonString(result, node.text);
+		result.append(",\"visible\":").append(node.visible).append(",\"enabled\":").append(node.enabled);
+		if (node.omittedChildren > 0) {
+			result.append(",\"omittedChildren\":").append(node.omittedChildren);
+		}
+		result.append(",\"children\":[");
+		for (int i = 0; i < node.children.size(); i++) {
+			if (i > 0) {
+				result.append(",");
+			}
+			appendJson(result, node.children.get(i));
+		}
+		result.append("]}");
+	}
+
+	private static void appendJsonString(StringBuilder result, String value) {
+		if (value == null) {
+			result.append("null");
+			return;
+		}
+		result.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				result.append("\\\"");
+				break;
+			case '\\':
+				result.append("\\\\");
+				break;
+			case '\n':
+				result.append("\\n");
+				break;
+			case '\r':
+				result.append("\\r");
+				break;
+			case '\t':
+				result.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					result.append(String.format("\\u%04x", (int) c));
+				} else {
+					result.append(c);
+				}
+			}
+		}
+		result.append('"');
+	}
+
+	/**
+	 * Walks widget tree in UI thread and captures nodes within limits.
+	 */
+	private static class Capture {
+
+		private final int maxDepth;
+		private final int maxNodes;
+		private int nodeCount;
+		private int omittedCount;
+
+		private Capture(int maxDepth, int maxNodes) {
+			this.maxDepth = maxDepth;
+			this.maxNodes = maxNodes;
+		}
+
+		private Node capture(Widget widget, String label, int depth) {
+			nodeCount++;
+			if (widget == null) {
+				return new Node("null", null, null, false, false, Collections.<Node>emptyList(), 0);
+			}
+			if (widget.isDisposed()) {
+				return new Node(widget.getClass().toString() + " (disposed)", label, null, false, false,
+						Collections.<Node>emptyList(), 0);
+			}
+			boolean visible = true;
+			boolean enabled = true;
+			if (widget instanceof Control) {
+				visible = ((Control) widget).isVisible();
+				enabled = ((Control) widget).isEnabled();
+			}
+			List<Node> children = new ArrayList<Node>();
+			int omittedChildren = 0;
+			if (widget instanceof Composite && depth < maxDepth) {
+				String childLabel = null;
+				for (Control child : ((Composite) widget).getChildren()) {
+					if (nodeCount >= maxNodes) {
+						omittedChildren++;
+						omittedCount++;
+						continue;
+					}
+					Node node = capture(child, childLabel, depth + 1);
+					children.add(node);
+					// control usually follows its label
+					childLabel = child instanceof Label || child instanceof CLabel ? node.text : null;
+				}
+			}
+			return new Node(widget.getClass().toString(), label, getText(widget), visible, enabled,
+					Collections.unmodifiableList(children), omittedChildren);
+		}
+
+		private static String getText(Widget widget) {
+			try {
+				String text = WidgetHandler.getInstance().getText(widget);
+				if (text != null && text.length() > MAX_TEXT_LENGTH) {
+					text = text.substring(0, MAX_TEXT_LENGTH) + "...";
+				}
+				return text;
+			} catch (Exception e) {
+				// widget does not have any text
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Captured widget.
+	 */
+	public static class Node {
+
+		private final String className;
+		private final String label;
+		private final String text;
+		private final boolean visible;
+		private final boolean enabled;
+		private final List<Node> children;
+		private final int omittedChildren;
+
+		private Node(String className, String label, String text, boolean visible, boolean enabled,
+				List<Node> children, int omittedChildren) {
+			this.className = className;
+			this.label = label;
+			this.text = text;
+			this.visible = visible;
+			this.enabled = enabled;
+			this.children = children;
+			this.omittedChildren = omittedChildren;
+		}
+
+		/**
+		 * Gets class of captured widget as returned by Class.toString().
+		 *
+		 * @return class of widget or null for artificial root
+		 */
+		public String getClassName() {
+			return className;
+		}
+
+		/**
+		 * Gets text of a label preceding the widget.
+		 *
+		 * @return label of the widget or null
+		 */
+		public String getLabel() {
+			return label;
+		}
+
+		/**
+		 * Gets text of the widget, the text is truncated to
+		 * {@link WidgetDump#MAX_TEXT_LENGTH} characters.
+		 *
+		 * @return text of the widget or null
+		 */
+		public String getText() {
+			return text;
+		}
+
+		/**
+		 * Finds out whether the widget was visible.
+		 *
+		 * @return true if the widget was visible, false otherwise
+		 */
+		public boolean isVisible() {
+			return visible;
+		}
+
+		/**
+		 * Finds out whether the widget was enabled.
+		 *
+		 * @return true if the widget was enabled, false otherwise
+		 */
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		/**
+		 * Gets captured children of the widget.
+		 *
+		 * @return captured children
+		 */
+		public List<Node> getChildren() {
+			return children;
+		}
+
+		/**
+		 * Gets count of children which were not captured due to limits.
+		 *
+		 * @return count of omitted children
+		 */
+		public int getOmittedChildren() {
+			return omittedChildren;
+		}
+
+		/**
+		 * Gets one line description of the widget.
+		 *
+		 * @return description of the widget
+		 */
+		public String getDescription() {
+			StringBuilder result = new StringBuilder(String.valueOf(className));
+			if (label != null) {
+				result.append(" with label '").append(label).append("'");
+			}
+			if (text != null) {
+				result.append(" with text '").append(text).append("'");
+			}
+			return result.toString();
+		}
+
+		private long hash(long seed) {
+			long hash = seed;
+			hash = 31 * hash + (className == null ? 0 : className.hashCode());
+			hash = 31 * hash + (label == null ? 0 : label.hashCode());
+			hash = 31 * hash + (text == null ? 0 : text.hashCode());
+			hash = 31 * hash + (visible ? 1 : 2);
+			hash = 31 * hash + (enabled ? 1 : 2);
+			hash = 31 * hash + omittedChildren;
+			for (Node child : children) {
+				hash = child.hash(31 * hash);
+			}
+			return 31 * hash + children.size();
+		}
+	}
+}
@@ -12,6 +12,11 @@ package org.jboss.reddeer.direct.platform;
 
 import java.io.File;
 
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.jboss.reddeer.common.util.Display;
+
 /**
  * This class provides support for Eclipse Platform.
  * 
@@ -28,4 +33,26 @@ public class Platform {
 	public static File getWorkbenchLog() {
 		return org.eclipse.core.runtime.Platform.getLogFileLocation().toFile();
 	}
+
+	/**
+	 * Closes all editors in all workbench windows via Eclipse API without any prompt.
+	 * 
+	 * @param save whether to save dirty editors before closing
+	 */
+	public static void closeAllEditors(final boolean save) {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				for (IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
+					for (IWorkbenchPage page : window.getPages()) {
+						if (save) {
+							page.saveAllEditors(false);
+						}
+						page.closeAllEditors(false);
+					}
+				}
+			}
+		});
+	}
 }
@@ -10,12 +10,33 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.direct.project;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 /**
  * Utils handling project via API
@@ -23,7 +44,9 @@ import org.eclipse.core.runtime.CoreException;
  *
  */
 public class Project {
-	
+
+	private static final int MAX_DELETE_THREADS = 8;
+
 	/**
 	 * Deletes Eclipse project via Eclipse API.
 	 *
@@ -77,6 +100,196 @@ public class Project {
 		return getProject(projectName).isOpen();
 	}
 	
+	/**
+	 * Gets names of all projects in workspace.
+	 *
+	 * @return names of projects in workspace
+	 */
+	public static List<String> getProjectNames() {
+		List<String> names = new ArrayList<String>();
+		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+			names.add(project.getName());
+		}
+		return names;
+	}
+	
+	/**
+	 * Deletes all projects including their content via Eclipse API. Projects are
+	 * removed from workspace in one workspace operation while auto building is
+	 * suspended, their content is then deleted from file system in parallel.
+	 * Content failed to be deleted in parallel is deleted once more one by one
+	 * because the projects are already removed from workspace and nothing else
+	 * could delete it. Deletion is verified after workspace root is refreshed.
+	 *
+	 * @return names of deleted projects
+	 */
+	public static List<String> deleteAll() {
+		final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		final IProject[] projects = workspace.getRoot().getProjects();
+		final List<String> projectNames = new ArrayList<String>();
+		final List<File> contents = new ArrayList<File>();
+		if (projects.length == 0) {
+			return projectNames;
+		}
+		boolean autoBuilding = workspace.getDescription().isAutoBuilding();
+		try {
+			setAutoBuilding(workspace, false);
+			workspace.run(new IWorkspaceRunnable() {
+
+				@Override
+				public void run(IProgressMonitor monitor) throws CoreException {
+					for (IProject project : projects) {
+						projectNames.add(project.getName());
+						IPath location = project.getLocation();
+						if (location != null) {
+							// content is deleted from file system afterwards, in parallel
+							contents.add(location.toFile());
+							project.delete(IResource.NEVER_DELETE_PROJECT_CONTENT | IResource.FORCE, monitor);
+						} else {
+							project.delete(IResource.ALWAYS_DELETE_PROJECT_CONTENT | IResource.FORCE, monitor);
+						}
+					}
+				}
+			}, workspace.getRoot(), IWorkspace.AVOID_UPDATE, null);
+		} catch (CoreException ce) {
+			throw new RuntimeException("Unable to delete projects " + projectNames, ce);
+		} finally {
+			if (autoBuilding) {
+				setAutoBuilding(workspace, true);
+			}
+		}
+		try {
+			deleteContents(contents);
+		} catch (RuntimeException e) {
+			for (File content : contents) {
+				deleteRecursively(content.toPath());
+			}
+		}
+		verifyDeleted(workspace, contents);
+		return projectNames;
+	}
+
+	private static void setAutoBuilding(IWorkspace workspace, boolean autoBuilding) {
+		IWorkspaceDescription description = workspace.getDescription();
+		if (description.isAutoBuilding() != autoBuilding) {
+			description.setAutoBuilding(autoBuilding);
+			try {
+				workspace.setDescription(description);
+			} catch (CoreException ce) {
+				throw new RuntimeException("Unable to set auto building to " + autoBuilding, ce);
+			}
+		}
+	}
+
+	private static void deleteContents(List<File> contents) {
+		if (contents.isEmpty()) {
+			return;
+		}
+		int threads = Math.min(contents.size(),
+				Math.min(MAX_DELETE_THREADS, Runtime.getRuntime().availableProcessors()));
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "RedDeer project content deletion");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		try {
+			List<Future<?>> deletions = new ArrayList<Future<?>>();
+			for (final File content : contents) {
+				deletions.add(executor.submit(new Runnable() {
+
+					@Override
+					public void run() {
+						deleteRecursively(content.toPath());
+					}
+				}));
+			}
+			for (Future<?> deletion : deletions) {
+				try {
+					deletion.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException("Interrupted while deleting content of projects", e);
+				} catch (ExecutionException e) {
+					throw new RuntimeException("Unable to delete content of projects", e.getCause());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Deletes a file or a directory with all its content. Read-only files and
+	 * directories are made writable so they can be deleted.
+	 */
+	private static void deleteRecursively(Path path) {
+		try {
+			Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+					if (!Files.isWritable(directory)) {
+						directory.toFile().setWritable(true);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+					try {
+						Files.deleteIfExists(file);
+					} catch (AccessDeniedException e) {
+						file.toFile().setWritable(true);
+						Files.deleteIfExists(file);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+					if (e instanceof NoSuchFileException) {
+						return FileVisitResult.CONTINUE;
+					}
+					throw e;
+				}
+
+				@Override
+				public FileVisitResult postVisitDirectory(Path directory, IOException e) throws IOException {
+					if (e != null && !(e instanceof NoSuchFileException)) {
+						throw e;
+					}
+					Files.deleteIfExists(directory);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (NoSuchFileException e) {
+			// content was already deleted, e.g. it was nested in content of another project
+		} catch (IOException e) {
+			throw new RuntimeException("Unable to delete " + path, e);
+		}
+	}
+
+	private static void verifyDeleted(IWorkspace workspace, List<File> contents) {
+		try {
+			workspace.getRoot().refreshLocal(IResource.DEPTH_ONE, null);
+		} catch (CoreException ce) {
+			throw new RuntimeException("Unable to refresh workspace", ce);
+		}
+		List<String> remaining = getProjectNames();
+		for (File content : contents) {
+			if (content.exists()) {
+				remaining.add(content.getAbsolutePath());
+			}
+		}
+		if (!remaining.isEmpty()) {
+			throw new RuntimeException("Unable to delete projects " + remaining);
+		}
+	}
+
 	private static IProject getProject(String projectName){
 		return ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
 	}
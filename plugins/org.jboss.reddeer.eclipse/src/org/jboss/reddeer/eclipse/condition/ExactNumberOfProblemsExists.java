@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.eclipse.ui.markers.MarkerIndex;
 import org.jboss.reddeer.eclipse.ui.markers.matcher.AbstractMarkerMatcher;
 import org.jboss.reddeer.eclipse.ui.problems.Problem;
 import org.jboss.reddeer.eclipse.ui.views.ProblemsView;
@@ -21,6 +22,7 @@ import org.jboss.reddeer.eclipse.ui.views.ProblemsView.ProblemType;
 
 /**
  * Wait condition expects existence of specific amount of problems in Problems view.
+ * If {@link MarkerIndex} is enabled, the condition is evaluated against workspace markers without the view.
  * 
  * @author mlabuda@redhat.com
  */
@@ -61,13 +63,13 @@ public class ExactNumberOfProblemsExists extends AbstractWaitCondition {
 		problemMatchers = matchers;
 		
 		problemsView = new ProblemsView();
-		problemsView.open();
+		if (!MarkerIndex.isEnabled()) {
+			problemsView.open();
+		}
 	}
 
 	@Override
 	public boolean test() {
-		problemsView.activate();
-
 		problems = problemsView.getProblems(problemType, problemMatchers);
 		
 		return problems.size() == expectedProblemsCount;
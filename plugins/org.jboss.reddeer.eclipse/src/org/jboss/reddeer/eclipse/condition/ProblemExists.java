@@ -11,6 +11,7 @@
 package org.jboss.reddeer.eclipse.condition;
 
 import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.eclipse.ui.markers.MarkerIndex;
 import org.jboss.reddeer.eclipse.ui.markers.matcher.AbstractMarkerMatcher;
 import org.jboss.reddeer.eclipse.ui.views.ProblemsView;
 import org.jboss.reddeer.eclipse.ui.views.ProblemsView.ProblemType;
@@ -18,6 +19,7 @@ import org.jboss.reddeer.eclipse.ui.views.ProblemsView.ProblemType;
 /**
  * Wait condition for existence of a problem. Condition wait for existence of a specific problem or problem type. 
  * If such problem or problem type is available in Problems view. condition is met.
+ * If {@link MarkerIndex} is enabled, the condition is evaluated against workspace markers without the view.
  * @author mlabuda@redhat.com
  * @since 0.7
  */
@@ -41,12 +43,13 @@ public class ProblemExists extends AbstractWaitCondition {
 		this.problemType = problemType;
 		this.matchers = matchers;
 		problemsView = new ProblemsView();
-		problemsView.open();
+		if (!MarkerIndex.isEnabled()) {
+			problemsView.open();
+		}
 	}
 	
 	@Override
 	public boolean test() {
-		problemsView.activate();
 		return !problemsView.getProblems(problemType, matchers).isEmpty();
 	}
 
@@ -10,6 +10,7 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.eclipse.ui.markers;
 
+import org.jboss.reddeer.eclipse.ui.markers.MarkerIndex.IndexedMarker;
 import org.jboss.reddeer.eclipse.ui.views.AbstractMarkersSupportView.Column;
 import org.jboss.reddeer.eclipse.ui.views.markers.QuickFixWizard;
 import org.jboss.reddeer.swt.api.TreeItem;
@@ -18,6 +19,7 @@ import org.jboss.reddeer.swt.impl.menu.ContextMenu;
 /**
  * Abstract marker item in view supporting markers. Get methods return values of a specific column
  * of a marker. If there is no value for a specific column or a column is hidden, null is returned.
+ * Markers obtained from {@link MarkerIndex} return values of all columns regardless of a view.
  * 
  * @author mlabuda@redhat.com
  * @since 2.0
@@ -27,9 +29,20 @@ public abstract class AbstractMarker {
 	
 	protected TreeItem markerItem;
 	
+	protected IndexedMarker indexedMarker;
+	
 	public AbstractMarker(TreeItem markerItem) {
 		this.markerItem = markerItem;
 	}
+	
+	/**
+	 * Creates a marker backed by a workspace marker.
+	 * 
+	 * @param indexedMarker indexed workspace marker
+	 */
+	public AbstractMarker(IndexedMarker indexedMarker) {
+		this.indexedMarker = indexedMarker;
+	}
 
 	protected abstract String getCell(Column column);
 	
@@ -104,11 +117,20 @@ public abstract class AbstractMarker {
 	 * @return Quickfix wizard
 	 */
 	public QuickFixWizard openQuickFix(){
-		markerItem.select();
+		getMarkerItem().select();
 		new ContextMenu("Quick Fix").select();
 		return new QuickFixWizard();
 	}
 	
+	/**
+	 * Gets tree item of the marker.
+	 * 
+	 * @return tree item of the marker
+	 */
+	protected TreeItem getMarkerItem() {
+		return markerItem;
+	}
+	
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
@@ -12,6 +12,11 @@ package org.jboss.reddeer.eclipse.ui.markers;
 
 import java.util.List;
 
+import org.jboss.reddeer.eclipse.exception.EclipseLayerException;
+import org.jboss.reddeer.eclipse.ui.markers.MarkerIndex.IndexedMarker;
+import org.jboss.reddeer.eclipse.ui.markers.matcher.MarkerDescriptionMatcher;
+import org.jboss.reddeer.eclipse.ui.markers.matcher.MarkerLocationMatcher;
+import org.jboss.reddeer.eclipse.ui.markers.matcher.MarkerResourceMatcher;
 import org.jboss.reddeer.eclipse.ui.views.MarkersView;
 import org.jboss.reddeer.eclipse.ui.views.AbstractMarkersSupportView.Column;
 import org.jboss.reddeer.swt.api.TreeItem;
@@ -30,6 +35,17 @@ public class Marker extends AbstractMarker {
 		super(markerItem);
 		this.markerType = markerType;
 	}
+	
+	/**
+	 * Creates a new marker backed by a workspace marker.
+	 * 
+	 * @param markerType type of a marker, e.g. 'Java Problems'
+	 * @param marker indexed workspace marker
+	 */
+	public Marker(String markerType, IndexedMarker marker) {
+		super(marker);
+		this.markerType = markerType;
+	}
 
 	/**
 	 * Gets marker type. Returned markers type is plain type 
@@ -43,6 +59,9 @@ public class Marker extends AbstractMarker {
 	
 	@Override
 	protected String getCell(Column column) {
+		if (indexedMarker != null) {
+			return indexedMarker.getCell(column);
+		}
 		MarkersView markersView = new MarkersView();
 		List<String> columns = markersView.getProblemColumns();
 		if (columns.contains(column.toString())) {
@@ -51,6 +70,26 @@ public class Marker extends AbstractMarker {
 		return null;
 	}
 	
+	/**
+	 * Gets tree item of the marker. Tree item of a marker backed by
+	 * a workspace marker is looked up in Markers view.
+	 * 
+	 * @return tree item of the marker
+	 */
+	@Override
+	protected TreeItem getMarkerItem() {
+		if (markerItem == null) {
+			List<Marker> markers = new MarkersView().getMarkerFromTree(markerType,
+					new MarkerDescriptionMatcher(getDescription()), new MarkerResourceMatcher(getResource()),
+					new MarkerLocationMatcher(getLocation()));
+			if (markers.isEmpty()) {
+				throw new EclipseLayerException("Marker " + this + " is not shown in Markers view");
+			}
+			markerItem = markers.get(0).markerItem;
+		}
+		return markerItem;
+	}
+	
 	@Override
 	public String toString() {
 		return super.toString();
@@ -0,0 +1,483 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.eclipse.ui.markers;
+
+import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Platform;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.eclipse.exception.EclipseLayerException;
+import org.jboss.reddeer.eclipse.ui.markers.matcher.AbstractMarkerMatcher;
+import org.jboss.reddeer.eclipse.ui.problems.Problem;
+import org.jboss.reddeer.eclipse.ui.views.AbstractMarkersSupportView.Column;
+import org.jboss.reddeer.eclipse.ui.views.ProblemsView.ProblemType;
+
+/**
+ * Index of workspace markers shown in Problems and Markers views, i.e. problem,
+ * task and bookmark markers. The index is filled by
+ * {@link org.eclipse.core.resources.IWorkspaceRoot#findMarkers(String, boolean, int)}
+ * and kept current by a listener of marker deltas, so markers are queried
+ * without the views and without UI thread. Markers are indexed by severity,
+ * marker type group, resource and description.
+ * <br>
+ * Unlike the views, the index is not limited by item limit of a view and it
+ * does not apply filters of a view. Views use the index instead of their trees
+ * if system property {@link RedDeerProperties#MARKERS_ENGINE} is set to
+ * "workspace".
+ *
+ * @since 2.0
+ */
+public class MarkerIndex {
+
+	private static final Logger log = Logger.getLogger(MarkerIndex.class);
+
+	private static final String[] MARKER_TYPES = {IMarker.PROBLEM, IMarker.TASK, IMarker.BOOKMARK};
+
+	// attributes overriding resource name and path, see org.eclipse.ui.views.markers.MarkerViewUtil
+	private static final String NAME_ATTRIBUTE = "org.eclipse.ui.views.markers.name";
+	private static final String PATH_ATTRIBUTE = "org.eclipse.ui.views.markers.path";
+
+	private static final String MARKER_SUPPORT_EXTENSION_POINT = "org.eclipse.ui.ide.markerSupport";
+
+	private static MarkerIndex instance;
+
+	private final IResourceChangeListener listener = new MarkerDeltaListener();
+
+	// marker ids are unique only per resource, markers are keyed by IMarker (resource and id)
+	private final Map<IMarker, IndexedMarker> markers = new HashMap<IMarker, IndexedMarker>();
+	private final Index<Integer> bySeverity = new Index<Integer>();
+	private final Index<String> byGroup = new Index<String>();
+	private final Index<String> byResource = new Index<String>();
+	private final Index<String> byDescription = new Index<String>();
+
+	private final Map<String, String> typeLabels = new HashMap<String, String>();
+	private Map<String, String> typeCategories;
+
+	private MarkerIndex() {
+
+	}
+
+	/**
+	 * Gets instance of MarkerIndex. The index is filled and its listener
+	 * is registered to workspace when it is used for the first time.
+	 *
+	 * @return MarkerIndex instance
+	 */
+	public static synchronized MarkerIndex getInstance() {
+		if (instance == null) {
+			MarkerIndex index = new MarkerIndex();
+			index.install();
+			instance = index;
+		}
+		return instance;
+	}
+
+	/**
+	 * Finds out whether views supporting markers should be queried via workspace
+	 * markers instead of their trees.
+	 *
+	 * @return true if system property {@link RedDeerProperties#MARKERS_ENGINE} is "workspace"
+	 */
+	public static boolean isEnabled() {
+		return "workspace".equals(RedDeerProperties.MARKERS_ENGINE.getValue());
+	}
+
+	/**
+	 * Gets problems of specified type matching specified matchers. Problems are
+	 * ordered by their description and resource.
+	 *
+	 * @param problemType type of problems
+	 * @param matchers matchers of columns
+	 * @return list of problems
+	 */
+	public List<Problem> getProblems(ProblemType problemType, AbstractMarkerMatcher... matchers) {
+		List<Problem> result = new ArrayList<Problem>();
+		if (problemType.equals(ProblemType.ERROR) || problemType.equals(ProblemType.ALL)) {
+			for (IndexedMarker marker : find(bySeverity, IMarker.SEVERITY_ERROR, matchers)) {
+				result.add(new Problem(ProblemType.ERROR, marker));
+			}
+		}
+		if (problemType.equals(ProblemType.WARNING) || problemType.equals(ProblemType.ALL)) {
+			for (IndexedMarker marker : find(bySeverity, IMarker.SEVERITY_WARNING, matchers)) {
+				result.add(new Problem(ProblemType.WARNING, marker));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets markers of specified type matching specified matchers. Markers are
+	 * ordered by their description and resource.
+	 *
+	 * @param markerType type of markers as shown in Markers view, e.g. 'Java Problems'
+	 * @param matchers matchers of columns
+	 * @return list of markers
+	 */
+	public List<Marker> getMarkers(String markerType, AbstractMarkerMatcher... matchers) {
+		List<Marker> result = new ArrayList<Marker>();
+		for (IndexedMarker marker : find(byGroup, markerType, matchers)) {
+			result.add(new Marker(markerType, marker));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets number of indexed markers.
+	 *
+	 * @return number of indexed markers
+	 */
+	public synchronized int size() {
+		return markers.size();
+	}
+
+	/**
+	 * Finds markers of specified key of specified index matching all matchers.
+	 * Matchers of whole text of description or resource narrow candidates down
+	 * by their indexes, remaining matchers are evaluated outside of the lock.
+	 */
+	private <K> List<IndexedMarker> find(Index<K> index, K key, AbstractMarkerMatcher... matchers) {
+		List<IndexedMarker> candidates;
+		synchronized (this) {
+			Collection<IndexedMarker> smallest = index.get(key);
+			if (matchers != null) {
+				for (AbstractMarkerMatcher matcher : matchers) {
+					Collection<IndexedMarker> narrowed = null;
+					if (matcher.getExpectedText() != null && matcher.getColumn() == Column.DESCRIPTION) {
+						narrowed = byDescription.get(matcher.getExpectedText());
+					} else if (matcher.getExpectedText() != null && matcher.getColumn() == Column.RESOURCE) {
+						narrowed = byResource.get(matcher.getExpectedText());
+					}
+					if (narrowed != null && narrowed.size() < smallest.size()) {
+						smallest = narrowed;
+					}
+				}
+			}
+			candidates = new ArrayList<IndexedMarker>(smallest.size());
+			Set<IndexedMarker> keyed = index.get(key);
+			for (IndexedMarker candidate : smallest) {
+				if (keyed.contains(candidate)) {
+					candidates.add(candidate);
+				}
+			}
+		}
+		List<IndexedMarker> result = new ArrayList<IndexedMarker>();
+		for (IndexedMarker candidate : candidates) {
+			if (candidate.matches(matchers)) {
+				result.add(candidate);
+			}
+		}
+		Collections.sort(result, new Comparator<IndexedMarker>() {
+
+			@Override
+			public int compare(IndexedMarker marker1, IndexedMarker marker2) {
+				int result = marker1.description.compareTo(marker2.description);
+				return result != 0 ? result : marker1.resource.compareTo(marker2.resource);
+			}
+		});
+		return result;
+	}
+
+	private void install() {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		workspace.addResourceChangeListener(listener, IResourceChangeEvent.POST_CHANGE);
+		// markers are read under lock, deltas of concurrent changes are applied afterwards
+		synchronized (this) {
+			for (String type : MARKER_TYPES) {
+				try {
+					for (IMarker marker : workspace.getRoot().findMarkers(type, true, IResource.DEPTH_INFINITE)) {
+						put(create(marker));
+					}
+				} catch (CoreException e) {
+					workspace.removeResourceChangeListener(listener);
+					throw new EclipseLayerException("Cannot find markers of type " + type, e);
+				}
+			}
+		}
+		log.debug("Marker index of " + markers.size() + " markers installed");
+	}
+
+	private synchronized void apply(IMarkerDelta[] deltas) {
+		for (IMarkerDelta delta : deltas) {
+			if (delta.getKind() == IResourceDelta.REMOVED) {
+				remove(delta.getMarker());
+			} else if (isIndexedType(delta)) {
+				// attributes of changed delta are old ones, current attributes are read from marker
+				try {
+					put(create(delta.getMarker()));
+				} catch (CoreException e) {
+					remove(delta.getMarker());
+				}
+			}
+		}
+	}
+
+	private boolean isIndexedType(IMarkerDelta delta) {
+		for (String type : MARKER_TYPES) {
+			if (delta.isSubtypeOf(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void put(IndexedMarker marker) {
+		remove(marker.marker);
+		markers.put(marker.marker, marker);
+		if (marker.severity != null) {
+			bySeverity.add(marker.severity, marker);
+		}
+		byGroup.add(marker.group, marker);
+		byResource.add(marker.resource, marker);
+		byDescription.add(marker.description, marker);
+	}
+
+	private void remove(IMarker workspaceMarker) {
+		IndexedMarker marker = markers.remove(workspaceMarker);
+		if (marker != null) {
+			if (marker.severity != null) {
+				bySeverity.remove(marker.severity, marker);
+			}
+			byGroup.remove(marker.group, marker);
+			byResource.remove(marker.resource, marker);
+			byDescription.remove(marker.description, marker);
+		}
+	}
+
+	private IndexedMarker create(IMarker marker) throws CoreException {
+		Map<String, Object> attributes = marker.getAttributes();
+		if (attributes == null) {
+			attributes = Collections.emptyMap();
+		}
+		Integer severity = null;
+		if (marker.isSubtypeOf(IMarker.PROBLEM) && attributes.get(IMarker.SEVERITY) instanceof Integer) {
+			severity = (Integer) attributes.get(IMarker.SEVERITY);
+		}
+		IResource resource = marker.getResource();
+		String typeLabel = getTypeLabel(marker.getType());
+		String group = getTypeCategory(marker.getType());
+		return new IndexedMarker(marker, marker.getId(), severity, group == null ? typeLabel : group,
+				getString(attributes, IMarker.MESSAGE, ""),
+				getString(attributes, NAME_ATTRIBUTE, resource.getName()),
+				getString(attributes, PATH_ATTRIBUTE, getPath(resource)),
+				getLocation(attributes), typeLabel, marker.getCreationTime());
+	}
+
+	private static String getString(Map<String, Object> attributes, String name, String defaultValue) {
+		Object value = attributes.get(name);
+		return value instanceof String ? (String) value : defaultValue;
+	}
+
+	/**
+	 * Gets path column of a resource, i.e. full path of its parent.
+	 */
+	private static String getPath(IResource resource) {
+		IPath path = resource.getFullPath();
+		if (path.segmentCount() <= 1) {
+			return "";
+		}
+		return path.removeLastSegments(1).toString();
+	}
+
+	/**
+	 * Gets location column of a marker, i.e. its location attribute or its line number.
+	 */
+	private static String getLocation(Map<String, Object> attributes) {
+		String location = getString(attributes, IMarker.LOCATION, null);
+		if (location != null && !location.isEmpty()) {
+			return location;
+		}
+		Object line = attributes.get(IMarker.LINE_NUMBER);
+		if (line instanceof Integer && (Integer) line >= 0) {
+			return "line " + line;
+		}
+		return "";
+	}
+
+	/**
+	 * Gets label of a marker type as shown in Type column.
+	 */
+	private String getTypeLabel(String type) {
+		String label = typeLabels.get(type);
+		if (label == null) {
+			IExtension extension = Platform.getExtensionRegistry().getExtension(
+					ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PT_MARKERS, type);
+			label = extension == null || extension.getLabel() == null || extension.getLabel().isEmpty()
+					? type : extension.getLabel();
+			typeLabels.put(type, label);
+		}
+		return label;
+	}
+
+	/**
+	 * Gets name of a category of a marker type Markers view groups the type by,
+	 * e.g. 'Java Problems'.
+	 *
+	 * @return name of category or null if the type does not belong to a category
+	 */
+	private String getTypeCategory(String type) {
+		if (typeCategories == null) {
+			typeCategories = new HashMap<String, String>();
+			for (IConfigurationElement element : Platform.getExtensionRegistry()
+					.getConfigurationElementsFor(MARKER_SUPPORT_EXTENSION_POINT)) {
+				if ("markerTypeCategory".equals(element.getName())) {
+					for (IConfigurationElement reference : element.getChildren("markerTypeReference")) {
+						typeCategories.put(reference.getAttribute("id"), element.getAttribute("name"));
+					}
+				}
+			}
+		}
+		return typeCategories.get(type);
+	}
+
+	/**
+	 * Workspace marker with values of columns of views supporting markers.
+	 * Values are read when the marker is indexed, so they can be read from
+	 * any thread.
+	 */
+	public static class IndexedMarker {
+
+		private final IMarker marker;
+		private final long id;
+		private final Integer severity;
+		private final String group;
+		private final String description;
+		private final String resource;
+		private final String path;
+		private final String location;
+		private final String type;
+		private final long creationTime;
+
+		private IndexedMarker(IMarker marker, long id, Integer severity, String group, String description,
+				String resource, String path, String location, String type, long creationTime) {
+			this.marker = marker;
+			this.id = id;
+			this.severity = severity;
+			this.group = group;
+			this.description = description;
+			this.resource = resource;
+			this.path = path;
+			this.location = location;
+			this.type = type;
+			this.creationTime = creationTime;
+		}
+
+		/**
+		 * Gets workspace marker.
+		 *
+		 * @return workspace marker
+		 */
+		public IMarker getMarker() {
+			return marker;
+		}
+
+		/**
+		 * Gets value of specified column of the marker.
+		 *
+		 * @param column column of a view supporting markers
+		 * @return value of the column
+		 */
+		public String getCell(Column column) {
+			switch (column) {
+				case DESCRIPTION:
+					return description;
+				case RESOURCE:
+					return resource;
+				case PATH:
+					return path;
+				case ID:
+					return String.valueOf(id);
+				case LOCATION:
+					return location;
+				case TYPE:
+					return type;
+				case CREATION_TIME:
+					return DateFormat.getDateTimeInstance(DateFormat.LONG, DateFormat.MEDIUM)
+							.format(new Date(creationTime));
+				default:
+					return null;
+			}
+		}
+
+		private boolean matches(AbstractMarkerMatcher... matchers) {
+			if (matchers != null) {
+				for (AbstractMarkerMatcher matcher : matchers) {
+					if (!matcher.matches(getCell(matcher.getColumn()))) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+	}
+
+	private static class Index<K> {
+
+		private final Map<K, Set<IndexedMarker>> entries = new HashMap<K, Set<IndexedMarker>>();
+
+		private Set<IndexedMarker> get(K key) {
+			Set<IndexedMarker> markers = entries.get(key);
+			return markers == null ? Collections.<IndexedMarker>emptySet() : markers;
+		}
+
+		private void add(K key, IndexedMarker marker) {
+			Set<IndexedMarker> markers = entries.get(key);
+			if (markers == null) {
+				markers = new LinkedHashSet<IndexedMarker>();
+				entries.put(key, markers);
+			}
+			markers.add(marker);
+		}
+
+		private void remove(K key, IndexedMarker marker) {
+			Set<IndexedMarker> markers = entries.get(key);
+			if (markers != null) {
+				markers.remove(marker);
+				if (markers.isEmpty()) {
+					entries.remove(key);
+				}
+			}
+		}
+	}
+
+	private class MarkerDeltaListener implements IResourceChangeListener {
+
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			IMarkerDelta[] deltas = event.findMarkerDeltas(null, true);
+			if (deltas.length > 0) {
+				apply(deltas);
+			}
+		}
+	}
+}
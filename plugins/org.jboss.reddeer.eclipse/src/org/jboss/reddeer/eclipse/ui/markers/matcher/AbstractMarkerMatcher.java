@@ -28,6 +28,8 @@ public abstract class AbstractMarkerMatcher extends AbstractWidgetWithTextMatche
 
 	protected Matcher<String> matcher;
 	
+	private String expectedText;
+	
 	/**
 	 * Creates a new marker matcher matching to whole text of a column.
 	 * 
@@ -35,6 +37,7 @@ public abstract class AbstractMarkerMatcher extends AbstractWidgetWithTextMatche
 	 */
 	public AbstractMarkerMatcher(String text) {
 		this(new IsEqual<String>(text));
+		this.expectedText = text;
 	}
 	
 	/**
@@ -55,6 +58,15 @@ public abstract class AbstractMarkerMatcher extends AbstractWidgetWithTextMatche
 	 */
 	public abstract Column getColumn();
 	
+	/**
+	 * Gets whole column text the matcher was created for.
+	 * 
+	 * @return whole column text to match or null if the matcher was created with a matcher
+	 */
+	public String getExpectedText() {
+		return expectedText;
+	}
+	
 	@Override
 	public void describeTo(Description description) {
 		description.appendDescriptionOf(matcher);
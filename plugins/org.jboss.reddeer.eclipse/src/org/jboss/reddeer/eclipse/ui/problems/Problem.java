@@ -12,7 +12,12 @@ package org.jboss.reddeer.eclipse.ui.problems;
 
 import java.util.List;
 
+import org.jboss.reddeer.eclipse.exception.EclipseLayerException;
 import org.jboss.reddeer.eclipse.ui.markers.AbstractMarker;
+import org.jboss.reddeer.eclipse.ui.markers.MarkerIndex.IndexedMarker;
+import org.jboss.reddeer.eclipse.ui.markers.matcher.MarkerDescriptionMatcher;
+import org.jboss.reddeer.eclipse.ui.markers.matcher.MarkerLocationMatcher;
+import org.jboss.reddeer.eclipse.ui.markers.matcher.MarkerResourceMatcher;
 import org.jboss.reddeer.eclipse.ui.views.ProblemsView;
 import org.jboss.reddeer.eclipse.ui.views.AbstractMarkersSupportView.Column;
 import org.jboss.reddeer.eclipse.ui.views.ProblemsView.ProblemType;
@@ -49,6 +54,17 @@ public class Problem extends AbstractMarker {
 		this(ProblemType.fromString(problemType), item);
 	}
 	
+	/**
+	 * Creates a new problem backed by a workspace marker.
+	 * 
+	 * @param problemType type of a problem [warning|error]
+	 * @param marker indexed workspace marker of a problem
+	 */
+	public Problem(ProblemType problemType, IndexedMarker marker) {
+		super(marker);
+		this.problemType = problemType;
+	}
+	
 	/**
 	 * Gets type of the problem. Currently either warning or error. There is also info but this feature is not 
 	 * supported yet.
@@ -61,6 +77,9 @@ public class Problem extends AbstractMarker {
 
 	@Override
 	protected String getCell(Column column) {
+		if (indexedMarker != null) {
+			return indexedMarker.getCell(column);
+		}
 		ProblemsView problemsView = new ProblemsView();
 		List<String> columns = problemsView.getProblemColumns();
 		if (columns.contains(column.toString())) {
@@ -69,6 +88,26 @@ public class Problem extends AbstractMarker {
 		return null;
 	}
 
+	/**
+	 * Gets tree item of the problem. Tree item of a problem backed by
+	 * a workspace marker is looked up in Problems view.
+	 * 
+	 * @return tree item of the problem
+	 */
+	@Override
+	protected TreeItem getMarkerItem() {
+		if (markerItem == null) {
+			List<Problem> problems = new ProblemsView().getProblemsFromTree(problemType,
+					new MarkerDescriptionMatcher(getDescription()), new MarkerResourceMatcher(getResource()),
+					new MarkerLocationMatcher(getLocation()));
+			if (problems.isEmpty()) {
+				throw new EclipseLayerException("Problem " + this + " is not shown in Problems view");
+			}
+			markerItem = problems.get(0).markerItem;
+		}
+		return markerItem;
+	}
+
 	@Override
 	public String toString() {
 		return super.toString();
@@ -17,6 +17,7 @@ import org.jboss.reddeer.common.wait.WaitUntil;
 import org.jboss.reddeer.common.wait.WaitWhile;
 import org.jboss.reddeer.eclipse.condition.AbstractExtendedMarkersViewIsUpdating;
 import org.jboss.reddeer.eclipse.ui.markers.Marker;
+import org.jboss.reddeer.eclipse.ui.markers.MarkerIndex;
 import org.jboss.reddeer.eclipse.ui.markers.matcher.AbstractMarkerMatcher;
 
 /**
@@ -38,6 +39,7 @@ public class MarkersView extends AbstractMarkersSupportView {
 	
 	/**
 	 * Gets a list of markers of specified type matching specified matchers.
+	 * Markers are obtained from {@link MarkerIndex} if it is enabled, from the tree of the view otherwise.
 	 * 
 	 * @param markerType type of a problem, provide type of problem without
 	 * 			 numerous info in parenthesis, e.g. 'Java Problems', 'Maven Problems' etc.
@@ -45,6 +47,21 @@ public class MarkersView extends AbstractMarkersSupportView {
 	 * @return list of markers
 	 */
 	public List<Marker> getMarker(String markerType, AbstractMarkerMatcher... matchers) {
+		if (MarkerIndex.isEnabled()) {
+			return MarkerIndex.getInstance().getMarkers(markerType, matchers);
+		}
+		return getMarkerFromTree(markerType, matchers);
+	}
+	
+	/**
+	 * Gets a list of markers shown in the tree of the view of specified type matching specified matchers.
+	 * 
+	 * @param markerType type of a problem, provide type of problem without
+	 * 			 numerous info in parenthesis, e.g. 'Java Problems', 'Maven Problems' etc.
+	 * @param matchers matchers of columns
+	 * @return list of markers
+	 */
+	public List<Marker> getMarkerFromTree(String markerType, AbstractMarkerMatcher... matchers) {
 		activate();
 		new WaitUntil(new MarkersViewMarkerIsUpdating(),TimePeriod.SHORT,false);
 		new WaitWhile(new MarkersViewMarkerIsUpdating());
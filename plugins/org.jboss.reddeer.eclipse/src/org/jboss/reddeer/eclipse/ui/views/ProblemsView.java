@@ -17,6 +17,7 @@ import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.common.wait.WaitUntil;
 import org.jboss.reddeer.common.wait.WaitWhile;
 import org.jboss.reddeer.eclipse.condition.AbstractExtendedMarkersViewIsUpdating;
+import org.jboss.reddeer.eclipse.ui.markers.MarkerIndex;
 import org.jboss.reddeer.eclipse.ui.markers.matcher.AbstractMarkerMatcher;
 import org.jboss.reddeer.eclipse.ui.problems.Problem;
 
@@ -37,12 +38,28 @@ public class ProblemsView extends AbstractMarkersSupportView {
 	
 	/**
 	 * Returns a list of problems that are of a specific type or any and that are matching specified matchers.
+	 * Problems are obtained from {@link MarkerIndex} if it is enabled, from the tree of the view otherwise.
 	 * 
 	 * @param problemType type of a problem
 	 * @param matchers matchers of columns
 	 * @return list of problem
 	 */
 	public List<Problem> getProblems(ProblemType problemType, AbstractMarkerMatcher... matchers) {
+		if (MarkerIndex.isEnabled()) {
+			return MarkerIndex.getInstance().getProblems(problemType, matchers);
+		}
+		return getProblemsFromTree(problemType, matchers);
+	}
+	
+	/**
+	 * Returns a list of problems shown in the tree of the view that are of a specific type or any 
+	 * and that are matching specified matchers.
+	 * 
+	 * @param problemType type of a problem
+	 * @param matchers matchers of columns
+	 * @return list of problem
+	 */
+	public List<Problem> getProblemsFromTree(ProblemType problemType, AbstractMarkerMatcher... matchers) {
 		activate();
 		new WaitUntil(new ProblemsViewMarkerIsUpdating(),TimePeriod.SHORT,false);
 		new WaitWhile(new ProblemsViewMarkerIsUpdating());
@@ -12,15 +12,17 @@ package org.jboss.reddeer.jface.viewer.handler;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.swt.custom.StyleRange;
 import org.jboss.reddeer.common.util.Display;
 import org.jboss.reddeer.common.util.ResultRunnable;
+import org.jboss.reddeer.core.handler.TreeItemHandler;
 import org.jboss.reddeer.jface.exception.JFaceLayerException;
 import org.jboss.reddeer.swt.api.Tree;
 import org.jboss.reddeer.swt.api.TreeItem;
+import org.jboss.reddeer.swt.impl.tree.DefaultTreeItem;
 
 /**
  * Represents handler for TreeViewer widget.
@@ -56,7 +58,7 @@ public class TreeViewerHandler {
 	 * @return tree item placed under specified tree
 	 */
 	public TreeItem getTreeItem(Tree tree, String... path) {
-		return getTreeItem(tree.getItems().iterator(), path);
+		return getSingleTreeItem(getTreeItems(tree, path));
 	}
 	
 	/**
@@ -68,12 +70,10 @@ public class TreeViewerHandler {
 	 * @return the tree item
 	 */
 	public TreeItem getTreeItem(TreeItem treeItem, String... path) {
-		return getTreeItem(treeItem.getItems().iterator(), path);
+		return getSingleTreeItem(getTreeItems(treeItem, path));
 	}
 	
-	private TreeItem getTreeItem(Iterator<TreeItem> iterator, String... path) {
-		List<TreeItem> resultItems = getTreeItems(iterator, path);
-
+	private TreeItem getSingleTreeItem(List<TreeItem> resultItems) {
 		if (resultItems.size() > 1) {
 			throw new JFaceLayerException("There are more items matching specified path so result is ambiguous. " +
 					"To obtain all such items, please use method getTreeItems with same parameters");
@@ -92,7 +92,8 @@ public class TreeViewerHandler {
 	 * @return tree items placed under a specified tree
 	 */
 	public List<TreeItem> getTreeItems(Tree tree, String... path) {
-		return getTreeItems(tree.getItems().iterator(), path);
+		checkPath(path);
+		return resolvePath(new Branch(tree.getSWTWidget(), 0), path);
 	}
 	
 	/**
@@ -105,38 +106,53 @@ public class TreeViewerHandler {
 	 * @return list of tree items placed under a specified tree item
 	 */
 	public List<TreeItem> getTreeItems(TreeItem item, String... path) {
-		return getTreeItems(item.getItems().iterator(), path);
+		checkPath(path);
+		TreeItemHandler.getInstance().expand(item.getSWTWidget());
+		return resolvePath(new Branch(item.getSWTWidget(), 0), path);
 	}
 	
-	private List<TreeItem> getTreeItems(Iterator<TreeItem> iterator, String... path) {
+	private void checkPath(String... path) {
 		if (path == null || path.length == 0) {
 			throw new IllegalArgumentException("Path to a tree item cannot be null");
 		}
-		
-		int index = 0;               
-		Iterator<TreeItem> nestedItemsIterator = iterator;
-		List<TreeItem> resultItems = new ArrayList<TreeItem>();
+	}
 	
-		while (index < path.length) {
-			List<TreeItem> nestedItems = new ArrayList<TreeItem>();
-			while (nestedItemsIterator.hasNext()) {
-				TreeItem item = nestedItemsIterator.next();
-				if (getNonStyledText(item).equals(path[index])) {
-					if (index == path.length - 1) {
-						resultItems.add(item);
-					} else {
-						nestedItems.addAll(item.getItems());
+	/**
+	 * Resolves tree items matching specified path. Items are matched inside a single
+	 * UI thread execution as long as matching items are expanded, only collapsed items
+	 * on matching branches are expanded before the next execution. Items which do not
+	 * match the path are neither expanded nor wrapped.
+	 */
+	private List<TreeItem> resolvePath(Branch root, final String... path) {
+		List<Branch> branches = Collections.singletonList(root);
+		while (!branches.isEmpty()) {
+			final List<Branch> unresolved = branches;
+			branches = Display.syncExec(new ResultRunnable<List<Branch>>() {
+
+				@Override
+				public List<Branch> run() {
+					List<Branch> collapsed = new ArrayList<Branch>();
+					for (Branch branch : unresolved) {
+						branch.resolve(path, collapsed);
 					}
+					return collapsed;
 				}
+			});
+			for (Branch branch : branches) {
+				TreeItemHandler.getInstance().expand((org.eclipse.swt.widgets.TreeItem) branch.parent);
 			}
-			nestedItemsIterator = nestedItems.iterator();
-			index++;
 		}
 		
-		if (resultItems.size() == 0) {
+		List<org.eclipse.swt.widgets.TreeItem> swtItems = new ArrayList<org.eclipse.swt.widgets.TreeItem>();
+		root.collect(swtItems);
+		if (swtItems.size() == 0) {
 			throw new JFaceLayerException("There is no tree item with path " + Arrays.toString(path));
 		} 
 		
+		List<TreeItem> resultItems = new ArrayList<TreeItem>(swtItems.size());
+		for (org.eclipse.swt.widgets.TreeItem swtItem : swtItems) {
+			resultItems.add(new DefaultTreeItem(swtItem));
+		}
 		return resultItems;
 	}
 	
@@ -148,39 +164,21 @@ public class TreeViewerHandler {
 			public TreeViewerHandler.TreeItemTexts run() {
 				String nonStyledText = null;
 				String[] styledTexts = null;
+				String rawText = swtTreeItem.getText();
 				StyleRange[] styleRanges = getStyleRanges(swtTreeItem);
+				int[] bounds = getNonStyledTextBounds(rawText, styleRanges);
+				nonStyledText = rawText.substring(bounds[0], bounds[1]);
 				
-				if (styleRanges == null) {
-					// Everything is ok, there is no styled texts
-					nonStyledText = swtTreeItem.getText().trim();
-					styledTexts = null;
-				} else {
+				if (styleRanges != null) {
 					// Here it goes. There are some styled texts
-					String rawText = swtTreeItem.getText();
-					String[] tmpStyledTexts = new String[styleRanges.length];
-					String tmpNonStyledText = null;
-					int currentTextIndex = 0;
+					styledTexts = new String[styleRanges.length];
 					int i = 0;
 					
-					for (StyleRange range: getStyleRanges(swtTreeItem)) {
-						// At some point there is a non-styled text
-						if (range.start > currentTextIndex) {
-							tmpNonStyledText = rawText.substring(currentTextIndex, 
-									range.start).trim();
-						}
-						
-						tmpStyledTexts[i] = rawText.substring(range.start, range.start +
+					for (StyleRange range: styleRanges) {
+						styledTexts[i] = rawText.substring(range.start, range.start +
 								range.length).trim();
-						currentTextIndex = range.start + range.length;
 						i++;
 					}
-					
-					if (tmpNonStyledText == null) {
-						tmpNonStyledText = rawText.substring(currentTextIndex).trim();
-					}
-					
-					nonStyledText = tmpNonStyledText;
-					styledTexts = tmpStyledTexts;
 				}
 				
 				return new TreeItemTexts(nonStyledText, styledTexts);
@@ -188,9 +186,54 @@ public class TreeViewerHandler {
 		});
 	}
 
+	/**
+	 * Gets bounds of trimmed non-styled text of a label. Non-styled text is the last 
+	 * text preceding a styled text or the text following the last styled text 
+	 * if styled texts are not separated.
+	 * 
+	 * @return begin index and end index of the non-styled text
+	 */
+	private static int[] getNonStyledTextBounds(String rawText, StyleRange[] styleRanges) {
+		int begin = 0;
+		int end = rawText.length();
+		if (styleRanges != null) {
+			int currentTextIndex = 0;
+			boolean separated = false;
+			for (StyleRange range: styleRanges) {
+				// At some point there is a non-styled text
+				if (range.start > currentTextIndex) {
+					begin = currentTextIndex;
+					end = range.start;
+					separated = true;
+				}
+				currentTextIndex = range.start + range.length;
+			}
+			if (!separated) {
+				begin = currentTextIndex;
+				end = rawText.length();
+			}
+		}
+		while (begin < end && rawText.charAt(begin) <= ' ') {
+			begin++;
+		}
+		while (end > begin && rawText.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		return new int[] {begin, end};
+	}
+
+	// Should be run inside Display.syncExec method, compares text of the label
+	// against style ranges without creating substrings
+	private static boolean nonStyledTextEquals(org.eclipse.swt.widgets.TreeItem swtTreeItem, String text) {
+		String rawText = swtTreeItem.getText();
+		int[] bounds = getNonStyledTextBounds(rawText, getStyleRanges(swtTreeItem));
+		return bounds[1] - bounds[0] == text.length() 
+				&& rawText.regionMatches(bounds[0], text, 0, text.length());
+	}
+
 	// Should be run inside Display.syncExec method - in parseText method
 	// it is also expected, that styled in array are sequential
-	private StyleRange[] getStyleRanges(org.eclipse.swt.widgets.TreeItem swtTreeItem) {
+	private static StyleRange[] getStyleRanges(org.eclipse.swt.widgets.TreeItem swtTreeItem) {
 		Object data = swtTreeItem.getData("org.eclipse.jfacestyled_label_key_0");
 
 		if (data == null) {
@@ -269,4 +312,58 @@ public class TreeViewerHandler {
 			return styledTexts;
 		}
 	}
+
+	/**
+	 * Part of a tree whose children are matched against the path
+	 * starting at given depth. Entries are matching swt tree items
+	 * and collapsed branches in order of the tree.
+	 */
+	private static class Branch {
+		
+		private final org.eclipse.swt.widgets.Widget parent;
+		private final int depth;
+		private final List<Object> entries = new ArrayList<Object>();
+		
+		private Branch(org.eclipse.swt.widgets.Widget parent, int depth) {
+			this.parent = parent;
+			this.depth = depth;
+		}
+		
+		// Should be run inside Display.syncExec method
+		private void resolve(String[] path, List<Branch> collapsed) {
+			if (parent instanceof org.eclipse.swt.widgets.Tree) {
+				resolve(((org.eclipse.swt.widgets.Tree) parent).getItems(), depth, path, collapsed);
+			} else {
+				resolve(((org.eclipse.swt.widgets.TreeItem) parent).getItems(), depth, path, collapsed);
+			}
+		}
+		
+		private void resolve(org.eclipse.swt.widgets.TreeItem[] items, int index, String[] path, 
+				List<Branch> collapsed) {
+			for (org.eclipse.swt.widgets.TreeItem item : items) {
+				if (!nonStyledTextEquals(item, path[index])) {
+					continue;
+				}
+				if (index == path.length - 1) {
+					entries.add(item);
+				} else if (item.getExpanded()) {
+					resolve(item.getItems(), index + 1, path, collapsed);
+				} else {
+					Branch branch = new Branch(item, index + 1);
+					entries.add(branch);
+					collapsed.add(branch);
+				}
+			}
+		}
+		
+		private void collect(List<org.eclipse.swt.widgets.TreeItem> items) {
+			for (Object entry : entries) {
+				if (entry instanceof Branch) {
+					((Branch) entry).collect(items);
+				} else {
+					items.add((org.eclipse.swt.widgets.TreeItem) entry);
+				}
+			}
+		}
+	}
 }
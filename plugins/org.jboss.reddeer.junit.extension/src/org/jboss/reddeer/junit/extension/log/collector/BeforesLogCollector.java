@@ -11,7 +11,6 @@
 package org.jboss.reddeer.junit.extension.log.collector;
 
 import org.jboss.reddeer.common.properties.RedDeerProperties;
-import org.jboss.reddeer.direct.platform.Platform;
 import org.jboss.reddeer.junit.extension.ExtensionPriority;
 import org.jboss.reddeer.junit.extensionpoint.IBeforeTest;
 import org.junit.runners.model.FrameworkMethod;
@@ -40,14 +39,13 @@ public class BeforesLogCollector extends LogCollector implements IBeforeTest{
 
 	@Override
 	public void runBeforeTestClass(String config, TestClass testClass) {	
-		Platform.getWorkbenchLog().delete();
+		skipWorkbenchLog();
 		hasToRun = true;
 	}
 
 	@Override
 	public void runBeforeTest(String config, Object target, FrameworkMethod method) {
 		processWorkbenchLog(config, method.getDeclaringClass().getSimpleName(), BEFORE_TEST_METHOD_DESCRIPTION);
-		Platform.getWorkbenchLog().delete();
 		hasToRun = false;
 	}
 
@@ -10,17 +10,16 @@
  ******************************************************************************/
 package org.jboss.reddeer.junit.extension.log.collector;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.util.FileTail;
 import org.jboss.reddeer.direct.platform.Platform;
 
 /**
@@ -102,8 +101,8 @@ public class LogCollector {
 	}
 
 	/**
-	 * Processes workbench log. It copies log entries from Eclipse workbench log to RedDeer log file of 
-	 * a specific test class.
+	 * Processes workbench log. It copies log entries added to Eclipse workbench log since
+	 * the last processing to RedDeer log file of a specific test class.
 	 * 
 	 * @param config RedDeer config
 	 * @param className test class name
@@ -111,27 +110,53 @@ public class LogCollector {
 	 */
 	public void processWorkbenchLog(String config, String className, String logDescription) {
 		if(eclipseLogFileExists()){
-			try (BufferedReader br = new BufferedReader(new FileReader(Platform.getWorkbenchLog()));
-					BufferedWriter bw = new BufferedWriter(new FileWriter(getLogFile(config, className), true))) {
-				String line = br.readLine();
-				if (line != null) {
-					bw.write(logDescription + "\n\n");
-					bw.write(line + "\n");
-					while ((line = br.readLine()) != null) {
-						bw.write(line + "\n");
-					}
-					bw.write("\n\n");
+			FileTail workbenchLogTail = getWorkbenchLogTail();
+			try {
+				if (workbenchLogTail.getNewByteCount() <= 0) {
+					return;
 				}
-			} catch (FileNotFoundException e) {
-				// Should not happen
+				try (FileChannel logChannel = FileChannel.open(getLogFile(config, className).toPath(),
+						StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+					write(logChannel, logDescription + "\n\n");
+					workbenchLogTail.transferTo(logChannel);
+					write(logChannel, "\n\n");
+				}
+			} catch (IOException e) {
 				e.printStackTrace();
-			} catch (IOException e1) {
-				e1.printStackTrace();
 			}
 		} else {
 			log.debug("Log file does not exist");
 		}
 	}
+
+	/**
+	 * Marks current content of Eclipse workbench log as processed, so it will not be
+	 * copied to RedDeer log file.
+	 */
+	public void skipWorkbenchLog() {
+		try {
+			getWorkbenchLogTail().skipToEnd();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Gets tail of Eclipse workbench log shared by all log collectors, so each log
+	 * entry is copied only once.
+	 * 
+	 * @return tail of workbench log
+	 */
+	protected FileTail getWorkbenchLogTail() {
+		return FileTail.getTail(Platform.getWorkbenchLog());
+	}
+
+	private static void write(FileChannel channel, String text) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(text.getBytes());
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
 	
 	protected boolean eclipseLogFileExists(){
 		File logFile = Platform.getWorkbenchLog();
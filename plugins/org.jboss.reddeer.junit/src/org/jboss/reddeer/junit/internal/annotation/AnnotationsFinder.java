@@ -15,10 +15,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.hamcrest.Matcher;
+import org.jboss.reddeer.junit.internal.metadata.ClassMetadata;
+import org.jboss.reddeer.junit.internal.requirement.RequirementAnnotationMatcher;
 
 /**
  * 
  * Iterates all annotations of a specified class and return those matching the matcher.
+ * Annotations of classes are read from shared {@link ClassMetadata}.
  * 
  * @author Lucia Jelinkova
  *
@@ -44,22 +47,11 @@ public class AnnotationsFinder {
 	 * @return the list
 	 */
 	public List<Annotation> find(Class<?> clazz) {
-		List<Annotation> annotations = new ArrayList<Annotation>();
-		List<Class<?>> present = new ArrayList<Class<?>>();
-		do {
-			for (Annotation annotation : clazz.getAnnotations()) {
-				if (annotationMatcher.matches(annotation)) {
-					boolean annotationIsAddedFromSubclass = present
-							.contains(annotation.getClass());
-					if (!annotationIsAddedFromSubclass) {
-						annotations.add(annotation);
-						present.add(annotation.getClass());
-					}
-				}
-			}
-			clazz = clazz.getSuperclass();
-		} while(clazz != null);
-		
-		return annotations;
+		ClassMetadata metadata = ClassMetadata.forClass(clazz);
+		if (annotationMatcher instanceof RequirementAnnotationMatcher) {
+			// requirement annotations are resolved once per class
+			return new ArrayList<Annotation>(metadata.getRequirementAnnotations());
+		}
+		return metadata.findAnnotations(annotationMatcher);
 	}
 }
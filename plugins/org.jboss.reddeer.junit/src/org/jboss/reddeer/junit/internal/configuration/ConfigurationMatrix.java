@@ -0,0 +1,136 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.configuration;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import org.jboss.reddeer.junit.configuration.RedDeerConfigurationException;
+
+/**
+ * Cartesian product of lists of configurations. Combinations are not stored,
+ * each combination is created when it is accessed from its index tuple, so the
+ * matrix occupies only memory of its dimensions.
+ * <br>
+ * If lists of configurations are {A, B}, {1, 2} and {3, 4}, combinations are
+ * ordered as [A, 1, 3], [A, 1, 4], [A, 2, 3], [A, 2, 4], [B, 1, 3], ...
+ * Product of no lists contains single empty combination.
+ *
+ * @param <T> type of configurations
+ * @since 2.0
+ */
+public class ConfigurationMatrix<T> extends AbstractList<List<T>> implements RandomAccess {
+
+	private final List<List<T>> dimensions;
+	private final int size;
+
+	/**
+	 * Creates matrix of all combinations of specified lists of configurations.
+	 *
+	 * @param dimensions lists of configurations
+	 * @throws RedDeerConfigurationException if there are more than {@link Integer#MAX_VALUE} combinations
+	 */
+	public ConfigurationMatrix(List<List<T>> dimensions) {
+		this.dimensions = new ArrayList<List<T>>(dimensions);
+		int product = 1;
+		for (List<T> dimension : this.dimensions) {
+			try {
+				product = Math.multiplyExact(product, dimension.size());
+			} catch (ArithmeticException e) {
+				throw new RedDeerConfigurationException("Configuration matrix of " + dimensions.size()
+						+ " requirement configurations has too many combinations", e);
+			}
+		}
+		this.size = product;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@Override
+	public List<T> get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		int[] tuple = new int[dimensions.size()];
+		int remainder = index;
+		for (int i = tuple.length - 1; i >= 0; i--) {
+			int dimensionSize = dimensions.get(i).size();
+			tuple[i] = remainder % dimensionSize;
+			remainder /= dimensionSize;
+		}
+		return combination(tuple);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets iterator which walks index tuples of the matrix, the last dimension
+	 * changes the fastest.
+	 *
+	 * @return iterator over combinations of configurations
+	 */
+	@Override
+	public Iterator<List<T>> iterator() {
+		return new Iterator<List<T>>() {
+
+			private final int[] tuple = new int[dimensions.size()];
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < size;
+			}
+
+			@Override
+			public List<T> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				if (next++ > 0) {
+					increment();
+				}
+				return combination(tuple);
+			}
+
+			private void increment() {
+				for (int i = tuple.length - 1; i >= 0; i--) {
+					if (++tuple[i] < dimensions.get(i).size()) {
+						return;
+					}
+					tuple[i] = 0;
+				}
+			}
+		};
+	}
+
+	private List<T> combination(int[] tuple) {
+		Object[] combination = new Object[tuple.length];
+		for (int i = 0; i < tuple.length; i++) {
+			combination[i] = dimensions.get(i).get(tuple[i]);
+		}
+		@SuppressWarnings("unchecked")
+		List<T> result = (List<T>) Arrays.asList(combination);
+		return Collections.unmodifiableList(result);
+	}
+}
@@ -12,10 +12,12 @@ package org.jboss.reddeer.junit.internal.configuration;
 
 import java.io.File;
 import java.lang.annotation.Annotation;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -23,10 +25,8 @@ import java.util.Set;
 import org.jboss.reddeer.common.properties.RedDeerProperties;
 import org.jboss.reddeer.junit.configuration.RedDeerConfigurationException;
 import org.jboss.reddeer.junit.internal.annotation.AnnotationsFinder;
+import org.jboss.reddeer.junit.internal.metadata.ClassMetadata;
 import org.jboss.reddeer.junit.internal.requirement.RequirementAnnotationMatcher;
-import org.jboss.reddeer.junit.requirement.CustomConfiguration;
-import org.jboss.reddeer.junit.requirement.PropertyConfiguration;
-import org.jboss.reddeer.junit.requirement.Requirement;
 import org.junit.runners.Suite.SuiteClasses;
 import org.junit.runners.model.InitializationError;
 
@@ -43,7 +43,11 @@ public class SuiteConfiguration {
     
     private List<TestClassRequirementMap> annotatedTestClasses = new ArrayList<>();
     
-    private List<Annotation> annotationRequirements = new ArrayList<>();
+    // equal annotations of many test classes are held once
+    private Set<Annotation> annotationRequirements = new LinkedHashSet<>();
+    
+    // test class requirement maps indexed by their sets of requirements
+    private Map<Set<Class<?>>, TestClassRequirementMap> requirementSets = new HashMap<>();
     
     private Map<TestClassRequirementMap, List<TestRunConfiguration>> testRunConfigurations = new HashMap<>();
     
@@ -67,7 +71,7 @@ public class SuiteConfiguration {
 	 */
 	public TestRunConfigurationReader getConfigurationFromFile() {
 		File file = getConfigurationFile();
-		return file == null ? null : new TestRunConfigurationReader(file, this.annotationRequirements);
+		return file == null ? null : new TestRunConfigurationReader(file, new ArrayList<>(this.annotationRequirements));
 	}
 	
 	private void createTestRunConfigurations() {
@@ -76,11 +80,8 @@ public class SuiteConfiguration {
 			// we must create suite with its own list of test classes based on used annotations/requirements
 			// take all test classes that are grouped based on configuration requirements used
 			for (TestClassRequirementMap testClasses : getAnnotatedTestClasses()) {
-				List<TestRunConfiguration> testRuns = new ArrayList<>();
-				for (List<Object> list : getConfigurationMatrix(testClasses, configurationReader)) {
-					testRuns.add(list.isEmpty() ? new NullTestRunConfiguration() : new TestRunConfigurationImpl(list));
-				}
-				this.testRunConfigurations.put(testClasses, testRuns);
+				this.testRunConfigurations.put(testClasses, 
+						new TestRunConfigurationList(getConfigurationMatrix(testClasses, configurationReader)));
 			}
 		} else {
 			this.testRunConfigurations.put(new TestClassRequirementMap(new HashSet<>(), this.suiteClass), Arrays.asList(new NullTestRunConfiguration()));
@@ -99,7 +100,8 @@ public class SuiteConfiguration {
 	}
 	
 	/**
-	 * Returns cartesian product of all possible sets of configuration objects
+	 * Returns cartesian product of all possible sets of configuration objects, combinations
+	 * are created when they are accessed
 	 * @param testClasses test class requirement set object
 	 * @param reader test run config. reader
 	 * @return list of lists with all combination of read configurations
@@ -121,36 +123,7 @@ public class SuiteConfiguration {
 				lists.add((List<T>)configObject.getConfiguration());
 			}
 		}
-		return cartesianProduct(lists);
-	}
-	
-	/**
-	 * Cartesian product of given lists/sets
-	 * @param lists of all configurations
-	 * @return list of lists of all combinations of configurations
-	 */
-	private static <T> List<List<T>> cartesianProduct(List<List<T>> lists) {
-	    List<List<T>> resultLists = new ArrayList<List<T>>();
-	    if (lists.size() == 0) { // case where there is empty input list
-	        resultLists.add(new ArrayList<T>());
-	        return resultLists;
-	    } else {
-	    	// take first list
-	        List<T> firstList = lists.get(0); 
-	        // recursion called for remaining lists
-	        List<List<T>> remainingLists = cartesianProduct(lists.subList(1, lists.size())); 
-	        // for each configuration from first list
-	        for (T configuration : firstList) {
-	        	// and each remaining list
-	            for (List<T> remainingList : remainingLists) {
-	                ArrayList<T> resultList = new ArrayList<T>();
-	                resultList.add(configuration);
-	                resultList.addAll(remainingList);
-	                resultLists.add(resultList);
-	            }
-	        }
-	    }
-	    return resultLists;
+		return new ConfigurationMatrix<T>(lists);
 	}
 	
 	/**
@@ -168,7 +141,9 @@ public class SuiteConfiguration {
 			TestClassRequirementMap existingReqSet = getExistingRequirementSet(requirements);
 			// if null then add new set of requirements 
 			if (existingReqSet == null) {
-				this.annotatedTestClasses.add(new TestClassRequirementMap(requirements, clazz));
+				TestClassRequirementMap requirementMap = new TestClassRequirementMap(requirements, clazz);
+				this.annotatedTestClasses.add(requirementMap);
+				this.requirementSets.put(requirements, requirementMap);
 			} else {
 				existingReqSet.addClass(clazz);
 			}
@@ -177,15 +152,14 @@ public class SuiteConfiguration {
 	
 	/**
 	 * Gets all requirement annotations from specified class.
-	 * @param clazz
-	 * @return
+	 * @param clazz test class
+	 * @return set of annotation types of requirements using configuration
 	 */
 	private Set<Class<?>> getClassRequirements(Class<?> clazz){
 		Set<Class<?>> requirements = new HashSet<>();
 		for (Annotation annotation : this.finder.find(clazz)) {
 			// check if requirement is implementing configuration
-			Requirement<?> requirement = RequirementConfiguration.getRequirement(annotation);
-			if (requirement instanceof CustomConfiguration || requirement instanceof PropertyConfiguration) {
+			if (ClassMetadata.forClass(annotation.annotationType().getEnclosingClass()).getConfigurationType() != null) {
 				this.annotationRequirements.add(annotation);
 				requirements.add(annotation.annotationType());
 			}
@@ -199,14 +173,7 @@ public class SuiteConfiguration {
 	 * @return test class requirement set if such exists
 	 */
 	private TestClassRequirementMap getExistingRequirementSet(Set<Class<?>> set) {
-		if(set != null){
-			for (TestClassRequirementMap classSet : this.annotatedTestClasses) {
-				if (classSet.equalAnnotationSet(set)) {
-					return classSet;
-				}
-			}
-		}
-		return null;
+		return set == null ? null : this.requirementSets.get(set);
 	}
 	
 	/**
@@ -275,4 +242,28 @@ public class SuiteConfiguration {
 			throw new RedDeerConfigurationException("The configuration location " + location.getAbsolutePath() + " must be a xml file");
 		}
 	}
+
+	/**
+	 * Test run configurations of a configuration matrix, each test run configuration
+	 * is created when it is accessed.
+	 */
+	private static class TestRunConfigurationList extends AbstractList<TestRunConfiguration> {
+		
+		private List<List<Object>> matrix;
+		
+		public TestRunConfigurationList(List<List<Object>> matrix) {
+			this.matrix = matrix;
+		}
+		
+		@Override
+		public TestRunConfiguration get(int index) {
+			List<Object> list = this.matrix.get(index);
+			return list.isEmpty() ? new NullTestRunConfiguration() : new TestRunConfigurationImpl(list);
+		}
+		
+		@Override
+		public int size() {
+			return this.matrix.size();
+		}
+	}
 }
@@ -0,0 +1,250 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.configuration.reader;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.junit.configuration.RedDeerConfigurationException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * Process wide cache of XML configuration loading. Caches
+ * <ul>
+ * <li>parsed and validated documents of configuration files, a document is
+ * reused while the file has the same modification time or the same content
+ * hash</li>
+ * <li>compiled schemas by their locations, so schemas (often remote) are
+ * loaded and compiled once per process instead of once per file</li>
+ * <li>JAXB contexts by configuration class</li>
+ * </ul>
+ * Each file is parsed once, it is validated by compiled schema afterwards.
+ *
+ * @since 2.0
+ */
+public class XMLConfigurationCache {
+
+	private static final Logger log = Logger.getLogger(XMLConfigurationCache.class);
+
+	private static XMLConfigurationCache instance;
+
+	private final DocumentBuilderFactory builderFactory;
+
+	private final Map<String, CachedDocument> documents = new ConcurrentHashMap<String, CachedDocument>();
+
+	private final Map<String, Schema> schemas = new ConcurrentHashMap<String, Schema>();
+
+	private final Map<Class<?>, JAXBContext> contexts = new ConcurrentHashMap<Class<?>, JAXBContext>();
+
+	private XMLConfigurationCache() {
+		builderFactory = DocumentBuilderFactory.newInstance();
+		builderFactory.setNamespaceAware(true);
+	}
+
+	/**
+	 * Gets instance of XML configuration cache.
+	 *
+	 * @return XML configuration cache
+	 */
+	public static synchronized XMLConfigurationCache getInstance() {
+		if (instance == null) {
+			instance = new XMLConfigurationCache();
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets parsed and validated document of specified configuration file.
+	 * Callers have to synchronize on the document when they read it.
+	 *
+	 * @param file configuration file
+	 * @param errorHandler handler of parsing and validation errors
+	 * @return parsed and validated document
+	 * @throws RedDeerConfigurationException if the file cannot be read or it is not valid
+	 */
+	public Document getDocument(File file, ErrorHandler errorHandler) {
+		String path = file.getAbsolutePath();
+		CachedDocument cached = documents.get(path);
+		long lastModified = file.lastModified();
+		if (cached != null && cached.lastModified == lastModified && cached.length == file.length()) {
+			return cached.document;
+		}
+		byte[] content;
+		try {
+			content = Files.readAllBytes(file.toPath());
+		} catch (IOException e) {
+			throw createCannotLoadException(file, e);
+		}
+		long hash = hash(content);
+		if (cached != null && cached.hash == hash && cached.length == content.length) {
+			log.debug("Configuration file " + path + " was touched but its content is the same");
+			documents.put(path, new CachedDocument(cached.document, lastModified, content.length, hash));
+			return cached.document;
+		}
+		Document document = parse(file, content, errorHandler);
+		documents.put(path, new CachedDocument(document, lastModified, content.length, hash));
+		return document;
+	}
+
+	/**
+	 * Gets JAXB context of specified class.
+	 *
+	 * @param clazz configuration class
+	 * @return JAXB context bound to the class
+	 * @throws JAXBException if the context cannot be created
+	 */
+	public JAXBContext getContext(Class<?> clazz) throws JAXBException {
+		JAXBContext context = contexts.get(clazz);
+		if (context == null) {
+			context = JAXBContext.newInstance(clazz);
+			JAXBContext existing = contexts.putIfAbsent(clazz, context);
+			if (existing != null) {
+				context = existing;
+			}
+		}
+		return context;
+	}
+
+	/**
+	 * Removes all cached documents, schemas and JAXB contexts.
+	 */
+	public void clear() {
+		documents.clear();
+		schemas.clear();
+		contexts.clear();
+	}
+
+	private Document parse(File file, byte[] content, ErrorHandler errorHandler) {
+		log.debug("Parsing configuration file " + file.getAbsolutePath());
+		try {
+			DocumentBuilder builder;
+			synchronized (builderFactory) {
+				builder = builderFactory.newDocumentBuilder();
+			}
+			builder.setErrorHandler(errorHandler);
+			InputSource source = new InputSource(new ByteArrayInputStream(content));
+			source.setSystemId(file.toURI().toString());
+			Document document = builder.parse(source);
+
+			Element root = document.getDocumentElement();
+			Map<String, String> locations = getSchemaLocations(file, root);
+			String rootNamespace = root.getNamespaceURI() == null ? "" : root.getNamespaceURI();
+			if (!locations.containsKey(rootNamespace)) {
+				// the same as validation driven by schema locations of the document
+				errorHandler.error(new SAXParseException("cvc-elt.1: Cannot find the declaration of element '"
+						+ root.getTagName() + "'.", null, source.getSystemId(), -1, -1));
+			}
+			Validator validator = getSchema(locations.values()).newValidator();
+			validator.setErrorHandler(errorHandler);
+			validator.validate(new DOMSource(document, file.toURI().toString()));
+			return document;
+		} catch (ParserConfigurationException e) {
+			throw createCannotLoadException(file, e);
+		} catch (SAXException e) {
+			throw createCannotLoadException(file, e);
+		} catch (IOException e) {
+			throw createCannotLoadException(file, e);
+		}
+	}
+
+	/**
+	 * Gets compiled schema of specified schema locations.
+	 */
+	private Schema getSchema(Collection<String> locations) throws SAXException {
+		String key = locations.toString();
+		Schema schema = schemas.get(key);
+		if (schema == null) {
+			log.debug("Compiling schemas " + key);
+			List<Source> sources = new ArrayList<Source>();
+			for (String location : locations) {
+				sources.add(new StreamSource(location));
+			}
+			schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(sources.toArray(new Source[sources.size()]));
+			schemas.put(key, schema);
+		}
+		return schema;
+	}
+
+	/**
+	 * Gets locations of schemas from xsi:schemaLocation and xsi:noNamespaceSchemaLocation
+	 * attributes of root element resolved against location of the file.
+	 * 
+	 * @return locations of schemas by their namespaces, no namespace is an empty string
+	 */
+	private static Map<String, String> getSchemaLocations(File file, Element root) {
+		Map<String, String> locations = new LinkedHashMap<String, String>();
+		String[] pairs = root.getAttributeNS(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "schemaLocation")
+				.trim().split("\\s+");
+		for (int i = 1; i < pairs.length; i += 2) {
+			locations.put(pairs[i - 1], file.toURI().resolve(pairs[i]).toString());
+		}
+		String noNamespace = root.getAttributeNS(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI,
+				"noNamespaceSchemaLocation").trim();
+		if (!noNamespace.isEmpty()) {
+			locations.put("", file.toURI().resolve(noNamespace).toString());
+		}
+		return locations;
+	}
+
+	private static long hash(byte[] content) {
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		return crc.getValue();
+	}
+
+	private static RedDeerConfigurationException createCannotLoadException(File file, Exception e) {
+		return new RedDeerConfigurationException(
+				"Cannot load XML configuration file " + file.getAbsolutePath(), e);
+	}
+
+	private static class CachedDocument {
+
+		private final Document document;
+		private final long lastModified;
+		private final long length;
+		private final long hash;
+
+		private CachedDocument(Document document, long lastModified, long length, long hash) {
+			this.document = document;
+			this.lastModified = lastModified;
+			this.length = length;
+			this.hash = hash;
+		}
+	}
+}
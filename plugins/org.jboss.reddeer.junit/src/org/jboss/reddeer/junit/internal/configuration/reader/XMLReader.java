@@ -11,17 +11,12 @@
 package org.jboss.reddeer.junit.internal.configuration.reader;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlRootElement;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.junit.configuration.RedDeerConfigurationException;
@@ -34,7 +29,9 @@ import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
 /**
- * Reads the XML file and unmarshalls the requirements configuration.
+ * Reads the XML file and unmarshalls the requirements configuration. Parsed 
+ * and validated files, compiled schemas and JAXB contexts are shared by all 
+ * readers, see {@link XMLConfigurationCache}.
  * 
  * @author Lucia Jelinkova
  * 
@@ -76,11 +73,14 @@ public class XMLReader {
 	@SuppressWarnings("unchecked")
 	private <T> List<T> getConfiguration(String namespace, String tag,
 			Class<T> clazz) {
-		NodeList list = getDocument().getElementsByTagNameNS(namespace, tag);
+		Document document = getDocument();
 		try {
-			JAXBContext context = JAXBContext.newInstance(clazz);
-			Unmarshaller unmarshaller = context.createUnmarshaller();
-			return (List<T>) unmarshall(unmarshaller, list);
+			Unmarshaller unmarshaller = XMLConfigurationCache.getInstance().getContext(clazz).createUnmarshaller();
+			// cached document is shared by readers of the same file
+			synchronized (document) {
+				NodeList list = document.getElementsByTagNameNS(namespace, tag);
+				return (List<T>) unmarshall(unmarshaller, list);
+			}
 		} catch (JAXBException e) {
 			throw new RedDeerConfigurationException("Cannot unmarshall tag "
 					+ tag + " in XML configuration file "
@@ -105,39 +105,22 @@ public class XMLReader {
 	}
 
 	/**
-	 * Parses and validates xml configuration of requirements according to their
-	 * xsd schema.
+	 * Gets parsed and validated xml configuration of requirements, the 
+	 * configuration is validated according to xsd schemas of the requirements.
 	 * 
 	 * @throws RedDeerConfigurationException
 	 *             when the xml configuration is not valid according to the
 	 *             specified xsd schema
 	 */
 	private void init() {
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		factory.setNamespaceAware(true);
-		factory.setValidating(true);
-		factory.setAttribute(
-				"http://java.sun.com/xml/jaxp/properties/schemaLanguage",
-				"http://www.w3.org/2001/XMLSchema");
-
-		DocumentBuilder builder;
-		try {
-			builder = factory.newDocumentBuilder();
-			builder.setErrorHandler(new RedDeerErrorHandler());
-
-			doc = builder.parse(file);
-
-			if (!containsSchema(doc, RED_DEER_NS)) {
+		Document document = XMLConfigurationCache.getInstance().getDocument(file, new RedDeerErrorHandler());
+		synchronized (document) {
+			if (!containsSchema(document, RED_DEER_NS)) {
 				throw new RedDeerConfigurationException(
 						"Xml requirements configuration does not use RedDeer schema.");
 			}
-		} catch (ParserConfigurationException e) {
-			throw createCannotLoadException(file, e);
-		} catch (SAXException e) {
-			throw createCannotLoadException(file, e);
-		} catch (IOException e) {
-			throw createCannotLoadException(file, e);
 		}
+		doc = document;
 	}
 
 	private XmlRootElement getRoot(Class<?> clazz) {
@@ -171,12 +154,6 @@ public class XMLReader {
 		return namespace;
 	}
 
-	private RedDeerConfigurationException createCannotLoadException(File file,
-			Exception e) {
-		return new RedDeerConfigurationException(
-				"Cannot load XML configuration file " + file.getAbsolutePath(), e);
-	}
-
 	private boolean containsSchema(Document doc, String schemaNamespace) {
 		boolean containsNS = false;
 
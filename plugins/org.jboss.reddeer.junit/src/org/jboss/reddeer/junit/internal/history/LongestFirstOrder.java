@@ -0,0 +1,90 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.junit.internal.history.TestHistory.Kind;
+import org.junit.runner.Runner;
+
+/**
+ * Orders runners of test classes so that the longest test classes according to
+ * {@link TestHistory} run first. Test classes without recorded duration are
+ * assumed to take average time of test classes with recorded duration. Test
+ * classes with equal duration keep their declared order. Order of test methods
+ * is not changed.
+ *
+ * @since 2.0
+ */
+public class LongestFirstOrder {
+
+	private LongestFirstOrder() {
+	}
+
+	/**
+	 * Orders runners according to {@link RedDeerProperties#TEST_CLASS_ORDER}.
+	 *
+	 * @param runners runners of test classes
+	 * @return ordered runners
+	 */
+	public static List<Runner> order(List<Runner> runners) {
+		if (!"longestFirst".equals(RedDeerProperties.TEST_CLASS_ORDER.getValue())) {
+			return runners;
+		}
+		return order(runners, TestHistory.getInstance());
+	}
+
+	/**
+	 * Orders runners by durations of their test classes, the longest first.
+	 *
+	 * @param runners runners of test classes
+	 * @param history history of durations
+	 * @return ordered runners
+	 */
+	public static List<Runner> order(List<Runner> runners, TestHistory history) {
+		final Map<Runner, Long> durations = new HashMap<Runner, Long>();
+		long knownDuration = 0;
+		int knownCount = 0;
+		for (Runner runner : runners) {
+			long duration = history.getDuration(Kind.CLASS, runner.getDescription().getDisplayName());
+			durations.put(runner, duration);
+			if (duration >= 0) {
+				knownDuration += duration;
+				knownCount++;
+			}
+		}
+		if (knownCount == 0) {
+			return runners;
+		}
+		long averageDuration = knownDuration / knownCount;
+		for (Map.Entry<Runner, Long> duration : durations.entrySet()) {
+			if (duration.getValue() < 0) {
+				duration.setValue(averageDuration);
+			}
+		}
+		List<Runner> ordered = new ArrayList<Runner>(runners);
+		// sort is stable, runners with equal duration keep declared order
+		Collections.sort(ordered, new Comparator<Runner>() {
+
+			@Override
+			public int compare(Runner first, Runner second) {
+				return Long.compare(durations.get(second), durations.get(first));
+			}
+		});
+		return ordered;
+	}
+}
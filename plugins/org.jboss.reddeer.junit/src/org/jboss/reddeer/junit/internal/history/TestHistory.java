@@ -0,0 +1,427 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.history;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+
+/**
+ * History of durations of tests, test classes, requirements, extensions and
+ * waits. Durations are appended to a binary file as they are recorded, so the
+ * history survives crashed runs and can be shared by forked workers. An
+ * incomplete last record of a crashed run is cut off when the file is loaded. Each
+ * record holds kind, key, count of samples and their total duration. The file
+ * is compacted to one record per key when it is loaded and contains too many
+ * records, compacted records keep only last {@link #MAX_SAMPLES} samples so
+ * recent runs outweigh old ones.
+ * <br>
+ * History is turned on/off by {@link RedDeerProperties#TEST_HISTORY} and
+ * stored in {@link RedDeerProperties#TEST_HISTORY_FILE}.
+ *
+ * @since 2.0
+ */
+public class TestHistory {
+
+	/**
+	 * Kinds of recorded durations.
+	 */
+	public enum Kind {
+		/** Test method including its before and after methods. */
+		TEST,
+		/** Test class of a test run configuration including all its tests. */
+		CLASS,
+		/** Fulfilling of a requirement. */
+		FULFILL,
+		/** Cleaning up of a requirement. */
+		CLEANUP,
+		/** Before test or before class extension. */
+		BEFORE_EXTENSION,
+		/** After test or after class extension. */
+		AFTER_EXTENSION,
+		/** Wait for a wait condition. */
+		WAIT
+	}
+
+	/**
+	 * Maximal count of samples of a key kept by compaction.
+	 */
+	public static final int MAX_SAMPLES = 10;
+
+	private static final int MAGIC = 0x52444831;
+	private static final int MIN_RECORDS_TO_COMPACT = 1000;
+
+	private static final Logger log = Logger.getLogger(TestHistory.class);
+
+	private static TestHistory instance;
+
+	private final File file;
+	private final boolean enabled;
+	private final Map<String, Entry> history = new HashMap<String, Entry>();
+	private final Map<String, Entry> currentRun = new LinkedHashMap<String, Entry>();
+	private OutputStream output;
+	private boolean loaded;
+
+	/**
+	 * Creates history stored in specified file.
+	 *
+	 * @param file file of the history
+	 */
+	public TestHistory(File file) {
+		this(file, true);
+	}
+
+	private TestHistory(File file, boolean enabled) {
+		this.file = file;
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Gets history defined by system properties.
+	 *
+	 * @return history of durations
+	 */
+	public static synchronized TestHistory getInstance() {
+		if (instance == null) {
+			instance = new TestHistory(new File(RedDeerProperties.TEST_HISTORY_FILE.getValue()),
+					RedDeerProperties.TEST_HISTORY.getBooleanValue());
+		}
+		return instance;
+	}
+
+	/**
+	 * Records a duration. The duration is appended to the history file
+	 * immediately.
+	 *
+	 * @param kind kind of the duration
+	 * @param key key, e.g. name of test or class of requirement
+	 * @param milliseconds duration in milliseconds
+	 */
+	public void record(Kind kind, String key, long milliseconds) {
+		record(kind, key, 1, milliseconds);
+	}
+
+	/**
+	 * Records several samples of a duration at once.
+	 *
+	 * @param kind kind of the duration
+	 * @param key key, e.g. description of wait condition
+	 * @param count count of samples
+	 * @param milliseconds total duration of samples in milliseconds
+	 */
+	public synchronized void record(Kind kind, String key, long count, long milliseconds) {
+		if (!enabled || count <= 0) {
+			return;
+		}
+		load();
+		add(history, kind, key, count, milliseconds);
+		add(currentRun, kind, key, count, milliseconds);
+		try {
+			if (output == null) {
+				output = openOutput();
+			}
+			writeRecord(output, kind, key, count, milliseconds);
+		} catch (IOException e) {
+			log.warn("Unable to write test history to " + file.getAbsolutePath() + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Gets average recorded duration.
+	 *
+	 * @param kind kind of the duration
+	 * @param key key of the duration
+	 * @return average duration in milliseconds or -1 if no duration was recorded
+	 */
+	public synchronized long getDuration(Kind kind, String key) {
+		if (!enabled) {
+			return -1;
+		}
+		load();
+		Entry entry = history.get(toMapKey(kind, key));
+		return entry != null ? entry.getAverage() : -1;
+	}
+
+	/**
+	 * Gets entries recorded by running JVM with the highest total duration.
+	 *
+	 * @param kind kind of entries
+	 * @param limit maximal count of returned entries
+	 * @return entries ordered by total duration, the longest first
+	 */
+	public synchronized List<Entry> getSlowest(Kind kind, int limit) {
+		List<Entry> entries = new ArrayList<Entry>();
+		for (Entry entry : currentRun.values()) {
+			if (entry.getKind() == kind) {
+				entries.add(entry);
+			}
+		}
+		Collections.sort(entries, new Comparator<Entry>() {
+
+			@Override
+			public int compare(Entry first, Entry second) {
+				return Long.compare(second.getTotal(), first.getTotal());
+			}
+		});
+		return entries.size() > limit ? entries.subList(0, limit) : entries;
+	}
+
+	/**
+	 * Logs requirements, extensions and waits which took the longest time in
+	 * running JVM.
+	 *
+	 * @param limit maximal count of logged entries of each kind
+	 */
+	public void logSlowest(int limit) {
+		logSlowest(Kind.FULFILL, "requirement fulfillments", limit);
+		logSlowest(Kind.CLEANUP, "requirement clean ups", limit);
+		logSlowest(Kind.BEFORE_EXTENSION, "before test extensions", limit);
+		logSlowest(Kind.AFTER_EXTENSION, "after test extensions", limit);
+		logSlowest(Kind.WAIT, "waits", limit);
+	}
+
+	private void logSlowest(Kind kind, String name, int limit) {
+		List<Entry> entries = getSlowest(kind, limit);
+		if (entries.isEmpty()) {
+			return;
+		}
+		StringBuilder report = new StringBuilder("Slowest " + name + ":");
+		for (Entry entry : entries) {
+			report.append("\n\t").append(entry.getTotal()).append(" ms in ").append(entry.getCount())
+					.append(" run(s): ").append(entry.getKey());
+		}
+		log.info(report.toString());
+	}
+
+	/**
+	 * Loads the history file, the file is compacted if it contains too many
+	 * records and it is truncated after its last complete record, so records
+	 * appended later are read correctly. Compaction and truncation are left to
+	 * the suite coordinator when suite is sharded, workers only append to the
+	 * file.
+	 */
+	private void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		if (!file.isFile()) {
+			return;
+		}
+		byte[] content;
+		try {
+			content = Files.readAllBytes(file.toPath());
+		} catch (IOException e) {
+			log.warn("Unable to read test history from " + file.getAbsolutePath() + ": " + e.getMessage());
+			return;
+		}
+		boolean coordinator = RedDeerProperties.SHARD_WORKER.getValue() == null;
+		int records = 0;
+		// length of the file up to the end of its last complete record
+		int complete = 0;
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(content));
+		try {
+			if (input.readInt() != MAGIC) {
+				log.warn("Ignoring test history of unknown format " + file.getAbsolutePath());
+				compact();
+				return;
+			}
+			complete = content.length - input.available();
+			Kind[] kinds = Kind.values();
+			while (input.available() > 0) {
+				int kind = input.readUnsignedByte();
+				String key = input.readUTF();
+				long count = input.readLong();
+				long milliseconds = input.readLong();
+				if (kind < kinds.length) {
+					add(history, kinds[kind], key, count, milliseconds);
+				}
+				records++;
+				complete = content.length - input.available();
+			}
+		} catch (EOFException e) {
+			log.debug("Incomplete last record of test history " + file.getAbsolutePath() + " is ignored");
+		} catch (IOException e) {
+			log.warn("Unable to read test history from " + file.getAbsolutePath() + ": " + e.getMessage());
+		}
+		if (records > MIN_RECORDS_TO_COMPACT && records > 2 * history.size() && coordinator) {
+			compact();
+		} else if (complete < content.length && coordinator) {
+			truncate(complete);
+		}
+	}
+
+	private void truncate(long length) {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+			channel.truncate(length);
+		} catch (IOException e) {
+			log.warn("Unable to truncate test history " + file.getAbsolutePath() + ": " + e.getMessage());
+		}
+	}
+
+	private void compact() {
+		File compacted = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+		try {
+			try (DataOutputStream compactedOutput = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(compacted)))) {
+				compactedOutput.writeInt(MAGIC);
+				for (Entry entry : history.values()) {
+					entry.limitSamples(MAX_SAMPLES);
+					writeRecord(compactedOutput, entry.getKind(), entry.getKey(), entry.getCount(), entry.getTotal());
+				}
+			}
+			Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			log.debug("Compacted test history " + file.getAbsolutePath() + " to " + history.size() + " records");
+		} catch (IOException e) {
+			log.warn("Unable to compact test history " + file.getAbsolutePath() + ": " + e.getMessage());
+			compacted.delete();
+		}
+	}
+
+	private OutputStream openOutput() throws IOException {
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (directory != null) {
+			directory.mkdirs();
+		}
+		boolean empty = file.length() == 0;
+		// unbuffered, each record is passed to file opened in append mode by single write
+		OutputStream stream = new FileOutputStream(file, true);
+		if (empty) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(4);
+			new DataOutputStream(bytes).writeInt(MAGIC);
+			stream.write(bytes.toByteArray());
+		}
+		return stream;
+	}
+
+	/**
+	 * Writes a record by single write of its bytes, so records of concurrent
+	 * workers appending to the same file are not interleaved.
+	 */
+	private static void writeRecord(OutputStream stream, Kind kind, String key, long count, long milliseconds)
+			throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream record = new DataOutputStream(bytes);
+		record.writeByte(kind.ordinal());
+		record.writeUTF(key);
+		record.writeLong(count);
+		record.writeLong(milliseconds);
+		stream.write(bytes.toByteArray());
+	}
+
+	private static void add(Map<String, Entry> entries, Kind kind, String key, long count, long milliseconds) {
+		String mapKey = toMapKey(kind, key);
+		Entry entry = entries.get(mapKey);
+		if (entry == null) {
+			entry = new Entry(kind, key);
+			entries.put(mapKey, entry);
+		}
+		entry.add(count, milliseconds);
+	}
+
+	private static String toMapKey(Kind kind, String key) {
+		return kind.ordinal() + ":" + key;
+	}
+
+	/**
+	 * Aggregated durations of a key.
+	 */
+	public static class Entry {
+
+		private final Kind kind;
+		private final String key;
+		private long count;
+		private long total;
+
+		private Entry(Kind kind, String key) {
+			this.kind = kind;
+			this.key = key;
+		}
+
+		/**
+		 * Gets kind of durations.
+		 *
+		 * @return kind of durations
+		 */
+		public Kind getKind() {
+			return kind;
+		}
+
+		/**
+		 * Gets key of durations.
+		 *
+		 * @return key of durations
+		 */
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * Gets count of samples.
+		 *
+		 * @return count of samples
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * Gets total duration of samples.
+		 *
+		 * @return total duration in milliseconds
+		 */
+		public long getTotal() {
+			return total;
+		}
+
+		/**
+		 * Gets average duration of a sample.
+		 *
+		 * @return average duration in milliseconds
+		 */
+		public long getAverage() {
+			return count > 0 ? total / count : 0;
+		}
+
+		private void add(long count, long milliseconds) {
+			this.count += count;
+			this.total += milliseconds;
+		}
+
+		private void limitSamples(long maxSamples) {
+			if (count > maxSamples) {
+				total = getAverage() * maxSamples;
+				count = maxSamples;
+			}
+		}
+	}
+}
@@ -0,0 +1,253 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.metadata;
+
+import static java.lang.reflect.Modifier.isStatic;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.junit.internal.requirement.RequirementAnnotationMatcher;
+import org.jboss.reddeer.junit.requirement.CustomConfiguration;
+import org.jboss.reddeer.junit.requirement.PropertyConfiguration;
+import org.jboss.reddeer.junit.requirement.inject.InjectRequirement;
+import org.jboss.reddeer.junit.requirement.inject.RequirementInjectionException;
+
+/**
+ * Reflection metadata of a class, i.e. annotations of the class and its
+ * superclasses, requirement annotations, injection points of requirements and
+ * type of configuration of a requirement class. Metadata are built once per
+ * class and shared by all runners and test instances of the class. Metadata
+ * reference the class, its fields and setters, so they live as long as the
+ * class itself.
+ *
+ * @since 2.0
+ */
+public class ClassMetadata {
+
+	private static final ClassValue<ClassMetadata> METADATA = new ClassValue<ClassMetadata>() {
+
+		@Override
+		protected ClassMetadata computeValue(Class<?> type) {
+			return new ClassMetadata(type);
+		}
+	};
+
+	private final Class<?> clazz;
+	private final List<Annotation> annotations;
+	private final List<Annotation> requirementAnnotations;
+	private final List<InjectionPoint> staticInjectionPoints;
+	private final List<InjectionPoint> instanceInjectionPoints;
+	private final Class<?> configurationType;
+
+	private ClassMetadata(Class<?> clazz) {
+		this.clazz = clazz;
+		List<Annotation> annotations = new ArrayList<Annotation>();
+		List<InjectionPoint> staticInjectionPoints = new ArrayList<InjectionPoint>();
+		List<InjectionPoint> instanceInjectionPoints = new ArrayList<InjectionPoint>();
+		Class<?> current = clazz;
+		do {
+			Collections.addAll(annotations, current.getAnnotations());
+			for (Field field : current.getDeclaredFields()) {
+				if (field.isAnnotationPresent(InjectRequirement.class)) {
+					InjectionPoint injectionPoint = new InjectionPoint(field);
+					if (injectionPoint.isStatic()) {
+						staticInjectionPoints.add(injectionPoint);
+					} else {
+						instanceInjectionPoints.add(injectionPoint);
+					}
+				}
+			}
+			current = current.getSuperclass();
+		} while (current != null);
+		this.annotations = Collections.unmodifiableList(annotations);
+		this.requirementAnnotations = Collections.unmodifiableList(findAnnotations(new RequirementAnnotationMatcher()));
+		this.staticInjectionPoints = Collections.unmodifiableList(staticInjectionPoints);
+		this.instanceInjectionPoints = Collections.unmodifiableList(instanceInjectionPoints);
+		if (CustomConfiguration.class.isAssignableFrom(clazz)) {
+			this.configurationType = CustomConfiguration.class;
+		} else if (PropertyConfiguration.class.isAssignableFrom(clazz)) {
+			this.configurationType = PropertyConfiguration.class;
+		} else {
+			this.configurationType = null;
+		}
+	}
+
+	/**
+	 * Gets metadata of specified class.
+	 *
+	 * @param clazz class
+	 * @return metadata of the class
+	 */
+	public static ClassMetadata forClass(Class<?> clazz) {
+		return METADATA.get(clazz);
+	}
+
+	/**
+	 * Gets the class of the metadata.
+	 *
+	 * @return class
+	 */
+	public Class<?> getMetadataClass() {
+		return clazz;
+	}
+
+	/**
+	 * Gets annotations of the class followed by annotations of its superclasses.
+	 *
+	 * @return annotations of the class hierarchy
+	 */
+	public List<Annotation> getAnnotations() {
+		return annotations;
+	}
+
+	/**
+	 * Gets requirement annotations of the class, an annotation of a subclass hides
+	 * annotation of the same type of a superclass.
+	 *
+	 * @return requirement annotations
+	 * @see RequirementAnnotationMatcher
+	 */
+	public List<Annotation> getRequirementAnnotations() {
+		return requirementAnnotations;
+	}
+
+	/**
+	 * Finds annotations of the class matching specified matcher, an annotation
+	 * of a subclass hides annotation of the same type of a superclass.
+	 *
+	 * @param annotationMatcher annotation matcher
+	 * @return matching annotations
+	 */
+	public List<Annotation> findAnnotations(Matcher<Annotation> annotationMatcher) {
+		List<Annotation> result = new ArrayList<Annotation>();
+		List<Class<?>> present = new ArrayList<Class<?>>();
+		for (Annotation annotation : annotations) {
+			if (annotationMatcher.matches(annotation) && !present.contains(annotation.getClass())) {
+				result.add(annotation);
+				present.add(annotation.getClass());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets injection points of requirements, i.e. fields annotated by {@link InjectRequirement},
+	 * declared by the class and its superclasses.
+	 *
+	 * @param staticFields true for static fields, false for instance fields
+	 * @return injection points
+	 */
+	public List<InjectionPoint> getInjectionPoints(boolean staticFields) {
+		return staticFields ? staticInjectionPoints : instanceInjectionPoints;
+	}
+
+	/**
+	 * Gets type of configuration of a requirement class.
+	 *
+	 * @return {@link CustomConfiguration} or {@link PropertyConfiguration} class
+	 * 		if the class implements it, null otherwise
+	 */
+	public Class<?> getConfigurationType() {
+		return configurationType;
+	}
+
+	/**
+	 * Field where a requirement is injected. The field is set by pre-resolved
+	 * method handle.
+	 */
+	public static class InjectionPoint {
+
+		private final Field field;
+		private final MethodHandle setter;
+		private final boolean staticField;
+
+		private InjectionPoint(Field field) {
+			this.field = field;
+			this.staticField = isStatic(field.getModifiers());
+			field.setAccessible(true);
+			MethodHandle handle;
+			try {
+				handle = MethodHandles.lookup().unreflectSetter(field);
+				handle = handle.asType(staticField ? MethodType.methodType(void.class, Object.class)
+						: MethodType.methodType(void.class, Object.class, Object.class));
+			} catch (IllegalAccessException e) {
+				// e.g. static final field, setting the field reports the problem
+				handle = null;
+			}
+			this.setter = handle;
+		}
+
+		/**
+		 * Gets the field.
+		 *
+		 * @return field
+		 */
+		public Field getField() {
+			return field;
+		}
+
+		/**
+		 * Gets type of the field.
+		 *
+		 * @return type of the field
+		 */
+		public Class<?> getType() {
+			return field.getType();
+		}
+
+		/**
+		 * Finds out whether the field is static.
+		 *
+		 * @return true if the field is static, false otherwise
+		 */
+		public boolean isStatic() {
+			return staticField;
+		}
+
+		/**
+		 * Sets value of the field.
+		 *
+		 * @param target object whose field is set, ignored for static field
+		 * @param value new value of the field
+		 * @throws RequirementInjectionException if the field cannot be set
+		 */
+		public void set(Object target, Object value) {
+			try {
+				if (setter == null) {
+					field.set(target, value);
+				} else if (staticField) {
+					setter.invokeExact(value);
+				} else {
+					setter.invokeExact(target, value);
+				}
+			} catch (IllegalArgumentException | ClassCastException | NullPointerException e) {
+				throw new RequirementInjectionException("Cannot set field \"" + field +
+						"\" due to illegal argument issue. " + e.getLocalizedMessage(), e);
+			} catch (IllegalAccessException e) {
+				throw new RequirementInjectionException("Cannot set field \"" + field +
+						"\" due to illegal access issue. " + e.getLocalizedMessage(), e);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new RequirementInjectionException("Cannot set field \"" + field + "\". "
+						+ e.getLocalizedMessage(), e);
+			}
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.requirement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.ReusableRequirement;
+
+/**
+ * Keeps track of states established by {@link ReusableRequirement}s. State of a
+ * requirement is reused by directly following test class requiring equal state,
+ * fulfill of its requirement is skipped then. Clean up of the state is deferred
+ * until the last test class reusing the state is finished.
+ * <br>
+ * Reusing of states can be turned off by system property
+ * {@link RedDeerProperties#REQUIREMENT_REUSE}.
+ *
+ * @since 2.0
+ */
+public class RequirementStates {
+
+	private static final Logger log = Logger.getLogger(RequirementStates.class);
+
+	private static RequirementStates instance;
+
+	private final Map<Class<?>, State> states = new HashMap<Class<?>, State>();
+
+	private RequirementStates() {
+	}
+
+	/**
+	 * Gets instance of requirement states.
+	 *
+	 * @return instance of requirement states
+	 */
+	public static synchronized RequirementStates getInstance() {
+		if (instance == null) {
+			instance = new RequirementStates();
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets key of state established by a requirement.
+	 *
+	 * @param requirement requirement
+	 * @return key of the state or null if the state cannot be reused
+	 */
+	public static Object getStateKey(Requirement<?> requirement) {
+		if (!(requirement instanceof ReusableRequirement) || !RedDeerProperties.REQUIREMENT_REUSE.getBooleanValue()) {
+			return null;
+		}
+		return ((ReusableRequirement) requirement).getStateKey();
+	}
+
+	/**
+	 * Fulfills a requirement unless its state is already established. Deferred
+	 * clean up of a different state of the same requirement class is performed
+	 * before fulfill.
+	 *
+	 * @param requirement requirement to fulfill
+	 * @return true if the requirement was fulfilled, false if its state was reused
+	 */
+	public boolean fulfill(Requirement<?> requirement) {
+		Object key = getStateKey(requirement);
+		State state = states.get(requirement.getClass());
+		if (state != null && key != null && key.equals(state.key)
+				&& ((ReusableRequirement) state.requirement).isStateValid()) {
+			log.info("Reusing state of requirement " + requirement.getClass() + " established by previous test class");
+			return false;
+		}
+		if (state != null) {
+			cleanUp(state);
+		}
+		requirement.fulfill();
+		if (key != null) {
+			states.put(requirement.getClass(), new State(key, requirement));
+		}
+		return true;
+	}
+
+	/**
+	 * Cleans up a requirement unless the next test class requires its state. State
+	 * established by a requirement is cleaned up by the requirement which
+	 * established it.
+	 *
+	 * @param requirement requirement to clean up
+	 * @param next requirements of the next test class or null if not known
+	 * @return true if the requirement was cleaned up, false if its state was kept
+	 */
+	public boolean cleanUp(Requirement<?> requirement, Requirements next) {
+		Object key = getStateKey(requirement);
+		State state = states.get(requirement.getClass());
+		if (key == null || state == null || !key.equals(state.key)) {
+			requirement.cleanUp();
+			return true;
+		}
+		if (next != null && next.requiresState(requirement.getClass(), key)) {
+			log.info("Keeping state of requirement " + requirement.getClass() + " for next test class");
+			return false;
+		}
+		states.remove(requirement.getClass());
+		state.requirement.cleanUp();
+		return true;
+	}
+
+	/**
+	 * Cleans up all states whose clean up was deferred, e.g. because the next test
+	 * class was filtered out.
+	 */
+	public void cleanUpAll() {
+		for (State state : new ArrayList<State>(states.values())) {
+			cleanUp(state);
+		}
+	}
+
+	private void cleanUp(State state) {
+		states.remove(state.requirement.getClass());
+		try {
+			log.info("Cleaning up deferred state of requirement " + state.requirement.getClass());
+			state.requirement.cleanUp();
+		} catch (RuntimeException e) {
+			log.error("Deferred clean up of requirement " + state.requirement.getClass() + " failed", e);
+		}
+	}
+
+	/**
+	 * Gets keys of reusable states required by requirements. Signatures of
+	 * requirements requiring the same states are equal.
+	 *
+	 * @param requirements requirements
+	 * @return list of requirement classes and keys of their states
+	 */
+	public static List<Object> getStateSignature(Requirements requirements) {
+		List<Object> signature = new ArrayList<Object>();
+		for (Requirement<?> requirement : requirements) {
+			Object key = getStateKey(requirement);
+			if (key != null) {
+				signature.add(requirement.getClass());
+				signature.add(key);
+			}
+		}
+		return signature;
+	}
+
+	private static class State {
+
+		private final Object key;
+		private final Requirement<?> requirement;
+
+		private State(Object key, Requirement<?> requirement) {
+			this.key = key;
+			this.requirement = requirement;
+		}
+	}
+}
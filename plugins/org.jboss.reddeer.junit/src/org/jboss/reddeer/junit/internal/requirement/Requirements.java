@@ -16,12 +16,17 @@ import java.util.List;
 
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.junit.execution.PriorityComparator;
+import org.jboss.reddeer.junit.internal.history.TestHistory;
+import org.jboss.reddeer.junit.internal.history.TestHistory.Kind;
 import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.ReusableRequirement;
 import org.jboss.reddeer.junit.screenshot.CaptureScreenshotException;
 import org.jboss.reddeer.junit.screenshot.ScreenshotCapturer;
 
 /**
  * Aggregates {@link Requirement} objects and allows to perform tasks on them easily.
+ * States of {@link ReusableRequirement}s are reused by directly following test class,
+ * see {@link RequirementStates}.
  *  
  * @author Lucia Jelinkova
  *
@@ -31,6 +36,7 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 	private List<Requirement<?>> requirements;
 	private Class<?> clazz;
 	private String configID;
+	private Requirements next;
 	private Logger log = Logger.getLogger(Requirements.class);
 	
 	/**
@@ -98,7 +104,10 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 		for (Requirement<?> r : requirements) {
 			try {
 				log.info("Fulfilling requirement of " + r.getClass());
-				r.fulfill();
+				long start = System.currentTimeMillis();
+				if (RequirementStates.getInstance().fulfill(r)) {
+					TestHistory.getInstance().record(Kind.FULFILL, r.getClass().getName(), System.currentTimeMillis() - start);
+				}
 			} catch (Throwable ex) {
 				handleException(ex, r);
 				throw ex;
@@ -122,7 +131,10 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 		for (Requirement<?> r : requirements) {
 			try {
 				log.info("Cleaning up requirement of " + r.getClass());
-				r.cleanUp();
+				long start = System.currentTimeMillis();
+				if (RequirementStates.getInstance().cleanUp(r, next)) {
+					TestHistory.getInstance().record(Kind.CLEANUP, r.getClass().getName(), System.currentTimeMillis() - start);
+				}
 			} catch (Throwable ex) {
 				handleException(ex, r);
 				throw ex;
@@ -131,6 +143,33 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 		
 	}
 	
+	/**
+	 * Sets requirements of the test class running directly after the test class of
+	 * these requirements. States required by both test classes are not cleaned up.
+	 *
+	 * @param next requirements of the next test class or null if not known
+	 */
+	public void setNext(Requirements next) {
+		this.next = next;
+	}
+	
+	/**
+	 * Finds out whether a requirement of specified class requires state with
+	 * specified key.
+	 *
+	 * @param requirementClass class of requirement
+	 * @param stateKey key of the state
+	 * @return true if the state is required, false otherwise
+	 */
+	public boolean requiresState(Class<?> requirementClass, Object stateKey) {
+		for (Requirement<?> r : requirements) {
+			if (r.getClass().equals(requirementClass) && stateKey.equals(RequirementStates.getStateKey(r))) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	private void handleException(Throwable ex, Requirement<?> r) {
 		if (ScreenshotCapturer.shouldCaptureScreenshotOnException(ex)) {
 			ScreenshotCapturer screenshotCapturer = ScreenshotCapturer.getInstance();
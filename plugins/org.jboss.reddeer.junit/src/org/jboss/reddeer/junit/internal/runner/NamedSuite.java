@@ -10,12 +10,26 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.junit.internal.runner;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.junit.internal.history.LongestFirstOrder;
+import org.jboss.reddeer.junit.internal.requirement.RequirementStates;
+import org.jboss.reddeer.junit.internal.requirement.Requirements;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerBuilder;
 
 /**
- * Suite with custom name. 
+ * Suite with custom name. Test classes can be ordered by their recorded 
+ * durations, see {@link LongestFirstOrder}, or grouped by states of their 
+ * reusable requirements. States are reused by directly following test classes,
+ * see {@link RequirementStates}.
  * 
  * @author Lucia Jelinkova
  *
@@ -24,6 +38,7 @@ public class NamedSuite extends Suite {
 	
 	private final String suiteName;
 	private final RunnerBuilder builder;
+	private List<Runner> orderedChildren;
 
 	/**
 	 * Constructor used for suites. 
@@ -53,6 +68,77 @@ public class NamedSuite extends Suite {
 		this.suiteName = name;
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.junit.runners.Suite#getChildren()
+	 */
+	@Override
+	protected List<Runner> getChildren() {
+		if (orderedChildren == null) {
+			orderedChildren = LongestFirstOrder.order(super.getChildren());
+			if ("requirements".equals(RedDeerProperties.TEST_CLASS_ORDER.getValue())) {
+				orderedChildren = groupByRequiredStates(orderedChildren);
+			}
+			linkRequirements(orderedChildren);
+		}
+		return orderedChildren;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.junit.runners.ParentRunner#run(org.junit.runner.notification.RunNotifier)
+	 */
+	@Override
+	public void run(RunNotifier notifier) {
+		try {
+			super.run(notifier);
+		} finally {
+			RequirementStates.getInstance().cleanUpAll();
+		}
+	}
+	
+	/**
+	 * Groups test classes requiring the same reusable states, groups are ordered 
+	 * by their first test class.
+	 */
+	private static List<Runner> groupByRequiredStates(List<Runner> runners) {
+		Map<Object, List<Runner>> groups = new LinkedHashMap<Object, List<Runner>>();
+		for (Runner runner : runners) {
+			Object signature = runner;
+			if (runner instanceof RequirementsRunner) {
+				List<Object> states = RequirementStates.getStateSignature(((RequirementsRunner) runner).getRequirements());
+				if (!states.isEmpty()) {
+					signature = states;
+				}
+			}
+			List<Runner> group = groups.get(signature);
+			if (group == null) {
+				group = new ArrayList<Runner>();
+				groups.put(signature, group);
+			}
+			group.add(runner);
+		}
+		List<Runner> grouped = new ArrayList<Runner>();
+		for (List<Runner> group : groups.values()) {
+			grouped.addAll(group);
+		}
+		return grouped;
+	}
+	
+	/**
+	 * Lets requirements of each test class know requirements of the next test class.
+	 */
+	private static void linkRequirements(List<Runner> runners) {
+		for (int i = 0; i < runners.size(); i++) {
+			Requirements requirements = getRequirements(runners.get(i));
+			if (requirements != null) {
+				requirements.setNext(i + 1 < runners.size() ? getRequirements(runners.get(i + 1)) : null);
+			}
+		}
+	}
+	
+	private static Requirements getRequirements(Runner runner) {
+		return runner instanceof RequirementsRunner ? ((RequirementsRunner) runner).getRequirements() : null;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.junit.runners.ParentRunner#getName()
 	 */
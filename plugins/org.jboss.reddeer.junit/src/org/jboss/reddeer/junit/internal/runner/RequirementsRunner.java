@@ -11,13 +11,19 @@
 package org.jboss.reddeer.junit.internal.runner;
 
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.reddeer.common.exception.RedDeerException;
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.util.Display;
+import org.jboss.reddeer.common.util.DisplayStatistics;
+import org.jboss.reddeer.common.wait.WaitStatistics;
 import org.jboss.reddeer.junit.execution.TestMethodShouldRun;
 import org.jboss.reddeer.junit.execution.annotation.RunIf;
 import org.jboss.reddeer.junit.extensionpoint.IAfterTest;
 import org.jboss.reddeer.junit.extensionpoint.IBeforeTest;
+import org.jboss.reddeer.junit.internal.history.TestHistory;
+import org.jboss.reddeer.junit.internal.history.TestHistory.Kind;
 import org.jboss.reddeer.junit.internal.requirement.Requirements;
 import org.jboss.reddeer.junit.internal.requirement.inject.RequirementsInjector;
 import org.jboss.reddeer.junit.internal.runner.statement.CleanUpRequirementStatement;
@@ -50,6 +56,7 @@ import org.junit.runners.model.Statement;
  * 	<li> cleanup requirements
  * 	<li> running before/after test extensions
  * 	<li> support for {@link RunIf} annotation
+ * 	<li> recording of durations of tests and waits to {@link TestHistory}
  * </ul>
  * 
  * @author Lucia Jelinkova, Vlado Pakan, mlabuda@redhat.com
@@ -151,7 +158,17 @@ public class RequirementsRunner extends BlockJUnit4ClassRunner {
 				runNotifier.addListener(listener);
 			}
 		}
-		super.run(runNotifier);
+		TestHistory history = TestHistory.getInstance();
+		WaitStatistics.getInstance().startCollecting();
+		long start = System.currentTimeMillis();
+		try {
+			super.run(runNotifier);
+		} finally {
+			history.record(Kind.CLASS, getDescription().getDisplayName(), System.currentTimeMillis() - start);
+			for (Map.Entry<String, long[]> wait : WaitStatistics.getInstance().stopCollecting().entrySet()) {
+				history.record(Kind.WAIT, wait.getKey(), wait.getValue()[0], wait.getValue()[1]);
+			}
+		}
 		if (runListeners != null){
 			for (RunListener listener : runListeners){
 				runNotifier.removeListener(listener);
@@ -294,6 +311,15 @@ public class RequirementsRunner extends BlockJUnit4ClassRunner {
 		 }
 	 }
 	
+	/**
+	 * Gets requirements of the test class.
+	 *
+	 * @return requirements of the test class
+	 */
+	public Requirements getRequirements() {
+		return requirements;
+	}
+	
 	/**
 	 * Sets the requirements injector.
 	 *
@@ -327,6 +353,10 @@ public class RequirementsRunner extends BlockJUnit4ClassRunner {
 
 	private class LoggingRunListener extends RunListener {
 		
+		private DisplayStatistics testStartStatistics;
+		
+		private long testStartTime;
+
 		@Override
 		public void testFailure(Failure failure) throws Exception {
 			Throwable throwable = failure.getException();
@@ -344,6 +374,13 @@ public class RequirementsRunner extends BlockJUnit4ClassRunner {
 		@Override
 		public void testFinished(Description description) throws Exception {
 			log.info("Finished test: " + description);
+			if (testStartStatistics != null) {
+				log.info("UI thread executions of test " + description + ": " 
+						+ Display.getStatistics().since(testStartStatistics));
+				testStartStatistics = null;
+			}
+			TestHistory.getInstance().record(Kind.TEST, description.getDisplayName(), 
+					System.currentTimeMillis() - testStartTime);
 			super.testFinished(description);
 		}
 		
@@ -356,6 +393,8 @@ public class RequirementsRunner extends BlockJUnit4ClassRunner {
 		@Override
 		public void testStarted(Description description) throws Exception {
 			log.info("Started test: " + description);
+			testStartStatistics = Display.getStatistics();
+			testStartTime = System.currentTimeMillis();
 			super.testStarted(description);
 		}
 	}
@@ -0,0 +1,272 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.runner.shard;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.junit.internal.history.TestHistory;
+import org.jboss.reddeer.junit.internal.history.TestHistory.Kind;
+import org.jboss.reddeer.junit.internal.runner.NamedSuite;
+import org.jboss.reddeer.junit.runner.RedDeerSuiteException;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+
+/**
+ * Coordinator of a sharded suite. Test run configurations of the suite, i.e.
+ * its {@link NamedSuite}s (units), are distributed to forked workers so that
+ * workers finish at similar time according to durations of units measured in
+ * previous runs. Durations of units not run yet are estimated from
+ * {@link TestHistory} of their test classes. Each worker is a copy of the running Eclipse with its own
+ * workspace and virtual display. Results of workers are replayed to the run
+ * notifier of the coordinator, so reports of the coordinator contain all tests
+ * of the suite. Other runners of the suite, e.g. tests without execution, run
+ * in the coordinator.
+ * <br>
+ * Sharding is enabled by system property
+ * {@link RedDeerProperties#SHARD_COUNT} and is meant for runs of a single
+ * suite class, every suite class of the run is sharded separately.
+ *
+ * @since 2.0
+ */
+public class ShardCoordinator {
+
+	private static final long POLL_INTERVAL = 500;
+
+	private static final Logger log = Logger.getLogger(ShardCoordinator.class);
+
+	private final String suiteName;
+	private final List<Runner> runners;
+
+	/**
+	 * Creates coordinator of a suite.
+	 *
+	 * @param suiteName name of the suite
+	 * @param runners runners of the suite
+	 */
+	public ShardCoordinator(String suiteName, List<Runner> runners) {
+		this.suiteName = suiteName;
+		this.runners = runners;
+	}
+
+	/**
+	 * Finds out whether suites are distributed to forked workers.
+	 *
+	 * @return true if running JVM is a coordinator
+	 */
+	public static boolean isCoordinator() {
+		return RedDeerProperties.SHARD_WORKER.getValue() == null && getShardCount() > 1;
+	}
+
+	/**
+	 * Gets count of workers defined by {@link RedDeerProperties#SHARD_COUNT}.
+	 *
+	 * @return count of workers
+	 */
+	public static int getShardCount() {
+		String value = RedDeerProperties.SHARD_COUNT.getValue();
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new RedDeerSuiteException("System property " + RedDeerProperties.SHARD_COUNT.getName()
+					+ " has to be a number, but was '" + value + "'");
+		}
+	}
+
+	/**
+	 * Gets maximal time workers may run defined by {@link RedDeerProperties#SHARD_TIMEOUT}.
+	 *
+	 * @return timeout in milliseconds
+	 */
+	public static long getShardTimeout() {
+		String value = RedDeerProperties.SHARD_TIMEOUT.getValue();
+		try {
+			return Long.parseLong(value.trim()) * 1000;
+		} catch (NumberFormatException e) {
+			throw new RedDeerSuiteException("System property " + RedDeerProperties.SHARD_TIMEOUT.getName()
+					+ " has to be a number of seconds, but was '" + value + "'");
+		}
+	}
+
+	/**
+	 * Gets keys of units the running worker has to run of specified suite.
+	 *
+	 * @param suiteName name of the suite
+	 * @return keys of units to run, empty list if the worker runs another suite
+	 *         or null if running JVM is not a worker
+	 */
+	public static List<String> getWorkerUnits(String suiteName) {
+		String unitFile = RedDeerProperties.SHARD_WORKER.getValue();
+		if (unitFile == null) {
+			return null;
+		}
+		List<String> lines;
+		try {
+			lines = Files.readAllLines(new File(unitFile).toPath(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new RedDeerSuiteException("Unable to read shard units from " + unitFile, e);
+		}
+		if (lines.isEmpty() || !lines.get(0).equals(suiteName)) {
+			return Collections.emptyList();
+		}
+		return lines.subList(1, lines.size());
+	}
+
+	/**
+	 * Gets key identifying a unit in coordinator, workers and stored durations.
+	 * Key is made of name of test run configuration and hash of names of its
+	 * test classes, it does not depend on order of classes.
+	 *
+	 * @param unit unit of a suite
+	 * @return key of the unit
+	 */
+	public static String getUnitKey(NamedSuite unit) {
+		List<String> names = new ArrayList<String>();
+		for (Description child : unit.getDescription().getChildren()) {
+			names.add(child.getDisplayName());
+		}
+		Collections.sort(names);
+		return unit.getName() + "#" + Integer.toHexString(names.hashCode());
+	}
+
+	/**
+	 * Runs units in forked workers and replays their results to specified
+	 * notifier. Other runners are run in the coordinator.
+	 *
+	 * @param notifier notifier
+	 */
+	public void run(RunNotifier notifier) {
+		List<NamedSuite> units = new ArrayList<NamedSuite>();
+		List<Runner> localRunners = new ArrayList<Runner>();
+		for (Runner runner : runners) {
+			if (runner instanceof NamedSuite) {
+				units.add((NamedSuite) runner);
+			} else {
+				localRunners.add(runner);
+			}
+		}
+		File durationsFile = new File(RedDeerProperties.SHARD_DURATIONS_FILE.getValue());
+		ShardDurations durations = new ShardDurations(durationsFile);
+		List<ShardWorker> workers = createWorkers(units, durations,
+				new File(durationsFile.getAbsoluteFile().getParentFile(), "reddeer-shards" + File.separator + suiteName));
+		try {
+			boolean virtualDisplay = RedDeerProperties.SHARD_VIRTUAL_DISPLAY.getBooleanValue();
+			for (ShardWorker worker : workers) {
+				try {
+					worker.start(virtualDisplay);
+				} catch (IOException | RuntimeException e) {
+					log.error("Unable to start shard worker", e);
+					worker.finish(notifier, "could not be started: " + e.getMessage());
+				}
+			}
+			waitForWorkers(workers, notifier);
+		} finally {
+			for (ShardWorker worker : workers) {
+				worker.finish(notifier, "was stopped");
+			}
+			durations.save();
+		}
+		for (Runner runner : localRunners) {
+			runner.run(notifier);
+		}
+	}
+
+	private List<ShardWorker> createWorkers(List<NamedSuite> units, ShardDurations durations, File directory) {
+		List<String> keys = new ArrayList<String>();
+		int[] classCounts = new int[units.size()];
+		for (int i = 0; i < units.size(); i++) {
+			keys.add(getUnitKey(units.get(i)));
+			classCounts[i] = units.get(i).getDescription().getChildren().size();
+		}
+		int shardCount = Math.min(getShardCount(), units.size());
+		long[] estimates = durations.estimate(keys, classCounts);
+		for (int i = 0; i < units.size(); i++) {
+			if (durations.getDuration(keys.get(i)) < 0) {
+				long historyDuration = getHistoryDuration(units.get(i));
+				if (historyDuration >= 0) {
+					estimates[i] = historyDuration;
+				}
+			}
+		}
+		int[] assignment = ShardScheduler.assign(estimates, shardCount);
+
+		List<ShardWorker> workers = new ArrayList<ShardWorker>();
+		for (int shard = 0; shard < shardCount; shard++) {
+			List<NamedSuite> shardUnits = new ArrayList<NamedSuite>();
+			List<String> shardKeys = new ArrayList<String>();
+			long estimate = 0;
+			for (int i = 0; i < units.size(); i++) {
+				if (assignment[i] == shard) {
+					shardUnits.add(units.get(i));
+					shardKeys.add(keys.get(i));
+					estimate += estimates[i];
+				}
+			}
+			log.info("Shard " + shard + " runs " + shardKeys + ", estimated duration " + estimate / 1000 + " s");
+			workers.add(new ShardWorker(suiteName, shard, shardUnits, shardKeys,
+					new File(directory, "shard-" + shard), durations));
+		}
+		return workers;
+	}
+
+	/**
+	 * Gets sum of recorded durations of test classes of a unit.
+	 *
+	 * @return duration in milliseconds or -1 if duration of a test class is not known
+	 */
+	private static long getHistoryDuration(NamedSuite unit) {
+		long duration = 0;
+		for (Description child : unit.getDescription().getChildren()) {
+			long classDuration = TestHistory.getInstance().getDuration(Kind.CLASS, child.getDisplayName());
+			if (classDuration < 0) {
+				return -1;
+			}
+			duration += classDuration;
+		}
+		return duration;
+	}
+
+	private void waitForWorkers(List<ShardWorker> workers, RunNotifier notifier) {
+		long timeout = getShardTimeout();
+		long deadline = System.currentTimeMillis() + timeout;
+		boolean done = false;
+		while (!done) {
+			done = true;
+			for (ShardWorker worker : workers) {
+				done &= worker.poll(notifier);
+			}
+			if (!done && System.currentTimeMillis() >= deadline) {
+				log.error("Shard workers of suite " + suiteName + " did not finish in " + timeout / 1000
+						+ " s, they are stopped");
+				for (ShardWorker worker : workers) {
+					worker.finish(notifier, "did not finish in " + timeout / 1000 + " s");
+				}
+				return;
+			}
+			if (!done) {
+				try {
+					Thread.sleep(POLL_INTERVAL);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+}
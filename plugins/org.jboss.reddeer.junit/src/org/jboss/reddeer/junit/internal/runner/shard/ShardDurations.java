@@ -0,0 +1,130 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.runner.shard;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Properties;
+
+import org.jboss.reddeer.common.logging.Logger;
+
+/**
+ * Durations of units of a sharded suite measured in previous runs. Durations
+ * are stored in a properties file, keys are unit keys and values are
+ * milliseconds.
+ *
+ * @since 2.0
+ */
+public class ShardDurations {
+
+	/**
+	 * Duration assumed for a test class when no duration is known.
+	 */
+	public static final long DEFAULT_CLASS_DURATION = 60000;
+
+	private static final Logger log = Logger.getLogger(ShardDurations.class);
+
+	private final File file;
+	private final Properties durations = new Properties();
+
+	/**
+	 * Creates durations stored in specified file. Durations are loaded if the file
+	 * exists.
+	 *
+	 * @param file file with durations
+	 */
+	public ShardDurations(File file) {
+		this.file = file;
+		if (file.isFile()) {
+			try (InputStream input = new FileInputStream(file)) {
+				durations.load(input);
+			} catch (IOException e) {
+				log.warn("Unable to load shard durations from " + file.getAbsolutePath() + ": " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Gets duration of a unit.
+	 *
+	 * @param key key of the unit
+	 * @return duration in milliseconds or -1 if duration of the unit is not known
+	 */
+	public synchronized long getDuration(String key) {
+		String duration = durations.getProperty(key);
+		if (duration != null) {
+			try {
+				return Long.parseLong(duration);
+			} catch (NumberFormatException e) {
+				log.debug("Ignoring invalid duration " + duration + " of " + key);
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Sets duration of a unit.
+	 *
+	 * @param key key of the unit
+	 * @param duration duration in milliseconds
+	 */
+	public synchronized void setDuration(String key, long duration) {
+		durations.setProperty(key, String.valueOf(duration));
+	}
+
+	/**
+	 * Estimates durations of units. Units without known duration are estimated
+	 * by average duration of a test class of known units.
+	 *
+	 * @param keys keys of units
+	 * @param classCounts counts of test classes of units
+	 * @return durations of units in milliseconds
+	 */
+	public synchronized long[] estimate(List<String> keys, int[] classCounts) {
+		long[] estimates = new long[keys.size()];
+		long knownDuration = 0;
+		long knownClasses = 0;
+		for (int i = 0; i < estimates.length; i++) {
+			estimates[i] = getDuration(keys.get(i));
+			if (estimates[i] >= 0) {
+				knownDuration += estimates[i];
+				knownClasses += classCounts[i];
+			}
+		}
+		long classDuration = knownClasses > 0 ? Math.max(1, knownDuration / knownClasses) : DEFAULT_CLASS_DURATION;
+		for (int i = 0; i < estimates.length; i++) {
+			if (estimates[i] < 0) {
+				estimates[i] = classDuration * Math.max(1, classCounts[i]);
+			}
+		}
+		return estimates;
+	}
+
+	/**
+	 * Stores durations to the file.
+	 */
+	public synchronized void save() {
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (directory != null) {
+			directory.mkdirs();
+		}
+		try (OutputStream output = new FileOutputStream(file)) {
+			durations.store(output, "Durations of RedDeer suite shards in milliseconds");
+		} catch (IOException e) {
+			log.warn("Unable to store shard durations to " + file.getAbsolutePath() + ": " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.runner.shard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Run listener of a forked worker writing test events to a file read by suite
+ * coordinator. Each event is one line of tab separated fields, the first field
+ * is type of the event. Display names are URL encoded, failures are written as
+ * Base64 encoded serialized exception followed by Base64 encoded stack trace
+ * used when the exception cannot be deserialized.
+ *
+ * @since 2.0
+ */
+public class ShardEventWriter extends RunListener {
+
+	public static final String STARTED = "started";
+	public static final String FINISHED = "finished";
+	public static final String IGNORED = "ignored";
+	public static final String FAILURE = "failure";
+	public static final String ASSUMPTION_FAILURE = "assumptionFailure";
+	public static final String UNIT_STARTED = "unitStarted";
+	public static final String UNIT_FINISHED = "unitFinished";
+
+	private static final Logger log = Logger.getLogger(ShardEventWriter.class);
+
+	private final Writer writer;
+
+	/**
+	 * Creates writer of test events to specified file.
+	 *
+	 * @param file event file
+	 * @throws IOException if the file cannot be created
+	 */
+	public ShardEventWriter(File file) throws IOException {
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (directory != null) {
+			directory.mkdirs();
+		}
+		writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public void testStarted(Description description) throws Exception {
+		write(STARTED, encode(description.getDisplayName()));
+	}
+
+	@Override
+	public void testFinished(Description description) throws Exception {
+		write(FINISHED, encode(description.getDisplayName()));
+	}
+
+	@Override
+	public void testIgnored(Description description) throws Exception {
+		write(IGNORED, encode(description.getDisplayName()));
+	}
+
+	@Override
+	public void testFailure(Failure failure) throws Exception {
+		writeFailure(FAILURE, failure);
+	}
+
+	@Override
+	public void testAssumptionFailure(Failure failure) {
+		writeFailure(ASSUMPTION_FAILURE, failure);
+	}
+
+	/**
+	 * Writes event marking that tests of a unit are going to be run. Test events
+	 * following it up to the next unit event belong to the unit.
+	 *
+	 * @param key key of the unit
+	 */
+	public void unitStarted(String key) {
+		write(UNIT_STARTED, encode(key));
+	}
+
+	/**
+	 * Writes event marking that all tests of a unit were run.
+	 *
+	 * @param key key of the unit
+	 * @param duration duration of the unit in milliseconds
+	 */
+	public void unitFinished(String key, long duration) {
+		write(UNIT_FINISHED, encode(key), String.valueOf(duration));
+	}
+
+	/**
+	 * Closes the event file.
+	 */
+	public synchronized void close() {
+		try {
+			writer.close();
+		} catch (IOException e) {
+			log.error("Unable to close shard event file", e);
+		}
+	}
+
+	/**
+	 * Decodes display name or unit key written to the event file.
+	 *
+	 * @param text encoded text
+	 * @return decoded text
+	 */
+	public static String decode(String text) {
+		try {
+			return URLDecoder.decode(text, "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void writeFailure(String type, Failure failure) {
+		String trace = failure.getTrace();
+		write(type, encode(failure.getDescription().getDisplayName()), serialize(failure.getException()),
+				Base64.getEncoder().encodeToString(trace.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private synchronized void write(String... fields) {
+		try {
+			for (int i = 0; i < fields.length; i++) {
+				if (i > 0) {
+					writer.write('\t');
+				}
+				writer.write(fields[i]);
+			}
+			writer.write('\n');
+			writer.flush();
+		} catch (IOException e) {
+			log.error("Unable to write shard event " + fields[0], e);
+		}
+	}
+
+	private static String serialize(Throwable throwable) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(throwable);
+		} catch (IOException e) {
+			// not serializable, coordinator uses the stack trace
+			return "";
+		}
+		return Base64.getEncoder().encodeToString(bytes.toByteArray());
+	}
+
+	private static String encode(String text) {
+		try {
+			return URLEncoder.encode(text, "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
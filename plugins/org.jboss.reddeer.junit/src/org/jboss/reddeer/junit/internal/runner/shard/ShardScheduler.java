@@ -0,0 +1,62 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.runner.shard;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Distributes units of work to shards so that shards finish at similar time.
+ * Units are assigned in order of descending duration, each to the shard with
+ * the lowest total duration so far (longest processing time first).
+ *
+ * @since 2.0
+ */
+public class ShardScheduler {
+
+	private ShardScheduler() {
+	}
+
+	/**
+	 * Assigns units with specified durations to shards.
+	 *
+	 * @param durations durations of units, may be estimated
+	 * @param shardCount count of shards
+	 * @return index of shard of each unit
+	 */
+	public static int[] assign(final long[] durations, int shardCount) {
+		Integer[] order = new Integer[durations.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+
+			@Override
+			public int compare(Integer first, Integer second) {
+				int result = Long.compare(durations[second], durations[first]);
+				return result != 0 ? result : Integer.compare(first, second);
+			}
+		});
+		int[] shards = new int[durations.length];
+		long[] loads = new long[Math.max(1, shardCount)];
+		for (int unit : order) {
+			int shard = 0;
+			for (int i = 1; i < loads.length; i++) {
+				if (loads[i] < loads[shard]) {
+					shard = i;
+				}
+			}
+			shards[unit] = shard;
+			loads[shard] += durations[unit];
+		}
+		return shards;
+	}
+}
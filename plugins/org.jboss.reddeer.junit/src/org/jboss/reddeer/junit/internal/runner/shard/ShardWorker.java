@@ -0,0 +1,416 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.runner.shard;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.junit.internal.runner.NamedSuite;
+import org.jboss.reddeer.junit.runner.RedDeerSuiteException;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+
+/**
+ * Forked worker running units of a sharded suite, seen from suite coordinator.
+ * Worker is a copy of the running Eclipse started with its own workspace,
+ * configuration area, test report directory and optionally its own virtual
+ * display. Test events written by the worker are
+ * buffered per unit and replayed to the coordinator's run notifier when the
+ * unit is finished, so reports are not interleaved with tests of other
+ * workers. Tests which were not run because the worker exited prematurely are
+ * reported as failed.
+ *
+ * @since 2.0
+ */
+public class ShardWorker {
+
+	private static final Logger log = Logger.getLogger(ShardWorker.class);
+
+	private static final String CONFIGURATION_AREA = "osgi.configuration.area";
+	private static final String SHARED_CONFIGURATION_AREA = "osgi.sharedConfiguration.area";
+	private static final String CONFIGURATION_CASCADED = "osgi.configuration.cascaded";
+	private static final String REPORTS_DIRECTORY = "reportsdirectory";
+
+	private final String suiteName;
+	private final int shard;
+	private final List<String> unitKeys;
+	private final ShardDurations durations;
+	private final File directory;
+	private final File eventFile;
+	// keyed by unit key and display name, display names are not unique across units
+	private final Map<String, Description> descriptions = new HashMap<String, Description>();
+	private final Set<Description> unfinished = new LinkedHashSet<Description>();
+	private final Set<Description> started = new HashSet<Description>();
+	private final List<PendingEvent> pendingEvents = new ArrayList<PendingEvent>();
+	private String currentUnitKey;
+	private final StringBuilder partialLine = new StringBuilder();
+	private Process process;
+	private VirtualDisplay display;
+	private long offset;
+	private boolean done;
+
+	/**
+	 * Creates worker running specified units.
+	 *
+	 * @param suiteName name of the suite
+	 * @param shard index of the shard
+	 * @param units units to run
+	 * @param unitKeys keys of the units
+	 * @param directory directory of the worker files
+	 * @param durations durations updated by durations of finished units
+	 */
+	public ShardWorker(String suiteName, int shard, List<NamedSuite> units, List<String> unitKeys,
+			File directory, ShardDurations durations) {
+		this.suiteName = suiteName;
+		this.shard = shard;
+		this.unitKeys = unitKeys;
+		this.directory = directory;
+		this.durations = durations;
+		this.eventFile = new File(directory, "events.txt");
+		for (int i = 0; i < units.size(); i++) {
+			addDescriptions(unitKeys.get(i), units.get(i).getDescription());
+		}
+	}
+
+	/**
+	 * Starts the worker process.
+	 *
+	 * @param virtualDisplay whether the worker gets its own virtual display
+	 * @throws IOException if the worker cannot be started
+	 */
+	public void start(boolean virtualDisplay) throws IOException {
+		directory.mkdirs();
+		File unitFile = new File(directory, "units.txt");
+		List<String> lines = new ArrayList<String>();
+		lines.add(suiteName);
+		lines.addAll(unitKeys);
+		Files.write(unitFile.toPath(), lines, StandardCharsets.UTF_8);
+		Files.deleteIfExists(eventFile.toPath());
+
+		File outputFile = new File(directory, "output.log");
+		ProcessBuilder builder = new ProcessBuilder(createCommand(unitFile, eventFile, directory));
+		builder.redirectErrorStream(true).redirectOutput(outputFile);
+		if (virtualDisplay) {
+			display = VirtualDisplay.start();
+			builder.environment().put("DISPLAY", display.getName());
+		}
+		try {
+			process = builder.start();
+		} catch (IOException e) {
+			stopDisplay();
+			throw e;
+		}
+		log.info("Started shard worker " + shard + " running " + unitKeys.size()
+				+ " test run configuration(s), output is written to " + outputFile.getAbsolutePath());
+	}
+
+	/**
+	 * Reads new events of the worker and replays events of finished units. When the
+	 * worker has exited, remaining events are replayed and tests which were not run
+	 * are reported as failed.
+	 *
+	 * @param notifier notifier of the coordinator
+	 * @return true if the worker is done
+	 */
+	public boolean poll(RunNotifier notifier) {
+		if (done) {
+			return true;
+		}
+		// check exit before reading, so no event written before exit is missed
+		boolean exited = !process.isAlive();
+		readEvents(notifier);
+		if (exited) {
+			replayPendingEvents(notifier);
+			finish(notifier, "exited with code " + process.exitValue());
+		}
+		return done;
+	}
+
+	/**
+	 * Reports all tests not reported yet as failed and stops the worker.
+	 *
+	 * @param notifier notifier of the coordinator
+	 * @param reason reason why tests were not run
+	 */
+	public void finish(RunNotifier notifier, String reason) {
+		if (done) {
+			return;
+		}
+		done = true;
+		if (process != null) {
+			process.destroy();
+		}
+		stopDisplay();
+		for (Description description : unfinished) {
+			if (!started.contains(description)) {
+				notifier.fireTestStarted(description);
+			}
+			notifier.fireTestFailure(new Failure(description, new RedDeerSuiteException(
+					"Test was not run, shard worker " + shard + " " + reason + ", see "
+							+ new File(directory, "output.log").getAbsolutePath())));
+			notifier.fireTestFinished(description);
+		}
+		unfinished.clear();
+	}
+
+	private void readEvents(RunNotifier notifier) {
+		if (!eventFile.isFile()) {
+			return;
+		}
+		byte[] bytes;
+		try (RandomAccessFile file = new RandomAccessFile(eventFile, "r")) {
+			long length = file.length();
+			if (length <= offset) {
+				return;
+			}
+			bytes = new byte[(int) (length - offset)];
+			file.seek(offset);
+			file.readFully(bytes);
+			offset = length;
+		} catch (IOException e) {
+			log.error("Unable to read events of shard worker " + shard, e);
+			return;
+		}
+		// events are ASCII only
+		partialLine.append(new String(bytes, StandardCharsets.US_ASCII));
+		int lineEnd;
+		while ((lineEnd = partialLine.indexOf("\n")) >= 0) {
+			String line = partialLine.substring(0, lineEnd);
+			partialLine.delete(0, lineEnd + 1);
+			handleEvent(line.split("\t", -1), notifier);
+		}
+	}
+
+	private void handleEvent(String[] event, RunNotifier notifier) {
+		if (ShardEventWriter.UNIT_STARTED.equals(event[0])) {
+			currentUnitKey = ShardEventWriter.decode(event[1]);
+		} else if (ShardEventWriter.UNIT_FINISHED.equals(event[0])) {
+			replayPendingEvents(notifier);
+			currentUnitKey = null;
+			durations.setDuration(ShardEventWriter.decode(event[1]), Long.parseLong(event[2]));
+		} else {
+			pendingEvents.add(new PendingEvent(currentUnitKey, event));
+		}
+	}
+
+	private void replayPendingEvents(RunNotifier notifier) {
+		for (PendingEvent pendingEvent : pendingEvents) {
+			replay(pendingEvent.unitKey, pendingEvent.event, notifier);
+		}
+		pendingEvents.clear();
+	}
+
+	private void replay(String unitKey, String[] event, RunNotifier notifier) {
+		String displayName = ShardEventWriter.decode(event[1]);
+		Description description = descriptions.get(getDescriptionKey(unitKey, displayName));
+		if (description == null) {
+			log.warn("Shard worker " + shard + " reported unknown test " + displayName + " of " + unitKey);
+			return;
+		}
+		String type = event[0];
+		if (ShardEventWriter.STARTED.equals(type)) {
+			notifier.fireTestStarted(description);
+			started.add(description);
+		} else if (ShardEventWriter.FINISHED.equals(type)) {
+			notifier.fireTestFinished(description);
+			unfinished.remove(description);
+		} else if (ShardEventWriter.IGNORED.equals(type)) {
+			notifier.fireTestIgnored(description);
+			removeUnfinished(description);
+		} else if (ShardEventWriter.FAILURE.equals(type)) {
+			notifier.fireTestFailure(new Failure(description, decodeException(event[2], event[3])));
+			if (!description.isTest()) {
+				// class level failure, tests of the class were not run
+				removeUnfinished(description);
+			}
+		} else if (ShardEventWriter.ASSUMPTION_FAILURE.equals(type)) {
+			notifier.fireTestAssumptionFailed(new Failure(description, decodeException(event[2], event[3])));
+			if (!description.isTest()) {
+				removeUnfinished(description);
+			}
+		}
+	}
+
+	private Throwable decodeException(String serialized, String trace) {
+		if (!serialized.isEmpty()) {
+			try (ObjectInputStream input = new ObjectInputStream(
+					new ByteArrayInputStream(Base64.getDecoder().decode(serialized))) {
+
+				@Override
+				protected Class<?> resolveClass(ObjectStreamClass description)
+						throws IOException, ClassNotFoundException {
+					try {
+						return Class.forName(description.getName(), false, ShardWorker.class.getClassLoader());
+					} catch (ClassNotFoundException e) {
+						return super.resolveClass(description);
+					}
+				}
+			}) {
+				return (Throwable) input.readObject();
+			} catch (IOException | ClassNotFoundException | ClassCastException e) {
+				log.debug("Unable to deserialize exception of shard worker " + shard + ": " + e);
+			}
+		}
+		return new RedDeerSuiteException("Test failed in shard worker " + shard + ":\n"
+				+ new String(Base64.getDecoder().decode(trace), StandardCharsets.UTF_8));
+	}
+
+	private void addDescriptions(String unitKey, Description description) {
+		descriptions.put(getDescriptionKey(unitKey, description.getDisplayName()), description);
+		if (description.isTest()) {
+			unfinished.add(description);
+		}
+		for (Description child : description.getChildren()) {
+			addDescriptions(unitKey, child);
+		}
+	}
+
+	private static String getDescriptionKey(String unitKey, String displayName) {
+		return unitKey + "\t" + displayName;
+	}
+
+	private void removeUnfinished(Description description) {
+		unfinished.remove(description);
+		for (Description child : description.getChildren()) {
+			removeUnfinished(child);
+		}
+	}
+
+	private void stopDisplay() {
+		if (display != null) {
+			display.stop();
+			display = null;
+		}
+	}
+
+	/**
+	 * Creates command line of worker from command line of the running JVM. Debug
+	 * agents are not passed to the worker. Workspace given by -data argument and
+	 * configuration area given by -configuration argument are replaced by
+	 * directories of the worker, the original configuration area is its read-only
+	 * parent. Test properties given by -testproperties argument are copied with
+	 * report directory of the worker, so reports of workers do not overwrite
+	 * reports of the coordinator.
+	 */
+	private static List<String> createCommand(File unitFile, File eventFile, File directory) throws IOException {
+		String javaCommand = System.getProperty("sun.java.command");
+		if (javaCommand == null || javaCommand.isEmpty()) {
+			throw new RedDeerSuiteException("Unable to fork shard worker, command line of running JVM is unknown");
+		}
+		List<String> command = new ArrayList<String>();
+		command.add(new File(System.getProperty("java.home"), "bin" + File.separator + "java").getPath());
+		for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+			if (argument.startsWith("-agentlib:jdwp") || argument.startsWith("-Xrunjdwp") || argument.equals("-Xdebug")
+					|| argument.startsWith("-D" + RedDeerProperties.SHARD_COUNT.getName() + "=")
+					|| argument.startsWith("-D" + CONFIGURATION_AREA + "=")) {
+				continue;
+			}
+			command.add(argument);
+		}
+		command.add("-D" + RedDeerProperties.SHARD_COUNT.getName() + "=1");
+		command.add("-D" + RedDeerProperties.SHARD_WORKER.getName() + "=" + unitFile.getAbsolutePath());
+		command.add("-D" + RedDeerProperties.SHARD_EVENT_FILE.getName() + "=" + eventFile.getAbsolutePath());
+		String configurationArea = System.getProperty(CONFIGURATION_AREA);
+		if (configurationArea != null) {
+			command.add("-D" + SHARED_CONFIGURATION_AREA + "=" + configurationArea);
+			command.add("-D" + CONFIGURATION_CASCADED + "=true");
+		}
+
+		List<String> tokens = new ArrayList<String>(Arrays.asList(javaCommand.split(" ")));
+		String main = tokens.remove(0);
+		if (main.endsWith(".jar")) {
+			command.add("-jar");
+			command.add(main);
+		} else {
+			command.add("-cp");
+			command.add(System.getProperty("java.class.path"));
+			command.add(main);
+		}
+		// eclipse.commands keeps arguments containing spaces intact
+		String eclipseCommands = System.getProperty("eclipse.commands");
+		List<String> arguments = eclipseCommands != null
+				? new ArrayList<String>(Arrays.asList(eclipseCommands.split("\n"))) : tokens;
+		setArgument(arguments, "-data", new File(directory, "workspace").getAbsolutePath());
+		setArgument(arguments, "-configuration", new File(directory, "configuration").getAbsolutePath());
+		int testPropertiesIndex = arguments.indexOf("-testproperties");
+		if (testPropertiesIndex >= 0 && testPropertiesIndex + 1 < arguments.size()) {
+			File testProperties = createTestProperties(new File(arguments.get(testPropertiesIndex + 1)), directory);
+			arguments.set(testPropertiesIndex + 1, testProperties.getAbsolutePath());
+		}
+		command.addAll(arguments);
+		return command;
+	}
+
+	private static void setArgument(List<String> arguments, String name, String value) {
+		int index = arguments.indexOf(name);
+		if (index >= 0 && index + 1 < arguments.size()) {
+			arguments.set(index + 1, value);
+		} else {
+			arguments.add(name);
+			arguments.add(value);
+		}
+	}
+
+	/**
+	 * Copies test properties of tycho surefire with report directory in the
+	 * worker directory.
+	 */
+	private static File createTestProperties(File original, File directory) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream input = new FileInputStream(original)) {
+			properties.load(input);
+		}
+		properties.setProperty(REPORTS_DIRECTORY, new File(directory, "surefire-reports").getAbsolutePath());
+		File testProperties = new File(directory, "test.properties");
+		try (OutputStream output = new FileOutputStream(testProperties)) {
+			properties.store(output, null);
+		}
+		return testProperties;
+	}
+
+	/**
+	 * Test event read from the event file together with key of the unit it belongs to.
+	 */
+	private static class PendingEvent {
+
+		private final String unitKey;
+		private final String[] event;
+
+		PendingEvent(String unitKey, String[] event) {
+			this.unitKey = unitKey;
+			this.event = event;
+		}
+	}
+}
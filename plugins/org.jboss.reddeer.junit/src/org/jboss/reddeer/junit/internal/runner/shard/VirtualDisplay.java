@@ -0,0 +1,109 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.runner.shard;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.jboss.reddeer.common.logging.Logger;
+
+/**
+ * X virtual frame buffer (Xvfb) display of a forked worker. Display number is
+ * chosen from numbers not used by any running X server. Xvfb does not listen on
+ * TCP, clients connect through local socket only.
+ *
+ * @since 2.0
+ */
+public class VirtualDisplay {
+
+	private static final int FIRST_DISPLAY_NUMBER = 90;
+	private static final int LAST_DISPLAY_NUMBER = 599;
+	private static final long START_TIMEOUT = 10000;
+	private static final String SCREEN = "1920x1080x24";
+
+	private static final Logger log = Logger.getLogger(VirtualDisplay.class);
+
+	private final int number;
+	private final Process process;
+
+	private VirtualDisplay(int number, Process process) {
+		this.number = number;
+		this.process = process;
+	}
+
+	/**
+	 * Starts a new virtual display.
+	 *
+	 * @return started display
+	 * @throws IOException if Xvfb cannot be started
+	 */
+	public static synchronized VirtualDisplay start() throws IOException {
+		for (int number = FIRST_DISPLAY_NUMBER; number <= LAST_DISPLAY_NUMBER; number++) {
+			if (getLockFile(number).exists() || getSocketFile(number).exists()) {
+				continue;
+			}
+			Process process = new ProcessBuilder("Xvfb", ":" + number, "-screen", "0", SCREEN, "-nolisten", "tcp")
+					.redirectErrorStream(true).redirectOutput(new File("/dev/null")).start();
+			if (waitForSocket(number, process)) {
+				log.info("Started virtual display :" + number);
+				return new VirtualDisplay(number, process);
+			}
+			// display number was taken meanwhile or Xvfb failed, try the next one
+			process.destroy();
+		}
+		throw new IOException("No free display number for Xvfb");
+	}
+
+	/**
+	 * Gets name of the display usable as value of DISPLAY environment variable.
+	 *
+	 * @return name of the display
+	 */
+	public String getName() {
+		return ":" + number;
+	}
+
+	/**
+	 * Stops the display.
+	 */
+	public void stop() {
+		process.destroy();
+		log.info("Stopped virtual display :" + number);
+	}
+
+	private static boolean waitForSocket(int number, Process process) throws IOException {
+		long deadline = System.currentTimeMillis() + START_TIMEOUT;
+		while (System.currentTimeMillis() < deadline) {
+			if (getSocketFile(number).exists()) {
+				return true;
+			}
+			if (!process.isAlive()) {
+				return false;
+			}
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				process.destroy();
+				throw new IOException("Interrupted while starting Xvfb");
+			}
+		}
+		return false;
+	}
+
+	private static File getLockFile(int number) {
+		return new File("/tmp/.X" + number + "-lock");
+	}
+
+	private static File getSocketFile(int number) {
+		return new File("/tmp/.X11-unix/X" + number);
+	}
+}
@@ -16,6 +16,8 @@ import java.util.List;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.junit.execution.PriorityComparator;
 import org.jboss.reddeer.junit.extensionpoint.IAfterTest;
+import org.jboss.reddeer.junit.internal.history.TestHistory;
+import org.jboss.reddeer.junit.internal.history.TestHistory.Kind;
 import org.jboss.reddeer.junit.screenshot.ScreenshotCapturer;
 import org.junit.runners.model.MultipleFailureException;
 import org.junit.runners.model.Statement;
@@ -67,7 +69,9 @@ public class RunIAfterClassExtensions extends AbstractStatementWithScreenshot {
 			try {
 				if (after.hasToRun()){
 					log.debug("Run method runAfterTestClass() of class " + after.getClass().getCanonicalName());
+					long start = System.currentTimeMillis();
 					after.runAfterTestClass(config, testClass);
+					TestHistory.getInstance().record(Kind.AFTER_EXTENSION, after.getClass().getName(), System.currentTimeMillis() - start);
 				}
 			} catch (Throwable e) {
 				if(ScreenshotCapturer.shouldCaptureScreenshotOnException(e)){
@@ -15,6 +15,8 @@ import java.util.List;
 
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.junit.extensionpoint.IAfterTest;
+import org.jboss.reddeer.junit.internal.history.TestHistory;
+import org.jboss.reddeer.junit.internal.history.TestHistory.Kind;
 import org.jboss.reddeer.junit.screenshot.ScreenshotCapturer;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.MultipleFailureException;
@@ -68,7 +70,9 @@ public class RunIAfterTestExtensions extends AbstractStatementWithScreenshot {
 				after = each;
 				if (after.hasToRun()){
 					log.debug("Run method runAfterTest() of class " + after.getClass().getCanonicalName());
+					long start = System.currentTimeMillis();
 					after.runAfterTest(config, target, frameworkMethod);
+					TestHistory.getInstance().record(Kind.AFTER_EXTENSION, after.getClass().getName(), System.currentTimeMillis() - start);
 				}
 			} catch (Throwable e) {
 				if(ScreenshotCapturer.shouldCaptureScreenshotOnException(e)){
@@ -15,6 +15,8 @@ import java.util.List;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.junit.execution.PriorityComparator;
 import org.jboss.reddeer.junit.extensionpoint.IBeforeTest;
+import org.jboss.reddeer.junit.internal.history.TestHistory;
+import org.jboss.reddeer.junit.internal.history.TestHistory.Kind;
 import org.jboss.reddeer.junit.screenshot.ScreenshotCapturer;
 import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestClass;
@@ -57,7 +59,9 @@ public class RunIBeforeClassExtensions extends AbstractStatementWithScreenshot {
 				before = bfr;
 				if (before.hasToRun()){
 					log.debug("Run method runBeforeTestClass() of class " + before.getClass().getCanonicalName());
+					long start = System.currentTimeMillis();
 					before.runBeforeTestClass(config, testClass);
+					TestHistory.getInstance().record(Kind.BEFORE_EXTENSION, before.getClass().getName(), System.currentTimeMillis() - start);
 				}
 			}
 		} catch (Throwable e) {
@@ -14,6 +14,8 @@ import java.util.List;
 
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.junit.extensionpoint.IBeforeTest;
+import org.jboss.reddeer.junit.internal.history.TestHistory;
+import org.jboss.reddeer.junit.internal.history.TestHistory.Kind;
 import org.jboss.reddeer.junit.screenshot.ScreenshotCapturer;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.Statement;
@@ -58,7 +60,9 @@ public class RunIBeforeTestExtensions extends AbstractStatementWithScreenshot {
 				before = bfr;
 				if (before.hasToRun()){
 					log.debug("Run method runBeforeTest() of class " + before.getClass().getCanonicalName());
+					long start = System.currentTimeMillis();
 					before.runBeforeTest(config, target, frameworkMethod);
+					TestHistory.getInstance().record(Kind.BEFORE_EXTENSION, before.getClass().getName(), System.currentTimeMillis() - start);
 				}
 			}
 		} catch (Throwable e) {
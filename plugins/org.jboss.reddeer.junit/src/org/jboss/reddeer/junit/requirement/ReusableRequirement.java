@@ -0,0 +1,48 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.requirement;
+
+/**
+ * {@link Requirement} classes whose state established by fulfill can be reused by
+ * next test class need to implement the interface.
+ * <br><br>
+ * Requirements are reused only by directly following test class requiring
+ * equal state. When a requirement is reused, its fulfill is not called, the
+ * requirement which established the state is cleaned up instead of it after
+ * the last test class reusing the state. Reusable requirements have to fulfill
+ * these contracts:
+ * <ul>
+ * 	<li>fulfill is idempotent, requirements with equal state keys establish the same state</li>
+ * 	<li>tests leave the state as they found it or {@link #isStateValid()} detects the change</li>
+ * </ul>
+ *
+ * @since 2.0
+ */
+public interface ReusableRequirement {
+
+	/**
+	 * Gets key of the state established by fulfill. Requirements of the same class
+	 * with equal keys establish the same state.
+	 *
+	 * @return key of the state or null if the state cannot be reused
+	 */
+	Object getStateKey();
+
+	/**
+	 * Checks whether the state established by fulfill is still present. The check
+	 * has to be cheaper than fulfill.
+	 *
+	 * @return true if the state is present, false otherwise
+	 */
+	default boolean isStateValid() {
+		return true;
+	}
+}
@@ -10,12 +10,15 @@
  ******************************************************************************/
 package org.jboss.reddeer.junit.runner;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
 import org.jboss.reddeer.junit.extensionpoint.IAfterTest;
 import org.jboss.reddeer.junit.extensionpoint.IBeforeTest;
 import org.jboss.reddeer.junit.extensionpoint.IIssueTracker;
@@ -25,13 +28,17 @@ import org.jboss.reddeer.junit.internal.configuration.TestRunConfiguration;
 import org.jboss.reddeer.junit.internal.extensionpoint.AfterTestInitialization;
 import org.jboss.reddeer.junit.internal.extensionpoint.BeforeTestInitialization;
 import org.jboss.reddeer.junit.internal.extensionpoint.IssueTrackerInitialization;
+import org.jboss.reddeer.junit.internal.history.TestHistory;
 import org.jboss.reddeer.junit.internal.runner.EmptySuite;
 import org.jboss.reddeer.junit.internal.runner.NamedSuite;
 import org.jboss.reddeer.junit.internal.runner.RequirementsRunnerBuilder;
 import org.jboss.reddeer.junit.internal.runner.TestsExecutionManager;
 import org.jboss.reddeer.junit.internal.runner.TestsWithoutExecutionSuite;
+import org.jboss.reddeer.junit.internal.runner.shard.ShardCoordinator;
+import org.jboss.reddeer.junit.internal.runner.shard.ShardEventWriter;
 import org.junit.runner.Runner;
 import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerBuilder;
@@ -39,7 +46,8 @@ import org.junit.runners.model.RunnerBuilder;
 /**
  * 
  * Allows to run the tests (single or a suite) for each configuration file
- * provided.
+ * provided. Test run configurations can be distributed to forked workers, 
+ * see {@link ShardCoordinator}.
  * 
  * @author Lucia Jelinkova
  * @author Ondrej Dockal
@@ -48,6 +56,7 @@ import org.junit.runners.model.RunnerBuilder;
 public class RedDeerSuite extends Suite {
 
 	private static final Logger log = Logger.getLogger(RedDeerSuite.class);
+	private static final int SLOWEST_REPORT_SIZE = 10;
 	// this variable has to set within static initialization block in child
 	// class
 	// in order to add custom listeners
@@ -111,10 +120,12 @@ public class RedDeerSuite extends Suite {
 		boolean isSuite = isSuite(clazz);
 		
 		Map<TestClassRequirementMap, List<TestRunConfiguration>> testRunConfigMatrix = config.getTestRunConfigurations();
-		for (TestClassRequirementMap testRunClasses : testRunConfigMatrix.keySet()) {
-			for (TestRunConfiguration testRunConfig : testRunConfigMatrix.get(testRunClasses)) {
+		for (Map.Entry<TestClassRequirementMap, List<TestRunConfiguration>> testRuns : testRunConfigMatrix.entrySet()) {
+			Class<?>[] testRunClasses = testRuns.getKey().getClassesAsArray();
+			// test run configurations are created while iterating, suite is created right away for each of them
+			for (TestRunConfiguration testRunConfig : testRuns.getValue()) {
 				RequirementsRunnerBuilder reqRunnerBuilder = buildRequirementRunnerBuilder(testsManager, testRunConfig);
-				configuredSuites.add(new NamedSuite(testRunClasses.getClassesAsArray(), reqRunnerBuilder, testRunConfig.getId()));
+				configuredSuites.add(new NamedSuite(testRunClasses, reqRunnerBuilder, testRunConfig.getId()));
 			}
 		}
 		if (!testsManager.allTestsAreExecuted()) {
@@ -139,6 +150,58 @@ public class RedDeerSuite extends Suite {
 		return annotation != null;
 	}
 
+	/**
+	 * Runs the suite. When sharding is enabled, suites of test run configurations
+	 * are run by forked workers, a worker runs only suites assigned to it.
+	 * Slowest requirements, extensions and waits are logged at the end.
+	 *
+	 * @param notifier
+	 *            the notifier
+	 */
+	@Override
+	public void run(RunNotifier notifier) {
+		List<String> shardUnits = ShardCoordinator.getWorkerUnits(suiteName);
+		if (shardUnits != null) {
+			runShard(notifier, shardUnits);
+		} else if (ShardCoordinator.isCoordinator()) {
+			new ShardCoordinator(suiteName, getChildren()).run(notifier);
+		} else {
+			super.run(notifier);
+		}
+		TestHistory.getInstance().logSlowest(SLOWEST_REPORT_SIZE);
+	}
+
+	/**
+	 * Runs suites of test run configurations assigned to this worker and writes
+	 * their events for the coordinator.
+	 */
+	private void runShard(RunNotifier notifier, List<String> unitKeys) {
+		ShardEventWriter eventWriter;
+		try {
+			eventWriter = new ShardEventWriter(new File(RedDeerProperties.SHARD_EVENT_FILE.getValue()));
+		} catch (IOException e) {
+			throw new RedDeerSuiteException("Unable to create shard event file", e);
+		}
+		notifier.addListener(eventWriter);
+		try {
+			for (Runner child : getChildren()) {
+				if (!(child instanceof NamedSuite)) {
+					continue;
+				}
+				String unitKey = ShardCoordinator.getUnitKey((NamedSuite) child);
+				if (unitKeys.contains(unitKey)) {
+					long start = System.currentTimeMillis();
+					eventWriter.unitStarted(unitKey);
+					runChild(child, notifier);
+					eventWriter.unitFinished(unitKey, System.currentTimeMillis() - start);
+				}
+			}
+		} finally {
+			notifier.removeListener(eventWriter);
+			eventWriter.close();
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
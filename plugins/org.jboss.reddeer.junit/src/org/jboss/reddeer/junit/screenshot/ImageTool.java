@@ -17,6 +17,7 @@ import java.io.IOException;
 
 import javax.imageio.ImageIO;
 
+import org.eclipse.swt.graphics.ImageData;
 import org.jboss.reddeer.common.exception.RedDeerException;
 
 /**
@@ -75,4 +76,25 @@ public class ImageTool {
 		return true;
 	}
 
+	/**
+	 * Checks if image data are only one color (blank). Unlike {@link #isImageBlank(String)}
+	 * the image is not read from a file, so it can be used to check a screenshot before it
+	 * is saved.
+	 *
+	 * @param imageData image data to check
+	 * @return true if image is one color only (blank) or false if not
+	 */
+	public boolean isImageBlank(ImageData imageData) {
+		int[] row = new int[imageData.width];
+		int first = imageData.getPixel(0, 0);
+		for (int y = 0; y < imageData.height; y++) {
+			imageData.getPixels(0, y, imageData.width, row, 0);
+			for (int pixel : row) {
+				if (pixel != first) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
 }
@@ -11,19 +11,25 @@
 package org.jboss.reddeer.junit.screenshot;
 
 import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
 
-import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
-import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Display;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.common.properties.RedDeerProperties;
 import org.junit.AssumptionViolatedException;
 
 /**
- * This class provides capabilities to capture screenshot of display. 
+ * This class provides capabilities to capture screenshot of display. Only pixels
+ * of the display are copied in UI thread, screenshots are encoded and saved by
+ * {@link ScreenshotWriter} in a background thread unless RedDeer property
+ * <i>rd.screenshotWriter</i> is set to <i>sync</i>. PNG compression level and
+ * scale of screenshots are defined by properties <i>rd.screenshotCompression</i>
+ * and <i>rd.screenshotScale</i>.
  * 
  * @author mlabuda@redhat.com
  * @since 0.5
@@ -34,16 +40,33 @@ public class ScreenshotCapturer {
 	private static final Logger logger = new Logger(ScreenshotCapturer.class);
 	public static final String SEPARATOR = System.getProperty("file.separator");
 	
+	/**
+	 * Maximal time in milliseconds to wait for pending screenshots on exit.
+	 */
+	public static final long SHUTDOWN_TIMEOUT = 30000;
+
 	private static ScreenshotCapturer instance;
+
+	private final ScreenshotWriter writer;
+	private final Set<String> capturedFileNames = new HashSet<String>();
 	
-	private ScreenshotCapturer() {}
+	private ScreenshotCapturer() {
+		writer = new ScreenshotWriter(getCompression(), RedDeerProperties.SCREENSHOT_SCALE.getFloatValue());
+		Runtime.getRuntime().addShutdownHook(new Thread("RedDeer screenshot writer shutdown") {
+
+			@Override
+			public void run() {
+				writer.waitForScreenshots(SHUTDOWN_TIMEOUT);
+			}
+		});
+	}
 	
 	/**
 	 * Gets the single instance of ScreenshotCapturer.
 	 *
 	 * @return single instance of ScreenshotCapturer
 	 */
-	public static ScreenshotCapturer getInstance() {
+	public static synchronized ScreenshotCapturer getInstance() {
 		if (instance == null) {
 			instance = new ScreenshotCapturer();
 		}
@@ -120,6 +143,8 @@ public class ScreenshotCapturer {
 	
 	/**
 	 * Capture screenshot with specified file name. PNG format is supported.
+	 * Screenshot file may be saved after the method returns, use
+	 * {@link #waitForScreenshots(long)} to wait until it is saved.
 	 *
 	 * @param screenshotFileName the screenshot file name
 	 * @return absolute path to create screenshot filename
@@ -129,6 +154,7 @@ public class ScreenshotCapturer {
 		String alteredFileName = getAlteredScreenshotFileName(screenshotFileName);
 		final String fileName = createMissingDirectories(alteredFileName);
 		final Display display = Display.getDefault();
+		final ImageData[] imageData = new ImageData[1];
 		display.syncExec(new Runnable() {
 			@Override
 			public void run() {
@@ -137,17 +163,12 @@ public class ScreenshotCapturer {
 
 				try {
 					logger.debug("Capturing Screenshot: " + fileName);
-					image = new Image(display, display.getBounds().width, display.getBounds().height);
-					gc.copyArea(image, display.getBounds().x, display.getBounds().y);
-
-					ImageLoader imageLoader = new ImageLoader();
-					imageLoader.data = new ImageData[] { image.getImageData() };
-					imageLoader.save(fileName, SWT.IMAGE_PNG);
-
-					logger.debug("Screenshot successfully captured. Saved in " + new File(fileName).getAbsolutePath());
+					Rectangle bounds = display.getBounds();
+					image = new Image(display, bounds.width, bounds.height);
+					gc.copyArea(image, bounds.x, bounds.y);
+					imageData[0] = image.getImageData();
 				} catch (Exception ex) {
 					logger.error("Capturing screenshot failed", ex);
-					handleCorruptedScreenshot(fileName);
 				} finally {
 					gc.dispose();
 					if (image != null) {
@@ -156,9 +177,39 @@ public class ScreenshotCapturer {
 				}
 			}
 		});
+		if (imageData[0] == null) {
+			handleCorruptedScreenshot(fileName);
+		} else if ("sync".equals(RedDeerProperties.SCREENSHOT_WRITER.getValue())) {
+			writer.writeSynchronously(imageData[0], fileName);
+		} else {
+			writer.write(imageData[0], fileName);
+		}
 		return fileName;
 	}
 
+	/**
+	 * Waits until all captured screenshots are saved.
+	 *
+	 * @param timeout maximal time to wait in milliseconds
+	 * @return true if all screenshots were saved, false if timeout expired
+	 */
+	public boolean waitForScreenshots(long timeout) {
+		return writer.waitForScreenshots(timeout);
+	}
+
+	private static int getCompression() {
+		switch (RedDeerProperties.SCREENSHOT_COMPRESSION.getValue().toLowerCase()) {
+		case "none":
+			return 0;
+		case "default":
+			return 2;
+		case "best":
+			return 3;
+		default:
+			return 1;
+		}
+	}
+
 	/**
 	 * Removes corrupted screenshot.
 	 * 
@@ -262,7 +313,7 @@ public class ScreenshotCapturer {
 		return !(throwable instanceof AssumptionViolatedException);
 	}
 	
-	private String getAlteredScreenshotFileName(String screenshotFileName) {
+	private synchronized String getAlteredScreenshotFileName(String screenshotFileName) {
 		String fileName = screenshotFileName;
 		String fileExtension = ".png";
 		if (!screenshotFileName.contains(fileExtension)) {
@@ -270,13 +321,22 @@ public class ScreenshotCapturer {
 		}
 		String partialFileName = fileName.substring(0, fileName.lastIndexOf("."));
 		int counter = 2;
-		if (new File(fileName).exists()) {
-			while (new File(partialFileName + "(" + counter + ")" + fileExtension).exists()) {
+		String alteredFileName = partialFileName + fileExtension;
+		if (isTaken(fileName)) {
+			while (isTaken(partialFileName + "(" + counter + ")" + fileExtension)) {
 				counter++;
 			}
-			return partialFileName + "(" + counter + ")" + fileExtension;
-		} else {
-			return partialFileName + fileExtension;
+			alteredFileName = partialFileName + "(" + counter + ")" + fileExtension;
 		}
+		capturedFileNames.add(alteredFileName);
+		return alteredFileName;
+	}
+
+	/**
+	 * Screenshot file may not exist yet when it is saved in background, so file names
+	 * of captured screenshots are remembered.
+	 */
+	private boolean isTaken(String fileName) {
+		return capturedFileNames.contains(fileName) || new File(fileName).exists();
 	}
 }
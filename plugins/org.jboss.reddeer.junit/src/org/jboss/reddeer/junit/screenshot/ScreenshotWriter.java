@@ -0,0 +1,189 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.screenshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.jboss.reddeer.common.logging.Logger;
+
+/**
+ * Screenshot writer scales, analyzes, encodes and saves captured screenshots
+ * outside of UI thread. Screenshots are processed by a single background thread
+ * in order they were captured. Count of screenshots waiting to be processed is
+ * bounded, when the queue is full the capturing thread processes the screenshot
+ * itself. Screenshot identical to the previous one is not encoded again, the
+ * file of the previous screenshot is copied instead.
+ *
+ * @since 2.0
+ */
+public class ScreenshotWriter {
+
+	public static final int QUEUE_CAPACITY = 8;
+
+	private static final Logger log = Logger.getLogger(ScreenshotWriter.class);
+
+	private final ThreadPoolExecutor executor;
+	private final int compression;
+	private final float scale;
+
+	// guarded by this
+	private ImageData previousImageData;
+	private File previousFile;
+
+	private final Object pendingLock = new Object();
+	// guarded by pendingLock
+	private int pending;
+
+	/**
+	 * Creates screenshot writer.
+	 *
+	 * @param compression PNG compression level passed to {@link ImageLoader#compression}
+	 * @param scale factor screenshots are scaled by
+	 */
+	public ScreenshotWriter(int compression, float scale) {
+		this.compression = compression;
+		this.scale = scale;
+		this.executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY), new ThreadFactory() {
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						return new Thread(runnable, "RedDeer screenshot writer");
+					}
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		// let JVM exit when there is nothing to write
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Schedules saving of screenshot to specified file.
+	 *
+	 * @param imageData captured pixels
+	 * @param fileName file name of the screenshot
+	 */
+	public void write(final ImageData imageData, final String fileName) {
+		synchronized (pendingLock) {
+			pending++;
+		}
+		executor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					writeNow(imageData, fileName);
+				} finally {
+					synchronized (pendingLock) {
+						pending--;
+						pendingLock.notifyAll();
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Saves screenshot to specified file in the current thread. Screenshots
+	 * scheduled before are saved at first.
+	 *
+	 * @param imageData captured pixels
+	 * @param fileName file name of the screenshot
+	 */
+	public void writeSynchronously(ImageData imageData, String fileName) {
+		waitForScreenshots(Long.MAX_VALUE);
+		writeNow(imageData, fileName);
+	}
+
+	/**
+	 * Waits until all scheduled screenshots are saved.
+	 *
+	 * @param timeout maximal time to wait in milliseconds, {@link Long#MAX_VALUE}
+	 *            waits without a deadline
+	 * @return true if all screenshots were saved, false if timeout expired
+	 */
+	public boolean waitForScreenshots(long timeout) {
+		long now = System.currentTimeMillis();
+		long deadline = timeout > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + timeout;
+		synchronized (pendingLock) {
+			try {
+				while (pending > 0) {
+					if (deadline == Long.MAX_VALUE) {
+						pendingLock.wait();
+					} else {
+						long remaining = deadline - System.currentTimeMillis();
+						if (remaining <= 0) {
+							return false;
+						}
+						pendingLock.wait(remaining);
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			return true;
+		}
+	}
+
+	private synchronized void writeNow(ImageData imageData, String fileName) {
+		File file = new File(fileName);
+		try {
+			ImageData scaledImageData = scale(imageData);
+			if (previousImageData != null && isSameImage(previousImageData, scaledImageData)
+					&& previousFile.exists()) {
+				Files.copy(previousFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				log.debug("Screenshot is identical to " + previousFile.getName() + ", copied to "
+						+ file.getAbsolutePath());
+			} else {
+				if (ImageTool.getInstance().isImageBlank(scaledImageData)) {
+					log.warn("Captured screenshot is blank: " + file.getAbsolutePath());
+				}
+				ImageLoader imageLoader = new ImageLoader();
+				imageLoader.data = new ImageData[] { scaledImageData };
+				imageLoader.compression = compression;
+				imageLoader.save(fileName, SWT.IMAGE_PNG);
+				log.debug("Screenshot successfully captured. Saved in " + file.getAbsolutePath());
+			}
+			previousImageData = scaledImageData;
+			previousFile = file;
+		} catch (IOException | RuntimeException ex) {
+			log.error("Saving screenshot failed", ex);
+			if (file.exists()) {
+				log.debug("Corrupted image will be deleted on exit.");
+				file.deleteOnExit();
+			}
+		}
+	}
+
+	private ImageData scale(ImageData imageData) {
+		if (scale <= 0 || scale >= 1) {
+			return imageData;
+		}
+		int width = Math.max(1, Math.round(imageData.width * scale));
+		int height = Math.max(1, Math.round(imageData.height * scale));
+		return imageData.scaledTo(width, height);
+	}
+
+	private static boolean isSameImage(ImageData first, ImageData second) {
+		return first.width == second.width && first.height == second.height && first.depth == second.depth
+				&& first.bytesPerLine == second.bytesPerLine && Arrays.equals(first.data, second.data);
+	}
+}
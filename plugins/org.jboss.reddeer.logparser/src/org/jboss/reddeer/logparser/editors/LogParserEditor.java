@@ -10,15 +10,21 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.logparser.editors;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.LineNumberReader;
-import java.io.StringReader;
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.TreeMap;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.MenuManager;
@@ -35,6 +41,7 @@ import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Text;
@@ -43,24 +50,35 @@ import org.eclipse.ui.IEditorSite;
 import org.eclipse.ui.IURIEditorInput;
 import org.eclipse.ui.IWorkbenchActionConstants;
 import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.editors.text.IStorageDocumentProvider;
 import org.eclipse.ui.part.MultiPageEditorPart;
+import org.eclipse.ui.progress.IWorkbenchSiteProgressService;
+import org.eclipse.ui.texteditor.IDocumentProvider;
 import org.jboss.reddeer.logparser.LogParserActivator;
 import org.jboss.reddeer.logparser.LogParserLog;
 import org.jboss.reddeer.logparser.model.LogData;
-import org.jboss.reddeer.logparser.model.ParseRule;
+import org.jboss.reddeer.logparser.model.LogParser;
+import org.jboss.reddeer.logparser.model.ParsedLog;
 
 public class LogParserEditor extends MultiPageEditorPart {
 	/**
 	 * The ID of the editor as specified by the extension.
 	 */
 	public static final String ID = "org.jboss.reddeer.logparser.editors.LogParserEditor";
+	private static final String DOCUMENT_COPY_PREFIX = "reddeer-logparser-document-";
+	private static final int MAX_PARSE_THREADS = 4;
+
 	private static Image findPrevImage;
 	private static Image findNextImage;
 	private static Image closeFindCompositeImage;
 	
 	private ReadOnlyTextEditor sourceTextEditor;
 	private StyledText parsedLogStyledText;
-	private TreeMap<Integer, Integer> parsedLineNumToOrigLineNum;
+	private ParsedLog parsedLog;
+	private ParsedLogContent parsedLogContent;
+	private Job parseJob;
+	// parse tasks of this editor, other users of common pool are not starved by large logs
+	private ForkJoinPool parsePool;
 	private Text findText;
 	private Label findStatusLabel;	
 	private Composite findComposite;
@@ -203,93 +221,197 @@ public class LogParserEditor extends MultiPageEditorPart {
 		setTitleToolTip(editorInput.getToolTipText());
 	}
 
+	/**
+	 * Parses log in background job. When the log was parsed by the same rules
+	 * before, only lines appended to the log since are parsed and appended to the
+	 * parsed log shown by the editor. Otherwise log is parsed in parallel and the
+	 * editor shows parsed log once parsing finishes. Parsing started before is
+	 * canceled. When the document of the log has unsaved changes, e.g. made by
+	 * another editor of the same file, the document is parsed instead of the file.
+	 *
+	 * @param logData log data with parse rules
+	 */
 	public void parseLog(LogData logData) {
-		parsedLogStyledText.setText("");
-		if (parsedLineNumToOrigLineNum == null) {
-			parsedLineNumToOrigLineNum = new TreeMap<Integer, Integer>();
+		final Charset charset = getLogCharset();
+		final LogParser logParser;
+		try {
+			logParser = new LogParser(logData.getParseRules());
+		} catch (PatternSyntaxException pse) {
+			LogParserLog.logError("Invalid regular expression in parse rule", pse);
+			return;
+		}
+		final File logFile;
+		final boolean documentCopy = isDocumentDirty();
+		if (documentCopy) {
+			try {
+				logFile = copyDocument(charset);
+			} catch (IOException ioe) {
+				LogParserLog.logError("Unable to store unsaved log document for parsing", ioe);
+				return;
+			}
 		} else {
-			parsedLineNumToOrigLineNum.clear();
+			logFile = new File(((IURIEditorInput) getEditorInput()).getURI());
 		}
-		LineNumberReader lineNumberReader = new LineNumberReader(new StringReader(
-				sourceTextEditor.getDocumentProvider().getDocument(sourceTextEditor.getEditorInput()).get()));
-		String line;
-		try {
-			TreeMap<Integer, String> originalLogLines = new TreeMap<Integer, String>();
-			TreeMap<Integer, ParseRule> parsedLogIncludeLines = new TreeMap<Integer, ParseRule>();
-			while ((line = lineNumberReader.readLine()) != null) {
-				int lineNumber = lineNumberReader.getLineNumber();
-				originalLogLines.put(lineNumber, line);
-				boolean notIncludeLine = true;
-				ParseRule parseRule = getDefaultParseRule();
-				if (logData.getParseRules() != null && !logData.getParseRules().isEmpty() && line != null
-						&& line.length() > 0) {
-					boolean excludeRegexNotApplied = true;
-					Iterator<ParseRule> itParseRule = logData.getParseRules().iterator();
-					while (notIncludeLine && excludeRegexNotApplied && itParseRule.hasNext()) {
-						parseRule = itParseRule.next();
-						boolean includeRegexMatches = true;
-						if (parseRule.getIncludeRegex() != null && parseRule.getIncludeRegex().length() > 0) {
-							includeRegexMatches = line.matches(parseRule.getIncludeRegex());
-						}
-						if (includeRegexMatches) {
-							if (parseRule.getExcludeRegex() != null && parseRule.getExcludeRegex().length() > 0) {
-								notIncludeLine = line.matches(parseRule.getExcludeRegex());
-								if (notIncludeLine) {
-									excludeRegexNotApplied = false;
-								}
-							} else {
-								notIncludeLine = false;
-							}
-						}
+		cancelParseJob();
+		final ForkJoinPool pool = getParsePool();
+		final Display display = parsedLogStyledText.getDisplay();
+		// unsaved document is parsed again as a whole, it is not appended to by the file
+		final ParsedLog currentParsedLog = !documentCopy && parsedLog != null && parsedLog.getCharset().equals(charset)
+				&& parsedLog.getFile().equals(logFile) ? parsedLog : null;
+		parseJob = new Job("Parsing log " + logFile.getName()) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				ParsedLog appendedLog = null;
+				ParsedLog newParsedLog = null;
+				try {
+					if (currentParsedLog != null) {
+						appendedLog = logParser.parseAppended(currentParsedLog);
 					}
-				} else {
-					notIncludeLine = line == null || line.length() == 0;
-				}
-				if (!notIncludeLine) {
-					int addLinesFrom = lineNumber;
-					int addLinesTo = lineNumber;
-					addLinesFrom -= parseRule.getDisplayLinesBefore();
-					if (addLinesFrom < 0) {
-						addLinesFrom = 0;
+					if (appendedLog == null) {
+						newParsedLog = logParser.parse(logFile, charset, pool, monitor);
 					}
-					addLinesTo += parseRule.getDisplaylinesAfter();
-
-					for (int addLineNumber = addLinesFrom; addLineNumber <= addLinesTo; addLineNumber++) {
-						if (!parsedLogIncludeLines.containsKey(addLineNumber)) {
-							parsedLogIncludeLines.put(addLineNumber, parseRule);
+				} catch (OperationCanceledException | CancellationException | RejectedExecutionException e) {
+					// parsing was canceled or the editor was disposed and its pool shut down
+					deleteDocumentCopy(logFile);
+					return Status.CANCEL_STATUS;
+				} catch (IOException ioe) {
+					deleteDocumentCopy(logFile);
+					LogParserLog.logError("Error while parsing log", ioe);
+					return Status.OK_STATUS;
+				}
+				final Job job = this;
+				final ParsedLog finalAppendedLog = appendedLog;
+				final ParsedLog finalNewParsedLog = newParsedLog;
+				display.asyncExec(new Runnable() {
+					@Override
+					public void run() {
+						if (parseJob != job || parsedLogStyledText.isDisposed()) {
+							if (finalNewParsedLog != null) {
+								closeParsedLog(finalNewParsedLog);
+							}
+							return;
+						}
+						parseJob = null;
+						if (finalNewParsedLog != null) {
+							setParsedLog(finalNewParsedLog);
+						} else if (parsedLog == currentParsedLog) {
+							parsedLogContent.append(finalAppendedLog);
 						}
 					}
-				}
-			}
-			Iterator<Integer> itIncludeLine = parsedLogIncludeLines.keySet().iterator();
-			int addLineNumber = 0;
-			while (itIncludeLine.hasNext()) {
-				int originalLineNumber = itIncludeLine.next();
-				parsedLogIncludeLines.get(originalLineNumber);
-				String originalLine = originalLogLines.get(originalLineNumber);
-				if (originalLine != null) {
-					ParseRule appliedParseRule = parsedLogIncludeLines.get(originalLineNumber);
-					String insertLine = originalLine;
-					insertLine = fillString(appliedParseRule.getIndent(), ' ') + appliedParseRule.getPrefix()
-							+ originalLine;
-					parsedLogStyledText.append(insertLine + "\n");
-					parsedLineNumToOrigLineNum.put(addLineNumber, originalLineNumber);
-					addLineNumber++;
-				}
+				});
+				return Status.OK_STATUS;
 			}
+		};
+		parseJob.setPriority(Job.LONG);
+		IWorkbenchSiteProgressService progressService = (IWorkbenchSiteProgressService) getSite()
+				.getService(IWorkbenchSiteProgressService.class);
+		if (progressService != null) {
+			progressService.schedule(parseJob);
+		} else {
+			parseJob.schedule();
+		}
+	}
+
+	private ForkJoinPool getParsePool() {
+		if (parsePool == null) {
+			int parallelism = Math.max(1, Math.min(MAX_PARSE_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+			parsePool = new ForkJoinPool(parallelism);
+		}
+		return parsePool;
+	}
+
+	private void cancelParseJob() {
+		if (parseJob != null) {
+			parseJob.cancel();
+			parseJob = null;
+		}
+	}
+
+	private void setParsedLog(ParsedLog newParsedLog) {
+		closeParsedLog();
+		parsedLog = newParsedLog;
+		parsedLogContent = new ParsedLogContent(newParsedLog);
+		parsedLogStyledText.setContent(parsedLogContent);
+	}
+
+	private void closeParsedLog() {
+		if (parsedLog != null) {
+			closeParsedLog(parsedLog);
+			parsedLog = null;
+			parsedLogContent = null;
+		}
+	}
+
+	private static void closeParsedLog(ParsedLog parsedLogToClose) {
+		try {
+			parsedLogToClose.close();
 		} catch (IOException ioe) {
-			LogParserLog.logError("Error while parsing log", ioe);
+			LogParserLog.logError("Unable to close parsed log", ioe);
+		}
+		deleteDocumentCopy(parsedLogToClose.getFile());
+	}
+
+	/**
+	 * Finds out whether document of the log has unsaved changes. Source editor
+	 * is read-only, but the document can be shared with other editors of the file.
+	 */
+	private boolean isDocumentDirty() {
+		IDocumentProvider documentProvider = sourceTextEditor.getDocumentProvider();
+		return documentProvider != null && documentProvider.canSaveDocument(sourceTextEditor.getEditorInput());
+	}
+
+	/**
+	 * Stores document of the log to a temporary file, parsed log reads lines
+	 * of the document from the file when they are rendered.
+	 */
+	private File copyDocument(Charset charset) throws IOException {
+		String document = sourceTextEditor.getDocumentProvider().getDocument(sourceTextEditor.getEditorInput()).get();
+		File copy = File.createTempFile(DOCUMENT_COPY_PREFIX, ".log");
+		copy.deleteOnExit();
+		Files.write(copy.toPath(), document.getBytes(charset));
+		return copy;
+	}
+
+	private static void deleteDocumentCopy(File file) {
+		if (file.getName().startsWith(DOCUMENT_COPY_PREFIX)
+				&& file.getAbsoluteFile().getParentFile().equals(
+						new File(System.getProperty("java.io.tmpdir")).getAbsoluteFile())) {
+			file.delete();
 		}
+	}
+
+	private Charset getLogCharset() {
+		IDocumentProvider documentProvider = sourceTextEditor.getDocumentProvider();
+		if (documentProvider instanceof IStorageDocumentProvider) {
+			IStorageDocumentProvider storageDocumentProvider = (IStorageDocumentProvider) documentProvider;
+			String encoding = storageDocumentProvider.getEncoding(sourceTextEditor.getEditorInput());
+			if (encoding == null) {
+				encoding = storageDocumentProvider.getDefaultEncoding();
+			}
+			if (encoding != null && Charset.isSupported(encoding)) {
+				return Charset.forName(encoding);
+			}
+		}
+		return Charset.defaultCharset();
+	}
 
+	@Override
+	public void dispose() {
+		cancelParseJob();
+		if (parsePool != null) {
+			parsePool.shutdownNow();
+			parsePool = null;
+		}
+		closeParsedLog();
+		super.dispose();
 	}
 
 	public void showSelectedParsedLineInOriginalLog(){
 		int selectedParsedLine = parsedLogStyledText.getLineAtOffset(parsedLogStyledText.getSelection().x);
 		setActivePage(1);
 		int selectedOriginalLine = 0;
-		Integer integerLineNum = selectedOriginalLine = parsedLineNumToOrigLineNum.get(selectedParsedLine);
-		if (integerLineNum != null){
-			selectedOriginalLine = integerLineNum - 1;
+		if (parsedLog != null && selectedParsedLine < parsedLog.getLineCount()){
+			selectedOriginalLine = parsedLog.getOriginalLineNumber(selectedParsedLine) - 1;
 		}
 		getSourceEditorStyledText().setSelection(getSourceEditorStyledText().getOffsetAtLine(selectedOriginalLine));
 	}
@@ -323,7 +445,7 @@ public class LogParserEditor extends MultiPageEditorPart {
 	
 	private void findString(boolean forward){
 		String searchFor = findText.getText();
-		if (searchFor != null && searchFor.length() > 0 && parsedLogStyledText.getText().length() > 0) {
+		if (searchFor != null && searchFor.length() > 0 && parsedLogStyledText.getCharCount() > 0) {
 			int searchLineIndex = parsedLogStyledText.getLineAtOffset(parsedLogStyledText.getSelection().x);
 			int searchColumnIndex = parsedLogStyledText.getSelection().y
 					- parsedLogStyledText.getOffsetAtLine(searchLineIndex);
@@ -392,29 +514,6 @@ public class LogParserEditor extends MultiPageEditorPart {
 		findText.setText(parsedLogStyledText.getSelectionText());
 	}
 	
-	private ParseRule getDefaultParseRule() {
-		ParseRule defautlParseRule = new ParseRule();
-
-		defautlParseRule.setIncludeRegex("");
-		defautlParseRule.setExcludeRegex("");
-		defautlParseRule.setIndent(0);
-		defautlParseRule.setDisplayLinesBefore(0);
-		defautlParseRule.setDisplaylinesAfter(0);
-		defautlParseRule.setPrefix("");
-
-		return defautlParseRule;
-	}
-
-	private String fillString(int length, char charToFill) {
-		String result = "";
-		if (length > 0) {
-			char[] array = new char[length];
-			Arrays.fill(array, charToFill);
-			result = new String(array);
-		}
-		return result;
-	}
-
 	private void setParsedLogFont() {
 		parsedLogStyledText.setFont(getSourceEditorStyledText().getFont());
 	}
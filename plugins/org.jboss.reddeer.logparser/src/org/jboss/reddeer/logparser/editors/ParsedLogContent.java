@@ -0,0 +1,156 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.editors;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.custom.StyledTextContent;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+import org.jboss.reddeer.logparser.LogParserLog;
+import org.jboss.reddeer.logparser.model.ParsedLog;
+
+/**
+ * Read-only content of {@link org.eclipse.swt.custom.StyledText} backed by
+ * {@link ParsedLog}. Lines are rendered only when styled text asks for them,
+ * i.e. mostly for visible lines, so the whole parsed log is never built as one
+ * string. Each parsed line is terminated by '\n', the content ends with an empty
+ * line.
+ * <br>
+ * Content cannot be edited, it changes only when lines parsed from lines
+ * appended to the log are appended by {@link #append(ParsedLog)}.
+ */
+public class ParsedLogContent implements StyledTextContent {
+	private static final String LINE_DELIMITER = "\n";
+
+	private final ParsedLog parsedLog;
+	private final List<TextChangeListener> listeners = new ArrayList<TextChangeListener>();
+
+	public ParsedLogContent(ParsedLog parsedLog) {
+		this.parsedLog = parsedLog;
+	}
+
+	public ParsedLog getParsedLog() {
+		return parsedLog;
+	}
+
+	/**
+	 * Appends lines parsed from lines appended to the log and notifies listeners,
+	 * lines of parsed log which are not final are replaced. Has to be called in UI
+	 * thread.
+	 *
+	 * @param appendedLog parsed lines appended to the log
+	 */
+	public void append(ParsedLog appendedLog) {
+		int firstReplacedLine = parsedLog.getFirstReplacedLine(appendedLog);
+		TextChangingEvent changingEvent = new TextChangingEvent(this);
+		changingEvent.start = getOffsetAtLine(firstReplacedLine);
+		changingEvent.replaceCharCount = parsedLog.getCharCount() - changingEvent.start;
+		changingEvent.replaceLineCount = parsedLog.getLineCount() - firstReplacedLine;
+		changingEvent.newCharCount = appendedLog.getCharCount();
+		changingEvent.newLineCount = appendedLog.getLineCount();
+		for (TextChangeListener listener : new ArrayList<TextChangeListener>(listeners)) {
+			listener.textChanging(changingEvent);
+		}
+		parsedLog.append(appendedLog);
+		TextChangedEvent changedEvent = new TextChangedEvent(this);
+		for (TextChangeListener listener : new ArrayList<TextChangeListener>(listeners)) {
+			listener.textChanged(changedEvent);
+		}
+	}
+
+	@Override
+	public void addTextChangeListener(TextChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeTextChangeListener(TextChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public int getCharCount() {
+		return parsedLog.getCharCount();
+	}
+
+	@Override
+	public String getLine(int lineIndex) {
+		if (lineIndex >= parsedLog.getLineCount()) {
+			return "";
+		}
+		try {
+			return parsedLog.getLine(lineIndex);
+		} catch (IOException ioe) {
+			LogParserLog.logError("Unable to read line of parsed log", ioe);
+			return "";
+		}
+	}
+
+	@Override
+	public int getLineAtOffset(int offset) {
+		if (offset >= parsedLog.getCharCount()) {
+			return parsedLog.getLineCount();
+		}
+		return parsedLog.getLineAtOffset(offset);
+	}
+
+	@Override
+	public int getLineCount() {
+		return parsedLog.getLineCount() + 1;
+	}
+
+	@Override
+	public String getLineDelimiter() {
+		return LINE_DELIMITER;
+	}
+
+	@Override
+	public int getOffsetAtLine(int lineIndex) {
+		if (lineIndex >= parsedLog.getLineCount()) {
+			return parsedLog.getCharCount();
+		}
+		return parsedLog.getOffsetAtLine(lineIndex);
+	}
+
+	@Override
+	public String getTextRange(int start, int length) {
+		if (length <= 0) {
+			return "";
+		}
+		StringBuilder text = new StringBuilder(length);
+		int lineIndex = getLineAtOffset(start);
+		int lineOffset = getOffsetAtLine(lineIndex);
+		int end = start + length;
+		while (lineOffset < end && lineIndex < parsedLog.getLineCount()) {
+			String line = getLine(lineIndex) + LINE_DELIMITER;
+			int from = Math.max(start - lineOffset, 0);
+			int to = Math.min(end - lineOffset, line.length());
+			text.append(line, from, to);
+			lineOffset += line.length();
+			lineIndex++;
+		}
+		return text.toString();
+	}
+
+	@Override
+	public void replaceTextRange(int start, int replaceLength, String text) {
+		// read-only content
+	}
+
+	@Override
+	public void setText(String text) {
+		// read-only content
+	}
+}
@@ -0,0 +1,98 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Parse rule with include and exclude regular expressions compiled once. Empty
+ * include regex matches every line, empty exclude regex does not match any line.
+ * Compiled rule keeps a copy of the parse rule, so later changes of the parse
+ * rule do not affect it.
+ */
+public final class CompiledParseRule {
+	private final ParseRule parseRule;
+	private final Pattern includePattern;
+	private final Pattern excludePattern;
+	private final String linePrefix;
+
+	public CompiledParseRule(ParseRule parseRule) {
+		this.parseRule = parseRule.clone();
+		this.includePattern = compile(parseRule.getIncludeRegex());
+		this.excludePattern = compile(parseRule.getExcludeRegex());
+		this.linePrefix = fillString(parseRule.getIndent(), ' ') + parseRule.getPrefix();
+	}
+
+	public ParseRule getParseRule() {
+		return parseRule;
+	}
+
+	public Pattern getIncludePattern() {
+		return includePattern;
+	}
+
+	public Pattern getExcludePattern() {
+		return excludePattern;
+	}
+
+	/**
+	 * Returns indentation followed by prefix of the rule which is prepended to
+	 * every line included by the rule.
+	 *
+	 * @return prefix of included lines
+	 */
+	public String getLinePrefix() {
+		return linePrefix;
+	}
+
+	public int getDisplayLinesBefore() {
+		return parseRule.getDisplayLinesBefore();
+	}
+
+	public int getDisplayLinesAfter() {
+		return parseRule.getDisplaylinesAfter();
+	}
+
+	/**
+	 * Returns whether specified parse rule parses log the same way as this rule,
+	 * i.e. all its fields except name and description are equal.
+	 *
+	 * @param otherRule parse rule
+	 * @return true if rules parse log the same way
+	 */
+	public boolean hasSameDefinition(ParseRule otherRule) {
+		return Objects.equals(parseRule.getIncludeRegex(), otherRule.getIncludeRegex())
+				&& Objects.equals(parseRule.getExcludeRegex(), otherRule.getExcludeRegex())
+				&& Objects.equals(parseRule.getPrefix(), otherRule.getPrefix())
+				&& parseRule.getIndent() == otherRule.getIndent()
+				&& parseRule.getDisplayLinesBefore() == otherRule.getDisplayLinesBefore()
+				&& parseRule.getDisplaylinesAfter() == otherRule.getDisplaylinesAfter();
+	}
+
+	private static Pattern compile(String regex) {
+		if (regex == null || regex.length() == 0) {
+			return null;
+		}
+		return Pattern.compile(regex);
+	}
+
+	private static String fillString(int length, char charToFill) {
+		String result = "";
+		if (length > 0) {
+			char[] array = new char[length];
+			Arrays.fill(array, charToFill);
+			result = new String(array);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,176 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+/**
+ * Assigns log lines to parse rules by before and after windows of matching
+ * lines. Lines have to be added in ascending order of line numbers together
+ * with the rule matching each of them. Lines displayed before a matching line
+ * are kept in a ring buffer of the size of the biggest before window, lines
+ * displayed after a matching line are tracked by pending after windows. A line
+ * is passed to {@link IncludedLineHandler} once no following line can include
+ * it anymore.
+ * <br>
+ * When windows of several matching lines overlap, a line is displayed with the
+ * rule of the matching line which included it first.
+ */
+class LineAssigner {
+	private static final int UNASSIGNED = Integer.MIN_VALUE;
+
+	/**
+	 * Receives included lines in ascending order of line numbers.
+	 */
+	interface IncludedLineHandler {
+		/**
+		 * Called when line is included.
+		 *
+		 * @param slot slot of the line returned by {@link LineAssigner#add(int, int)}
+		 * @param lineNumber line number
+		 * @param ruleIndex index of including rule or {@link RuleMatcher#DEFAULT_RULE}
+		 */
+		void lineIncluded(int slot, int lineNumber, int ruleIndex);
+	}
+
+	private final CompiledParseRule[] rules;
+	private final IncludedLineHandler handler;
+	private final int[] lineNumbers;
+	private final int[] ruleIndexes;
+	private final AfterWindows afterWindows = new AfterWindows();
+	private int head;
+	private int size;
+
+	LineAssigner(CompiledParseRule[] rules, IncludedLineHandler handler) {
+		this.rules = rules;
+		this.handler = handler;
+		lineNumbers = new int[getCapacity(rules)];
+		ruleIndexes = new int[lineNumbers.length];
+	}
+
+	/**
+	 * Returns count of slots of assigner for specified rules, callers keeping data
+	 * of lines by slots need arrays of this size.
+	 *
+	 * @param rules parse rules
+	 * @return count of slots
+	 */
+	static int getCapacity(CompiledParseRule[] rules) {
+		int linesBefore = 0;
+		for (CompiledParseRule rule : rules) {
+			linesBefore = Math.max(linesBefore, rule.getDisplayLinesBefore());
+		}
+		return linesBefore + 1;
+	}
+
+	/**
+	 * Adds next line. Returned slot is reused for another line only after the line
+	 * was passed to the handler or dropped.
+	 *
+	 * @param lineNumber line number
+	 * @param matchedRule rule matching the line as returned by {@link RuleMatcher#match(String)}
+	 * @return slot of the line
+	 */
+	int add(int lineNumber, int matchedRule) {
+		if (size == lineNumbers.length) {
+			removeFirst();
+		}
+		int slot = (head + size) % lineNumbers.length;
+		lineNumbers[slot] = lineNumber;
+		ruleIndexes[slot] = afterWindows.getRule(lineNumber);
+		size++;
+		if (matchedRule == RuleMatcher.NO_RULE) {
+			return slot;
+		}
+		int linesBefore = matchedRule == RuleMatcher.DEFAULT_RULE ? 0 : rules[matchedRule].getDisplayLinesBefore();
+		int linesAfter = matchedRule == RuleMatcher.DEFAULT_RULE ? 0 : rules[matchedRule].getDisplayLinesAfter();
+		for (int i = size - Math.min(linesBefore, size - 1) - 1; i < size; i++) {
+			int beforeSlot = (head + i) % lineNumbers.length;
+			if (ruleIndexes[beforeSlot] == UNASSIGNED) {
+				ruleIndexes[beforeSlot] = matchedRule;
+			}
+		}
+		if (linesAfter > 0) {
+			afterWindows.add(lineNumber + linesAfter, matchedRule);
+		}
+		return slot;
+	}
+
+	/**
+	 * Passes all remaining included lines to the handler. Has to be called after
+	 * the last line was added.
+	 */
+	void flush() {
+		while (size > 0) {
+			removeFirst();
+		}
+	}
+
+	private void removeFirst() {
+		if (ruleIndexes[head] != UNASSIGNED) {
+			handler.lineIncluded(head, lineNumbers[head], ruleIndexes[head]);
+		}
+		head = (head + 1) % lineNumbers.length;
+		size--;
+	}
+
+	/**
+	 * Pending after windows of matched lines. Only windows ending after all windows
+	 * of previously matched lines are kept, the others can never include a line
+	 * first. Ends of kept windows are therefore ascending and the rule of the first
+	 * window not yet ended applies to the current line.
+	 */
+	private static class AfterWindows {
+		private int[] ends = new int[16];
+		private int[] ruleIndexes = new int[16];
+		private int head;
+		private int tail;
+
+		void add(int end, int ruleIndex) {
+			if (tail > head && ends[tail - 1] >= end) {
+				return;
+			}
+			if (tail == ends.length) {
+				compact();
+			}
+			ends[tail] = end;
+			ruleIndexes[tail] = ruleIndex;
+			tail++;
+		}
+
+		int getRule(int lineNumber) {
+			while (head < tail && ends[head] < lineNumber) {
+				head++;
+			}
+			if (head == tail) {
+				head = 0;
+				tail = 0;
+				return UNASSIGNED;
+			}
+			return ruleIndexes[head];
+		}
+
+		private void compact() {
+			int size = tail - head;
+			if (size * 2 > ends.length) {
+				int[] newEnds = new int[ends.length * 2];
+				int[] newRuleIndexes = new int[ends.length * 2];
+				System.arraycopy(ends, head, newEnds, 0, size);
+				System.arraycopy(ruleIndexes, head, newRuleIndexes, 0, size);
+				ends = newEnds;
+				ruleIndexes = newRuleIndexes;
+			} else {
+				System.arraycopy(ends, head, ends, 0, size);
+				System.arraycopy(ruleIndexes, head, ruleIndexes, 0, size);
+			}
+			head = 0;
+			tail = size;
+		}
+	}
+}
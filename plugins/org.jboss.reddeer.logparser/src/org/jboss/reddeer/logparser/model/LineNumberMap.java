@@ -0,0 +1,99 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import java.util.Arrays;
+
+/**
+ * Maps line numbers of parsed log to line numbers of original log. Parsed lines
+ * are added in ascending order of original line numbers, so the map is stored as
+ * a primitive array indexed by parsed line number and reverse lookup is a binary
+ * search.
+ */
+public class LineNumberMap {
+	private int[] originalLineNumbers;
+	private int size;
+
+	public LineNumberMap() {
+		this(1024);
+	}
+
+	public LineNumberMap(int initialCapacity) {
+		originalLineNumbers = new int[Math.max(16, initialCapacity)];
+	}
+
+	/**
+	 * Adds original line number of next parsed line.
+	 *
+	 * @param originalLineNumber original line number, greater than the last added one
+	 * @return parsed line number of the added line
+	 */
+	public int add(int originalLineNumber) {
+		if (size == originalLineNumbers.length) {
+			originalLineNumbers = Arrays.copyOf(originalLineNumbers, size * 2);
+		}
+		originalLineNumbers[size] = originalLineNumber;
+		return size++;
+	}
+
+	/**
+	 * Returns original line number of parsed line.
+	 *
+	 * @param parsedLineNumber parsed line number
+	 * @return original line number
+	 */
+	public int get(int parsedLineNumber) {
+		if (parsedLineNumber < 0 || parsedLineNumber >= size) {
+			throw new IndexOutOfBoundsException("Parsed line " + parsedLineNumber + ", size " + size);
+		}
+		return originalLineNumbers[parsedLineNumber];
+	}
+
+	/**
+	 * Returns parsed line number of original line.
+	 *
+	 * @param originalLineNumber original line number
+	 * @return parsed line number or -1 if original line is not part of parsed log
+	 */
+	public int indexOf(int originalLineNumber) {
+		int index = Arrays.binarySearch(originalLineNumbers, 0, size, originalLineNumber);
+		return index >= 0 ? index : -1;
+	}
+
+	/**
+	 * Returns count of parsed lines with original line number not greater than
+	 * specified line number.
+	 *
+	 * @param originalLineNumber original line number
+	 * @return count of parsed lines
+	 */
+	public int countUpTo(int originalLineNumber) {
+		int index = Arrays.binarySearch(originalLineNumbers, 0, size, originalLineNumber);
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+
+	/**
+	 * Removes parsed lines following the specified count of lines.
+	 *
+	 * @param newSize count of parsed lines to keep
+	 */
+	public void truncate(int newSize) {
+		size = Math.min(size, newSize);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+}
@@ -0,0 +1,245 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Part of a log file starting and ending at line starts which is parsed
+ * independently of other parts. Chunk is read twice, at first lines of the chunk
+ * are matched against parse rules, later positions of lines included by
+ * {@link LineAssigner} are read. Both reads of different chunks may run in
+ * parallel, all readers share one file channel by positional reads.
+ */
+class LogChunk {
+	private static final int CANCEL_CHECK_LINES = 4096;
+	private static final int LINE_START_SEARCH_SIZE = 8192;
+
+	private final long start;
+	private final long end;
+	private int lineCount;
+	private boolean lastLineComplete;
+	private int[] matchedLines = new int[256];
+	private int[] matchedRules = new int[256];
+	private int matchCount;
+	private int linesBefore;
+	private long[] byteOffsets;
+	private int[] byteLengths;
+	private int[] charLengths;
+
+	LogChunk(long start, long end) {
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * Splits file into at most specified count of chunks of similar size. Chunks
+	 * are not split inside of a line, so files with '\r' line terminators only are
+	 * never split.
+	 *
+	 * @param channel channel of the file
+	 * @param size size of the file
+	 * @param count maximal count of chunks
+	 * @return chunks covering whole file in ascending order
+	 * @throws IOException if reading of the file fails
+	 */
+	static List<LogChunk> split(FileChannel channel, long size, int count) throws IOException {
+		List<LogChunk> chunks = new ArrayList<LogChunk>(count);
+		long chunkStart = 0;
+		for (int i = 1; i < count; i++) {
+			long chunkEnd = findLineStart(channel, Math.max(chunkStart, size * i / count), size);
+			if (chunkEnd >= size) {
+				break;
+			}
+			if (chunkEnd > chunkStart) {
+				chunks.add(new LogChunk(chunkStart, chunkEnd));
+				chunkStart = chunkEnd;
+			}
+		}
+		chunks.add(new LogChunk(chunkStart, size));
+		return chunks;
+	}
+
+	/**
+	 * Matches all lines of the chunk against parse rules and remembers matching
+	 * lines.
+	 *
+	 * @param channel channel of the log file
+	 * @param charset charset of the log file
+	 * @param rules parse rules
+	 * @param monitor monitor checked for cancellation
+	 * @throws IOException if reading of the log file fails
+	 */
+	void match(FileChannel channel, Charset charset, CompiledParseRule[] rules, IProgressMonitor monitor)
+			throws IOException {
+		RuleMatcher ruleMatcher = new RuleMatcher(rules);
+		LogLineReader reader = createReader(channel, charset, 0);
+		while (reader.next()) {
+			int lineNumber = reader.getLineNumber();
+			if (lineNumber % CANCEL_CHECK_LINES == 0 && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			int ruleIndex = ruleMatcher.match(reader.getText());
+			if (ruleIndex != RuleMatcher.NO_RULE) {
+				addMatch(lineNumber, ruleIndex);
+			}
+		}
+		lineCount = reader.getLineNumber();
+		lastLineComplete = reader.isLastLineComplete();
+	}
+
+	long getStart() {
+		return start;
+	}
+
+	/**
+	 * Returns count of lines of the chunk. Available after the chunk was matched.
+	 *
+	 * @return count of lines
+	 */
+	int getLineCount() {
+		return lineCount;
+	}
+
+	/**
+	 * Returns whether the last line of the chunk is complete. Available after the
+	 * chunk was matched.
+	 *
+	 * @return true if the last line is complete
+	 * @see LogLineReader#isLastLineComplete()
+	 */
+	boolean isLastLineComplete() {
+		return lastLineComplete;
+	}
+
+	int getMatchCount() {
+		return matchCount;
+	}
+
+	/**
+	 * Returns number of matching line relative to the start of the chunk, the first
+	 * line of the chunk has number 1.
+	 *
+	 * @param matchIndex index of the match
+	 * @return line number in the chunk
+	 */
+	int getMatchedLine(int matchIndex) {
+		return matchedLines[matchIndex];
+	}
+
+	int getMatchedRule(int matchIndex) {
+		return matchedRules[matchIndex];
+	}
+
+	/**
+	 * Reads positions of included lines of the chunk. Reading stops at the last
+	 * included line.
+	 *
+	 * @param channel channel of the log file
+	 * @param charset charset of the log file
+	 * @param linesBefore number of lines of the file before the chunk
+	 * @param includedLines ascending numbers of included lines of the whole file
+	 * @param from index of the first included line of the chunk
+	 * @param to index after the last included line of the chunk
+	 * @param monitor monitor checked for cancellation
+	 * @throws IOException if reading of the log file fails
+	 */
+	void readPositions(FileChannel channel, Charset charset, int linesBefore, int[] includedLines, int from,
+			int to, IProgressMonitor monitor) throws IOException {
+		this.linesBefore = linesBefore;
+		matchedLines = null;
+		matchedRules = null;
+		byteOffsets = new long[to - from];
+		byteLengths = new int[to - from];
+		charLengths = new int[to - from];
+		LogLineReader reader = createReader(channel, charset, linesBefore);
+		int index = from;
+		while (index < to && reader.next()) {
+			int lineNumber = reader.getLineNumber();
+			if (lineNumber % CANCEL_CHECK_LINES == 0 && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			if (lineNumber == includedLines[index]) {
+				byteOffsets[index - from] = reader.getLineOffset();
+				byteLengths[index - from] = reader.getLineLength();
+				charLengths[index - from] = reader.getText().length();
+				index++;
+			}
+		}
+		if (index < to) {
+			throw new IOException("Log file was truncated while parsing, line " + includedLines[index]
+					+ " not found");
+		}
+	}
+
+	int getLinesBefore() {
+		return linesBefore;
+	}
+
+	long getByteOffset(int index) {
+		return byteOffsets[index];
+	}
+
+	int getByteLength(int index) {
+		return byteLengths[index];
+	}
+
+	int getCharLength(int index) {
+		return charLengths[index];
+	}
+
+	/**
+	 * Creates reader of the chunk. The reader is never closed since closing it would
+	 * close the shared channel.
+	 */
+	private LogLineReader createReader(FileChannel channel, Charset charset, int linesBefore) {
+		int bufferSize = (int) Math.max(1, Math.min(LogLineReader.DEFAULT_CHUNK_SIZE, end - start));
+		return new LogLineReader(channel, charset, start, end, linesBefore, bufferSize);
+	}
+
+	private void addMatch(int lineNumber, int ruleIndex) {
+		if (matchCount == matchedLines.length) {
+			matchedLines = Arrays.copyOf(matchedLines, matchCount * 2);
+			matchedRules = Arrays.copyOf(matchedRules, matchCount * 2);
+		}
+		matchedLines[matchCount] = lineNumber;
+		matchedRules[matchCount] = ruleIndex;
+		matchCount++;
+	}
+
+	private static long findLineStart(FileChannel channel, long position, long size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(LINE_START_SEARCH_SIZE);
+		long offset = position;
+		while (offset < size) {
+			buffer.clear();
+			int read = channel.read(buffer, offset);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return offset + i + 1;
+				}
+			}
+			offset += read;
+		}
+		return size;
+	}
+}
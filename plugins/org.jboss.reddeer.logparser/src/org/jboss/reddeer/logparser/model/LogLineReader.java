@@ -0,0 +1,255 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads log file line by line through a {@link FileChannel} in fixed size chunks,
+ * so the whole file is never held in memory. Lines are terminated by '\n', '\r'
+ * or "\r\n". Besides text of each line the reader provides its line number and
+ * byte offset and length, so the line can be read again later without keeping
+ * its text.
+ * <br>
+ * Only charsets encoding '\n' and '\r' as single bytes (e.g. UTF-8 or ISO-8859-1)
+ * are supported.
+ */
+public class LogLineReader implements Closeable {
+	public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+	private final FileChannel channel;
+	private final Charset charset;
+	private final byte[] chunk;
+	private final ByteBuffer chunkBuffer;
+	private final long limit;
+	private long chunkOffset;
+	private int chunkPosition;
+	private int chunkLimit;
+
+	private byte[] lineBytes = new byte[256];
+	private byte[] currentBytes;
+	private int currentStart;
+	private int lineLength;
+	private long lineOffset;
+	private int lineNumber;
+	private String text;
+	private boolean skipLineFeed;
+	private boolean terminated = true;
+
+	public LogLineReader(File file, Charset charset) throws IOException {
+		this(FileChannel.open(file.toPath(), StandardOpenOption.READ), charset, 0, 0, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates reader starting at specified byte offset of the file.
+	 *
+	 * @param channel channel to read from, it is closed when the reader is closed
+	 * @param charset charset of the file
+	 * @param offset byte offset to start reading at, it has to be offset of a line start
+	 * @param linesBefore number of lines before specified offset
+	 * @param chunkSize size of chunks read at once
+	 */
+	public LogLineReader(FileChannel channel, Charset charset, long offset, int linesBefore, int chunkSize) {
+		this(channel, charset, offset, Long.MAX_VALUE, linesBefore, chunkSize);
+	}
+
+	/**
+	 * Creates reader of the part of the file between specified byte offsets.
+	 *
+	 * @param channel channel to read from, it is closed when the reader is closed
+	 * @param charset charset of the file
+	 * @param offset byte offset to start reading at, it has to be offset of a line start
+	 * @param limit byte offset to stop reading at, it has to be offset of a line start
+	 * @param linesBefore number of lines before specified offset
+	 * @param chunkSize size of chunks read at once
+	 */
+	public LogLineReader(FileChannel channel, Charset charset, long offset, long limit, int linesBefore,
+			int chunkSize) {
+		checkCharset(charset);
+		this.channel = channel;
+		this.charset = charset;
+		this.chunk = new byte[chunkSize];
+		this.chunkBuffer = ByteBuffer.wrap(chunk);
+		this.chunkOffset = offset;
+		this.limit = limit;
+		this.lineNumber = linesBefore;
+	}
+
+	/**
+	 * Reads next line.
+	 *
+	 * @return true if line was read, false if end of file was reached
+	 * @throws IOException if reading fails
+	 */
+	public boolean next() throws IOException {
+		text = null;
+		if (skipLineFeed) {
+			if (!fill()) {
+				return false;
+			}
+			skipLineFeed = false;
+			if (chunk[chunkPosition] == '\n') {
+				chunkPosition++;
+			}
+		}
+		lineOffset = getPosition();
+		int accumulated = 0;
+		while (true) {
+			if (!fill()) {
+				if (accumulated == 0) {
+					return false;
+				}
+				setLine(lineBytes, 0, accumulated);
+				terminated = false;
+				return true;
+			}
+			int start = chunkPosition;
+			int index = start;
+			while (index < chunkLimit && chunk[index] != '\n' && chunk[index] != '\r') {
+				index++;
+			}
+			if (index < chunkLimit) {
+				skipLineFeed = chunk[index] == '\r';
+				terminated = true;
+				chunkPosition = index + 1;
+				if (accumulated == 0) {
+					setLine(chunk, start, index - start);
+				} else {
+					accumulated = append(accumulated, start, index - start);
+					setLine(lineBytes, 0, accumulated);
+				}
+				return true;
+			}
+			accumulated = append(accumulated, start, chunkLimit - start);
+			chunkPosition = chunkLimit;
+		}
+	}
+
+	/**
+	 * Returns text of the last read line without line terminator.
+	 *
+	 * @return text of the line
+	 */
+	public String getText() {
+		if (text == null) {
+			text = new String(currentBytes, currentStart, lineLength, charset);
+		}
+		return text;
+	}
+
+	/**
+	 * Returns number of the last read line, the first line of a file has number 1.
+	 *
+	 * @return line number
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Returns byte offset of the start of the last read line.
+	 *
+	 * @return byte offset of the line
+	 */
+	public long getLineOffset() {
+		return lineOffset;
+	}
+
+	/**
+	 * Returns length of the last read line in bytes without line terminator.
+	 *
+	 * @return byte length of the line
+	 */
+	public int getLineLength() {
+		return lineLength;
+	}
+
+	/**
+	 * Returns whether the last read line is complete, i.e. it was terminated and
+	 * the line which follows it will start at {@link #getPosition()}. After the end
+	 * of file was reached a line without terminator or a line terminated by '\r'
+	 * as the last byte of the file, which can be followed by '\n' written later,
+	 * is not complete.
+	 *
+	 * @return true if the last line is complete or no line was read yet
+	 */
+	public boolean isLastLineComplete() {
+		return terminated && !(skipLineFeed && chunkPosition >= chunkLimit);
+	}
+
+	/**
+	 * Returns byte offset of the first byte not consumed by the reader yet.
+	 *
+	 * @return byte offset in the file
+	 */
+	public long getPosition() {
+		return chunkOffset + chunkPosition;
+	}
+
+	public Charset getCharset() {
+		return charset;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private void setLine(byte[] bytes, int start, int length) {
+		currentBytes = bytes;
+		currentStart = start;
+		lineLength = length;
+		lineNumber++;
+	}
+
+	private int append(int accumulated, int start, int length) {
+		if (accumulated + length > lineBytes.length) {
+			lineBytes = Arrays.copyOf(lineBytes, Math.max(lineBytes.length * 2, accumulated + length));
+		}
+		System.arraycopy(chunk, start, lineBytes, accumulated, length);
+		return accumulated + length;
+	}
+
+	private boolean fill() throws IOException {
+		if (chunkPosition < chunkLimit) {
+			return true;
+		}
+		chunkOffset += chunkLimit;
+		chunkPosition = 0;
+		chunkLimit = 0;
+		long remaining = limit - chunkOffset;
+		if (remaining <= 0) {
+			return false;
+		}
+		chunkBuffer.clear();
+		chunkBuffer.limit((int) Math.min(chunk.length, remaining));
+		int read = channel.read(chunkBuffer, chunkOffset);
+		if (read <= 0) {
+			return false;
+		}
+		chunkLimit = read;
+		return true;
+	}
+
+	private static void checkCharset(Charset charset) {
+		byte[] terminators = "\n\r".getBytes(charset);
+		if (terminators.length != 2 || terminators[0] != '\n' || terminators[1] != '\r') {
+			throw new IllegalArgumentException("Charset " + charset + " is not supported by log line reader");
+		}
+	}
+}
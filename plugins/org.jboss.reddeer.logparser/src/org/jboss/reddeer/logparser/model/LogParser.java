@@ -0,0 +1,422 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Streaming log parse engine. Log is read line by line by {@link LogLineReader}
+ * and each line is matched against parse rules with precompiled regular
+ * expressions. Lines are assigned to rules by {@link LineAssigner}, so memory
+ * used by parsing does not depend on the size of the log.
+ * <br>
+ * Big logs can be parsed in parallel. Log is split into line aligned chunks
+ * whose lines are matched against rules by tasks of a {@link ForkJoinPool}.
+ * Matches are then assigned to rules in order of lines of the whole log, so
+ * before and after windows span chunk boundaries, and positions of included
+ * lines are read by parallel tasks again. Parallel parsing gives the same
+ * result as streaming parsing.
+ * <br>
+ * Growing log is parsed incrementally by {@link #parseAppended(ParsedLog)}.
+ * Parsing resumes a few lines before the end of the log parsed before, so lines
+ * which can be included by windows of appended lines are parsed again, and only
+ * bytes appended since are read otherwise.
+ */
+public class LogParser {
+	/**
+	 * Minimal size of a chunk of log parsed by one task.
+	 */
+	public static final long MIN_CHUNK_SIZE = 4 * 1024 * 1024;
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final CompiledParseRule[] rules;
+	private final int maxLinesBefore;
+	private final int maxLinesAfter;
+
+	public LogParser(List<ParseRule> parseRules) {
+		int ruleCount = parseRules == null ? 0 : parseRules.size();
+		rules = new CompiledParseRule[ruleCount];
+		int linesBefore = 0;
+		int linesAfter = 0;
+		for (int i = 0; i < ruleCount; i++) {
+			rules[i] = new CompiledParseRule(parseRules.get(i));
+			linesBefore = Math.max(linesBefore, rules[i].getDisplayLinesBefore());
+			linesAfter = Math.max(linesAfter, rules[i].getDisplayLinesAfter());
+		}
+		maxLinesBefore = linesBefore;
+		maxLinesAfter = linesAfter;
+	}
+
+	public CompiledParseRule[] getRules() {
+		return rules;
+	}
+
+	/**
+	 * Parses whole log file.
+	 *
+	 * @param file log file
+	 * @param charset charset of the log file
+	 * @return parsed log
+	 * @throws IOException if reading of the log file fails
+	 */
+	public ParsedLog parse(File file, Charset charset) throws IOException {
+		Object fileIdentity = getFileIdentity(file);
+		ParsedLog parsedLog = new ParsedLog(file, charset, rules);
+		LogLineReader reader = new LogLineReader(file, charset);
+		try {
+			parse(reader, parsedLog, fileIdentity, 0);
+		} finally {
+			reader.close();
+		}
+		return parsedLog;
+	}
+
+	/**
+	 * Parses whole log file in parallel by tasks running in specified pool.
+	 *
+	 * @param file log file
+	 * @param charset charset of the log file
+	 * @param pool pool running parse tasks
+	 * @param monitor progress monitor, parsing can be canceled through it
+	 * @return parsed log
+	 * @throws IOException if reading of the log file fails
+	 * @throws OperationCanceledException if parsing was canceled
+	 */
+	public ParsedLog parse(File file, final Charset charset, ForkJoinPool pool, final IProgressMonitor monitor)
+			throws IOException {
+		Object fileIdentity = getFileIdentity(file);
+		final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			long size = channel.size();
+			int maxChunks = (int) Math.max(1,
+					Math.min(pool.getParallelism() * CHUNKS_PER_THREAD, size / MIN_CHUNK_SIZE));
+			List<LogChunk> chunks = LogChunk.split(channel, size, maxChunks);
+			monitor.beginTask("Parsing log " + file.getName(), chunks.size() * 2 + 1);
+			List<Future<Void>> tasks = new ArrayList<Future<Void>>(chunks.size());
+			for (final LogChunk chunk : chunks) {
+				tasks.add(pool.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws IOException {
+						chunk.match(channel, charset, rules, monitor);
+						return null;
+					}
+				}));
+			}
+			join(tasks, monitor);
+			final IncludedLines includedLines = assign(chunks);
+			monitor.worked(1);
+			tasks.clear();
+			int from = 0;
+			int linesBefore = 0;
+			for (final LogChunk chunk : chunks) {
+				final int chunkLinesBefore = linesBefore;
+				final int chunkFrom = from;
+				final int chunkTo = includedLines.indexAfter(linesBefore + chunk.getLineCount(), from);
+				tasks.add(pool.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws IOException {
+						chunk.readPositions(channel, charset, chunkLinesBefore, includedLines.lineNumbers, chunkFrom,
+								chunkTo, monitor);
+						return null;
+					}
+				}));
+				from = chunkTo;
+				linesBefore += chunk.getLineCount();
+			}
+			join(tasks, monitor);
+			ParsedLog parsedLog = new ParsedLog(file, charset, rules);
+			int index = 0;
+			for (LogChunk chunk : chunks) {
+				int to = includedLines.indexAfter(chunk.getLinesBefore() + chunk.getLineCount(), index);
+				for (int i = index; i < to; i++) {
+					parsedLog.addLine(includedLines.lineNumbers[i], chunk.getByteOffset(i - index),
+							chunk.getByteLength(i - index), chunk.getCharLength(i - index),
+							includedLines.ruleIndexes[i]);
+				}
+				index = to;
+			}
+			setResumePoint(parsedLog, chunks, fileIdentity);
+			return parsedLog;
+		} finally {
+			channel.close();
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Parses all lines available from specified reader and adds included lines
+	 * to specified parsed log.
+	 *
+	 * @param reader reader of log lines
+	 * @param parsedLog parsed log to add included lines to
+	 * @throws IOException if reading of the log fails
+	 */
+	public void parse(LogLineReader reader, ParsedLog parsedLog) throws IOException {
+		parse(reader, parsedLog, null, 0);
+	}
+
+	/**
+	 * Parses lines appended to the log file since specified parsed log was parsed
+	 * or lines were appended to it last time. The log file is not read from its
+	 * start, parsing resumes at the resume point of the parsed log.
+	 *
+	 * @param parsedLog parsed log of the log file
+	 * @return parsed lines to be appended to the parsed log by {@link ParsedLog#append(ParsedLog)}
+	 *         or null if the log file has to be parsed again since it was truncated or
+	 *         replaced, or the parsed log was parsed by different rules
+	 * @throws IOException if reading of the log file fails
+	 */
+	public ParsedLog parseAppended(ParsedLog parsedLog) throws IOException {
+		if (!hasSameRules(parsedLog.getRules())) {
+			return null;
+		}
+		File file = parsedLog.getFile();
+		if (!file.exists()) {
+			return null;
+		}
+		Object fileIdentity = getFileIdentity(file);
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			if (!Objects.equals(fileIdentity, parsedLog.getFileIdentity())
+					|| channel.size() < parsedLog.getResumeOffset()) {
+				return null;
+			}
+			ParsedLog appendedLog = new ParsedLog(file, parsedLog.getCharset(), rules);
+			appendedLog.setFirstLineNumber(parsedLog.getFinalLineCount() + 1);
+			LogLineReader reader = new LogLineReader(channel, parsedLog.getCharset(), parsedLog.getResumeOffset(),
+					parsedLog.getResumeLineNumber(), LogLineReader.DEFAULT_CHUNK_SIZE);
+			parse(reader, appendedLog, fileIdentity, parsedLog.getFinalLineCount());
+			return appendedLog;
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Parses lines available from reader, adds included lines following specified
+	 * count of final lines to parsed log and remembers where parsing of lines
+	 * appended later resumes.
+	 */
+	private void parse(LogLineReader reader, ParsedLog parsedLog, Object fileIdentity, int finalLineCount)
+			throws IOException {
+		RuleMatcher ruleMatcher = new RuleMatcher(rules);
+		LinePositions positions = new LinePositions(parsedLog, LineAssigner.getCapacity(rules), finalLineCount);
+		LineAssigner assigner = new LineAssigner(rules, positions);
+		long[] lineOffsets = new long[maxLinesBefore + maxLinesAfter + 2];
+		while (reader.next()) {
+			int lineNumber = reader.getLineNumber();
+			String line = reader.getText();
+			lineOffsets[lineNumber % lineOffsets.length] = reader.getLineOffset();
+			int slot = assigner.add(lineNumber, ruleMatcher.match(line));
+			positions.set(slot, reader.getLineOffset(), reader.getLineLength(), line.length());
+		}
+		assigner.flush();
+		int lastLineNumber = reader.getLineNumber();
+		int completeLineCount = reader.isLastLineComplete() ? lastLineNumber : lastLineNumber - 1;
+		int newFinalLineCount = Math.max(finalLineCount, completeLineCount - maxLinesBefore);
+		int resumeLineNumber = getResumeLineNumber(newFinalLineCount);
+		long resumeOffset = resumeLineNumber > lastLineNumber ? reader.getPosition()
+				: lineOffsets[resumeLineNumber % lineOffsets.length];
+		parsedLog.setResumePoint(fileIdentity, newFinalLineCount, resumeLineNumber - 1, resumeOffset);
+	}
+
+	/**
+	 * Sets resume point of parsed log to the start of the last chunk which does
+	 * not start after the line parsing has to resume at.
+	 */
+	private void setResumePoint(ParsedLog parsedLog, List<LogChunk> chunks, Object fileIdentity) {
+		int lineCount = 0;
+		for (LogChunk chunk : chunks) {
+			lineCount += chunk.getLineCount();
+		}
+		LogChunk lastChunk = chunks.get(chunks.size() - 1);
+		int completeLineCount = lastChunk.isLastLineComplete() ? lineCount : lineCount - 1;
+		int finalLineCount = Math.max(0, completeLineCount - maxLinesBefore);
+		int resumeLineNumber = getResumeLineNumber(finalLineCount);
+		int linesBefore = 0;
+		LogChunk resumeChunk = chunks.get(0);
+		int resumeChunkLinesBefore = 0;
+		for (LogChunk chunk : chunks) {
+			if (linesBefore + 1 > resumeLineNumber) {
+				break;
+			}
+			resumeChunk = chunk;
+			resumeChunkLinesBefore = linesBefore;
+			linesBefore += chunk.getLineCount();
+		}
+		parsedLog.setResumePoint(fileIdentity, finalLineCount, resumeChunkLinesBefore, resumeChunk.getStart());
+	}
+
+	/**
+	 * Returns number of the first line which has to be parsed again when lines are
+	 * appended, i.e. the first line whose after window can include a line not
+	 * final yet.
+	 */
+	private int getResumeLineNumber(int finalLineCount) {
+		return Math.max(1, finalLineCount - maxLinesAfter + 1);
+	}
+
+	private boolean hasSameRules(CompiledParseRule[] otherRules) {
+		if (otherRules.length != rules.length) {
+			return false;
+		}
+		for (int i = 0; i < rules.length; i++) {
+			if (!rules[i].hasSameDefinition(otherRules[i].getParseRule())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns object identifying the file, so a file replaced by another one with
+	 * the same path can be detected.
+	 */
+	private static Object getFileIdentity(File file) throws IOException {
+		BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+	}
+
+	/**
+	 * Positions of lines held by {@link LineAssigner} stored by slots of the lines.
+	 * Included lines which are final already are not added to parsed log again.
+	 */
+	private static class LinePositions implements LineAssigner.IncludedLineHandler {
+		private final ParsedLog parsedLog;
+		private final int finalLineCount;
+		private final long[] byteOffsets;
+		private final int[] byteLengths;
+		private final int[] charLengths;
+
+		LinePositions(ParsedLog parsedLog, int capacity, int finalLineCount) {
+			this.parsedLog = parsedLog;
+			this.finalLineCount = finalLineCount;
+			byteOffsets = new long[capacity];
+			byteLengths = new int[capacity];
+			charLengths = new int[capacity];
+		}
+
+		void set(int slot, long byteOffset, int byteLength, int charLength) {
+			byteOffsets[slot] = byteOffset;
+			byteLengths[slot] = byteLength;
+			charLengths[slot] = charLength;
+		}
+
+		@Override
+		public void lineIncluded(int slot, int lineNumber, int ruleIndex) {
+			if (lineNumber <= finalLineCount) {
+				return;
+			}
+			parsedLog.addLine(lineNumber, byteOffsets[slot], byteLengths[slot], charLengths[slot], ruleIndex);
+		}
+	}
+
+	/**
+	 * Assigns matched lines of all chunks to rules in order of lines of the whole
+	 * log.
+	 */
+	private IncludedLines assign(List<LogChunk> chunks) {
+		IncludedLines includedLines = new IncludedLines();
+		LineAssigner assigner = new LineAssigner(rules, includedLines);
+		int linesBefore = 0;
+		for (LogChunk chunk : chunks) {
+			int matchIndex = 0;
+			for (int line = 1; line <= chunk.getLineCount(); line++) {
+				int ruleIndex = RuleMatcher.NO_RULE;
+				if (matchIndex < chunk.getMatchCount() && chunk.getMatchedLine(matchIndex) == line) {
+					ruleIndex = chunk.getMatchedRule(matchIndex++);
+				}
+				assigner.add(linesBefore + line, ruleIndex);
+			}
+			linesBefore += chunk.getLineCount();
+		}
+		assigner.flush();
+		return includedLines;
+	}
+
+	/**
+	 * Waits for all tasks in order and reports progress after each of them.
+	 */
+	private static void join(List<Future<Void>> tasks, IProgressMonitor monitor) throws IOException {
+		try {
+			for (Future<Void> task : tasks) {
+				task.get();
+				monitor.worked(1);
+			}
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		} finally {
+			for (Future<Void> task : tasks) {
+				task.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Numbers and rules of lines included by {@link LineAssigner} in ascending
+	 * order.
+	 */
+	private static class IncludedLines implements LineAssigner.IncludedLineHandler {
+		private int[] lineNumbers = new int[1024];
+		private int[] ruleIndexes = new int[1024];
+		private int size;
+
+		@Override
+		public void lineIncluded(int slot, int lineNumber, int ruleIndex) {
+			if (size == lineNumbers.length) {
+				lineNumbers = Arrays.copyOf(lineNumbers, size * 2);
+				ruleIndexes = Arrays.copyOf(ruleIndexes, size * 2);
+			}
+			lineNumbers[size] = lineNumber;
+			ruleIndexes[size] = ruleIndex;
+			size++;
+		}
+
+		/**
+		 * Returns index of the first included line with number greater than
+		 * specified line number.
+		 */
+		int indexAfter(int lineNumber, int from) {
+			int index = Arrays.binarySearch(lineNumbers, from, size, lineNumber + 1);
+			return index >= 0 ? index : -index - 1;
+		}
+	}
+}
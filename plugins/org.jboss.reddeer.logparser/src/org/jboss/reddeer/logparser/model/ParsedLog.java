@@ -0,0 +1,291 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of parsing a log file. Texts of parsed lines are not kept in memory,
+ * only byte offsets of original lines and rules which included them are stored
+ * in primitive arrays. Text of a parsed line is rendered lazily by reading the
+ * original line from the log file when it is requested, recently rendered lines
+ * are cached.
+ * <br>
+ * Every parsed line is followed by a single '\n' character when offsets of lines
+ * are computed.
+ * <br>
+ * Parsed log remembers where parsing of lines appended to the log later can
+ * resume, so a growing log is parsed incrementally by
+ * {@link LogParser#parseAppended(ParsedLog)} and the result is added by
+ * {@link #append(ParsedLog)}.
+ */
+public class ParsedLog implements Closeable {
+	private static final int RENDERED_LINES_CACHE_SIZE = 512;
+
+	private final File file;
+	private final Charset charset;
+	private final CompiledParseRule[] rules;
+	private final LineNumberMap lineNumberMap = new LineNumberMap();
+	private long[] byteOffsets = new long[1024];
+	private int[] byteLengths = new int[1024];
+	private int[] ruleIndexes = new int[1024];
+	private int[] charOffsets = new int[1024];
+	private int charCount;
+	private FileChannel channel;
+	private Object fileIdentity;
+	private int finalLineCount;
+	private int resumeLineNumber;
+	private long resumeOffset;
+	private int firstLineNumber = 1;
+
+	private final Map<Integer, String> renderedLines = new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+			return size() > RENDERED_LINES_CACHE_SIZE;
+		}
+	};
+
+	public ParsedLog(File file, Charset charset, CompiledParseRule[] rules) {
+		this.file = file;
+		this.charset = charset;
+		this.rules = rules;
+	}
+
+	/**
+	 * Adds next parsed line.
+	 *
+	 * @param originalLineNumber number of the line in original log
+	 * @param byteOffset byte offset of the original line
+	 * @param byteLength byte length of the original line
+	 * @param charLength length of the original line in characters
+	 * @param ruleIndex index of including rule or {@link RuleMatcher#DEFAULT_RULE}
+	 */
+	public synchronized void addLine(int originalLineNumber, long byteOffset, int byteLength, int charLength,
+			int ruleIndex) {
+		int index = lineNumberMap.add(originalLineNumber);
+		if (index == byteOffsets.length) {
+			int capacity = index * 2;
+			byteOffsets = Arrays.copyOf(byteOffsets, capacity);
+			byteLengths = Arrays.copyOf(byteLengths, capacity);
+			ruleIndexes = Arrays.copyOf(ruleIndexes, capacity);
+			charOffsets = Arrays.copyOf(charOffsets, capacity);
+		}
+		byteOffsets[index] = byteOffset;
+		byteLengths[index] = byteLength;
+		ruleIndexes[index] = ruleIndex;
+		charOffsets[index] = charCount;
+		charCount += getLinePrefix(ruleIndex).length() + charLength + 1;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	public Charset getCharset() {
+		return charset;
+	}
+
+	CompiledParseRule[] getRules() {
+		return rules;
+	}
+
+	/**
+	 * Remembers where parsing of appended lines resumes.
+	 *
+	 * @param fileIdentity identity of parsed file, used to detect replaced files
+	 * @param finalLineCount count of original lines whose parsing cannot be changed by appended lines
+	 * @param resumeLineNumber number of the last original line before resume offset
+	 * @param resumeOffset byte offset of original line parsing resumes at
+	 */
+	synchronized void setResumePoint(Object fileIdentity, int finalLineCount, int resumeLineNumber,
+			long resumeOffset) {
+		this.fileIdentity = fileIdentity;
+		this.finalLineCount = finalLineCount;
+		this.resumeLineNumber = resumeLineNumber;
+		this.resumeOffset = resumeOffset;
+	}
+
+	synchronized Object getFileIdentity() {
+		return fileIdentity;
+	}
+
+	synchronized int getFinalLineCount() {
+		return finalLineCount;
+	}
+
+	synchronized int getResumeLineNumber() {
+		return resumeLineNumber;
+	}
+
+	synchronized long getResumeOffset() {
+		return resumeOffset;
+	}
+
+	/**
+	 * Returns number of the first original line of parsed log. Parsed log with lines
+	 * appended to a log replaces all lines of the log starting at this line.
+	 *
+	 * @return number of the first original line
+	 */
+	public synchronized int getFirstLineNumber() {
+		return firstLineNumber;
+	}
+
+	synchronized void setFirstLineNumber(int firstLineNumber) {
+		this.firstLineNumber = firstLineNumber;
+	}
+
+	/**
+	 * Returns parsed line number of the first line replaced when specified parsed
+	 * lines are appended.
+	 *
+	 * @param appendedLog parsed lines appended to the log
+	 * @return parsed line number of the first replaced line
+	 */
+	public synchronized int getFirstReplacedLine(ParsedLog appendedLog) {
+		return lineNumberMap.countUpTo(appendedLog.getFirstLineNumber() - 1);
+	}
+
+	/**
+	 * Appends lines parsed from lines appended to the log. Parsed lines not final
+	 * yet, i.e. lines starting at {@link #getFirstReplacedLine(ParsedLog)}, are
+	 * replaced.
+	 *
+	 * @param appendedLog parsed lines appended to the log
+	 */
+	public synchronized void append(ParsedLog appendedLog) {
+		int firstReplacedLine = getFirstReplacedLine(appendedLog);
+		if (firstReplacedLine < lineNumberMap.size()) {
+			charCount = charOffsets[firstReplacedLine];
+			lineNumberMap.truncate(firstReplacedLine);
+		}
+		renderedLines.clear();
+		synchronized (appendedLog) {
+			for (int i = 0; i < appendedLog.lineNumberMap.size(); i++) {
+				addLine(appendedLog.lineNumberMap.get(i), appendedLog.byteOffsets[i], appendedLog.byteLengths[i],
+						appendedLog.getCharLength(i), appendedLog.ruleIndexes[i]);
+			}
+			setResumePoint(appendedLog.fileIdentity, appendedLog.finalLineCount, appendedLog.resumeLineNumber,
+					appendedLog.resumeOffset);
+		}
+	}
+
+	public synchronized int getLineCount() {
+		return lineNumberMap.size();
+	}
+
+	/**
+	 * Returns count of characters of all parsed lines including line delimiters.
+	 *
+	 * @return count of characters
+	 */
+	public synchronized int getCharCount() {
+		return charCount;
+	}
+
+	public synchronized int getOriginalLineNumber(int parsedLineNumber) {
+		return lineNumberMap.get(parsedLineNumber);
+	}
+
+	/**
+	 * Returns parsed line number of original line.
+	 *
+	 * @param originalLineNumber original line number
+	 * @return parsed line number or -1 if original line was not included
+	 */
+	public synchronized int getParsedLineNumber(int originalLineNumber) {
+		return lineNumberMap.indexOf(originalLineNumber);
+	}
+
+	public synchronized int getOffsetAtLine(int parsedLineNumber) {
+		checkLine(parsedLineNumber);
+		return charOffsets[parsedLineNumber];
+	}
+
+	/**
+	 * Returns parsed line containing character at specified offset.
+	 *
+	 * @param offset character offset
+	 * @return parsed line number
+	 */
+	public synchronized int getLineAtOffset(int offset) {
+		int index = Arrays.binarySearch(charOffsets, 0, lineNumberMap.size(), offset);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	/**
+	 * Renders parsed line, i.e. reads original line from the log file and prepends
+	 * indentation and prefix of the rule which included it.
+	 *
+	 * @param parsedLineNumber parsed line number
+	 * @return text of parsed line without line delimiter
+	 * @throws IOException if reading of the log file fails
+	 */
+	public synchronized String getLine(int parsedLineNumber) throws IOException {
+		checkLine(parsedLineNumber);
+		String line = renderedLines.get(parsedLineNumber);
+		if (line == null) {
+			line = getLinePrefix(ruleIndexes[parsedLineNumber])
+					+ readOriginalLine(byteOffsets[parsedLineNumber], byteLengths[parsedLineNumber]);
+			renderedLines.put(parsedLineNumber, line);
+		}
+		return line;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		renderedLines.clear();
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+	private int getCharLength(int parsedLineNumber) {
+		int nextOffset = parsedLineNumber + 1 < lineNumberMap.size() ? charOffsets[parsedLineNumber + 1] : charCount;
+		return nextOffset - charOffsets[parsedLineNumber] - getLinePrefix(ruleIndexes[parsedLineNumber]).length() - 1;
+	}
+
+	private String getLinePrefix(int ruleIndex) {
+		return ruleIndex == RuleMatcher.DEFAULT_RULE ? "" : rules[ruleIndex].getLinePrefix();
+	}
+
+	private String readOriginalLine(long byteOffset, int byteLength) throws IOException {
+		if (channel == null) {
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(byteLength);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, byteOffset + buffer.position()) < 0) {
+				throw new IOException("Log file " + file + " was truncated");
+			}
+		}
+		return new String(buffer.array(), 0, byteLength, charset);
+	}
+
+	private void checkLine(int parsedLineNumber) {
+		if (parsedLineNumber < 0 || parsedLineNumber >= lineNumberMap.size()) {
+			throw new IndexOutOfBoundsException("Parsed line " + parsedLineNumber + ", line count "
+					+ lineNumberMap.size());
+		}
+	}
+}
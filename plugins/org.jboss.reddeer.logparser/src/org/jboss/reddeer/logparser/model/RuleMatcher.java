@@ -0,0 +1,78 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which parse rule includes a log line. Matchers of compiled rules are
+ * reused for all lines, so an instance must not be shared between threads.
+ * <br>
+ * Line is included by the first rule whose include regex matches the line unless
+ * exclude regex of the same rule matches the line too. Empty lines are never
+ * included. When there are no rules every non empty line is included by the
+ * default rule.
+ */
+public class RuleMatcher {
+	/**
+	 * Index of default rule used when there are no parse rules.
+	 */
+	public static final int DEFAULT_RULE = -1;
+	/**
+	 * Returned when line is not included by any rule.
+	 */
+	public static final int NO_RULE = -2;
+
+	private final Matcher[] includeMatchers;
+	private final Matcher[] excludeMatchers;
+
+	public RuleMatcher(CompiledParseRule[] rules) {
+		includeMatchers = new Matcher[rules.length];
+		excludeMatchers = new Matcher[rules.length];
+		for (int i = 0; i < rules.length; i++) {
+			includeMatchers[i] = createMatcher(rules[i].getIncludePattern());
+			excludeMatchers[i] = createMatcher(rules[i].getExcludePattern());
+		}
+	}
+
+	/**
+	 * Finds rule including specified line.
+	 *
+	 * @param line log line
+	 * @return index of including rule, {@link #DEFAULT_RULE} or {@link #NO_RULE}
+	 */
+	public int match(String line) {
+		if (line.length() == 0) {
+			return NO_RULE;
+		}
+		if (includeMatchers.length == 0) {
+			return DEFAULT_RULE;
+		}
+		for (int i = 0; i < includeMatchers.length; i++) {
+			if (matches(includeMatchers[i], line, true)) {
+				return matches(excludeMatchers[i], line, false) ? NO_RULE : i;
+			}
+		}
+		return NO_RULE;
+	}
+
+	private static boolean matches(Matcher matcher, String line, boolean matchesIfEmpty) {
+		if (matcher == null) {
+			return matchesIfEmpty;
+		}
+		return matcher.reset(line).matches();
+	}
+
+	private static Matcher createMatcher(Pattern pattern) {
+		return pattern == null ? null : pattern.matcher("");
+	}
+}
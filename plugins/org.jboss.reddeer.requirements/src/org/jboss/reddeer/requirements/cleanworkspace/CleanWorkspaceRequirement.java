@@ -18,9 +18,15 @@ import java.lang.annotation.Target;
 
 import org.jboss.reddeer.common.exception.RedDeerException;
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.direct.platform.Platform;
+import org.jboss.reddeer.direct.project.Project;
 import org.jboss.reddeer.eclipse.core.resources.DefaultProject;
 import org.jboss.reddeer.eclipse.jdt.ui.ProjectExplorer;
+import org.jboss.reddeer.junit.internal.history.TestHistory;
+import org.jboss.reddeer.junit.internal.history.TestHistory.Kind;
 import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.ReusableRequirement;
 import org.jboss.reddeer.requirements.cleanworkspace.CleanWorkspaceRequirement.CleanWorkspace;
 import org.jboss.reddeer.workbench.handler.EditorHandler;
 
@@ -31,7 +37,14 @@ import org.jboss.reddeer.workbench.handler.EditorHandler;
  * (aka. workspace is clean).<br><br>
  * 
  * Annotate test class with {@link CleanWorkspace} annotation to have clean
- * workspace before the test cases are executed.<br><br>
+ * workspace before the test cases are executed. The requirement is not fulfilled again
+ * by directly following test class if the workspace still contains no project.<br><br>
+ * 
+ * Projects are deleted via Eclipse API by default, deleting via Project Explorer
+ * can be forced by system property {@link RedDeerProperties#CLEAN_WORKSPACE_MODE}.
+ * Projects are deleted via Project Explorer also when deleting via Eclipse API fails
+ * while projects are still in workspace. Durations of both ways are recorded in
+ * {@link TestHistory}, time saved by Eclipse API is logged.<br><br>
  * 
  * Example:<br>
  * <pre>
@@ -45,10 +58,14 @@ import org.jboss.reddeer.workbench.handler.EditorHandler;
  * @author rhopp
  * 
  */
-public class CleanWorkspaceRequirement implements Requirement<CleanWorkspace> {
+public class CleanWorkspaceRequirement implements Requirement<CleanWorkspace>, ReusableRequirement {
 	
 	private static final Logger log = Logger.getLogger(CleanWorkspaceRequirement.class);
 
+	private static final String API_KEY = CleanWorkspaceRequirement.class.getName() + " (api)";
+
+	private static final String UI_KEY = CleanWorkspaceRequirement.class.getName() + " (ui)";
+
 	/**
 	 * Marks test class, which requires clean workspace before test cases are executed.
 	 */
@@ -73,7 +90,44 @@ public class CleanWorkspaceRequirement implements Requirement<CleanWorkspace> {
 	 * Save all editors and delete all projects from workspace.
 	 */
 	@Override
-	public void fulfill() {	
+	public void fulfill() {
+		long start = System.currentTimeMillis();
+		if ("api".equals(RedDeerProperties.CLEAN_WORKSPACE_MODE.getValue())) {
+			try {
+				Platform.closeAllEditors(true);
+				log.debug("Deleted projects via Eclipse API: " + Project.deleteAll());
+				reportSavedTime(System.currentTimeMillis() - start);
+				return;
+			} catch (RuntimeException ex) {
+				if (Project.getProjectNames().isEmpty()) {
+					// projects are not in workspace anymore, Project Explorer cannot delete their content
+					throw ex;
+				}
+				log.error("Deleting projects via Eclipse API failed, deleting them via Project Explorer", ex);
+			}
+		}
+		cleanWorkspaceViaUI();
+		TestHistory.getInstance().record(Kind.FULFILL, UI_KEY, System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Records duration of cleaning via Eclipse API and logs how much time it saved
+	 * compared to average duration of cleaning via Project Explorer.
+	 */
+	private void reportSavedTime(long duration) {
+		TestHistory history = TestHistory.getInstance();
+		history.record(Kind.FULFILL, API_KEY, duration);
+		long uiDuration = history.getDuration(Kind.FULFILL, UI_KEY);
+		if (uiDuration >= 0) {
+			log.info("Workspace cleaned via Eclipse API in " + duration + " ms, saved "
+					+ (uiDuration - duration) + " ms compared to cleaning via Project Explorer");
+		} else {
+			log.info("Workspace cleaned via Eclipse API in " + duration
+					+ " ms, no duration of cleaning via Project Explorer recorded yet");
+		}
+	}
+	
+	private void cleanWorkspaceViaUI() {
 		EditorHandler.getInstance().closeAll(true);
 		ProjectExplorer pe = new ProjectExplorer();
 		pe.open();
@@ -110,4 +164,24 @@ public class CleanWorkspaceRequirement implements Requirement<CleanWorkspace> {
 
 	}
 
+	/**
+	 * All clean workspace requirements establish the same state.
+	 *
+	 * @return key of clean workspace state
+	 */
+	@Override
+	public Object getStateKey() {
+		return CleanWorkspace.class;
+	}
+
+	/**
+	 * Checks via Eclipse API that workspace still contains no project.
+	 *
+	 * @return true if workspace contains no project, false otherwise
+	 */
+	@Override
+	public boolean isStateValid() {
+		return org.jboss.reddeer.direct.project.Project.getProjectNames().isEmpty();
+	}
+
 }
@@ -14,10 +14,12 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.Arrays;
 
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.junit.requirement.CustomConfiguration;
 import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.ReusableRequirement;
 import org.jboss.reddeer.requirements.db.DatabaseRequirement.Database;
 
 /**
@@ -25,7 +27,7 @@ import org.jboss.reddeer.requirements.db.DatabaseRequirement.Database;
  * @author Jiri Peterka
  *
  */
-public class DatabaseRequirement implements Requirement<Database>, CustomConfiguration<DatabaseConfiguration> {
+public class DatabaseRequirement implements Requirement<Database>, CustomConfiguration<DatabaseConfiguration>, ReusableRequirement {
 	
 	@Retention(RetentionPolicy.RUNTIME)
 	@Target(ElementType.TYPE)
@@ -114,4 +116,14 @@ public class DatabaseRequirement implements Requirement<Database>, CustomConfigu
 	public void cleanUp() {
 
 	}
+
+	/**
+	 * Gets key of required database.
+	 *
+	 * @return key of required database
+	 */
+	@Override
+	public Object getStateKey() {
+		return Arrays.asList(database.name(), configuration.getJdbcString());
+	}
 }
@@ -15,10 +15,12 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.Arrays;
 
 import org.jboss.reddeer.eclipse.exception.EclipseLayerException;
 import org.jboss.reddeer.eclipse.ui.perspectives.AbstractPerspective;
 import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.ReusableRequirement;
 import org.jboss.reddeer.requirements.exception.RequirementsLayerException;
 import org.jboss.reddeer.requirements.openperspective.OpenPerspectiveRequirement.OpenPerspective;
 
@@ -29,7 +31,9 @@ import org.jboss.reddeer.requirements.openperspective.OpenPerspectiveRequirement
  * execution.<br><br>
  * 
  * Annotate test class with {@link OpenPerspective} annotation to have
- * the given perspective opened before the test cases are executed.<br><br>
+ * the given perspective opened before the test cases are executed. Perspective which
+ * is not reset is not opened again by directly following test class if it is still
+ * active.<br><br>
  * 
  * Example:<br>
  * <pre>
@@ -42,7 +46,7 @@ import org.jboss.reddeer.requirements.openperspective.OpenPerspectiveRequirement
  * @author rhopp
  * 
  */
-public class OpenPerspectiveRequirement implements Requirement<OpenPerspective> {
+public class OpenPerspectiveRequirement implements Requirement<OpenPerspective>, ReusableRequirement {
 
 	/**
 	 * Marks test class, which requires opening of the specified perspective.
@@ -137,4 +141,29 @@ public class OpenPerspectiveRequirement implements Requirement<OpenPerspective>
 
 	}
 
+	/**
+	 * Gets key of opened perspective. Perspective reset to default cannot be reused
+	 * because tests may change its layout.
+	 *
+	 * @return key of opened perspective or null if perspective is reset
+	 */
+	@Override
+	public Object getStateKey() {
+		return openPerspective.reset() ? null : Arrays.asList(OpenPerspective.class, openPerspective.value());
+	}
+
+	/**
+	 * Checks whether the perspective is still active.
+	 *
+	 * @return true if the perspective is active, false otherwise
+	 */
+	@Override
+	public boolean isStateValid() {
+		try {
+			return getPerspectiveInstance().isOpened();
+		} catch (InstantiationException | IllegalAccessException e) {
+			return false;
+		}
+	}
+
 }
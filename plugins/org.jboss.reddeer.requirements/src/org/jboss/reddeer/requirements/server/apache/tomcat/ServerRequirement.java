@@ -14,12 +14,16 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.Arrays;
 
+import org.eclipse.wst.server.core.IServer;
+import org.eclipse.wst.server.core.ServerCore;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.eclipse.wst.server.ui.wizard.NewServerWizardDialog;
 import org.jboss.reddeer.eclipse.wst.server.ui.wizard.NewServerWizardPage;
 import org.jboss.reddeer.junit.requirement.CustomConfiguration;
 import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.ReusableRequirement;
 import org.jboss.reddeer.requirements.server.ConfiguredServerInfo;
 import org.jboss.reddeer.requirements.server.IServerReqConfig;
 import org.jboss.reddeer.requirements.server.ServerReqBase;
@@ -29,12 +33,16 @@ import org.jboss.reddeer.swt.impl.text.DefaultText;
 
 
 /**
+ * Apache Tomcat server requirement. Server in required state is reused by directly
+ * following test class requiring the same server in the same state, the server 
+ * is not removed in between and its state is checked via server API instead of
+ * Servers view.
  * 
  * @author Pavol Srna
  *
  */
 public class ServerRequirement extends ServerReqBase 
-			implements Requirement<ApacheTomcatServer>, CustomConfiguration<ServerRequirementConfig> {
+			implements Requirement<ApacheTomcatServer>, CustomConfiguration<ServerRequirementConfig>, ReusableRequirement {
 
 	private static final Logger LOGGER = Logger.getLogger(ServerRequirement.class);
 	
@@ -174,5 +182,42 @@ public class ServerRequirement extends ServerReqBase
 	@Override
 	public ConfiguredServerInfo getConfiguredConfig() {
 		return lastServerConfiguration;
-	}	
+	}
+
+	/**
+	 * Gets key of configured server in required state. Cleanup flag is part of
+	 * the key because the requirement establishing the state is cleaned up after
+	 * the last test class reusing it.
+	 *
+	 * @return key of configured server in required state
+	 */
+	@Override
+	public Object getStateKey() {
+		return Arrays.asList(config, server.state(), server.cleanup());
+	}
+
+	/**
+	 * Checks whether the configured server is still present and in required state.
+	 *
+	 * @return true if the server is present in required state, false otherwise
+	 */
+	@Override
+	public boolean isStateValid() {
+		if (lastServerConfiguration == null) {
+			return false;
+		}
+		for (IServer configuredServer : ServerCore.getServers()) {
+			if (configuredServer.getName().equals(lastServerConfiguration.getServerName())) {
+				switch (server.state()) {
+					case RUNNING:
+						return configuredServer.getServerState() == IServer.STATE_STARTED;
+					case STOPPED:
+						return configuredServer.getServerState() == IServer.STATE_STOPPED;
+					default:
+						return true;
+				}
+			}
+		}
+		return false;
+	}
 }
\ No newline at end of file
@@ -80,9 +80,17 @@ public class ServerRequirementConfig implements IServerReqConfig {
 		return family1.getLabel().equals(family2.getLabel()) && family1.getVersion().equals(family2.getVersion());
 	}
 
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
 	@Override
 	public int hashCode() {
-		// TODO Auto-generated method stub
-		return super.hashCode();
+		IServerFamily serverFamily = getServerFamily();
+		int result = runtime == null ? 0 : runtime.hashCode();
+		if (serverFamily != null) {
+			result = 31 * result + serverFamily.getLabel().hashCode();
+			result = 31 * result + serverFamily.getVersion().hashCode();
+		}
+		return result;
 	}
 }
\ No newline at end of file
@@ -12,7 +12,6 @@ package org.jboss.reddeer.swt.condition;
 
 import org.jboss.reddeer.common.condition.AbstractWaitCondition;
 import org.jboss.reddeer.swt.api.Table;
-import org.jboss.reddeer.swt.api.TableItem;
 
 /**
  * Condition is met when table contains specified item.
@@ -42,12 +41,7 @@ public class TableContainsItem extends AbstractWaitCondition {
 
 	@Override
 	public boolean test() {
-		for (TableItem i : table.getItems()) {
-			if (i.getText(cellIndex).equals(item)) {
-				return true;
-			}
-		}
-		return false;
+		return table.containsItem(item, cellIndex);
 	}
 
 	@Override
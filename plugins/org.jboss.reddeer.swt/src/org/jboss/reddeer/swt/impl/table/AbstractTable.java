@@ -22,7 +22,9 @@ import org.jboss.reddeer.swt.api.Table;
 import org.jboss.reddeer.swt.api.TableItem;
 import org.jboss.reddeer.swt.condition.TableHasRows;
 import org.jboss.reddeer.swt.exception.SWTLayerException;
+import org.jboss.reddeer.core.exception.CoreLayerException;
 import org.jboss.reddeer.core.handler.TableHandler;
+import org.jboss.reddeer.core.handler.TableSnapshot;
 import org.jboss.reddeer.core.reference.ReferencedComposite;
 import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.common.wait.WaitUntil;
@@ -51,12 +53,7 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public boolean containsItem(String item){
-		for(TableItem it: getItems()){
-			if(it.getText().equals(item)){
-				return true;
-			}
-		}
-		return false;
+		return containsItem(item, 0);
 	}
 	
 	/* (non-Javadoc)
@@ -64,12 +61,7 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public boolean containsItem(String item, int cellIndex){
-		for(TableItem it: getItems()){
-			if(it.getText(cellIndex).equals(item)){
-				return true;
-			}
-		}
-		return false;
+		return getSnapshot().indexOf(item, cellIndex) >= 0;
 	}
 	
 	/* (non-Javadoc)
@@ -77,13 +69,12 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public List<TableItem> getItems(){
-		waitUntilTableHasRows();
-		org.eclipse.swt.widgets.TableItem[] items = TableHandler.getInstance().getSWTItems(swtWidget);
-		List<TableItem> tableItems = new ArrayList<TableItem>();
-		for(org.eclipse.swt.widgets.TableItem i: items){
-			tableItems.add(new DefaultTableItem(i));
+		TableSnapshot snapshot = getSnapshot();
+		List<TableItem> items = new ArrayList<TableItem>(snapshot.getEnd() - snapshot.getStart());
+		for (int row = snapshot.getStart(); row < snapshot.getEnd(); row++){
+			items.add(new DefaultTableItem(snapshot, row));
 		}
-		return tableItems;
+		return items;
 	}
 	
 	/* (non-Javadoc)
@@ -92,14 +83,15 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	@Override
 	public List<TableItem> getItems(Matcher<TableItem>... matchers) {
 		List<TableItem> matchedItems = new ArrayList<TableItem>();
-		
-		for (TableItem item : getItems()){
+		TableSnapshot snapshot = getSnapshot();
+		for (int row = snapshot.getStart(); row < snapshot.getEnd(); row++){
+			TableItem item = new SnapshotTableItem(snapshot, row);
 			int index = 0;
 			while (index < matchers.length && matchers[index].matches(item)){
 				index++;
 			}
 			if (index == matchers.length){
-				matchedItems.add(item);
+				matchedItems.add(new DefaultTableItem(snapshot, row));
 			}
 		}
 		return matchedItems;
@@ -120,10 +112,7 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public TableItem getItem(final String itemText) {
-		waitUntilTableHasRows();
-		int row = TableHandler.getInstance().indexOf(swtWidget, itemText, 0);
-		org.eclipse.swt.widgets.TableItem tItem = TableHandler.getInstance().getSWTItem(swtWidget, row);
-		return new DefaultTableItem(tItem);
+		return getItem(itemText, 0);
 	}
 	
 	/* (non-Javadoc)
@@ -131,10 +120,12 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public TableItem getItem(final String itemText, int column) {
-		waitUntilTableHasRows();
-		int row = TableHandler.getInstance().indexOf(swtWidget, itemText, column);
-		org.eclipse.swt.widgets.TableItem tItem = TableHandler.getInstance().getSWTItem(swtWidget, row);
-		return new DefaultTableItem(tItem);
+		TableSnapshot snapshot = getSnapshot();
+		int row = snapshot.indexOf(itemText, column);
+		if (row < 0) {
+			throw new CoreLayerException("Item " + itemText + " does not exist in table");
+		}
+		return new DefaultTableItem(snapshot, row);
 	}
 
 	/* (non-Javadoc)
@@ -166,10 +157,13 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	@Override
 	public void select(String... items) {
 		log.info("Select table rows (" + LoggingUtils.format(items) + ")");
-		waitUntilTableHasRows();
+		TableSnapshot snapshot = getSnapshot();
 		int[] indicies = new int[items.length];
 		for(int i =0;i<items.length;i++){
-			indicies[i] = TableHandler.getInstance().indexOf(swtWidget, items[i], 0);
+			indicies[i] = snapshot.indexOf(items[i], 0);
+			if (indicies[i] < 0) {
+				throw new CoreLayerException("Item " + items[i] + " does not exist in table");
+			}
 		}
 		select(indicies);
 	}
@@ -194,6 +188,17 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 		TableHandler.getInstance().deselectAll(swtWidget);
 	}
 
+	/**
+	 * Gets snapshot of all rows of the table. Texts, check states and selection 
+	 * of rows are read at once, scans of the snapshot do not access UI thread.
+	 *
+	 * @return snapshot of table rows
+	 */
+	public TableSnapshot getSnapshot() {
+		waitUntilTableHasRows();
+		return TableHandler.getInstance().getSnapshot(swtWidget);
+	}
+	
 	private void waitUntilTableHasRows() {
 		new WaitUntil(new TableHasRows(this), TimePeriod.NORMAL, false);
 	}
@@ -263,10 +268,11 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public List<TableItem> getSelectetItems(){
+		TableSnapshot snapshot = getSnapshot();
 		LinkedList<TableItem> result = new LinkedList<TableItem>();
-		for (TableItem tableItem : getItems()){
-			if (tableItem.isSelected()){
-				result.addLast(tableItem);
+		for (int row = snapshot.getStart(); row < snapshot.getEnd(); row++){
+			if (snapshot.isSelected(row)){
+				result.addLast(new DefaultTableItem(snapshot, row));
 			}
 		}
 		return result;
@@ -18,6 +18,7 @@ import org.jboss.reddeer.swt.api.TableItem;
 import org.jboss.reddeer.swt.api.TreeItem;
 import org.jboss.reddeer.core.handler.TableHandler;
 import org.jboss.reddeer.core.handler.TableItemHandler;
+import org.jboss.reddeer.core.handler.TableSnapshot;
 import org.jboss.reddeer.core.handler.WidgetHandler;
 import org.jboss.reddeer.core.reference.ReferencedComposite;
 import org.jboss.reddeer.swt.widgets.AbstractWidget;
@@ -34,6 +35,16 @@ public class AbstractTableItem extends AbstractWidget<org.eclipse.swt.widgets.Ta
 		super(swtTableItem);
 	}
 	
+	/**
+	 * Creates a table item of a row of table snapshot.
+	 *
+	 * @param snapshot snapshot of table rows
+	 * @param row index of row in the table
+	 */
+	protected AbstractTableItem(TableSnapshot snapshot, int row){
+		super(snapshot.getItem(row));
+	}
+	
 	/**
 	 * See {@link TreeItem}.
 	 *
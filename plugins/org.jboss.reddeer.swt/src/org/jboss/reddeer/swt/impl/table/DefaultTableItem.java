@@ -11,6 +11,7 @@
 package org.jboss.reddeer.swt.impl.table;
 
 import org.hamcrest.Matcher;
+import org.jboss.reddeer.core.handler.TableSnapshot;
 import org.jboss.reddeer.core.matcher.WithTextMatcher;
 import org.jboss.reddeer.core.reference.ReferencedComposite;
 
@@ -27,6 +28,16 @@ public class DefaultTableItem extends AbstractTableItem{
 		super(widget);
 	}
 	
+	/**
+	 * Table item of a row of table snapshot.
+	 *
+	 * @param snapshot snapshot of table rows
+	 * @param row index of row in the table
+	 */
+	public DefaultTableItem(TableSnapshot snapshot, int row){
+		super(snapshot, row);
+	}
+	
 	/**
 	 * TableItem inside given composite.
 	 *
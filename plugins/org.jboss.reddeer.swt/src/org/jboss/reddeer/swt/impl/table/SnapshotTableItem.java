@@ -0,0 +1,63 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.impl.table;
+
+import org.eclipse.swt.graphics.Image;
+import org.jboss.reddeer.core.handler.ItemState;
+import org.jboss.reddeer.core.handler.TableSnapshot;
+
+/**
+ * Table item serving texts, check state, image presence and selection from a row
+ * of table snapshot. It is used only while a table is scanned by matchers so the scan 
+ * does not access UI thread for each row, it is never returned to callers.
+ */
+class SnapshotTableItem extends AbstractTableItem {
+
+	private final ItemState state;
+	private final boolean selected;
+
+	SnapshotTableItem(TableSnapshot snapshot, int row) {
+		super(snapshot.getItem(row));
+		this.state = snapshot.getState(row);
+		this.selected = snapshot.isSelected(row);
+	}
+
+	@Override
+	public boolean isChecked() {
+		return state.isChecked();
+	}
+
+	@Override
+	public boolean isSelected() {
+		return selected;
+	}
+
+	@Override
+	public String getText() {
+		return state.getText();
+	}
+
+	@Override
+	public String getText(int cellIndex) {
+		if (state.containsCell(cellIndex)) {
+			return state.getText(cellIndex);
+		}
+		return super.getText(cellIndex);
+	}
+
+	@Override
+	public Image getImage(int imageIndex) {
+		if (state.containsCell(imageIndex) && !state.hasImage(imageIndex)) {
+			return null;
+		}
+		return super.getImage(imageIndex);
+	}
+}
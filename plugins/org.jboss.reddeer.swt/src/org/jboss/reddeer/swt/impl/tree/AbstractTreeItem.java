@@ -41,7 +41,7 @@ public abstract class AbstractTreeItem extends AbstractWidget<org.eclipse.swt.wi
 
 	private TreeHandler treeHandler = TreeHandler.getInstance();
 	private TreeItemHandler treeItemHandler = TreeItemHandler.getInstance();
-	
+
 	protected AbstractTreeItem(org.eclipse.swt.widgets.TreeItem swtWidget) {
 		super(swtWidget);
 	}
@@ -0,0 +1,192 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.keyboard;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.util.Display;
+import org.jboss.reddeer.common.util.ResultRunnable;
+
+/**
+ * Key event poster posts key events in batches and waits until each batch is
+ * dispatched instead of sleeping between events. Dispatched key events are
+ * counted by a display filter, a batch is dispatched once the filter has seen
+ * as many key events as were posted so far. The filter is removed by
+ * a synchronous execution which also lets the UI thread finish work triggered
+ * by the last events.
+ * <br>
+ * Size of batches adapts to the event queue. It grows while batches are
+ * dispatched quickly and shrinks when the application is slow to process them.
+ * When posted events are not dispatched at all, e.g. because a native dialog
+ * has focus, the poster falls back to fixed delays for the rest of the events.
+ * Dispatching of the first batch is awaited only shortly and the focus control
+ * whose events were not dispatched is remembered, so following events posted
+ * to the same focus control use fixed delays without waiting for the first
+ * batch again. The focus control is forgotten once its events are dispatched.
+ *
+ * @since 2.0
+ */
+class KeyEventPoster {
+
+	static final int MIN_BATCH_SIZE = 2;
+	static final int MAX_BATCH_SIZE = 64;
+	static final long PROBE_TIMEOUT = 500;
+	static final long DISPATCH_TIMEOUT = 5000;
+	static final long TARGET_BATCH_TIME = 50;
+	static final int FALLBACK_DELAY = 200;
+
+	private static final Logger log = Logger.getLogger(KeyEventPoster.class);
+
+	// focus control whose key events were not dispatched, weak so disposed widgets are not held
+	private static WeakReference<Control> undispatchedTarget;
+	private static boolean undispatchedWithoutFocus;
+
+	private int batchSize = 8;
+
+	/**
+	 * Posts key events and waits until they are dispatched. Has to be called
+	 * outside of UI thread.
+	 *
+	 * @param events key events to post in order
+	 */
+	void post(List<Event> events) {
+		final DispatchCounter counter = new DispatchCounter();
+		final Control target = Display.syncExec(new ResultRunnable<Control>() {
+
+			@Override
+			public Control run() {
+				Display.getDisplay().addFilter(SWT.KeyDown, counter);
+				Display.getDisplay().addFilter(SWT.KeyUp, counter);
+				return Display.getDisplay().getFocusControl();
+			}
+		});
+		try {
+			boolean dispatchTracked = !isUndispatched(target);
+			if (!dispatchTracked) {
+				batchSize = MIN_BATCH_SIZE;
+			}
+			boolean dispatchConfirmed = false;
+			int posted = 0;
+			while (posted < events.size()) {
+				int end = Math.min(posted + batchSize, events.size());
+				long start = System.currentTimeMillis();
+				for (int i = posted; i < end; i++) {
+					Display.getDisplay().post(events.get(i));
+				}
+				posted = end;
+				long timeout = dispatchConfirmed ? DISPATCH_TIMEOUT : PROBE_TIMEOUT;
+				if (!dispatchTracked) {
+					delay(FALLBACK_DELAY);
+				} else if (counter.await(posted, timeout)) {
+					dispatchConfirmed = true;
+					adaptBatchSize(System.currentTimeMillis() - start);
+				} else {
+					log.debug("Posted key events were not dispatched in " + timeout
+							+ " ms, falling back to fixed delays");
+					dispatchTracked = false;
+					batchSize = MIN_BATCH_SIZE;
+					if (!dispatchConfirmed) {
+						setUndispatched(target);
+					}
+				}
+			}
+			if (!dispatchTracked && counter.await(events.size(), 0)) {
+				// events were dispatched late, the target is probed again next time
+				clearUndispatched(target);
+			}
+		} finally {
+			Display.syncExec(new Runnable() {
+
+				@Override
+				public void run() {
+					Display.getDisplay().removeFilter(SWT.KeyDown, counter);
+					Display.getDisplay().removeFilter(SWT.KeyUp, counter);
+				}
+			});
+		}
+	}
+
+	private static synchronized boolean isUndispatched(Control target) {
+		if (target == null) {
+			return undispatchedWithoutFocus;
+		}
+		return undispatchedTarget != null && undispatchedTarget.get() == target;
+	}
+
+	private static synchronized void setUndispatched(Control target) {
+		if (target == null) {
+			undispatchedWithoutFocus = true;
+		} else {
+			undispatchedTarget = new WeakReference<Control>(target);
+		}
+	}
+
+	private static synchronized void clearUndispatched(Control target) {
+		if (target == null) {
+			undispatchedWithoutFocus = false;
+		} else if (isUndispatched(target)) {
+			undispatchedTarget = null;
+		}
+	}
+
+	private void adaptBatchSize(long batchTime) {
+		if (batchTime < TARGET_BATCH_TIME) {
+			batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+		} else if (batchTime > TARGET_BATCH_TIME * 4) {
+			batchSize = Math.max(batchSize / 2, MIN_BATCH_SIZE);
+		}
+	}
+
+	private static void delay(int delay) {
+		try {
+			Thread.sleep(delay);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Display filter counting dispatched key events.
+	 */
+	private static class DispatchCounter implements Listener {
+
+		private int count;
+
+		@Override
+		public synchronized void handleEvent(Event event) {
+			count++;
+			notifyAll();
+		}
+
+		synchronized boolean await(int expected, long timeout) {
+			long deadline = System.currentTimeMillis() + timeout;
+			while (count < expected) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					return false;
+				}
+				try {
+					wait(remaining);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -10,6 +10,10 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.swt.keyboard;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Widget;
@@ -18,7 +22,8 @@ import org.jboss.reddeer.common.util.Display;
 import org.jboss.reddeer.core.lookup.WidgetLookup;
 
 /**
- * Class for operating with keyboard
+ * Class for operating with keyboard. Pace of posted key events is defined by
+ * {@link TypingSpeed}.
  * 
  * @author rhopp
  * 
@@ -30,6 +35,35 @@ abstract public class Keyboard {
 	
 	private static final int DELAY = 200;
 	
+	private final TypingSpeed typingSpeed;
+	
+	private final KeyEventPoster poster = new KeyEventPoster();
+	
+	/**
+	 * Creates keyboard with default typing speed.
+	 */
+	protected Keyboard() {
+		this(TypingSpeed.getDefault());
+	}
+	
+	/**
+	 * Creates keyboard with specified typing speed.
+	 *
+	 * @param typingSpeed typing speed
+	 */
+	protected Keyboard(TypingSpeed typingSpeed) {
+		this.typingSpeed = typingSpeed;
+	}
+	
+	/**
+	 * Gets typing speed of the keyboard.
+	 *
+	 * @return typing speed
+	 */
+	public TypingSpeed getTypingSpeed() {
+		return typingSpeed;
+	}
+	
 	/**
 	 * Invokes given key combination. Accepts chars or {@link org.eclipse.swt.SWT} constants. For example: invokeKeyCombination(SWT.CONTROL, SWT.SHIFT, 't');
 	 * 
@@ -42,6 +76,14 @@ abstract public class Keyboard {
 		log.info("Invoke key combination: ");
 		for (int i=0; i<keys.length; i++){
 			log.info("    As char:" + (char) keys[i] + ", as int:" + keys[i]);
+		}
+		if (isFast()) {
+			List<Event> events = new ArrayList<Event>();
+			addKeyCombination(events, keys, w);
+			poster.post(events);
+			return;
+		}
+		for (int i=0; i<keys.length; i++){
 			sync();
 			Display.getDisplay().post(keyEvent(keys[i], SWT.KeyDown, w));
 		}
@@ -60,6 +102,15 @@ abstract public class Keyboard {
 	
 	public void type(String text){
 		log.info("Type text \"" + text + "\"");
+		if (isFast()) {
+			Widget w = WidgetLookup.getInstance().getFocusControl();
+			List<Event> events = new ArrayList<Event>();
+			for (char c : text.toCharArray()) {
+				addKeyCombination(events, DefaultKeyboardLayout.getInstance().getKeyCombination(c), w);
+			}
+			poster.post(events);
+			return;
+		}
 		for (char c : text.toCharArray()) {
 			invokeKeyCombination(DefaultKeyboardLayout.getInstance().getKeyCombination(c));
 		}
@@ -104,6 +155,17 @@ abstract public class Keyboard {
 	
 	public void moveCursor(int shift, boolean toLeft){
 		log.info("Move cursor");
+		if (isFast()) {
+			Widget w = WidgetLookup.getInstance().getFocusControl();
+			int key = toLeft ? SWT.ARROW_LEFT : SWT.ARROW_RIGHT;
+			List<Event> events = new ArrayList<Event>();
+			for (int i=0; i<shift; i++){
+				events.add(keyEvent(key, SWT.KeyDown, w));
+				events.add(keyEvent(key, SWT.KeyUp, w));
+			}
+			poster.post(events);
+			return;
+		}
 		for (int i=0; i<shift; i++){
 			sync();
 			if (toLeft){
@@ -132,6 +194,10 @@ abstract public class Keyboard {
 	protected void press(final int key){
 		log.debug("Press character '" + (char) key + "', as int:" + key);
 		final Widget w = WidgetLookup.getInstance().getFocusControl();
+		if (isFast()) {
+			poster.post(Collections.singletonList(keyEvent(key, SWT.KeyDown, w)));
+			return;
+		}
 		sync();
 		Display.syncExec(new Runnable() {
 			
@@ -145,6 +211,10 @@ abstract public class Keyboard {
 	protected void release(final int key){
 		log.debug("Release character '" + (char) key + "', as int:" + key);
 		final Widget w = WidgetLookup.getInstance().getFocusControl();
+		if (isFast()) {
+			poster.post(Collections.singletonList(keyEvent(key, SWT.KeyUp, w)));
+			return;
+		}
 		Display.syncExec(new Runnable() {
 			
 			@Override
@@ -155,6 +225,23 @@ abstract public class Keyboard {
 		sync();
 	}
 	
+	/**
+	 * Returns whether key events are posted in batches. Batches cannot be awaited
+	 * in UI thread since posted events are dispatched by the UI thread.
+	 */
+	private boolean isFast() {
+		return typingSpeed == TypingSpeed.FAST && !Display.isUIThread();
+	}
+	
+	private void addKeyCombination(List<Event> events, int[] keys, Widget w) {
+		for (int i=0; i<keys.length; i++){
+			events.add(keyEvent(keys[i], SWT.KeyDown, w));
+		}
+		for (int i=keys.length-1; i>=0; i--){
+			events.add(keyEvent(keys[i], SWT.KeyUp, w));
+		}
+	}
+	
 	private Event keyEvent(int key, int eventType, Widget w){
 		Event e = new Event();
 		e.keyCode = key;
@@ -24,15 +24,26 @@ import org.jboss.reddeer.swt.keyboard.internal.MacKeyboard;
 public class KeyboardFactory {
 
 	/**
-	 * Gets the keyboard.
+	 * Gets the keyboard with typing speed defined by system property
+	 * {@link org.jboss.reddeer.common.properties.RedDeerProperties#TYPING_SPEED}.
 	 *
 	 * @return the keyboard
 	 */
 	public static Keyboard getKeyboard() {
+		return getKeyboard(TypingSpeed.getDefault());
+	}
+
+	/**
+	 * Gets the keyboard with specified typing speed.
+	 *
+	 * @param typingSpeed typing speed
+	 * @return the keyboard
+	 */
+	public static Keyboard getKeyboard(TypingSpeed typingSpeed) {
 		if (RunningPlatform.isOSX()) {
-			return new MacKeyboard();
+			return new MacKeyboard(typingSpeed);
 		} else {
-			return new DefaultKeyboard();
+			return new DefaultKeyboard(typingSpeed);
 		}
 	}
 
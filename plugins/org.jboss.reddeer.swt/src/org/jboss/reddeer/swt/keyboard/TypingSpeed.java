@@ -0,0 +1,46 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.keyboard;
+
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+
+/**
+ * Pace of key events posted by {@link Keyboard}.
+ *
+ * @since 2.0
+ */
+public enum TypingSpeed {
+
+	/**
+	 * Each key event is preceded by a fixed delay of 200 ms. This is the default
+	 * typing speed.
+	 */
+	LEGACY,
+
+	/**
+	 * Key events are posted in batches, after each batch keyboard waits until
+	 * all posted events are dispatched. Size of batches adapts to the time the
+	 * application needs to process them. Fast typing has to be chosen explicitly,
+	 * either by {@link KeyboardFactory#getKeyboard(TypingSpeed)} or by system
+	 * property {@link RedDeerProperties#TYPING_SPEED} set to "fast".
+	 */
+	FAST;
+
+	/**
+	 * Gets typing speed defined by system property
+	 * {@link RedDeerProperties#TYPING_SPEED}.
+	 *
+	 * @return default typing speed
+	 */
+	public static TypingSpeed getDefault() {
+		return "fast".equals(RedDeerProperties.TYPING_SPEED.getValue()) ? FAST : LEGACY;
+	}
+}
@@ -13,6 +13,7 @@ package org.jboss.reddeer.swt.keyboard.internal;
 import org.eclipse.swt.SWT;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.swt.keyboard.Keyboard;
+import org.jboss.reddeer.swt.keyboard.TypingSpeed;
 
 /**
  * Keyboard implementation for non MacOS specific behavior.
@@ -23,6 +24,22 @@ import org.jboss.reddeer.swt.keyboard.Keyboard;
 public class DefaultKeyboard extends Keyboard {
 	private static final Logger log = Logger.getLogger(DefaultKeyboard.class);
 	
+	/**
+	 * Creates keyboard with default typing speed.
+	 */
+	public DefaultKeyboard() {
+		super();
+	}
+	
+	/**
+	 * Creates keyboard with specified typing speed.
+	 *
+	 * @param typingSpeed typing speed
+	 */
+	public DefaultKeyboard(TypingSpeed typingSpeed) {
+		super(typingSpeed);
+	}
+	
 	public void writeToClipboard(boolean cut) {
 
 		log.info("Write to clipboard");
@@ -13,6 +13,7 @@ package org.jboss.reddeer.swt.keyboard.internal;
 import org.eclipse.swt.SWT;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.swt.keyboard.Keyboard;
+import org.jboss.reddeer.swt.keyboard.TypingSpeed;
 
 /**
  * Keyboard implementation for MacOS specific behavior.
@@ -24,6 +25,22 @@ import org.jboss.reddeer.swt.keyboard.Keyboard;
 public class MacKeyboard extends Keyboard {
 	private static final Logger log = Logger.getLogger(MacKeyboard.class);
 	
+	/**
+	 * Creates keyboard with default typing speed.
+	 */
+	public MacKeyboard() {
+		super();
+	}
+	
+	/**
+	 * Creates keyboard with specified typing speed.
+	 *
+	 * @param typingSpeed typing speed
+	 */
+	public MacKeyboard(TypingSpeed typingSpeed) {
+		super(typingSpeed);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.swt.keyboard.Keyboard#writeToClipboard(boolean)
 	 */
@@ -10,26 +10,41 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.workbench.core.condition;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.Matcher;
 import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.common.condition.EventAwareWaitCondition;
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.wait.WaitNotifier;
 
 /**
  * Condition is met when there is/are running non-system job(s).
- * List of jobs can be filtered using matchers.
+ * List of jobs can be filtered using matchers. Live jobs are taken from
+ * {@link JobTracker} and results of matchers are cached per job name.
+ * <br>
+ * Optionally, the condition is met until no considered job has been running
+ * for a quiet period, so gaps between consecutive jobs do not release waits.
+ * Waits are notified when the quiet period elapses, they do not poll for it.
  * 
  * @author Lucia Jelinkova
  */
 @SuppressWarnings("rawtypes")
-public class JobIsRunning extends AbstractWaitCondition {
+public class JobIsRunning extends AbstractWaitCondition implements EventAwareWaitCondition {
 	private static final Logger log = Logger.getLogger(JobIsRunning.class);
 
 	private Matcher[] consideredJobs;
 	private Matcher[] excludeJobs;
 	private boolean skipSystemJobs;
-	private Job[] currentJobs;
+	private long quietPeriod;
+	private final Map<String, Boolean> consideredJobNames = new ConcurrentHashMap<String, Boolean>();
+	private IJobChangeListener jobChangeListener;
 
 	/**
 	 * Constructs JobIsRunning wait condition. Condition is met when job is running.
@@ -113,45 +128,159 @@ public class JobIsRunning extends AbstractWaitCondition {
 	 * @param skipSystemJobs If true then all system jobs are skipped.
 	 */
 	public JobIsRunning(Matcher[] consideredJobs, Matcher[] excludeJobs, boolean skipSystemJobs) {
+		this(consideredJobs, excludeJobs, skipSystemJobs, 0);
+	}
+
+	/**
+	 * Constructs JobIsRunning wait condition. Condition is met when job(s) is/are running
+	 * or when the last of them finished less than specified quiet period ago.
+	 * Test only jobs matching the specified matchers which are not excluded by 
+	 * another specified matchers.
+	 * 
+	 * @param consideredJobs If not <code>null</code>, only jobs whose name matches
+	 * any of these matchers will be tested.
+	 * @param excludeJobs If not <code>null</code>, jobs whose name matches any of
+	 * these matcher will be ignored. These matchers will overrule <code>consideredJobs</code> results.
+	 * @param skipSystemJobs If true then all system jobs are skipped.
+	 * @param quietPeriod time in milliseconds no considered job has to be running
+	 * for the condition not to be met
+	 */
+	public JobIsRunning(Matcher[] consideredJobs, Matcher[] excludeJobs, boolean skipSystemJobs, long quietPeriod) {
 		this.consideredJobs = consideredJobs;
 		this.excludeJobs = excludeJobs;
 		this.skipSystemJobs = skipSystemJobs;
+		this.quietPeriod = quietPeriod;
 	}
 
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.common.condition.WaitCondition#test()
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public boolean test() {
-		currentJobs = Job.getJobManager().find(null);
-		for (Job job: currentJobs) {
-			if (excludeJobs != null && CoreMatchers.anyOf(excludeJobs).matches(job.getName())) {
-				log.debug("  job '%s' specified by excludeJobs matchers, skipped", job.getName());
-				continue;
+		for (Job job: JobTracker.getInstance().getLiveJobs()) {
+			if (isRunning(job)) {
+				/* there's no reason why this one should be ignored, lets wait... */
+				log.debug("  job '%s' has no excuses, wait for it", job.getName());
+				return true;
+			}
+		}
+		if (quietPeriod > 0) {
+			long quietTime = getQuietTime();
+			if (quietTime < quietPeriod) {
+				log.debug("  considered job finished %d ms ago, wait for quiet period", quietTime);
+				return true;
 			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds out whether specified job is considered and it is not sleeping.
+	 */
+	private boolean isRunning(Job job) {
+		if (!isConsidered(job.getName())) {
+			return false;
+		}
+		if (skipSystemJobs && job.isSystem()) { 
+			log.debug("  job '%s' is a system job, skipped", job.getName());
+			return false;
+		}
+		if (job.getState() == Job.SLEEPING || job.getState() == Job.NONE) {
+			log.debug("  job '%s' is not running, skipped", job.getName());
+			return false;
+		}
+		return true;
+	}
 
-			if (consideredJobs != null && !CoreMatchers.anyOf(consideredJobs).matches(job.getName())) {
-				log.debug("  job '%s' is not listed in considered jobs, ignore it", job.getName());
-				continue;
+	/**
+	 * Finds out whether job with specified name is considered. Results are cached
+	 * per job name so matchers are applied only once for each job name.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean isConsidered(String jobName) {
+		if (jobName == null) {
+			jobName = "";
+		}
+		Boolean considered = consideredJobNames.get(jobName);
+		if (considered == null) {
+			if (excludeJobs != null && CoreMatchers.anyOf(excludeJobs).matches(jobName)) {
+				log.debug("  job '%s' specified by excludeJobs matchers, skipped", jobName);
+				considered = false;
+			} else if (consideredJobs != null && !CoreMatchers.anyOf(consideredJobs).matches(jobName)) {
+				log.debug("  job '%s' is not listed in considered jobs, ignore it", jobName);
+				considered = false;
+			} else {
+				considered = true;
 			}
+			consideredJobNames.put(jobName, considered);
+		}
+		return considered;
+	}
 
-			if (skipSystemJobs && job.isSystem()) { 
-				log.debug("  job '%s' is a system job, skipped", job.getName());
-				continue;
+	/**
+	 * Gets time since the last considered job finished.
+	 */
+	private long getQuietTime() {
+		long lastFinished = 0;
+		for (JobTracker.JobStatistics statistics : JobTracker.getInstance().getStatistics()) {
+			if (isConsidered(statistics.getName())) {
+				lastFinished = Math.max(lastFinished, statistics.getLastFinished());
 			}
-			
-			if (job.getState() == Job.SLEEPING) {
-				log.debug("  job '%s' is not running, skipped", job.getName());
-				continue;
+		}
+		return System.currentTimeMillis() - lastFinished;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventAwareWaitCondition#registerListeners(org.jboss.reddeer.common.wait.WaitNotifier)
+	 */
+	@Override
+	public void registerListeners(final WaitNotifier notifier) {
+		jobChangeListener = new JobChangeAdapter() {
+
+			@Override
+			public void scheduled(IJobChangeEvent event) {
+				notifyWait(event);
 			}
 
-			/* there's no reason why this one should be ignored, lets wait... */
-			log.debug("  job '%s' has no excuses, wait for it", job.getName());
-			return true;
-		}
+			@Override
+			public void running(IJobChangeEvent event) {
+				notifyWait(event);
+			}
 
-		return false;
+			@Override
+			public void sleeping(IJobChangeEvent event) {
+				notifyWait(event);
+			}
+
+			@Override
+			public void done(IJobChangeEvent event) {
+				if (notifyWait(event) && quietPeriod > 0) {
+					JobTracker.getInstance().notifyAfter(notifier, quietPeriod);
+				}
+			}
+
+			private boolean notifyWait(IJobChangeEvent event) {
+				if (isConsidered(event.getJob().getName())) {
+					notifier.notifyWait();
+					return true;
+				}
+				return false;
+			}
+		};
+		// tracker has to listen before this listener so live jobs are up to date when notified
+		JobTracker.getInstance();
+		Job.getJobManager().addJobChangeListener(jobChangeListener);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventAwareWaitCondition#unregisterListeners()
+	 */
+	@Override
+	public void unregisterListeners() {
+		if (jobChangeListener != null) {
+			Job.getJobManager().removeJobChangeListener(jobChangeListener);
+			jobChangeListener = null;
+		}
 	}
 
 	/* (non-Javadoc)
@@ -183,19 +312,14 @@ public class JobIsRunning extends AbstractWaitCondition {
 	 * 
 	 * @param messageStart start of the error message with job list
 	 */
-	@SuppressWarnings("unchecked")
 	private String createErrorMesssageWithJobsList(String messageStart){
 		StringBuilder msg = new StringBuilder(messageStart);
-		for (Job job: currentJobs) {
-			if (excludeJobs != null && CoreMatchers.anyOf(excludeJobs).matches(job.getName()))
-				continue;
-			if (consideredJobs != null && !CoreMatchers.anyOf(consideredJobs).matches(job.getName()))
-				continue;
-			if (skipSystemJobs && job.isSystem()) 
-				continue;
-			if (job.getState() == Job.SLEEPING)
-				continue;
-			msg.append("\t").append(job.getName()).append("\n");
+		JobTracker tracker = JobTracker.getInstance();
+		for (Job job: tracker.getLiveJobs()) {
+			if (isRunning(job)) {
+				msg.append("\t").append(job.getName()).append(" (").append(tracker.getLiveTime(job))
+						.append(" ms)\n");
+			}
 		}
 		return msg.toString();
 	}
@@ -0,0 +1,283 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.workbench.core.condition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.wait.WaitNotifier;
+
+/**
+ * Job tracker keeps set of live (scheduled, waiting, sleeping or running) jobs
+ * up to date via job change listener, so live jobs do not have to be looked up
+ * in job manager each time they are tested. It also collects timing statistics
+ * of finished jobs per job name.
+ *
+ * @since 2.0
+ */
+public class JobTracker {
+
+	private static final Logger log = Logger.getLogger(JobTracker.class);
+
+	private static JobTracker instance;
+
+	private final Map<Job, Long> liveJobs = new ConcurrentHashMap<Job, Long>();
+
+	private final Map<String, JobStatistics> statistics = new HashMap<String, JobStatistics>();
+
+	private Timer timer;
+
+	private JobTracker() {
+		Job.getJobManager().addJobChangeListener(new JobChangeAdapter() {
+
+			@Override
+			public void scheduled(IJobChangeEvent event) {
+				liveJobs.put(event.getJob(), System.currentTimeMillis());
+			}
+
+			@Override
+			public void running(IJobChangeEvent event) {
+				liveJobs.put(event.getJob(), System.currentTimeMillis());
+			}
+
+			@Override
+			public void done(IJobChangeEvent event) {
+				Long start = liveJobs.remove(event.getJob());
+				jobFinished(event.getJob(), start);
+			}
+		});
+		// seed after listener is added so no job is missed, stale jobs are removed
+		// when they are found finished
+		for (Job job : Job.getJobManager().find(null)) {
+			if (!liveJobs.containsKey(job)) {
+				liveJobs.put(job, System.currentTimeMillis());
+			}
+		}
+	}
+
+	/**
+	 * Gets instance of JobTracker, the tracker starts tracking jobs when the
+	 * instance is created.
+	 *
+	 * @return JobTracker instance
+	 */
+	public static synchronized JobTracker getInstance() {
+		if (instance == null) {
+			instance = new JobTracker();
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets live jobs, i.e. jobs which are scheduled, waiting, sleeping or
+	 * running.
+	 *
+	 * @return live jobs
+	 */
+	public List<Job> getLiveJobs() {
+		List<Job> jobs = new ArrayList<Job>(liveJobs.size());
+		for (Job job : liveJobs.keySet()) {
+			if (job.getState() == Job.NONE) {
+				liveJobs.remove(job);
+			} else {
+				jobs.add(job);
+			}
+		}
+		return jobs;
+	}
+
+	/**
+	 * Gets time in milliseconds since live job was scheduled or started
+	 * running.
+	 *
+	 * @param job live job
+	 * @return time in milliseconds or -1 if job is not live
+	 */
+	public long getLiveTime(Job job) {
+		Long start = liveJobs.get(job);
+		return start == null ? -1 : System.currentTimeMillis() - start;
+	}
+
+	/**
+	 * Gets statistics of finished jobs ordered by their total running time.
+	 *
+	 * @return statistics of finished jobs, the longest first
+	 */
+	public List<JobStatistics> getStatistics() {
+		List<JobStatistics> result;
+		synchronized (statistics) {
+			result = new ArrayList<JobStatistics>();
+			for (JobStatistics jobStatistics : statistics.values()) {
+				result.add(jobStatistics.copy());
+			}
+		}
+		Collections.sort(result, new Comparator<JobStatistics>() {
+
+			@Override
+			public int compare(JobStatistics first, JobStatistics second) {
+				return Long.compare(second.getTotalTime(), first.getTotalTime());
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Gets statistics of finished jobs with specified name.
+	 *
+	 * @param jobName name of job
+	 * @return statistics of jobs or null if no job with the name finished yet
+	 */
+	public JobStatistics getStatistics(String jobName) {
+		synchronized (statistics) {
+			JobStatistics jobStatistics = statistics.get(jobName);
+			return jobStatistics == null ? null : jobStatistics.copy();
+		}
+	}
+
+	/**
+	 * Logs statistics of jobs with the longest total running time.
+	 *
+	 * @param limit maximal count of logged jobs
+	 */
+	public void logStatistics(int limit) {
+		List<JobStatistics> jobs = getStatistics();
+		StringBuilder report = new StringBuilder("Jobs with the longest running time:");
+		for (JobStatistics jobStatistics : jobs.subList(0, Math.min(limit, jobs.size()))) {
+			report.append("\n\t").append(jobStatistics);
+		}
+		log.info(report.toString());
+	}
+
+	/**
+	 * Notifies specified notifier after specified delay.
+	 *
+	 * @param notifier notifier to notify
+	 * @param delay delay in milliseconds
+	 */
+	public synchronized void notifyAfter(final WaitNotifier notifier, long delay) {
+		if (timer == null) {
+			timer = new Timer("RedDeer job tracker", true);
+		}
+		timer.schedule(new TimerTask() {
+
+			@Override
+			public void run() {
+				notifier.notifyWait();
+			}
+		}, delay);
+	}
+
+	private void jobFinished(Job job, Long start) {
+		long now = System.currentTimeMillis();
+		synchronized (statistics) {
+			JobStatistics jobStatistics = statistics.get(job.getName());
+			if (jobStatistics == null) {
+				jobStatistics = new JobStatistics(job.getName());
+				statistics.put(job.getName(), jobStatistics);
+			}
+			jobStatistics.add(start == null ? 0 : now - start, now);
+		}
+	}
+
+	/**
+	 * Timing statistics of finished jobs with the same name.
+	 */
+	public static class JobStatistics {
+
+		private final String name;
+		private int count;
+		private long totalTime;
+		private long maxTime;
+		private long lastFinished;
+
+		private JobStatistics(String name) {
+			this.name = name;
+		}
+
+		private void add(long time, long finished) {
+			count++;
+			totalTime += time;
+			maxTime = Math.max(maxTime, time);
+			lastFinished = finished;
+		}
+
+		private JobStatistics copy() {
+			JobStatistics copy = new JobStatistics(name);
+			copy.count = count;
+			copy.totalTime = totalTime;
+			copy.maxTime = maxTime;
+			copy.lastFinished = lastFinished;
+			return copy;
+		}
+
+		/**
+		 * Gets name of jobs.
+		 *
+		 * @return name of jobs
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Gets count of finished jobs.
+		 *
+		 * @return count of finished jobs
+		 */
+		public int getCount() {
+			return count;
+		}
+
+		/**
+		 * Gets total running time of jobs, time of jobs which were canceled before
+		 * they started is measured from their scheduling.
+		 *
+		 * @return total time in milliseconds
+		 */
+		public long getTotalTime() {
+			return totalTime;
+		}
+
+		/**
+		 * Gets maximal time of a job.
+		 *
+		 * @return maximal time in milliseconds
+		 */
+		public long getMaxTime() {
+			return maxTime;
+		}
+
+		/**
+		 * Gets time when the last job finished.
+		 *
+		 * @return time in milliseconds since epoch
+		 */
+		public long getLastFinished() {
+			return lastFinished;
+		}
+
+		@Override
+		public String toString() {
+			return name + ": " + count + " run(s), total " + totalTime + " ms, max " + maxTime + " ms";
+		}
+	}
+}
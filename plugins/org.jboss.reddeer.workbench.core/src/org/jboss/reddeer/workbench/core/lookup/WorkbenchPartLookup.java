@@ -13,6 +13,7 @@ package org.jboss.reddeer.workbench.core.lookup;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.swt.widgets.Control;
@@ -32,7 +33,8 @@ import org.jboss.reddeer.common.util.ResultRunnable;
 
 /**
  * Workbench part lookup contains methods for looking up specific workbench part
- * (mostly views).
+ * (mostly views). Parts are looked up in {@link WorkbenchPartRegistry} without
+ * UI round trip if the registry is installed.
  * 
  * @author rawagner
  *
@@ -44,6 +46,8 @@ public class WorkbenchPartLookup {
 
 	private static WorkbenchPartLookup instance;
 
+	private volatile WorkbenchPartRegistry registry;
+
 	private WorkbenchPartLookup() {
 
 	}
@@ -66,6 +70,10 @@ public class WorkbenchPartLookup {
 	 * @return active workbench part
 	 */
 	public IWorkbenchPart getActiveWorkbenchPart() {
+		WorkbenchPartRegistry registry = getRegistry();
+		if (registry != null) {
+			return registry.getActivePart();
+		}
 		return Display.syncExec(new ResultRunnable<IWorkbenchPart>() {
 
 			@Override
@@ -83,6 +91,10 @@ public class WorkbenchPartLookup {
 	 * @return active workbench part reference
 	 */
 	public IWorkbenchPartReference findActiveWorkbenchPartReference() {
+		WorkbenchPartRegistry registry = getRegistry();
+		if (registry != null) {
+			return registry.getActivePartReference();
+		}
 		return Display.syncExec(new ResultRunnable<IWorkbenchPartReference>() {
 
 			@Override
@@ -102,6 +114,10 @@ public class WorkbenchPartLookup {
 	 *             https://bugs.eclipse.org/bugs/show_bug.cgi?id=468948
 	 */
 	public List<IViewPart> getOpenViews() {
+		WorkbenchPartRegistry registry = getRegistry();
+		if (registry != null) {
+			return registry.getOpenViews();
+		}
 		return Display.syncExec(new ResultRunnable<List<IViewPart>>() {
 
 			@Override
@@ -142,6 +158,10 @@ public class WorkbenchPartLookup {
 	 * @return array of all view references
 	 */
 	public IViewReference[] findAllViewReferences() {
+		WorkbenchPartRegistry registry = getRegistry();
+		if (registry != null) {
+			return registry.getViewReferences();
+		}
 		return Display.syncExec(new ResultRunnable<IViewReference[]>() {
 
 			@Override
@@ -160,6 +180,11 @@ public class WorkbenchPartLookup {
 	 *             https://bugs.eclipse.org/bugs/show_bug.cgi?id=468948
 	 */
 	public IViewReference getActiveView() {
+		WorkbenchPartRegistry registry = getRegistry();
+		if (registry != null) {
+			IWorkbenchPartReference activeWorkbenchPart = registry.getActivePartReference();
+			return activeWorkbenchPart instanceof IViewReference ? (IViewReference) activeWorkbenchPart : null;
+		}
 		return Display.syncExec(new ResultRunnable<IViewReference>() {
 			public IViewReference run() {
 				IWorkbenchPartReference activeWorkbenchPart = findActiveWorkbenchPartReference();
@@ -181,6 +206,21 @@ public class WorkbenchPartLookup {
 	 *             https://bugs.eclipse.org/bugs/show_bug.cgi?id=468948
 	 */
 	public IViewPart getViewByTitle(final Matcher<String> name) {
+		WorkbenchPartRegistry registry = getRegistry();
+		if (registry != null) {
+			Map<IViewPart, String> views = registry.getOpenViewNames();
+			for (Map.Entry<IViewPart, String> view : views.entrySet()) {
+				if (name.matches(view.getValue())) {
+					return view.getKey();
+				}
+			}
+			log.debug("View matching '" + name + "' not found");
+			log.debug("List of found views:");
+			for (String viewName : views.values()) {
+				log.debug("\t'" + viewName + "'");
+			}
+			return null;
+		}
 		return Display.syncExec(new ResultRunnable<IViewPart>() {
 
 			@Override
@@ -215,6 +255,11 @@ public class WorkbenchPartLookup {
 	 * @return workbench control associated to active workbench
 	 */
 	public Control getWorkbenchControl(final IWorkbenchPartReference activeWorkbenchReference) {
+		WorkbenchPartRegistry registry = getRegistry();
+		if (registry != null && activeWorkbenchReference != null
+				&& activeWorkbenchReference == registry.getActivePartReference()) {
+			return registry.getActivePartControl();
+		}
 		return Display.syncExec(new ResultRunnable<Control>() {
 
 			@Override
@@ -230,6 +275,10 @@ public class WorkbenchPartLookup {
 	 * @return the shell for active workbench
 	 */
 	public Shell getShellForActiveWorkbench() {
+		WorkbenchPartRegistry registry = getRegistry();
+		if (registry != null) {
+			return registry.getActivePartShell();
+		}
 		IWorkbenchPartReference workbenchReference = findActiveWorkbenchPartReference();
 		if (workbenchReference == null) {
 			return null;
@@ -245,7 +294,16 @@ public class WorkbenchPartLookup {
 		return wSite.getShell();
 	}
 
+	/**
+	 * Gets title of active workbench part.
+	 *
+	 * @return title of active workbench part or null
+	 */
 	public String getActiveWorkbenchPartTitle() {
+		WorkbenchPartRegistry registry = getRegistry();
+		if (registry != null) {
+			return registry.getActivePartTitle();
+		}
 		final IWorkbenchPartReference part = findActiveWorkbenchPartReference();
 		if (part != null) {
 			return Display.syncExec(new ResultRunnable<String>() {
@@ -258,7 +316,16 @@ public class WorkbenchPartLookup {
 		return null;
 	}
 	
+	/**
+	 * Gets control of active workbench part.
+	 *
+	 * @return control of active workbench part or null
+	 */
 	public Control getActiveWorkbenchPartControl(){
+		WorkbenchPartRegistry registry = getRegistry();
+		if (registry != null) {
+			return registry.getActivePartControl();
+		}
 		final IWorkbenchPartReference part = findActiveWorkbenchPartReference();
 		if (part != null) {
 			return getWorkbenchControl(part);
@@ -273,13 +340,23 @@ public class WorkbenchPartLookup {
 	 * @return active workbench part reference
 	 */
 	public IWorkbenchPartReference getActiveWorkbenchPartReference() {
-		return Display.syncExec(new ResultRunnable<IWorkbenchPartReference>() {
+		return findActiveWorkbenchPartReference();
+	}
 
-			@Override
-			public IWorkbenchPartReference run() {
-				return PlatformUI.getWorkbench().getActiveWorkbenchWindow()
-						.getActivePage().getActivePartReference();
+	/**
+	 * Gets installed workbench part registry.
+	 *
+	 * @return workbench part registry or null if it is not installed
+	 */
+	private WorkbenchPartRegistry getRegistry() {
+		WorkbenchPartRegistry current = registry;
+		if (current == null) {
+			current = WorkbenchPartRegistry.getInstance();
+			if (!current.isInstalled()) {
+				return null;
 			}
-		});
+			registry = current;
+		}
+		return current;
 	}
 }
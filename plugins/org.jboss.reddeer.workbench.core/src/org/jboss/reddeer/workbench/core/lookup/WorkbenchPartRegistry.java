@@ -0,0 +1,468 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.workbench.core.lookup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IPageListener;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IPerspectiveDescriptor;
+import org.eclipse.ui.IPerspectiveListener;
+import org.eclipse.ui.IPropertyListener;
+import org.eclipse.ui.IViewPart;
+import org.eclipse.ui.IViewReference;
+import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.IWorkbenchPartConstants;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.IWorkbenchSite;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.WorkbenchPartReference;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.common.util.Display;
+
+/**
+ * Registry of workbench parts of active workbench page. The registry listens to
+ * window, page, perspective and part events and after each of them it replaces
+ * its snapshot of views, editors, active part and its control. Snapshots are
+ * immutable, so they can be read from any thread without UI round trip.
+ * <br>
+ * The registry is installed when it is used for the first time and workbench
+ * is running. It can be turned off by system property
+ * {@link RedDeerProperties#WORKBENCH_PART_REGISTRY}.
+ *
+ * @since 2.0
+ */
+@SuppressWarnings("restriction")
+public class WorkbenchPartRegistry {
+
+	private static final Logger log = Logger.getLogger(WorkbenchPartRegistry.class);
+
+	private static WorkbenchPartRegistry instance;
+
+	private final Listener listener = new Listener();
+
+	private volatile Snapshot snapshot;
+
+	private IWorkbenchWindow window;
+
+	private boolean installed;
+
+	private WorkbenchPartRegistry() {
+
+	}
+
+	/**
+	 * Gets instance of WorkbenchPartRegistry. The registry is installed if
+	 * workbench is running and it has not been installed yet.
+	 *
+	 * @return WorkbenchPartRegistry instance
+	 */
+	public static synchronized WorkbenchPartRegistry getInstance() {
+		if (instance == null) {
+			instance = new WorkbenchPartRegistry();
+		}
+		if (!instance.installed && RedDeerProperties.WORKBENCH_PART_REGISTRY.getBooleanValue()
+				&& PlatformUI.isWorkbenchRunning()) {
+			instance.install();
+		}
+		return instance;
+	}
+
+	/**
+	 * Finds out whether the registry is installed and it keeps track of
+	 * workbench parts.
+	 *
+	 * @return true if the registry is installed, false otherwise
+	 */
+	public boolean isInstalled() {
+		return snapshot != null;
+	}
+
+	/**
+	 * Gets active workbench part reference of active workbench page.
+	 *
+	 * @return active part reference or null
+	 */
+	public IWorkbenchPartReference getActivePartReference() {
+		return getSnapshot().activeReference;
+	}
+
+	/**
+	 * Gets active workbench part of active workbench page.
+	 *
+	 * @return active part or null
+	 */
+	public IWorkbenchPart getActivePart() {
+		return getSnapshot().activePart;
+	}
+
+	/**
+	 * Gets title of active workbench part.
+	 *
+	 * @return title of active part or null
+	 */
+	public String getActivePartTitle() {
+		return getSnapshot().activeTitle;
+	}
+
+	/**
+	 * Gets control of active workbench part.
+	 *
+	 * @return control of active part or null
+	 */
+	public Control getActivePartControl() {
+		return getSnapshot().activeControl;
+	}
+
+	/**
+	 * Gets shell of active workbench part.
+	 *
+	 * @return shell of active part or null
+	 */
+	public Shell getActivePartShell() {
+		return getSnapshot().activeShell;
+	}
+
+	/**
+	 * Gets view references of active workbench page.
+	 *
+	 * @return view references
+	 */
+	public IViewReference[] getViewReferences() {
+		return getSnapshot().viewReferences.clone();
+	}
+
+	/**
+	 * Gets editor references of active workbench page.
+	 *
+	 * @return editor references
+	 */
+	public IEditorReference[] getEditorReferences() {
+		return getSnapshot().editorReferences.clone();
+	}
+
+	/**
+	 * Gets open views of active workbench page including views on non-active
+	 * tabs.
+	 *
+	 * @return open views
+	 */
+	public List<IViewPart> getOpenViews() {
+		return new ArrayList<IViewPart>(getSnapshot().openViews.keySet());
+	}
+
+	/**
+	 * Gets registered names of open views of active workbench page.
+	 *
+	 * @return map of open views to their registered names
+	 */
+	public Map<IViewPart, String> getOpenViewNames() {
+		return getSnapshot().openViews;
+	}
+
+	/**
+	 * Gets views and editors of active workbench page with specified id.
+	 *
+	 * @param id id of part
+	 * @return part references with the id
+	 */
+	public List<IWorkbenchPartReference> getPartReferencesById(String id) {
+		return get(getSnapshot().referencesById, id);
+	}
+
+	/**
+	 * Gets views and editors of active workbench page with specified title.
+	 *
+	 * @param title title of part
+	 * @return part references with the title
+	 */
+	public List<IWorkbenchPartReference> getPartReferencesByTitle(String title) {
+		return get(getSnapshot().referencesByTitle, title);
+	}
+
+	private static List<IWorkbenchPartReference> get(Map<String, List<IWorkbenchPartReference>> index, String key) {
+		List<IWorkbenchPartReference> references = index.get(key);
+		return references == null ? Collections.<IWorkbenchPartReference>emptyList()
+				: Collections.unmodifiableList(references);
+	}
+
+	private Snapshot getSnapshot() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			throw new IllegalStateException("Workbench part registry is not installed");
+		}
+		return current;
+	}
+
+	private void install() {
+		installed = true;
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				IWorkbench workbench = PlatformUI.getWorkbench();
+				workbench.addWindowListener(listener);
+				for (IWorkbenchWindow workbenchWindow : workbench.getWorkbenchWindows()) {
+					listener.windowOpened(workbenchWindow);
+				}
+				window = workbench.getActiveWorkbenchWindow();
+				update();
+			}
+		});
+		log.debug("Workbench part registry installed");
+	}
+
+	/**
+	 * Replaces the snapshot, it has to be called in UI thread.
+	 */
+	private void update() {
+		IWorkbenchWindow activeWindow = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+		if (activeWindow != null) {
+			window = activeWindow;
+		}
+		IWorkbenchPage page = window == null ? null : window.getActivePage();
+		snapshot = page == null ? Snapshot.EMPTY : new Snapshot(page);
+	}
+
+	/**
+	 * Immutable state of active workbench page.
+	 */
+	private static class Snapshot {
+
+		private static final Snapshot EMPTY = new Snapshot();
+
+		private final IWorkbenchPartReference activeReference;
+		private final IWorkbenchPart activePart;
+		private final String activeTitle;
+		private final Control activeControl;
+		private final Shell activeShell;
+		private final IViewReference[] viewReferences;
+		private final IEditorReference[] editorReferences;
+		private final Map<IViewPart, String> openViews;
+		private final Map<String, List<IWorkbenchPartReference>> referencesById;
+		private final Map<String, List<IWorkbenchPartReference>> referencesByTitle;
+
+		private Snapshot() {
+			activeReference = null;
+			activePart = null;
+			activeTitle = null;
+			activeControl = null;
+			activeShell = null;
+			viewReferences = new IViewReference[0];
+			editorReferences = new IEditorReference[0];
+			openViews = Collections.emptyMap();
+			referencesById = Collections.emptyMap();
+			referencesByTitle = Collections.emptyMap();
+		}
+
+		private Snapshot(IWorkbenchPage page) {
+			activeReference = page.getActivePartReference();
+			activePart = activeReference == null ? null : activeReference.getPart(false);
+			activeTitle = activeReference == null ? null : activeReference.getTitle();
+			activeControl = activeReference instanceof WorkbenchPartReference
+					? ((WorkbenchPartReference) activeReference).getPane().getControl() : null;
+			IWorkbenchSite site = activePart == null ? null : activePart.getSite();
+			activeShell = site == null ? null : site.getShell();
+			viewReferences = page.getViewReferences();
+			editorReferences = page.getEditorReferences();
+			openViews = Collections.unmodifiableMap(findOpenViews(page, viewReferences));
+			Map<String, List<IWorkbenchPartReference>> byId = new HashMap<String, List<IWorkbenchPartReference>>();
+			Map<String, List<IWorkbenchPartReference>> byTitle = new HashMap<String, List<IWorkbenchPartReference>>();
+			for (IWorkbenchPartReference reference : viewReferences) {
+				index(byId, reference.getId(), reference);
+				index(byTitle, reference.getTitle(), reference);
+			}
+			for (IWorkbenchPartReference reference : editorReferences) {
+				index(byId, reference.getId(), reference);
+				index(byTitle, reference.getTitle(), reference);
+			}
+			referencesById = byId;
+			referencesByTitle = byTitle;
+		}
+
+		/**
+		 * Finds views including views stacked on non-active tabs. It is a
+		 * workaround of https://bugs.eclipse.org/bugs/show_bug.cgi?id=468948,
+		 * page.getViewReferences() should be used.
+		 */
+		private static Map<IViewPart, String> findOpenViews(IWorkbenchPage page, IViewReference[] viewReferences) {
+			Set<IViewPart> views = new LinkedHashSet<IViewPart>();
+			for (IViewReference viewReference : viewReferences) {
+				IViewPart view = viewReference.getView(false);
+				if (view == null) {
+					continue;
+				}
+				IViewPart[] stackedViews = page.getViewStack(view);
+				if (stackedViews == null) {
+					continue;
+				}
+				Collections.addAll(views, stackedViews);
+			}
+			Map<IViewPart, String> names = new HashMap<IViewPart, String>();
+			for (IViewPart view : views) {
+				names.put(view, view.getViewSite().getRegisteredName());
+			}
+			return names;
+		}
+
+		private static void index(Map<String, List<IWorkbenchPartReference>> index, String key,
+				IWorkbenchPartReference reference) {
+			List<IWorkbenchPartReference> references = index.get(key);
+			if (references == null) {
+				references = new ArrayList<IWorkbenchPartReference>(1);
+				index.put(key, references);
+			}
+			references.add(reference);
+		}
+	}
+
+	/**
+	 * Listens to workbench events in UI thread and updates the snapshot.
+	 */
+	private class Listener implements IWindowListener, IPageListener, IPerspectiveListener, IPartListener2,
+			IPropertyListener {
+
+		@Override
+		public void windowOpened(IWorkbenchWindow workbenchWindow) {
+			workbenchWindow.removePageListener(this);
+			workbenchWindow.addPageListener(this);
+			workbenchWindow.removePerspectiveListener(this);
+			workbenchWindow.addPerspectiveListener(this);
+			for (IWorkbenchPage page : workbenchWindow.getPages()) {
+				pageOpened(page);
+			}
+			update();
+		}
+
+		@Override
+		public void windowClosed(IWorkbenchWindow workbenchWindow) {
+			workbenchWindow.removePageListener(this);
+			workbenchWindow.removePerspectiveListener(this);
+			if (workbenchWindow == window) {
+				window = null;
+			}
+			update();
+		}
+
+		@Override
+		public void windowActivated(IWorkbenchWindow workbenchWindow) {
+			window = workbenchWindow;
+			update();
+		}
+
+		@Override
+		public void windowDeactivated(IWorkbenchWindow workbenchWindow) {
+			// last active window is kept while a dialog is active
+		}
+
+		@Override
+		public void pageOpened(IWorkbenchPage page) {
+			page.removePartListener(this);
+			page.addPartListener(this);
+			for (IWorkbenchPartReference reference : page.getViewReferences()) {
+				listenTo(reference);
+			}
+			for (IWorkbenchPartReference reference : page.getEditorReferences()) {
+				listenTo(reference);
+			}
+			update();
+		}
+
+		@Override
+		public void pageClosed(IWorkbenchPage page) {
+			page.removePartListener(this);
+			update();
+		}
+
+		@Override
+		public void pageActivated(IWorkbenchPage page) {
+			update();
+		}
+
+		@Override
+		public void perspectiveActivated(IWorkbenchPage page, IPerspectiveDescriptor perspective) {
+			update();
+		}
+
+		@Override
+		public void perspectiveChanged(IWorkbenchPage page, IPerspectiveDescriptor perspective, String changeId) {
+			update();
+		}
+
+		@Override
+		public void partOpened(IWorkbenchPartReference partRef) {
+			listenTo(partRef);
+			update();
+		}
+
+		@Override
+		public void partClosed(IWorkbenchPartReference partRef) {
+			partRef.removePropertyListener(this);
+			update();
+		}
+
+		@Override
+		public void partActivated(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partBroughtToTop(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partDeactivated(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partHidden(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partVisible(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void partInputChanged(IWorkbenchPartReference partRef) {
+			update();
+		}
+
+		@Override
+		public void propertyChanged(Object source, int propId) {
+			if (propId == IWorkbenchPartConstants.PROP_TITLE || propId == IWorkbenchPartConstants.PROP_PART_NAME) {
+				update();
+			}
+		}
+
+		private void listenTo(IWorkbenchPartReference reference) {
+			reference.removePropertyListener(this);
+			reference.addPropertyListener(this);
+		}
+	}
+}
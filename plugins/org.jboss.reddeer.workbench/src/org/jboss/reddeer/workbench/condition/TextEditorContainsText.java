@@ -10,7 +10,9 @@
  ******************************************************************************/
 package org.jboss.reddeer.workbench.condition;
 
+import org.eclipse.ui.texteditor.ITextEditor;
 import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.workbench.handler.TextEditorHandler;
 import org.jboss.reddeer.workbench.impl.editor.TextEditor;
 
 /**
@@ -35,7 +37,7 @@ public class TextEditorContainsText extends AbstractWaitCondition{
 
 	@Override
 	public boolean test() {
-		return editor.getText().contains(text);
+		return TextEditorHandler.getInstance().containsText((ITextEditor) editor.getEditorPart(), text);
 	}
 
 	@Override
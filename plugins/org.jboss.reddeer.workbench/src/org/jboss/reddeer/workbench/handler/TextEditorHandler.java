@@ -10,6 +10,9 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.workbench.handler;
 
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IBlockTextSelection;
 import org.eclipse.jface.text.IDocument;
@@ -19,15 +22,20 @@ import org.eclipse.ui.texteditor.ITextEditor;
 import org.jboss.reddeer.common.util.Display;
 import org.jboss.reddeer.common.util.ResultRunnable;
 import org.jboss.reddeer.core.exception.CoreLayerException;
+import org.jboss.reddeer.workbench.internal.handler.DocumentIndex;
 
 /**
- * TextEditor handler handles operations for TextEditor instances.
+ * TextEditor handler handles operations for TextEditor instances. Texts are
+ * looked up in documents via indexes maintained by document listeners, so
+ * searching documents does not need UI thread round trips.
  * @author rhopp
  */
 public class TextEditorHandler {
 
     private static TextEditorHandler instance;
 
+    private final Map<IDocument, DocumentIndex> indexes = new WeakHashMap<IDocument, DocumentIndex>();
+
     private TextEditorHandler() {
 
     }
@@ -190,20 +198,8 @@ public class TextEditorHandler {
      * @return line number of text found, -1 otherwise
      */    
     public int getLineOfText(final ITextEditor editor, final String text, final int textIndex) {
-    	return Display.syncExec(new ResultRunnable<Integer>() {
-
-			@Override
-			public Integer run() {
-				int textOffset = getPositionOfText(editor, text, textIndex);
-				int line = -1;
-				try {
-					line = getDocument(editor).getLineOfOffset(textOffset);
-				} catch (BadLocationException e) {
-					line = -1;
-				}
-				return line;
-			}
-    	});
+		DocumentIndex index = getIndex(editor);
+		return index.getLineOfOffset(index.getOffsetOfText(text, textIndex));
     }
 
     /**
@@ -240,54 +236,15 @@ public class TextEditorHandler {
      */
     public void selectText(final ITextEditor editor, final String text,
             final int textIndex) {
+        final int offset = getPositionOfText(editor, text, textIndex);
+        if (offset == -1) {
+            throw new CoreLayerException("Unable to find " + text + " in editor");
+        }
         Display.syncExec(new Runnable() {
 
             @Override
             public void run() {
-                boolean found = false;
-                int iStartIndex = 0;
-                int iRow = 0;
-                String editorText = getDocument(editor).get();
-
-                if (editorText != null && editorText.length() > 0
-                        && editorText.contains(text)) {
-                    int iOccurenceIndex = 0;
-                    while (!found && iRow < getNumberOfLines(editor)) {
-                        String lineText = getTextAtLine(editor, iRow);
-                        System.out.println(lineText);
-                        iStartIndex = 0;
-                        while (!found && lineText.contains(text)) {
-                            if (iOccurenceIndex == textIndex) {
-                                found = true;
-                                iStartIndex += lineText.indexOf(text);
-                            } else {
-                                iOccurenceIndex++;
-                                int iNewStartIndex = lineText.indexOf(text)
-                                        + text.length();
-                                iStartIndex += iNewStartIndex;
-                                lineText = lineText.substring(iNewStartIndex);
-                            }
-                        }
-                        if (!found) {
-                            iRow++;
-                        }
-                    }
-                }
-
-                if (found) {
-                    int offset = 0;
-                    try {
-                        offset = getDocument(editor).getLineOffset(iRow)
-                                + iStartIndex;
-                    } catch (BadLocationException e) {
-                        throw new CoreLayerException("Unable to find "
-                                + text + " in editor", e);
-                    }
-                    editor.selectAndReveal(offset, text.length());
-                } else {
-                    throw new CoreLayerException("Unable to find " + text
-                            + " in editor");
-                }
+                editor.selectAndReveal(offset, text.length());
             }
         });
     }
@@ -312,27 +269,18 @@ public class TextEditorHandler {
 	 * @return position of first character of specified text if exists, -1 otherwise 
 	 */
 	public int getPositionOfText(final ITextEditor editor, final String text, final int index) {
-		return Display.syncExec(new ResultRunnable<Integer>() {
+		return getIndex(editor).getOffsetOfText(text, index);
+	}
 
-			@Override
-			public Integer run() {
-				if(index < 0){
-					return -1;
-				}
-				String doc = getDocument(editor).get();
-				int textIndex = 0;
-				int i = 0;
-				while (i <= index){
-					i++;
-					textIndex = doc.indexOf(text,textIndex);
-					if(textIndex == -1){
-						return -1;
-					}
-					textIndex += text.length();
-				}
-				return textIndex - text.length();
-			}
-		});
+	/**
+	 * Finds out whether specified text editor contains specified text.
+	 * 
+	 * @param editor editor to handle
+	 * @param text text to find
+	 * @return true if the editor contains the text, false otherwise
+	 */
+	public boolean containsText(final ITextEditor editor, final String text) {
+		return getIndex(editor).getOffsetOfText(text, 0) != -1;
 	}
 
 	/**
@@ -409,5 +357,44 @@ public class TextEditorHandler {
         return editor.getDocumentProvider()
                 .getDocument(editor.getEditorInput());
     }
-}
 
+    /**
+     * Gets index of document of specified editor. Index is created and attached
+     * to the document in UI thread, so no change of the document is missed.
+     * Lock of indexes is never held during UI round trip, an index created
+     * concurrently by another thread wins and the redundant one is detached.
+     */
+    private DocumentIndex getIndex(ITextEditor editor) {
+        final IDocument document = getDocument(editor);
+        synchronized (indexes) {
+            DocumentIndex index = indexes.get(document);
+            if (index != null) {
+                return index;
+            }
+        }
+        final DocumentIndex newIndex = Display.syncExec(new ResultRunnable<DocumentIndex>() {
+
+            @Override
+            public DocumentIndex run() {
+                DocumentIndex index = new DocumentIndex(document.get());
+                document.addDocumentListener(index);
+                return index;
+            }
+        });
+        DocumentIndex index;
+        synchronized (indexes) {
+            index = indexes.putIfAbsent(document, newIndex);
+        }
+        if (index == null) {
+            return newIndex;
+        }
+        Display.syncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                document.removeDocumentListener(newIndex);
+            }
+        });
+        return index;
+    }
+}
@@ -0,0 +1,249 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.workbench.internal.handler;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocumentListener;
+
+/**
+ * Search index of a document maintained by document listener. Content of the
+ * document and offsets of its lines are updated incrementally on each document
+ * change, so they can be read from non UI thread without UI round trip.
+ * Occurrences of texts are looked up via postings of trigrams, the postings are
+ * built lazily when the document is searched repeatedly without a change, a
+ * single search after a change just scans the content.
+ * <br>
+ * Occurrences of a text are counted the same way as by {@link String#indexOf(String, int)}
+ * called repeatedly after the end of previous occurrence, i.e. occurrences do
+ * not overlap.
+ *
+ * @since 2.0
+ */
+public class DocumentIndex implements IDocumentListener {
+
+	private static final int GRAM = 3;
+
+	private final StringBuilder content;
+	private String contentSnapshot;
+	private int[] lineOffsets;
+	private int lineCount;
+	private Map<Long, int[]> postings;
+	private int searchesSinceChange;
+
+	/**
+	 * Creates index of document with specified content.
+	 *
+	 * @param content content of the document
+	 */
+	public DocumentIndex(String content) {
+		this.content = new StringBuilder(content);
+		this.contentSnapshot = content;
+		this.lineOffsets = new int[16];
+		this.lineCount = 1;
+		addLineOffsets(content, 0, content.length(), 0);
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		// index is updated once document is changed
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		replace(event.getOffset(), event.getLength(), event.getText() == null ? "" : event.getText());
+	}
+
+	/**
+	 * Updates index after text at specified offset was replaced.
+	 *
+	 * @param offset offset of replaced text
+	 * @param length length of replaced text
+	 * @param text new text
+	 */
+	public synchronized void replace(int offset, int length, String text) {
+		content.replace(offset, offset + length, text);
+		contentSnapshot = null;
+		postings = null;
+		searchesSinceChange = 0;
+		int delta = text.length() - length;
+		// line starts after '\r' depend on the following character, so lines starting
+		// right after the replaced region are recomputed too
+		int first = getLineIndex(Math.max(0, offset - 1));
+		int last = first + 1;
+		while (last < lineCount && lineOffsets[last] <= offset + length + 1) {
+			last++;
+		}
+		int scanStart = lineOffsets[first];
+		int scanEnd = Math.min(content.length(), offset + text.length() + 1);
+		int[] tail = Arrays.copyOfRange(lineOffsets, last, lineCount);
+		lineCount = first + 1;
+		addLineOffsets(content, scanStart, scanEnd, 0);
+		for (int lineOffset : tail) {
+			if (lineOffset + delta > scanEnd) {
+				addLineOffset(lineOffset + delta);
+			}
+		}
+	}
+
+	/**
+	 * Gets content of the document.
+	 *
+	 * @return content of the document
+	 */
+	public synchronized String getContent() {
+		if (contentSnapshot == null) {
+			contentSnapshot = content.toString();
+		}
+		return contentSnapshot;
+	}
+
+	/**
+	 * Gets count of lines of the document.
+	 *
+	 * @return count of lines
+	 */
+	public synchronized int getNumberOfLines() {
+		return lineCount;
+	}
+
+	/**
+	 * Gets line of specified offset.
+	 *
+	 * @param offset offset in the document
+	 * @return index of line containing the offset or -1 if offset is out of document
+	 */
+	public synchronized int getLineOfOffset(int offset) {
+		if (offset < 0 || offset > content.length()) {
+			return -1;
+		}
+		return getLineIndex(offset);
+	}
+
+	/**
+	 * Gets offset of specified line.
+	 *
+	 * @param line index of line
+	 * @return offset of the line or -1 if there is no such line
+	 */
+	public synchronized int getLineOffset(int line) {
+		return line < 0 || line >= lineCount ? -1 : lineOffsets[line];
+	}
+
+	/**
+	 * Gets offset of occurrence of specified text with specified index.
+	 *
+	 * @param text text to find
+	 * @param index index of occurrence
+	 * @return offset of the occurrence or -1 if there is no such occurrence
+	 */
+	public synchronized int getOffsetOfText(String text, int index) {
+		if (index < 0 || text.isEmpty()) {
+			return index == 0 && text.isEmpty() ? 0 : -1;
+		}
+		String document = getContent();
+		if (text.length() < GRAM || (postings == null && searchesSinceChange++ == 0)) {
+			return indexOf(document, text, index);
+		}
+		// candidates are taken from postings of the rarest trigram of the text
+		int[] candidates = null;
+		int gramOffset = 0;
+		for (int i = 0; i + GRAM <= text.length(); i++) {
+			int[] gramPostings = getPostings().get(gram(text, i));
+			if (gramPostings == null) {
+				return -1;
+			}
+			if (candidates == null || gramPostings[0] < candidates[0]) {
+				candidates = gramPostings;
+				gramOffset = i;
+			}
+		}
+		int occurrence = 0;
+		int end = 0;
+		for (int i = 1; i <= candidates[0]; i++) {
+			int candidate = candidates[i] - gramOffset;
+			if (candidate >= end && document.startsWith(text, candidate)) {
+				if (occurrence++ == index) {
+					return candidate;
+				}
+				end = candidate + text.length();
+			}
+		}
+		return -1;
+	}
+
+	private static int indexOf(String document, String text, int index) {
+		int offset = -text.length();
+		for (int i = 0; i <= index; i++) {
+			offset = document.indexOf(text, offset + text.length());
+			if (offset == -1) {
+				return -1;
+			}
+		}
+		return offset;
+	}
+
+	/**
+	 * Gets postings of trigrams, each posting list holds its size on index 0
+	 * followed by sorted offsets of the trigram.
+	 */
+	private Map<Long, int[]> getPostings() {
+		if (postings == null) {
+			String document = getContent();
+			Map<Long, int[]> newPostings = new HashMap<Long, int[]>();
+			for (int i = 0; i + GRAM <= document.length(); i++) {
+				Long key = gram(document, i);
+				int[] offsets = newPostings.get(key);
+				if (offsets == null) {
+					offsets = new int[4];
+					newPostings.put(key, offsets);
+				} else if (offsets[0] + 1 == offsets.length) {
+					offsets = Arrays.copyOf(offsets, offsets.length * 2);
+					newPostings.put(key, offsets);
+				}
+				offsets[++offsets[0]] = i;
+			}
+			postings = newPostings;
+		}
+		return postings;
+	}
+
+	private static long gram(CharSequence text, int offset) {
+		return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+	}
+
+	private int getLineIndex(int offset) {
+		int index = Arrays.binarySearch(lineOffsets, 0, lineCount, offset);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	/**
+	 * Adds offsets of lines starting in (start, end] of specified text.
+	 */
+	private void addLineOffsets(CharSequence text, int start, int end, int base) {
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (c == '\n' || (c == '\r' && (i + 1 >= text.length() || text.charAt(i + 1) != '\n'))) {
+				addLineOffset(base + i + 1);
+			}
+		}
+	}
+
+	private void addLineOffset(int offset) {
+		if (lineCount == lineOffsets.length) {
+			lineOffsets = Arrays.copyOf(lineOffsets, lineCount * 2);
+		}
+		lineOffsets[lineCount++] = offset;
+	}
+}
@@ -0,0 +1,157 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.test.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import org.jboss.reddeer.common.context.ExecutionSetting;
+import org.jboss.reddeer.common.logging.AsyncLogAppender;
+import org.jboss.reddeer.common.logging.LogAppender;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.logging.MessageType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Measures throughput of filtered out and emitted log messages.
+ */
+public class LoggerBenchmarkTest {
+
+	private static final Logger log = Logger.getLogger(LoggerBenchmarkTest.class);
+
+	private static final int MESSAGES = 200000;
+
+	private int originalFilter;
+	private LogAppender originalAppender;
+
+	@Before
+	public void setup() {
+		originalFilter = ExecutionSetting.getInstance().getLogMessageFilter();
+		originalAppender = Logger.getAppender();
+	}
+
+	@After
+	public void cleanup() {
+		ExecutionSetting.getInstance().setLogMessageFilter(originalFilter);
+		Logger.setAppender(originalAppender);
+	}
+
+	@Test
+	public void loggersAreCached() {
+		assertSame(log, Logger.getLogger(LoggerBenchmarkTest.class));
+	}
+
+	@Test
+	public void filteredOutMessagesBenchmark() {
+		Logger benchmarkLogger = Logger.getLogger(LoggerBenchmarkTest.class);
+		ExecutionSetting.getInstance().setLogMessageFilter(MessageType.ALL & ~MessageType.DEBUG);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < MESSAGES; i++) {
+			benchmarkLogger.debug("Filtered message number " + i + " of " + MESSAGES);
+		}
+		long concatenated = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < MESSAGES; i++) {
+			final int number = i;
+			benchmarkLogger.debug(() -> "Filtered message number " + number + " of " + MESSAGES);
+		}
+		long supplied = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < MESSAGES; i++) {
+			if (benchmarkLogger.isDebugEnabled()) {
+				benchmarkLogger.debug("Filtered message number " + i + " of " + MESSAGES);
+			}
+		}
+		long guarded = System.nanoTime() - start;
+
+		ExecutionSetting.getInstance().setLogMessageFilter(originalFilter);
+		log.info("Filtered out messages per second: concatenated " + perSecond(concatenated)
+				+ ", supplier " + perSecond(supplied) + ", guarded " + perSecond(guarded));
+	}
+
+	@Test
+	public void emittedMessagesBenchmark() {
+		Logger benchmarkLogger = Logger.getLogger(LoggerBenchmarkTest.class);
+		ExecutionSetting.getInstance().setLogMessageFilter(MessageType.ALL);
+
+		CountingOutputStream syncOutput = new CountingOutputStream();
+		Logger.setAppender(new PrintStreamAppender(new PrintStream(syncOutput)));
+		long start = System.nanoTime();
+		for (int i = 0; i < MESSAGES; i++) {
+			benchmarkLogger.step("Emitted message number " + i);
+		}
+		long sync = System.nanoTime() - start;
+
+		CountingOutputStream asyncOutput = new CountingOutputStream();
+		AsyncLogAppender asyncAppender = new AsyncLogAppender(asyncOutput);
+		Logger.setAppender(asyncAppender);
+		start = System.nanoTime();
+		for (int i = 0; i < MESSAGES; i++) {
+			benchmarkLogger.step("Emitted message number " + i);
+		}
+		long async = System.nanoTime() - start;
+		asyncAppender.close();
+
+		Logger.setAppender(originalAppender);
+		assertEquals(syncOutput.lines, asyncOutput.lines);
+		assertEquals(MESSAGES, asyncOutput.lines);
+		log.info("Emitted messages per second: synchronous " + perSecond(sync) 
+				+ ", asynchronous " + perSecond(async));
+	}
+
+	private long perSecond(long nanos) {
+		return MESSAGES * 1000000000L / Math.max(nanos, 1);
+	}
+
+	private class CountingOutputStream extends OutputStream {
+
+		private int lines = 0;
+
+		@Override
+		public void write(int b) {
+			if (b == '\n') {
+				lines++;
+			}
+		}
+	}
+
+	private class PrintStreamAppender implements LogAppender {
+
+		private PrintStream out;
+
+		public PrintStreamAppender(PrintStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void append(String message) {
+			out.println(message);
+		}
+
+		@Override
+		public void flush() {
+			out.flush();
+		}
+
+		@Override
+		public void close() {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.test.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.jboss.reddeer.common.util.FileTail;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileTailTest {
+
+	private File file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = File.createTempFile("reddeer-tail", ".log");
+	}
+
+	@After
+	public void deleteFile() {
+		file.delete();
+	}
+
+	@Test
+	public void testOnlyAppendedBytesAreTransferred() throws IOException {
+		FileTail tail = new FileTail(file);
+		append("first\n");
+		assertEquals("first\n", transfer(tail));
+		assertEquals("", transfer(tail));
+		append("second\n");
+		assertEquals(7, tail.getNewByteCount());
+		assertEquals("second\n", transfer(tail));
+		assertEquals(13, tail.getOffset());
+	}
+
+	@Test
+	public void testSkipToEnd() throws IOException {
+		FileTail tail = new FileTail(file);
+		append("skipped\n");
+		tail.skipToEnd();
+		append("new\n");
+		assertEquals("new\n", transfer(tail));
+	}
+
+	@Test
+	public void testTruncatedFileIsReadFromStart() throws IOException {
+		FileTail tail = new FileTail(file);
+		append("long first line\n");
+		transfer(tail);
+		Files.write(file.toPath(), "short\n".getBytes());
+		assertEquals("short\n", transfer(tail));
+	}
+
+	@Test
+	public void testDeletedFileIsReadFromStart() throws IOException {
+		FileTail tail = new FileTail(file);
+		append("first\n");
+		transfer(tail);
+		file.delete();
+		assertEquals(0, tail.getNewByteCount());
+		append("first\nsecond\n");
+		assertEquals("first\nsecond\n", transfer(tail));
+	}
+
+	@Test
+	public void testSharedTail() {
+		assertEquals(FileTail.getTail(file), FileTail.getTail(new File(file.getAbsolutePath())));
+	}
+
+	private void append(String text) throws IOException {
+		Files.write(file.toPath(), text.getBytes(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	private static String transfer(FileTail tail) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		tail.transferTo(Channels.newChannel(out));
+		return out.toString();
+	}
+}
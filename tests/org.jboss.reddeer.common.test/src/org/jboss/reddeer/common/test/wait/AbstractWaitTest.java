@@ -0,0 +1,159 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.test.wait;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.common.condition.EventAwareWaitCondition;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.common.wait.WaitNotifier;
+import org.jboss.reddeer.common.wait.WaitUntil;
+import org.junit.Test;
+
+public class AbstractWaitTest {
+
+	@Test
+	public void adaptiveTickPeriodTest() {
+		CountingCondition condition = new CountingCondition(3);
+		long start = System.currentTimeMillis();
+		new WaitUntil(condition, TimePeriod.SHORT);
+		long duration = System.currentTimeMillis() - start;
+
+		assertEquals(3, condition.tests);
+		assertTrue("Wait took " + duration + " ms", duration < 500);
+	}
+
+	@Test
+	public void customTestPeriodTest() {
+		CountingCondition condition = new CountingCondition(2);
+		long start = System.currentTimeMillis();
+		new WaitUntil(condition, TimePeriod.SHORT, true, 300);
+		long duration = System.currentTimeMillis() - start;
+
+		assertEquals(2, condition.tests);
+		assertTrue("Wait took " + duration + " ms", duration >= 300);
+	}
+
+	@Test
+	public void eventAwareConditionTest() {
+		EventCondition condition = new EventCondition();
+		long start = System.currentTimeMillis();
+		new WaitUntil(condition, TimePeriod.SHORT, true, 2000);
+		long duration = System.currentTimeMillis() - start;
+
+		assertTrue("Condition listeners were not unregistered", condition.unregistered);
+		assertTrue("Wait took " + duration + " ms", duration < 2000);
+	}
+
+	@Test
+	public void notificationFloodIsBackedOffTest() {
+		FloodingCondition condition = new FloodingCondition(1000);
+		new WaitUntil(condition, TimePeriod.SHORT);
+
+		assertTrue("Condition was tested " + condition.tests + " times", condition.tests < 30);
+	}
+
+	private class CountingCondition extends AbstractWaitCondition {
+
+		private int tests = 0;
+		private int fulfilledAfter;
+
+		public CountingCondition(int fulfilledAfter) {
+			this.fulfilledAfter = fulfilledAfter;
+		}
+
+		@Override
+		public boolean test() {
+			return ++tests >= fulfilledAfter;
+		}
+	}
+
+	private class EventCondition extends AbstractWaitCondition implements EventAwareWaitCondition {
+
+		private volatile boolean fulfilled = false;
+		private boolean unregistered = false;
+
+		@Override
+		public boolean test() {
+			return fulfilled;
+		}
+
+		@Override
+		public void registerListeners(final WaitNotifier notifier) {
+			new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						Thread.sleep(100);
+					} catch (InterruptedException e) {
+						return;
+					}
+					fulfilled = true;
+					notifier.notifyWait();
+				}
+			}).start();
+		}
+
+		@Override
+		public void unregisterListeners() {
+			unregistered = true;
+		}
+	}
+
+	/**
+	 * Condition notifying its wait every millisecond until it is fulfilled.
+	 */
+	private class FloodingCondition extends AbstractWaitCondition implements EventAwareWaitCondition {
+
+		private final long fulfilledAfter;
+		private volatile long fulfilledAt = Long.MAX_VALUE;
+		private volatile boolean registered;
+		private int tests = 0;
+
+		public FloodingCondition(long fulfilledAfter) {
+			this.fulfilledAfter = fulfilledAfter;
+		}
+
+		@Override
+		public boolean test() {
+			tests++;
+			return System.currentTimeMillis() >= fulfilledAt;
+		}
+
+		@Override
+		public void registerListeners(final WaitNotifier notifier) {
+			registered = true;
+			fulfilledAt = System.currentTimeMillis() + fulfilledAfter;
+			new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					while (registered) {
+						notifier.notifyWait();
+						try {
+							Thread.sleep(1);
+						} catch (InterruptedException e) {
+							return;
+						}
+					}
+				}
+			}).start();
+		}
+
+		@Override
+		public void unregisterListeners() {
+			registered = false;
+		}
+	}
+}
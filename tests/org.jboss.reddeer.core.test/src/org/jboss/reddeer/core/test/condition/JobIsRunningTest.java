@@ -10,6 +10,8 @@
  ******************************************************************************/
 package org.jboss.reddeer.core.test.condition;
 
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.hamcrest.CoreMatchers;
@@ -19,6 +21,8 @@ import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.common.wait.WaitWhile;
 import org.jboss.reddeer.junit.runner.RedDeerSuite;
 import org.jboss.reddeer.workbench.core.condition.JobIsRunning;
+import org.jboss.reddeer.workbench.core.condition.JobTracker;
+import org.jboss.reddeer.workbench.core.condition.JobTracker.JobStatistics;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -118,6 +122,21 @@ public class JobIsRunningTest extends JobTestBase {
 		}
 	}
 
+	@Test
+	public void testQuietPeriod() {
+		String job = TEST_JOB_1;
+		long quietPeriod = 2000;
+		runParallelyForSeconds(job, 1);
+
+		new WaitWhile(new JobIsRunning(new Matcher[]{CoreMatchers.is(job)}, null, true, quietPeriod));
+
+		assertNotRunning(job);
+		JobStatistics statistics = JobTracker.getInstance().getStatistics(job);
+		assertNotNull(statistics);
+		assertTrue(statistics.getCount() > 0);
+		assertTrue(System.currentTimeMillis() - statistics.getLastFinished() >= quietPeriod);
+	}
+
 	@Test(expected = WaitTimeoutExpiredException.class)
 	public void testShorterTimeOutThanJobDuration() {
 		runParallelyForSeconds(TEST_JOB_1, 6);
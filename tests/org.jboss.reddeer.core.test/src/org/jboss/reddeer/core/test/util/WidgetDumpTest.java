@@ -0,0 +1,96 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.jboss.reddeer.common.util.Display;
+import org.jboss.reddeer.common.util.ResultRunnable;
+import org.jboss.reddeer.core.util.WidgetDump;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+public class WidgetDumpTest {
+
+	private static final int LABELED_TEXTS = 5;
+
+	private Shell shell;
+
+	@Before
+	public void createShell() {
+		shell = Display.syncExec(new ResultRunnable<Shell>() {
+
+			@Override
+			public Shell run() {
+				Shell shell = new Shell(org.eclipse.swt.widgets.Display.getDefault());
+				shell.setText("Widget dump test");
+				for (int i = 0; i < LABELED_TEXTS; i++) {
+					new Label(shell, SWT.NONE).setText("Label " + i);
+					new Text(shell, SWT.BORDER).setText("Text " + i);
+				}
+				return shell;
+			}
+		});
+	}
+
+	@After
+	public void disposeShell() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell.dispose();
+			}
+		});
+	}
+
+	@Test
+	public void testCaptureAll() {
+		WidgetDump dump = WidgetDump.capture(shell);
+		assertEquals(1 + 2 * LABELED_TEXTS, dump.getNodeCount());
+		assertEquals(0, dump.getOmittedCount());
+		assertEquals("Label 0", dump.getRoot().getChildren().get(1).getLabel());
+		assertTrue(dump.toText(0, "\t", "\n").contains("with label 'Label 4' with text 'Text 4'"));
+		assertTrue(dump.toJson().contains("\"label\":\"Label 4\",\"text\":\"Text 4\""));
+	}
+
+	@Test
+	public void testCaptureIsBounded() {
+		WidgetDump dump = WidgetDump.capture(shell, 10, 4);
+		assertEquals(4, dump.getNodeCount());
+		assertEquals(2 * LABELED_TEXTS - 3, dump.getOmittedCount());
+		assertEquals(1, WidgetDump.capture(shell, 0, 100).getNodeCount());
+	}
+
+	@Test
+	public void testHashOfIdenticalDumps() {
+		long hash = WidgetDump.capture(shell).getHash();
+		assertEquals(hash, WidgetDump.capture(shell).getHash());
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				new Label(shell, SWT.NONE).setText("Another label");
+			}
+		});
+		assertNotEquals(hash, WidgetDump.capture(shell).getHash());
+	}
+}
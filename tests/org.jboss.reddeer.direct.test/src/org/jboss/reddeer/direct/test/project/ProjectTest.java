@@ -0,0 +1,109 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.direct.test.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourceAttributes;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.jboss.reddeer.direct.project.Project;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests deleting all projects via Eclipse API.
+ */
+@RunWith(RedDeerSuite.class)
+public class ProjectTest {
+
+	@After
+	public void deleteProjects() {
+		Project.deleteAll();
+	}
+
+	@Test
+	public void deleteAllWithoutProjects() {
+		Project.deleteAll();
+		assertTrue(Project.deleteAll().isEmpty());
+	}
+
+	@Test
+	public void deleteAllProjectsWithNestedFolders() throws CoreException {
+		File first = createProject("first", false).getLocation().toFile();
+		File second = createProject("second", false).getLocation().toFile();
+
+		List<String> deleted = Project.deleteAll();
+
+		assertEquals(Arrays.asList("first", "second"), deleted);
+		assertTrue(Project.getProjectNames().isEmpty());
+		assertFalse(first.exists());
+		assertFalse(second.exists());
+	}
+
+	@Test
+	public void deleteAllProjectsWithReadOnlyContent() throws CoreException {
+		IProject project = createProject("readonly", true);
+		File content = project.getLocation().toFile();
+		assertTrue(project.getFile("a/b/c/file.txt").getResourceAttributes().isReadOnly());
+
+		Project.deleteAll();
+
+		assertFalse(Project.isProject("readonly"));
+		assertFalse(content.exists());
+	}
+
+	/**
+	 * Creates project with nested folders a/b/c each containing a file.
+	 *
+	 * @param readOnly whether files and the deepest folder are read-only
+	 */
+	private static IProject createProject(String name, boolean readOnly) throws CoreException {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+		project.create(null);
+		project.open(null);
+		IContainer container = project;
+		for (String folderName : new String[] { "a", "b", "c" }) {
+			IFolder folder = container.getFolder(new org.eclipse.core.runtime.Path(folderName));
+			folder.create(true, true, null);
+			IFile file = folder.getFile("file.txt");
+			file.create(new ByteArrayInputStream(name.getBytes(StandardCharsets.UTF_8)), true, null);
+			if (readOnly) {
+				setReadOnly(file);
+			}
+			container = folder;
+		}
+		if (readOnly) {
+			container.getLocation().toFile().setWritable(false);
+		}
+		return project;
+	}
+
+	private static void setReadOnly(IFile file) throws CoreException {
+		ResourceAttributes attributes = file.getResourceAttributes();
+		attributes.setReadOnly(true);
+		file.setResourceAttributes(attributes);
+	}
+}
@@ -36,6 +36,7 @@ import org.jboss.reddeer.eclipse.jdt.ui.wizards.JavaProjectWizard;
 import org.jboss.reddeer.eclipse.jdt.ui.wizards.NewClassCreationWizard;
 import org.jboss.reddeer.eclipse.jdt.ui.wizards.NewClassWizardPage;
 import org.jboss.reddeer.eclipse.jdt.ui.wizards.NewJavaProjectWizardPageOne;
+import org.jboss.reddeer.eclipse.ui.markers.MarkerIndex;
 import org.jboss.reddeer.eclipse.ui.markers.matcher.MarkerDescriptionMatcher;
 import org.jboss.reddeer.eclipse.ui.markers.matcher.MarkerLocationMatcher;
 import org.jboss.reddeer.eclipse.ui.markers.matcher.MarkerPathMatcher;
@@ -354,6 +355,30 @@ public class ProblemsViewTest {
 				+ "\", but:\n" + getProblems(), 2, warnings.size());
 	}
 	
+	@Test
+	public void testProblemsFromWorkspaceMarkers() {
+		final String resource = DEFAULT_ERROR_CLASS_NAME + ".java";
+		createError();
+		createWarning();
+
+		List<Problem> errors = MarkerIndex.getInstance().getProblems(ProblemType.ERROR,
+				new MarkerDescriptionMatcher(ERROR_DESCRIPTION),
+				new MarkerResourceMatcher(resource));
+		assertEquals("Workspace markers should contain one error, but:\n" + getProblems(), 1, errors.size());
+		Problem error = errors.get(0);
+		Problem shownError = problemsView.getProblemsFromTree(ProblemType.ERROR).get(0);
+		assertEquals("Error description", shownError.getDescription(), error.getDescription());
+		assertEquals("Error resource", shownError.getResource(), error.getResource());
+		assertEquals("Error path", shownError.getPath(), error.getPath());
+		assertEquals("Error location", shownError.getLocation(), error.getLocation());
+		assertEquals("Error type", shownError.getType(), error.getType());
+
+		assertEquals("Workspace markers should contain one warning, but:\n" + getProblems(), 1,
+				MarkerIndex.getInstance().getProblems(ProblemType.WARNING,
+						new MarkerLocationMatcher(Is.is(WARNING_LOCATION))).size());
+		assertEquals(2, MarkerIndex.getInstance().getProblems(ProblemType.ALL).size());
+	}
+	
 	@Test
 	public void testProblemQuickfix(){
 		createWarning();
@@ -10,6 +10,8 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.jface.test.viewer;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
@@ -95,6 +97,14 @@ public class TreeViewerHandlerTest extends PrepareTreeWithStyledItems {
 				styles[1].equals("postfix"));
 	}
 	
+	@Test
+	public void getItemExpandsOnlyMatchingBranch() {
+		TreeItem item = treeViewerHandler.getTreeItem(new DefaultTree(), path000);
+		assertEquals("item 000", treeViewerHandler.getNonStyledText(item));
+		assertTrue("Item on the path should be expanded", new DefaultTreeItem("item 0").isExpanded());
+		assertFalse("Item out of the path should not be expanded", new DefaultTreeItem("item 1").isExpanded());
+	}
+	
 	@Test(expected = JFaceLayerException.class)
 	public void getNonExistingItems() {
 		treeViewerHandler.getTreeItems(new DefaultTree(), "non", "existing", "path");
@@ -0,0 +1,72 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.configuration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.reddeer.junit.configuration.RedDeerConfigurationException;
+import org.jboss.reddeer.junit.internal.configuration.ConfigurationMatrix;
+import org.junit.Test;
+
+public class ConfigurationMatrixTest {
+
+	@Test
+	public void combinationsAreOrderedByIndexTuples() {
+		List<List<String>> matrix = new ConfigurationMatrix<String>(Arrays.asList(
+				Arrays.asList("A", "B", "C"), Arrays.asList("1", "2"), Arrays.asList("3", "4")));
+
+		assertThat(matrix.size(), is(12));
+		assertThat(matrix.get(0), is(Arrays.asList("A", "1", "3")));
+		assertThat(matrix.get(1), is(Arrays.asList("A", "1", "4")));
+		assertThat(matrix.get(2), is(Arrays.asList("A", "2", "3")));
+		assertThat(matrix.get(11), is(Arrays.asList("C", "2", "4")));
+
+		List<List<String>> iterated = new ArrayList<List<String>>();
+		for (List<String> combination : matrix) {
+			iterated.add(combination);
+		}
+		for (int i = 0; i < matrix.size(); i++) {
+			assertEquals(matrix.get(i), iterated.get(i));
+		}
+	}
+
+	@Test
+	public void productOfNoListsHasEmptyCombination() {
+		List<List<String>> matrix = new ConfigurationMatrix<String>(Collections.<List<String>>emptyList());
+
+		assertThat(matrix.size(), is(1));
+		assertTrue(matrix.get(0).isEmpty());
+	}
+
+	@Test
+	public void productWithEmptyListIsEmpty() {
+		List<List<String>> matrix = new ConfigurationMatrix<String>(Arrays.asList(
+				Arrays.asList("A", "B"), Collections.<String>emptyList()));
+
+		assertThat(matrix.size(), is(0));
+		assertTrue(matrix.isEmpty());
+		assertTrue(!matrix.iterator().hasNext());
+	}
+
+	@Test(expected=RedDeerConfigurationException.class)
+	public void tooLargeProductIsRejected() {
+		List<Integer> dimension = Collections.nCopies(100000, 0);
+		new ConfigurationMatrix<Integer>(Arrays.asList(dimension, dimension));
+	}
+}
@@ -0,0 +1,26 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.configuration;
+
+import org.jboss.reddeer.junit.test.internal.requirement.TestCustomJavaRequirement.CustomJavaAnnotation;
+import org.jboss.reddeer.junit.test.internal.requirement.TestCustomServerRequirement.CustomServerAnnotation;
+import org.junit.Test;
+
+/**
+ * Template of test classes copied by {@link SuiteConfigurationBenchmarkTest}.
+ */
+@CustomJavaAnnotation
+@CustomServerAnnotation
+public class JavaServerBenchmark0000 {
+
+	@Test
+	public void test() {}
+}
@@ -0,0 +1,304 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.configuration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.junit.internal.configuration.RequirementConfiguration;
+import org.jboss.reddeer.junit.internal.configuration.SuiteConfiguration;
+import org.jboss.reddeer.junit.internal.configuration.TestClassRequirementMap;
+import org.jboss.reddeer.junit.internal.configuration.TestRunConfiguration;
+import org.jboss.reddeer.junit.internal.configuration.TestRunConfigurationReader;
+import org.jboss.reddeer.junit.internal.runner.NamedSuite;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.jboss.reddeer.junit.test.internal.requirement.TestCustomJavaConfiguration;
+import org.jboss.reddeer.junit.test.internal.requirement.TestCustomJavaRequirement.CustomJavaAnnotation;
+import org.jboss.reddeer.junit.test.internal.requirement.TestCustomServerConfiguration;
+import org.jboss.reddeer.junit.test.internal.requirement.TestCustomServerRequirement.CustomServerAnnotation;
+import org.junit.Test;
+import org.junit.runner.Runner;
+import org.junit.runners.Suite.SuiteClasses;
+import org.junit.runners.model.InitializationError;
+
+/**
+ * Measures startup of a suite with 1000 distinct test classes and 10
+ * configurations of a requirement, from grouping of test classes by their
+ * requirements to creation of suites and runners of all test run configurations.
+ * Distinct classes are renamed copies of four template classes, they are listed
+ * in {@link SuiteClasses} of a generated suite class.
+ */
+public class SuiteConfigurationBenchmarkTest {
+
+	private static final Logger log = Logger.getLogger(SuiteConfigurationBenchmarkTest.class);
+
+	private static final int CLASSES = 1000;
+
+	private static final int CONFIGURATIONS = 10;
+
+	private static final String TEMPLATE_SUFFIX = "0000";
+
+	private static final String SUITE_NAME = SuiteConfigurationBenchmarkTest.class.getName() + "Suite";
+
+	private static final Class<?> SUITE;
+
+	private static final TestRunConfigurationReader READER = mock(TestRunConfigurationReader.class);
+
+	static {
+		Class<?>[] templates = {JavaBenchmark0000.class, ServerBenchmark0000.class,
+				JavaServerBenchmark0000.class, PlainBenchmark0000.class};
+		Map<String, byte[]> bytecodes = new HashMap<>();
+		List<String> testClassNames = new ArrayList<>();
+		for (int i = 0; i < CLASSES; i++) {
+			Class<?> template = templates[i % templates.length];
+			String name = template.getName();
+			name = name.substring(0, name.length() - TEMPLATE_SUFFIX.length())
+					+ String.format("%04d", i / templates.length);
+			bytecodes.put(name, rename(readBytecode(template), template.getName(), name));
+			testClassNames.add(name);
+		}
+		bytecodes.put(SUITE_NAME, suiteBytecode(SUITE_NAME, testClassNames));
+		SUITE = new BenchmarkClassLoader(bytecodes).load(SUITE_NAME);
+
+		List<Object> javaConfigurations = new ArrayList<>();
+		for (int i = 0; i < CONFIGURATIONS; i++) {
+			javaConfigurations.add(new TestCustomJavaConfiguration());
+		}
+		doReturn(Arrays.asList(
+				mockConfiguration(CustomJavaAnnotation.class, javaConfigurations),
+				mockConfiguration(CustomServerAnnotation.class, Arrays.<Object>asList(new TestCustomServerConfiguration()))))
+			.when(READER).getConfigurationList();
+	}
+
+	@Test
+	public void testClassesAreDistinct() {
+		Class<?>[] testClasses = SUITE.getAnnotation(SuiteClasses.class).value();
+		assertThat(testClasses.length, is(CLASSES));
+		assertThat(new HashSet<Class<?>>(Arrays.asList(testClasses)).size(), is(CLASSES));
+	}
+
+	@Test
+	public void startupBenchmark() throws InitializationError {
+		long start = System.nanoTime();
+		SuiteConfiguration config = new BenchmarkSuiteConfiguration();
+		long grouped = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		Map<TestClassRequirementMap, List<TestRunConfiguration>> testRuns = config.getTestRunConfigurations();
+		long created = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		int configurations = 0;
+		int classRuns = 0;
+		for (Map.Entry<TestClassRequirementMap, List<TestRunConfiguration>> entry : testRuns.entrySet()) {
+			for (TestRunConfiguration testRun : entry.getValue()) {
+				testRun.getId();
+				configurations++;
+				classRuns += entry.getKey().getClasses().size();
+			}
+		}
+		long enumerated = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		List<Runner> suites = RedDeerSuite.createSuites(SUITE, new BenchmarkSuiteConfiguration());
+		long suitesCreated = System.nanoTime() - start;
+
+		int namedSuites = 0;
+		for (Runner suite : suites) {
+			if (suite instanceof NamedSuite) {
+				namedSuites++;
+			}
+		}
+		assertThat(testRuns.size(), is(4));
+		assertThat(configurations, is(2 * CONFIGURATIONS + 2));
+		assertThat(classRuns, is(CLASSES / 2 * CONFIGURATIONS + CLASSES / 2));
+		assertThat(namedSuites, is(configurations));
+		log.info("Suite configuration of " + CLASSES + " classes and " + CONFIGURATIONS
+				+ " configurations: classes grouped in " + millis(grouped) + " ms, matrix created in "
+				+ millis(created) + " ms, " + classRuns + " class runs enumerated in " + millis(enumerated)
+				+ " ms, suites and runners created in " + millis(suitesCreated) + " ms");
+	}
+
+	private static RequirementConfiguration mockConfiguration(Class<?> annotation, List<Object> configurations) {
+		RequirementConfiguration configuration = mock(RequirementConfiguration.class);
+		doReturn(annotation).when(configuration).getRequirementConfiguration();
+		doReturn(configurations).when(configuration).getConfiguration();
+		return configuration;
+	}
+
+	private static long millis(long nanos) {
+		return nanos / 1000000;
+	}
+
+	private static byte[] readBytecode(Class<?> clazz) {
+		String resource = clazz.getName().replace('.', '/') + ".class";
+		try (InputStream input = clazz.getClassLoader().getResourceAsStream(resource)) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = input.read(buffer)) >= 0) {
+				output.write(buffer, 0, read);
+			}
+			return output.toByteArray();
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read bytecode of " + clazz, e);
+		}
+	}
+
+	/**
+	 * Replaces internal name of a class in its bytecode. Both names have the same
+	 * length, so lengths of constant pool entries are kept.
+	 */
+	private static byte[] rename(byte[] bytecode, String oldName, String newName) {
+		byte[] oldBytes = internalName(oldName).getBytes(StandardCharsets.UTF_8);
+		byte[] newBytes = internalName(newName).getBytes(StandardCharsets.UTF_8);
+		if (oldBytes.length != newBytes.length) {
+			throw new IllegalArgumentException("Names " + oldName + " and " + newName + " differ in length");
+		}
+		byte[] renamed = bytecode.clone();
+		for (int i = 0; i <= renamed.length - oldBytes.length; i++) {
+			int j = 0;
+			while (j < oldBytes.length && renamed[i + j] == oldBytes[j]) {
+				j++;
+			}
+			if (j == oldBytes.length) {
+				System.arraycopy(newBytes, 0, renamed, i, newBytes.length);
+				i += oldBytes.length - 1;
+			}
+		}
+		return renamed;
+	}
+
+	/**
+	 * Generates bytecode of a public class annotated by {@link SuiteClasses}
+	 * with given test classes.
+	 */
+	private static byte[] suiteBytecode(String name, List<String> testClassNames) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			output.writeInt(0xCAFEBABE);
+			output.writeShort(0);
+			output.writeShort(52);
+			// constant pool
+			output.writeShort(8 + testClassNames.size());
+			output.writeByte(1);
+			output.writeUTF(internalName(name));
+			output.writeByte(7);
+			output.writeShort(1);
+			output.writeByte(1);
+			output.writeUTF("java/lang/Object");
+			output.writeByte(7);
+			output.writeShort(3);
+			output.writeByte(1);
+			output.writeUTF("RuntimeVisibleAnnotations");
+			output.writeByte(1);
+			output.writeUTF("L" + internalName(SuiteClasses.class.getName()) + ";");
+			output.writeByte(1);
+			output.writeUTF("value");
+			for (String testClassName : testClassNames) {
+				output.writeByte(1);
+				output.writeUTF("L" + internalName(testClassName) + ";");
+			}
+			// public class extending Object without interfaces, fields and methods
+			output.writeShort(0x0021);
+			output.writeShort(2);
+			output.writeShort(4);
+			output.writeShort(0);
+			output.writeShort(0);
+			output.writeShort(0);
+			// RuntimeVisibleAnnotations with SuiteClasses({...})
+			output.writeShort(1);
+			output.writeShort(5);
+			output.writeInt(11 + 3 * testClassNames.size());
+			output.writeShort(1);
+			output.writeShort(6);
+			output.writeShort(1);
+			output.writeShort(7);
+			output.writeByte('[');
+			output.writeShort(testClassNames.size());
+			for (int i = 0; i < testClassNames.size(); i++) {
+				output.writeByte('c');
+				output.writeShort(8 + i);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static String internalName(String className) {
+		return className.replace('.', '/');
+	}
+
+	/**
+	 * Defines classes from given bytecodes, other classes are loaded by
+	 * class loader of the benchmark.
+	 */
+	private static class BenchmarkClassLoader extends ClassLoader {
+
+		private final Map<String, byte[]> bytecodes;
+
+		BenchmarkClassLoader(Map<String, byte[]> bytecodes) {
+			super(SuiteConfigurationBenchmarkTest.class.getClassLoader());
+			this.bytecodes = bytecodes;
+		}
+
+		Class<?> load(String name) {
+			try {
+				return loadClass(name);
+			} catch (ClassNotFoundException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			byte[] bytecode = bytecodes.get(name);
+			if (bytecode == null) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> clazz = findLoadedClass(name);
+				if (clazz == null) {
+					clazz = defineClass(name, bytecode, 0, bytecode.length);
+				}
+				return clazz;
+			}
+		}
+	}
+
+	private static class BenchmarkSuiteConfiguration extends SuiteConfiguration {
+
+		public BenchmarkSuiteConfiguration() throws InitializationError {
+			super(SUITE);
+		}
+
+		@Override
+		public TestRunConfigurationReader getConfigurationFromFile() {
+			return READER;
+		}
+	}
+}
@@ -15,13 +15,18 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlRootElement;
 
 import org.jboss.reddeer.junit.configuration.RedDeerConfigurationException;
 import org.jboss.reddeer.junit.internal.configuration.reader.XMLReader;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class XMLReaderTest {
 
@@ -29,6 +34,9 @@ public class XMLReaderTest {
 
 	private XMLReader reader;
 
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
 	@Test
 	public void getConfiguration_simple() {
 		reader = new XMLReader(new File(CONFIG_DIR_ROOT + "simple.xml"));
@@ -105,6 +113,23 @@ public class XMLReaderTest {
 		assertThat(result.size(), is(2));
 	}
 
+	@Test
+	public void getConfiguration_changedFile() throws IOException {
+		File file = copy("simple.xml", "changed.xml");
+		assertSimpleConfiguredObject(new XMLReader(file).getConfiguration(SimpleXML.class).get(1), "userRequirement2");
+
+		String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		Files.write(file.toPath(), content.replace("userRequirement2", "changedRequirement").getBytes(StandardCharsets.UTF_8));
+		file.setLastModified(file.lastModified() + 2000);
+		assertSimpleConfiguredObject(new XMLReader(file).getConfiguration(SimpleXML.class).get(1), "changedRequirement");
+	}
+
+	private File copy(String name, String newName) throws IOException {
+		File file = new File(folder.getRoot(), newName);
+		Files.copy(new File(CONFIG_DIR_ROOT + name).toPath(), file.toPath());
+		return file;
+	}
+
 	private void assertSimpleConfiguredObject(Object configObject,
 			String expectedAttribute) {
 		assertThat(configObject, instanceOf(SimpleXML.class));
@@ -0,0 +1,150 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.reddeer.junit.internal.history.LongestFirstOrder;
+import org.jboss.reddeer.junit.internal.history.TestHistory;
+import org.jboss.reddeer.junit.internal.history.TestHistory.Kind;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+
+public class TestHistoryTest {
+
+	private File file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = File.createTempFile("test-history", ".bin");
+		file.delete();
+	}
+
+	@After
+	public void deleteFile() {
+		file.delete();
+	}
+
+	@Test
+	public void durationsAreLoadedFromFile() {
+		TestHistory history = new TestHistory(file);
+		history.record(Kind.FULFILL, "a", 100);
+		history.record(Kind.FULFILL, "a", 300);
+		history.record(Kind.WAIT, "a", 4, 1000);
+
+		history = new TestHistory(file);
+		assertEquals(200, history.getDuration(Kind.FULFILL, "a"));
+		assertEquals(250, history.getDuration(Kind.WAIT, "a"));
+		assertEquals(-1, history.getDuration(Kind.CLEANUP, "a"));
+	}
+
+	@Test
+	public void historyIsCompacted() {
+		TestHistory history = new TestHistory(file);
+		for (int i = 0; i < 2000; i++) {
+			history.record(Kind.TEST, "a", i % 2 == 0 ? 100 : 300);
+		}
+		long length = file.length();
+
+		history = new TestHistory(file);
+		assertEquals(200, history.getDuration(Kind.TEST, "a"));
+		assertTrue(file.length() < length / 100);
+		history.record(Kind.TEST, "a", 2400);
+
+		history = new TestHistory(file);
+		assertEquals((TestHistory.MAX_SAMPLES * 200 + 2400) / (TestHistory.MAX_SAMPLES + 1),
+				history.getDuration(Kind.TEST, "a"));
+	}
+
+	@Test
+	public void incompleteRecordIsCutOff() throws IOException {
+		TestHistory history = new TestHistory(file);
+		history.record(Kind.FULFILL, "a", 100);
+		long length = file.length();
+		// incomplete record of a crashed run, kind and start of key
+		try (OutputStream output = new FileOutputStream(file, true)) {
+			output.write(new byte[] {(byte) Kind.FULFILL.ordinal(), 0, 1});
+		}
+
+		history = new TestHistory(file);
+		assertEquals(100, history.getDuration(Kind.FULFILL, "a"));
+		assertEquals(length, file.length());
+		history.record(Kind.FULFILL, "b", 300);
+
+		history = new TestHistory(file);
+		assertEquals(100, history.getDuration(Kind.FULFILL, "a"));
+		assertEquals(300, history.getDuration(Kind.FULFILL, "b"));
+	}
+
+	@Test
+	public void slowestEntriesOfCurrentRun() {
+		TestHistory history = new TestHistory(file);
+		history.record(Kind.FULFILL, "a", 100);
+		history.record(Kind.FULFILL, "b", 300);
+		history.record(Kind.FULFILL, "c", 200);
+		history.record(Kind.CLEANUP, "d", 1000);
+
+		List<TestHistory.Entry> slowest = history.getSlowest(Kind.FULFILL, 2);
+		assertEquals(2, slowest.size());
+		assertEquals("b", slowest.get(0).getKey());
+		assertEquals("c", slowest.get(1).getKey());
+	}
+
+	@Test
+	public void longestClassesRunFirst() {
+		TestHistory history = new TestHistory(file);
+		history.record(Kind.CLASS, "short", 100);
+		history.record(Kind.CLASS, "long", 900);
+		Runner shortRunner = new DescribedRunner("short");
+		Runner longRunner = new DescribedRunner("long");
+		Runner unknownRunner = new DescribedRunner("unknown");
+
+		assertEquals(Arrays.asList(longRunner, unknownRunner, shortRunner),
+				LongestFirstOrder.order(Arrays.asList(shortRunner, unknownRunner, longRunner), history));
+	}
+
+	@Test
+	public void orderIsKeptWithoutHistory() {
+		List<Runner> runners = Arrays.<Runner>asList(new DescribedRunner("a"), new DescribedRunner("b"));
+		assertSame(runners, LongestFirstOrder.order(runners, new TestHistory(file)));
+	}
+
+	private static class DescribedRunner extends Runner {
+
+		private final Description description;
+
+		public DescribedRunner(String name) {
+			description = Description.createSuiteDescription(name);
+		}
+
+		@Override
+		public Description getDescription() {
+			return description;
+		}
+
+		@Override
+		public void run(RunNotifier notifier) {
+		}
+	}
+}
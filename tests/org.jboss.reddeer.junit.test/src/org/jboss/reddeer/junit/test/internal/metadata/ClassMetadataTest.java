@@ -0,0 +1,86 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.metadata;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+import org.jboss.reddeer.junit.internal.metadata.ClassMetadata;
+import org.jboss.reddeer.junit.internal.metadata.ClassMetadata.InjectionPoint;
+import org.jboss.reddeer.junit.requirement.CustomConfiguration;
+import org.jboss.reddeer.junit.requirement.PropertyConfiguration;
+import org.jboss.reddeer.junit.test.internal.requirement.TestCustomJavaRequirement;
+import org.jboss.reddeer.junit.test.internal.requirement.TestCustomJavaRequirement.CustomJavaAnnotation;
+import org.jboss.reddeer.junit.test.internal.requirement.inject.ChildRequirementTestMock;
+import org.jboss.reddeer.junit.test.internal.requirement.inject.RequirementA;
+import org.jboss.reddeer.junit.test.internal.requirement.inject.StaticRequirementTestMock;
+import org.junit.Test;
+
+public class ClassMetadataTest {
+
+	@Test
+	public void metadataAreBuiltOncePerClass() {
+		assertThat(ClassMetadata.forClass(ChildRequirementTestMock.class),
+				sameInstance(ClassMetadata.forClass(ChildRequirementTestMock.class)));
+	}
+
+	@Test
+	public void injectionPointsOfClassHierarchy() {
+		ClassMetadata metadata = ClassMetadata.forClass(ChildRequirementTestMock.class);
+
+		assertThat(metadata.getInjectionPoints(false).size(), is(4));
+		assertThat(metadata.getInjectionPoints(true).size(), is(0));
+		for (InjectionPoint injectionPoint : metadata.getInjectionPoints(false)) {
+			assertThat(injectionPoint.getType(), sameInstance((Object) RequirementA.class));
+		}
+	}
+
+	@Test
+	public void staticInjectionPoints() {
+		ClassMetadata metadata = ClassMetadata.forClass(StaticRequirementTestMock.class);
+
+		assertThat(metadata.getInjectionPoints(false).size(), is(0));
+		assertThat(metadata.getInjectionPoints(true).size(), is(1));
+
+		RequirementA requirement = new RequirementA();
+		metadata.getInjectionPoints(true).get(0).set(null, requirement);
+		assertThat(StaticRequirementTestMock.getRequirementA(), sameInstance(requirement));
+	}
+
+	@Test
+	public void requirementAnnotationOfSubclassHidesSuperclass() {
+		List<Annotation> annotations = ClassMetadata.forClass(JavaChildTest.class).getRequirementAnnotations();
+
+		assertThat(annotations.size(), is(1));
+		assertThat(annotations.get(0).annotationType(), sameInstance((Object) CustomJavaAnnotation.class));
+		assertThat(ClassMetadata.forClass(JavaChildTest.class).getAnnotations().size(), is(2));
+	}
+
+	@Test
+	public void configurationTypeOfRequirement() {
+		assertThat(ClassMetadata.forClass(TestCustomJavaRequirement.class).getConfigurationType(),
+				sameInstance((Object) CustomConfiguration.class));
+		assertThat(ClassMetadata.forClass(RequirementA.class).getConfigurationType(),
+				sameInstance((Object) PropertyConfiguration.class));
+		assertThat(ClassMetadata.forClass(JavaChildTest.class).getConfigurationType(), nullValue());
+	}
+
+	@CustomJavaAnnotation
+	private static class JavaParentTest {}
+
+	@CustomJavaAnnotation
+	private static class JavaChildTest extends JavaParentTest {}
+}
@@ -12,6 +12,7 @@ package org.jboss.reddeer.junit.test.internal.requirement;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -24,6 +25,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import org.jboss.reddeer.junit.internal.requirement.RequirementStates;
 import org.jboss.reddeer.junit.internal.requirement.Requirements;
 import org.jboss.reddeer.junit.requirement.Requirement;
 import org.junit.Test;
@@ -129,6 +131,48 @@ public class RequirementsTest {
 		assertSame("TestRequirementA was expected", requirement1, iterator.next());
 	}
 	
+	@Test
+	public void reuseState() {
+		TestReusableRequirement requirement1 = new TestReusableRequirement("a");
+		TestReusableRequirement requirement2 = new TestReusableRequirement("a");
+		TestReusableRequirement requirement3 = new TestReusableRequirement("b");
+		Requirements requirements1 = new Requirements(asList(requirement1), String.class, null);
+		Requirements requirements2 = new Requirements(asList(requirement2), Integer.class, null);
+		Requirements requirements3 = new Requirements(asList(requirement3), Long.class, null);
+		requirements1.setNext(requirements2);
+		requirements2.setNext(requirements3);
+		
+		requirements1.fulfill();
+		requirements1.cleanUp();
+		requirements2.fulfill();
+		requirements2.cleanUp();
+		assertEquals(1, requirement1.getFulfillCount());
+		assertEquals(1, requirement1.getCleanUpCount());
+		assertEquals(0, requirement2.getFulfillCount());
+		assertEquals(0, requirement2.getCleanUpCount());
+		
+		requirements3.fulfill();
+		assertEquals(1, requirement3.getFulfillCount());
+		RequirementStates.getInstance().cleanUpAll();
+		assertEquals(1, requirement3.getCleanUpCount());
+	}
+	
+	@Test
+	public void deferredCleanUpOfFilteredClass() {
+		TestReusableRequirement requirement1 = new TestReusableRequirement("a");
+		TestReusableRequirement requirement2 = new TestReusableRequirement("a");
+		Requirements requirements1 = new Requirements(asList(requirement1), String.class, null);
+		requirements1.setNext(new Requirements(asList(requirement2), Integer.class, null));
+		
+		requirements1.fulfill();
+		requirements1.cleanUp();
+		assertEquals(0, requirement1.getCleanUpCount());
+		
+		RequirementStates.getInstance().cleanUpAll();
+		assertEquals(1, requirement1.getCleanUpCount());
+		assertEquals(0, requirement2.getFulfillCount());
+	}
+	
 	private List<Requirement<?>> asList(Requirement<?>... requirements) {
 		return Arrays.asList(requirements);
 	}
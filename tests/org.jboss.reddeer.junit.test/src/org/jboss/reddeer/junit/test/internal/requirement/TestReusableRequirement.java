@@ -0,0 +1,59 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.requirement;
+
+import java.lang.annotation.Annotation;
+
+import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.ReusableRequirement;
+
+public class TestReusableRequirement implements Requirement<Annotation>, ReusableRequirement {
+
+	private final String stateKey;
+
+	private int fulfillCount;
+
+	private int cleanUpCount;
+
+	public TestReusableRequirement(String stateKey) {
+		this.stateKey = stateKey;
+	}
+
+	public boolean canFulfill() {
+		return true;
+	}
+
+	public void fulfill() {
+		fulfillCount++;
+	}
+
+	@Override
+	public void setDeclaration(Annotation declaration) {
+	}
+
+	@Override
+	public void cleanUp() {
+		cleanUpCount++;
+	}
+
+	@Override
+	public Object getStateKey() {
+		return stateKey;
+	}
+
+	public int getFulfillCount() {
+		return fulfillCount;
+	}
+
+	public int getCleanUpCount() {
+		return cleanUpCount;
+	}
+}
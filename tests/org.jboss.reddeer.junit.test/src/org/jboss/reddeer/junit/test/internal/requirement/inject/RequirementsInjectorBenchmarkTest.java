@@ -0,0 +1,107 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.requirement.inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.junit.internal.requirement.Requirements;
+import org.jboss.reddeer.junit.internal.requirement.inject.RequirementsInjector;
+import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.inject.InjectRequirement;
+import org.junit.Test;
+
+/**
+ * Measures throughput of requirement injection into test instances compared
+ * to reflective walk of fields of class hierarchy for each test instance.
+ */
+public class RequirementsInjectorBenchmarkTest {
+
+	private static final Logger log = Logger.getLogger(RequirementsInjectorBenchmarkTest.class);
+
+	private static final int INJECTIONS = 100000;
+
+	@Test
+	public void injectionBenchmark() throws IllegalAccessException {
+		RequirementA requirementA = new RequirementA();
+		requirementA.setA("1");
+		List<Requirement<?>> requirementList = Arrays.<Requirement<?>>asList(requirementA);
+		Requirements requirements = new Requirements(requirementList, String.class, null);
+		RequirementsInjector injector = new RequirementsInjector();
+
+		// warm-up so that neither of the measured loops pays for class loading and JIT
+		reflectiveInjections(requirementList);
+		cachedInjections(injector, requirements);
+
+		long start = System.nanoTime();
+		reflectiveInjections(requirementList);
+		long reflective = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		ChildRequirementTestMock testInstance = cachedInjections(injector, requirements);
+		long cached = System.nanoTime() - start;
+
+		assertThat(testInstance.getRequirementA1().getA(), is("1"));
+		assertThat(testInstance.getRequirementA2().getA(), is("1"));
+		log.info("Injected test instances per second: reflective " + perSecond(reflective)
+				+ ", cached metadata " + perSecond(cached));
+	}
+
+	private static void reflectiveInjections(List<Requirement<?>> requirements) throws IllegalAccessException {
+		for (int i = 0; i < INJECTIONS; i++) {
+			reflectiveInject(new ChildRequirementTestMock(), requirements);
+		}
+	}
+
+	private static ChildRequirementTestMock cachedInjections(RequirementsInjector injector,
+			Requirements requirements) {
+		ChildRequirementTestMock testInstance = null;
+		for (int i = 0; i < INJECTIONS; i++) {
+			testInstance = new ChildRequirementTestMock();
+			injector.inject(testInstance, requirements);
+		}
+		return testInstance;
+	}
+
+	/**
+	 * Injects requirements the same way as injector without cached metadata.
+	 */
+	private static void reflectiveInject(Object testInstance, List<Requirement<?>> requirements)
+			throws IllegalAccessException {
+		List<Field> fields = new ArrayList<Field>();
+		Class<?> clazz = testInstance.getClass();
+		do {
+			fields.addAll(Arrays.asList(clazz.getDeclaredFields()));
+			clazz = clazz.getSuperclass();
+		} while (clazz != null);
+		for (Field field : fields) {
+			if (field.isAnnotationPresent(InjectRequirement.class) && !Modifier.isStatic(field.getModifiers())) {
+				for (Requirement<?> requirement : requirements) {
+					if (field.getType().equals(requirement.getClass())) {
+						field.setAccessible(true);
+						field.set(testInstance, requirement);
+					}
+				}
+			}
+		}
+	}
+
+	private static long perSecond(long nanos) {
+		return INJECTIONS * 1000000000L / Math.max(nanos, 1);
+	}
+}
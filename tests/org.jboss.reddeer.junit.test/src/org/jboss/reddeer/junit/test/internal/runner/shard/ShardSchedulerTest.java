@@ -0,0 +1,64 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.runner.shard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.jboss.reddeer.junit.internal.runner.shard.ShardDurations;
+import org.jboss.reddeer.junit.internal.runner.shard.ShardScheduler;
+import org.junit.Test;
+
+public class ShardSchedulerTest {
+
+	@Test
+	public void longestUnitsAreAssignedFirst() {
+		long[] durations = new long[] { 10, 70, 20, 40, 30, 30 };
+		int[] shards = ShardScheduler.assign(durations, 2);
+		assertArrayEquals(new int[] { 1, 0, 1, 1, 1, 0 }, shards);
+		long[] loads = new long[2];
+		for (int i = 0; i < durations.length; i++) {
+			loads[shards[i]] += durations[i];
+		}
+		assertEquals(100, loads[0]);
+		assertEquals(100, loads[1]);
+	}
+
+	@Test
+	public void singleShard() {
+		assertArrayEquals(new int[] { 0, 0, 0 }, ShardScheduler.assign(new long[] { 3, 2, 1 }, 1));
+	}
+
+	@Test
+	public void unknownDurationsAreEstimatedPerClass() throws IOException {
+		File file = File.createTempFile("shard-durations", ".properties");
+		file.delete();
+		try {
+			ShardDurations durations = new ShardDurations(file);
+			assertArrayEquals(new long[] { 2 * ShardDurations.DEFAULT_CLASS_DURATION },
+					durations.estimate(Arrays.asList("a"), new int[] { 2 }));
+
+			durations.setDuration("a", 4000);
+			durations.save();
+			durations = new ShardDurations(file);
+			assertEquals(4000, durations.getDuration("a"));
+			assertEquals(-1, durations.getDuration("b"));
+			assertArrayEquals(new long[] { 4000, 6000 },
+					durations.estimate(Arrays.asList("a", "b"), new int[] { 2, 3 }));
+		} finally {
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.screenshot;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.jboss.reddeer.junit.screenshot.ImageTool;
+import org.jboss.reddeer.junit.screenshot.ScreenshotWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScreenshotWriterTest {
+
+	private static final int WIDTH = 100;
+	private static final int HEIGHT = 60;
+
+	private File directory;
+
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("screenshots").toFile();
+	}
+
+	@After
+	public void deleteDirectory() {
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void screenshotIsSavedWhenWaitingWithoutDeadline() {
+		ScreenshotWriter writer = new ScreenshotWriter(1, 1);
+		writer.write(createImage(0), fileName("first"));
+
+		assertTrue(writer.waitForScreenshots(Long.MAX_VALUE));
+		assertTrue(new File(fileName("first")).exists());
+	}
+
+	@Test
+	public void synchronousWriteSavesScheduledScreenshotsFirst() {
+		ScreenshotWriter writer = new ScreenshotWriter(1, 1);
+		writer.write(createImage(0), fileName("scheduled"));
+		writer.writeSynchronously(createImage(1), fileName("synchronous"));
+
+		assertTrue(new File(fileName("scheduled")).exists());
+		assertTrue(new File(fileName("synchronous")).exists());
+	}
+
+	@Test
+	public void screenshotsOverQueueCapacityAreSaved() {
+		ScreenshotWriter writer = new ScreenshotWriter(1, 1);
+		int count = ScreenshotWriter.QUEUE_CAPACITY * 3;
+		for (int i = 0; i < count; i++) {
+			writer.write(createImage(i), fileName("queued" + i));
+		}
+
+		assertTrue(writer.waitForScreenshots(30000));
+		for (int i = 0; i < count; i++) {
+			assertTrue(new File(fileName("queued" + i)).exists());
+		}
+	}
+
+	@Test
+	public void identicalScreenshotIsCopied() throws IOException {
+		ScreenshotWriter writer = new ScreenshotWriter(1, 1);
+		writer.write(createImage(5), fileName("original"));
+		writer.write(createImage(5), fileName("copy"));
+		writer.write(createImage(6), fileName("different"));
+		assertTrue(writer.waitForScreenshots(30000));
+
+		byte[] original = Files.readAllBytes(new File(fileName("original")).toPath());
+		assertArrayEquals(original, Files.readAllBytes(new File(fileName("copy")).toPath()));
+		assertFalse(Arrays.equals(original, Files.readAllBytes(new File(fileName("different")).toPath())));
+		assertEquals(0xFFFFFF, loadImage("different").getPixel(6, 0) & 0xFFFFFF);
+	}
+
+	@Test
+	public void screenshotIsScaled() {
+		ScreenshotWriter writer = new ScreenshotWriter(1, 0.5f);
+		writer.writeSynchronously(createImage(0), fileName("scaled"));
+
+		ImageData imageData = loadImage("scaled");
+		assertEquals(WIDTH / 2, imageData.width);
+		assertEquals(HEIGHT / 2, imageData.height);
+	}
+
+	@Test
+	public void blankScreenshotIsSaved() {
+		ImageData blank = new ImageData(WIDTH, HEIGHT, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		assertTrue(ImageTool.getInstance().isImageBlank(blank));
+		assertFalse(ImageTool.getInstance().isImageBlank(createImage(0)));
+
+		ScreenshotWriter writer = new ScreenshotWriter(1, 1);
+		writer.writeSynchronously(blank, fileName("blank"));
+
+		assertTrue(ImageTool.getInstance().isImageBlank(loadImage("blank")));
+	}
+
+	private String fileName(String name) {
+		return new File(directory, name + ".png").getAbsolutePath();
+	}
+
+	private ImageData loadImage(String name) {
+		return new ImageLoader().load(fileName(name))[0];
+	}
+
+	/**
+	 * Creates image with a white pixel in the first row at given column.
+	 */
+	private static ImageData createImage(int column) {
+		ImageData imageData = new ImageData(WIDTH, HEIGHT, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		imageData.setPixel(column, 0, 0xFFFFFF);
+		return imageData;
+	}
+}
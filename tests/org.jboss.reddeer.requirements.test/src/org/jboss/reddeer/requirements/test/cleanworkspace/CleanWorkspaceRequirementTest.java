@@ -11,10 +11,24 @@
 package org.jboss.reddeer.requirements.test.cleanworkspace;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourceAttributes;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.direct.project.Project;
 import org.jboss.reddeer.eclipse.jdt.ui.packageexplorer.PackageExplorer;
 import org.jboss.reddeer.eclipse.jdt.ui.wizards.JavaProjectWizard;
 import org.jboss.reddeer.eclipse.jdt.ui.wizards.NewJavaProjectWizardPageOne;
@@ -23,7 +37,9 @@ import org.jboss.reddeer.junit.internal.requirement.Requirements;
 import org.jboss.reddeer.junit.internal.runner.RequirementsRunner;
 import org.jboss.reddeer.junit.internal.runner.RequirementsRunnerBuilder;
 import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.jboss.reddeer.requirements.cleanworkspace.CleanWorkspaceRequirement;
 import org.jboss.reddeer.requirements.cleanworkspace.CleanWorkspaceRequirement.CleanWorkspace;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -66,6 +82,11 @@ public class CleanWorkspaceRequirementTest {
 
 	}
 
+	@After
+	public void resetMode() {
+		System.clearProperty(RedDeerProperties.CLEAN_WORKSPACE_MODE.getName());
+	}
+
 	@Test
 	public void fulfillWithoutProjectsTest() {
 		requirements.fulfill();
@@ -83,6 +104,50 @@ public class CleanWorkspaceRequirementTest {
 				packageExplorer.getProjects().isEmpty());
 	}
 	
+	@Test
+	public void fulfillViaAPITest() throws CoreException {
+		System.setProperty(RedDeerProperties.CLEAN_WORKSPACE_MODE.getName(), "api");
+		fulfillWithNestedReadOnlyContent();
+	}
+
+	@Test
+	public void fulfillViaUITest() throws CoreException {
+		System.setProperty(RedDeerProperties.CLEAN_WORKSPACE_MODE.getName(), "ui");
+		fulfillWithNestedReadOnlyContent();
+	}
+
+	private void fulfillWithNestedReadOnlyContent() throws CoreException {
+		File first = createProject("FirstProject").getLocation().toFile();
+		File second = createProject("SecondProject").getLocation().toFile();
+
+		new CleanWorkspaceRequirement().fulfill();
+
+		assertTrue(Project.getProjectNames().isEmpty());
+		assertFalse(first.exists());
+		assertFalse(second.exists());
+	}
+
+	/**
+	 * Creates project with nested folders a/b/c each containing a read-only file.
+	 */
+	private static IProject createProject(String name) throws CoreException {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+		project.create(null);
+		project.open(null);
+		IContainer container = project;
+		for (String folderName : new String[] { "a", "b", "c" }) {
+			IFolder folder = container.getFolder(new Path(folderName));
+			folder.create(true, true, null);
+			IFile file = folder.getFile("file.txt");
+			file.create(new ByteArrayInputStream(name.getBytes(StandardCharsets.UTF_8)), true, null);
+			ResourceAttributes attributes = file.getResourceAttributes();
+			attributes.setReadOnly(true);
+			file.setResourceAttributes(attributes);
+			container = folder;
+		}
+		return project;
+	}
+
 	@CleanWorkspace
 	public static class TestClass{
 		
@@ -0,0 +1,218 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeMatcher;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.util.Display;
+import org.jboss.reddeer.common.util.DisplayStatistics;
+import org.jboss.reddeer.core.handler.TableHandler;
+import org.jboss.reddeer.core.handler.TableSnapshot;
+import org.jboss.reddeer.swt.api.TableItem;
+import org.jboss.reddeer.swt.condition.TableContainsItem;
+import org.jboss.reddeer.swt.impl.table.DefaultTable;
+import org.junit.Test;
+
+/**
+ * Tests scans of tables backed by table snapshots.
+ */
+public class TableSnapshotTest extends SWTLayerTestCase {
+
+	private static final Logger log = Logger.getLogger(TableSnapshotTest.class);
+
+	private static final int ROWS = 2000;
+	private static final int COLUMNS = 4;
+	private static final int VIRTUAL_ROWS = 500;
+
+	@Override
+	protected void createControls(Shell shell) {
+		shell.setLayout(new FillLayout());
+		Table table = new Table(shell, SWT.CHECK | SWT.MULTI);
+		for (int i = 0; i < COLUMNS; i++) {
+			new TableColumn(table, SWT.NONE).setText("Column " + i);
+		}
+		for (int i = 0; i < ROWS; i++) {
+			org.eclipse.swt.widgets.TableItem item = new org.eclipse.swt.widgets.TableItem(table, SWT.NONE);
+			for (int j = 0; j < COLUMNS; j++) {
+				item.setText(j, "Cell " + i + "-" + j);
+			}
+			item.setChecked(i % 3 == 0);
+		}
+		table.select(new int[] { 10, 20 });
+
+		Table virtualTable = new Table(shell, SWT.VIRTUAL);
+		virtualTable.addListener(SWT.SetData, new Listener() {
+
+			@Override
+			public void handleEvent(Event event) {
+				org.eclipse.swt.widgets.TableItem item = (org.eclipse.swt.widgets.TableItem) event.item;
+				item.setText("Virtual " + event.index);
+			}
+		});
+		virtualTable.setItemCount(VIRTUAL_ROWS);
+	}
+
+	@Test
+	public void snapshotContainsAllRows() {
+		DefaultTable table = new DefaultTable();
+		TableSnapshot snapshot = table.getSnapshot();
+		assertEquals(0, snapshot.getStart());
+		assertEquals(ROWS, snapshot.getEnd());
+		assertEquals("Cell 1234-3", snapshot.getState(1234).getText(3));
+		assertTrue(snapshot.getState(3).isChecked());
+		assertTrue(snapshot.isSelected(20));
+		assertFalse(snapshot.isSelected(21));
+		assertEquals(77, snapshot.indexOf("Cell 77-2", 2));
+		assertEquals(-1, snapshot.indexOf("Cell 77-2", 1));
+	}
+
+	@Test
+	public void snapshotOfRange() {
+		TableSnapshot snapshot = TableHandler.getInstance().getSnapshot(new DefaultTable().getSWTWidget(),
+				ROWS - 10, 100);
+		assertEquals(ROWS, snapshot.getRowCount());
+		assertEquals(ROWS - 10, snapshot.getStart());
+		assertEquals(ROWS, snapshot.getEnd());
+		assertFalse(snapshot.containsRow(0));
+		assertEquals("Cell " + (ROWS - 1) + "-0", snapshot.getState(ROWS - 1).getText());
+	}
+
+	@Test
+	public void scansAreInMemory() {
+		DefaultTable table = new DefaultTable();
+		DisplayStatistics start = Display.getStatistics();
+		assertTrue(table.containsItem("Cell 1999-1", 1));
+		assertFalse(table.containsItem("Cell 1999-1"));
+		assertTrue(new TableContainsItem(table, "Cell 1500-2", 2).test());
+		TableItem item = table.getItem("Cell 42-3", 3);
+		assertEquals("Cell 42-0", item.getText());
+		assertTrue(item.isChecked());
+		long syncExecs = Display.getStatistics().since(start).getSyncExecCount();
+		log.info("Scanning table with " + ROWS + " rows 4 times took " + syncExecs + " sync executions");
+		assertTrue(syncExecs < 20);
+	}
+
+	@Test
+	public void tableItemsAreMatchedInMemory() {
+		DefaultTable table = new DefaultTable();
+		DisplayStatistics start = Display.getStatistics();
+		List<TableItem> items = table.getItems(new CellTextMatcher(COLUMNS - 1, "Cell 7-3"));
+		long syncExecs = Display.getStatistics().since(start).getSyncExecCount();
+		log.info("Matching " + ROWS + " table items took " + syncExecs + " sync executions");
+		assertTrue(syncExecs < 20);
+		assertEquals(1, items.size());
+		assertEquals("Cell 7-0", items.get(0).getText());
+	}
+
+	@Test
+	public void tableItemStateIsReadFromWidget() {
+		TableItem item = new DefaultTable().getItems().get(1);
+		final org.eclipse.swt.widgets.TableItem swtItem = item.getSWTWidget();
+		assertFalse(item.isChecked());
+		Display.syncExec(new Runnable() {
+			@Override
+			public void run() {
+				swtItem.setChecked(true);
+				swtItem.setText(0, "Changed");
+			}
+		});
+		try {
+			assertTrue(item.isChecked());
+			assertEquals("Changed", item.getText());
+		} finally {
+			Display.syncExec(new Runnable() {
+				@Override
+				public void run() {
+					swtItem.setChecked(false);
+					swtItem.setText(0, "Cell 1-0");
+				}
+			});
+		}
+	}
+
+	@Test
+	public void itemsCanBeModified() {
+		List<TableItem> items = new DefaultTable().getItems();
+		assertEquals(ROWS, items.size());
+		items.remove(0);
+		assertEquals("Cell 1-0", items.get(0).getText());
+	}
+
+	@Test
+	public void selectedItemsAreReadFromSnapshot() {
+		List<TableItem> selected = new DefaultTable().getSelectetItems();
+		assertEquals(2, selected.size());
+		assertEquals("Cell 10-0", selected.get(0).getText());
+		assertTrue(selected.get(1).isSelected());
+	}
+
+	@Test
+	public void selectionIsReadFromWidget() {
+		DefaultTable table = new DefaultTable();
+		TableItem item = table.getItems().get(30);
+		assertFalse(item.isSelected());
+		table.select(30);
+		try {
+			assertTrue(item.isSelected());
+		} finally {
+			table.select(10, 20);
+		}
+	}
+
+	@Test
+	public void virtualTableIsReadInPages() {
+		DefaultTable table = new DefaultTable(1);
+		DisplayStatistics start = Display.getStatistics();
+		TableSnapshot snapshot = table.getSnapshot();
+		long syncExecs = Display.getStatistics().since(start).getSyncExecCount();
+		log.info("Reading virtual table with " + VIRTUAL_ROWS + " rows took " + syncExecs + " sync executions");
+		assertEquals(VIRTUAL_ROWS, snapshot.getEnd());
+		assertEquals("Virtual 321", snapshot.getState(321).getText());
+		assertTrue(syncExecs > 2);
+		assertTrue(syncExecs <= VIRTUAL_ROWS / TableHandler.MIN_VIRTUAL_PAGE_SIZE + 2);
+		assertEquals(VIRTUAL_ROWS, table.getItems().size());
+	}
+
+	private static class CellTextMatcher extends TypeSafeMatcher<TableItem> {
+
+		private final int cellIndex;
+		private final String text;
+
+		CellTextMatcher(int cellIndex, String text) {
+			this.cellIndex = cellIndex;
+			this.text = text;
+		}
+
+		@Override
+		protected boolean matchesSafely(TableItem item) {
+			return text.equals(item.getText(cellIndex));
+		}
+
+		@Override
+		public void describeTo(Description description) {
+			description.appendText("table item with text " + text + " in cell " + cellIndex);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.common.util.Display;
+import org.jboss.reddeer.common.util.DisplayStatistics;
+import org.jboss.reddeer.core.exception.CoreLayerException;
+import org.jboss.reddeer.core.handler.TreeItemHandler;
+import org.jboss.reddeer.core.lookup.TreeItemLookup;
+import org.jboss.reddeer.core.matcher.TreeItemTextMatcher;
+import org.jboss.reddeer.swt.impl.tree.DefaultTree;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Compares indexed tree item lookup with walking of all children on a tree with
+ * 50 000 leaves and measures time spent in both of them.
+ */
+@SuppressWarnings("unchecked")
+public class TreeItemLookupIndexTest extends SWTLayerTestCase {
+
+	private static final Logger log = Logger.getLogger(TreeItemLookupIndexTest.class);
+
+	private static final int ROOTS = 10;
+	private static final int CHILDREN = 50;
+	private static final int LEAVES = 100;
+	private static final int ITERATIONS = 10;
+
+	@Override
+	protected void createControls(Shell shell) {
+		shell.setLayout(new FillLayout());
+		Tree tree = new Tree(shell, SWT.NONE);
+		for (int i = 0; i < ROOTS; i++) {
+			TreeItem root = new TreeItem(tree, SWT.NONE);
+			root.setText("Root " + i);
+			for (int j = 0; j < CHILDREN; j++) {
+				TreeItem child = new TreeItem(root, SWT.NONE);
+				child.setText("Child " + j);
+				for (int k = 0; k < LEAVES; k++) {
+					new TreeItem(child, SWT.NONE).setText("Leaf " + k);
+				}
+			}
+		}
+	}
+
+	@After
+	public void resetLookupMode() {
+		System.clearProperty(RedDeerProperties.INDEXED_TREE_ITEM_LOOKUP.getName());
+	}
+
+	@Test
+	public void indexedLookupMatchesWalkingLookup() {
+		Tree tree = new DefaultTree().getSWTWidget();
+		TreeItem walked = lookup(tree, false, "Root 9", "Child 49", "Leaf 99");
+		TreeItem indexed = lookup(tree, true, "Root 9", "Child 49", "Leaf 99");
+		assertSame(walked, indexed);
+
+		DisplayStatistics start = Display.getStatistics();
+		lookup(tree, true, "Root 9", "Child 49", "Leaf 99");
+		assertEquals(1, Display.getStatistics().since(start).getSyncExecCount());
+	}
+
+	@Test
+	public void indexIsInvalidatedByTreeChanges() {
+		final Tree tree = new DefaultTree().getSWTWidget();
+		final TreeItem leaf = lookup(tree, true, "Root 1", "Child 1", "Leaf 1");
+
+		Display.syncExec(new Runnable() {
+			@Override
+			public void run() {
+				leaf.getParentItem().setExpanded(false);
+				leaf.setText("Renamed leaf");
+			}
+		});
+		assertSame(leaf, lookup(tree, true, "Root 1", "Child 1", "Renamed leaf"));
+		try {
+			lookup(tree, true, "Root 1", "Child 1", "Leaf 1");
+			fail("Renamed tree item should not be found");
+		} catch (CoreLayerException e) {
+			// expected
+		}
+
+		Display.syncExec(new Runnable() {
+			@Override
+			public void run() {
+				leaf.dispose();
+			}
+		});
+		TreeItem sibling = lookup(tree, true, "Root 1", "Child 1", "Leaf 2");
+		assertEquals("Leaf 2", TreeItemHandler.getInstance().getText(sibling, 0));
+	}
+
+	@Test
+	public void indexedLookupBenchmark() {
+		Tree tree = new DefaultTree().getSWTWidget();
+		long walking = measure(tree, false);
+		long indexed = measure(tree, true);
+		log.info("Lookup of tree items in tree with " + (ROOTS * CHILDREN * LEAVES) + " leaves took "
+				+ walking / ITERATIONS + " ms by walking children and " + indexed / ITERATIONS + " ms from index");
+	}
+
+	private long measure(Tree tree, boolean indexed) {
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < ITERATIONS; i++) {
+			lookup(tree, indexed, "Root " + (ROOTS - 1 - i % 2), "Child " + (CHILDREN - 1), "Leaf " + (LEAVES - 1));
+		}
+		return System.currentTimeMillis() - start;
+	}
+
+	private TreeItem lookup(Tree tree, boolean indexed, String... path) {
+		System.setProperty(RedDeerProperties.INDEXED_TREE_ITEM_LOOKUP.getName(), String.valueOf(indexed));
+		Matcher<TreeItem>[] matchers = new Matcher[path.length];
+		for (int i = 0; i < path.length; i++) {
+			matchers[i] = new TreeItemTextMatcher(path[i]);
+		}
+		return TreeItemLookup.getInstance().getTreeItem(tree, 0, matchers);
+	}
+}
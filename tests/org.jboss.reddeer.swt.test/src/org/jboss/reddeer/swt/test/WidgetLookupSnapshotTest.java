@@ -0,0 +1,135 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.RowLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.Widget;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.common.util.Display;
+import org.jboss.reddeer.common.util.DisplayStatistics;
+import org.jboss.reddeer.core.lookup.WidgetLookup;
+import org.jboss.reddeer.core.lookup.WidgetSnapshot;
+import org.jboss.reddeer.core.matcher.ClassMatcher;
+import org.jboss.reddeer.swt.impl.shell.DefaultShell;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Compares snapshot widget lookup with the legacy per node lookup and measures
+ * time spent in both of them.
+ */
+public class WidgetLookupSnapshotTest extends SWTLayerTestCase {
+
+	private static final Logger log = Logger.getLogger(WidgetLookupSnapshotTest.class);
+
+	private static final int COMPOSITES = 20;
+	private static final int LABELS = 20;
+	private static final int ITERATIONS = 20;
+
+	@Override
+	protected void createControls(Shell shell) {
+		for (int i = 0; i < COMPOSITES; i++) {
+			Composite composite = new Composite(shell, SWT.NONE);
+			composite.setLayout(new RowLayout());
+			for (int j = 0; j < LABELS; j++) {
+				new Label(composite, SWT.NONE).setText("Label " + i + "-" + j);
+			}
+		}
+		new Text(shell, SWT.BORDER).setText("Last text");
+	}
+
+	@After
+	public void resetLookupMode() {
+		System.clearProperty(RedDeerProperties.SNAPSHOT_WIDGET_LOOKUP.getName());
+	}
+
+	@Test
+	public void snapshotMatchesLegacyLookup() {
+		Shell shell = new DefaultShell(SHELL_TITLE).getSWTWidget();
+		List<Widget> snapshotWidgets = lookupAll(shell, true);
+		List<Widget> legacyWidgets = lookupAll(shell, false);
+		assertEquals(COMPOSITES * LABELS, snapshotWidgets.size());
+		assertEquals(legacyWidgets, snapshotWidgets);
+
+		assertSame(lookupLast(shell, false), lookupLast(shell, true));
+	}
+
+	@Test
+	public void snapshotCapturesWidgetState() {
+		Shell shell = new DefaultShell(SHELL_TITLE).getSWTWidget();
+		WidgetSnapshot<Text> snapshot = WidgetLookup.getInstance().snapshotWidget(shell,
+				new ClassMatcher(Text.class), true, 0);
+		assertNotNull(snapshot);
+		assertEquals("Last text", snapshot.getText());
+		assertEquals(Text.class, snapshot.getWidgetClass());
+		assertEquals(1, snapshot.getDepth());
+		assertEquals(COMPOSITES, snapshot.getIndexPath()[0]);
+	}
+
+	@Test
+	public void snapshotLookupUsesFewerSyncExecs() {
+		Shell shell = new DefaultShell(SHELL_TITLE).getSWTWidget();
+		DisplayStatistics start = Display.getStatistics();
+		lookupAll(shell, false);
+		long legacy = Display.getStatistics().since(start).getSyncExecCount();
+
+		start = Display.getStatistics();
+		lookupAll(shell, true);
+		long snapshot = Display.getStatistics().since(start).getSyncExecCount();
+
+		log.info("Widget lookup of " + (COMPOSITES * LABELS) + " labels performed " + legacy
+				+ " sync executions in legacy mode and " + snapshot + " in snapshot mode");
+		// statistics are global, sync executions of background threads are counted too
+		assertTrue(legacy > COMPOSITES * LABELS);
+		assertTrue("Snapshot lookup performed " + snapshot + " sync executions", snapshot < legacy / 10);
+	}
+
+	@Test
+	public void snapshotLookupBenchmark() {
+		Shell shell = new DefaultShell(SHELL_TITLE).getSWTWidget();
+		long legacy = measure(shell, false);
+		long snapshot = measure(shell, true);
+		log.info("Widget lookup of " + (COMPOSITES * LABELS) + " labels took " + legacy / ITERATIONS
+				+ " ms in legacy mode and " + snapshot / ITERATIONS + " ms in snapshot mode");
+	}
+
+	private long measure(Shell shell, boolean snapshot) {
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < ITERATIONS; i++) {
+			lookupAll(shell, snapshot);
+			lookupLast(shell, snapshot);
+		}
+		return System.currentTimeMillis() - start;
+	}
+
+	private List<Widget> lookupAll(Shell shell, boolean snapshot) {
+		System.setProperty(RedDeerProperties.SNAPSHOT_WIDGET_LOOKUP.getName(), String.valueOf(snapshot));
+		return WidgetLookup.getInstance().activeWidgets(shell, new ClassMatcher(Label.class));
+	}
+
+	private Widget lookupLast(Shell shell, boolean snapshot) {
+		System.setProperty(RedDeerProperties.SNAPSHOT_WIDGET_LOOKUP.getName(), String.valueOf(snapshot));
+		return WidgetLookup.getInstance().activeWidget(shell, new ClassMatcher(Label.class), COMPOSITES * LABELS - 1);
+	}
+}
@@ -0,0 +1,118 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.keyboard;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.RowLayout;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.util.Display;
+import org.jboss.reddeer.swt.impl.shell.DefaultShell;
+import org.jboss.reddeer.swt.impl.styledtext.DefaultStyledText;
+import org.jboss.reddeer.swt.impl.text.DefaultText;
+import org.jboss.reddeer.swt.keyboard.KeyboardFactory;
+import org.jboss.reddeer.swt.keyboard.TypingSpeed;
+import org.jboss.reddeer.swt.test.SWTLayerTestCase;
+import org.junit.Test;
+
+/**
+ * Compares text typed by legacy and fast keyboard and measures characters typed
+ * per second by both of them. Legacy keyboard types only a short sample, it
+ * waits 200 ms before each key event.
+ */
+public class KeyboardBenchmarkTest extends SWTLayerTestCase {
+
+	private static final Logger log = Logger.getLogger(KeyboardBenchmarkTest.class);
+
+	private static final String SHORT_TEXT = "Hello World!";
+	private static final String LONG_TEXT = "/home/user/workspace/Project_1/src/org/example/Main.java";
+	private static final String LEGACY_SAMPLE = "/home";
+
+	private Text text;
+	private org.eclipse.swt.custom.StyledText styledText;
+
+	@Override
+	protected void createControls(Shell shell) {
+		shell.setLayout(new RowLayout());
+		text = new Text(shell, SWT.BORDER);
+		styledText = new org.eclipse.swt.custom.StyledText(shell, SWT.BORDER);
+	}
+
+	@Test
+	public void fastTypingMatchesLegacyTyping() {
+		new DefaultShell(SHELL_TITLE);
+		focus(text);
+		KeyboardFactory.getKeyboard(TypingSpeed.LEGACY).type(SHORT_TEXT);
+		String legacy = new DefaultText().getText();
+		new DefaultText().setText("");
+
+		focus(text);
+		KeyboardFactory.getKeyboard(TypingSpeed.FAST).type(SHORT_TEXT);
+		assertEquals(SHORT_TEXT, legacy);
+		assertEquals(legacy, new DefaultText().getText());
+	}
+
+	@Test
+	public void fastTypingToStyledText() {
+		new DefaultShell(SHELL_TITLE);
+		focus(styledText);
+		KeyboardFactory.getKeyboard(TypingSpeed.FAST).type(LONG_TEXT);
+		assertEquals(LONG_TEXT, new DefaultStyledText().getText());
+	}
+
+	@Test
+	public void textTypingBenchmark() {
+		new DefaultShell(SHELL_TITLE);
+		double legacy = measure(text, TypingSpeed.LEGACY, LEGACY_SAMPLE);
+		new DefaultText().setText("");
+		double fast = measure(text, TypingSpeed.FAST, LONG_TEXT);
+		assertEquals(LONG_TEXT, new DefaultText().getText());
+		log.info("Typing to text: " + format(legacy) + " characters per second in legacy mode and "
+				+ format(fast) + " in fast mode");
+	}
+
+	@Test
+	public void styledTextTypingBenchmark() {
+		new DefaultShell(SHELL_TITLE);
+		double legacy = measure(styledText, TypingSpeed.LEGACY, LEGACY_SAMPLE);
+		new DefaultStyledText().setText("");
+		double fast = measure(styledText, TypingSpeed.FAST, LONG_TEXT);
+		assertEquals(LONG_TEXT, new DefaultStyledText().getText());
+		log.info("Typing to styled text: " + format(legacy) + " characters per second in legacy mode and "
+				+ format(fast) + " in fast mode");
+	}
+
+	private double measure(Control control, TypingSpeed typingSpeed, String sample) {
+		focus(control);
+		long start = System.currentTimeMillis();
+		KeyboardFactory.getKeyboard(typingSpeed).type(sample);
+		long time = Math.max(1, System.currentTimeMillis() - start);
+		return sample.length() * 1000.0 / time;
+	}
+
+	private void focus(final Control control) {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				control.forceFocus();
+			}
+		});
+	}
+
+	private static String format(double charactersPerSecond) {
+		return String.format("%.1f", charactersPerSecond);
+	}
+}
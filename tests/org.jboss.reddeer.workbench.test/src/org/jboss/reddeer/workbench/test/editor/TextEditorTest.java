@@ -372,6 +372,16 @@ public class TextEditorTest {
 		assertTrue(offset == -1);
 	}
 
+	@Test
+	public void testGetPositionOfTextAfterChange() {
+		TextEditor textEditor = TextEditorTest.openJavaFile();
+		assertEquals(-1, textEditor.getPositionOfText("testLine"));
+		textEditor.insertLine(4, "\t\ttestLine;");
+		assertEquals(4, textEditor.getLineOfText("testLine"));
+		assertEquals(textEditor.getText().indexOf("testLine"), textEditor.getPositionOfText("testLine"));
+		assertEquals(5, textEditor.getLineOfText("System.out.println"));
+	}
+
 	@Test
 	public void getSelectedTextTest() {
 		TextEditor textEditor = TextEditorTest.openJavaFile();
@@ -0,0 +1,148 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.workbench.test.internal.handler;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.jboss.reddeer.workbench.internal.handler.DocumentIndex;
+import org.junit.Test;
+
+/**
+ * Checks incremental updates of {@link DocumentIndex}. Index is attached to a
+ * document as its listener and after each change its content, line offsets and
+ * occurrences of texts are compared with the document.
+ */
+public class DocumentIndexTest {
+
+	private IDocument document;
+	private DocumentIndex index;
+
+	@Test
+	public void insertLineBreaksIntoLine() throws BadLocationException {
+		create("first line\nsecond line");
+		replace(5, 0, "\nnew\r\n");
+		replace(0, 0, "\n");
+		replace(document.getLength(), 0, "\r");
+	}
+
+	@Test
+	public void insertTextWithLineBreaksAtLineBreak() throws BadLocationException {
+		create("one\ntwo\nthree");
+		replace(3, 0, "\nfour\nfive");
+		replace(4, 0, "six\n");
+	}
+
+	@Test
+	public void deleteAcrossLineBreaks() throws BadLocationException {
+		create("one\ntwo\nthree\nfour\nfive");
+		replace(2, 9, "");
+		replace(0, 1, "");
+		replace(document.getLength() - 5, 5, "");
+	}
+
+	@Test
+	public void deleteWholeLines() throws BadLocationException {
+		create("one\ntwo\nthree\nfour\n");
+		replace(4, 10, "");
+		replace(0, 4, "");
+		replace(0, document.getLength(), "");
+	}
+
+	@Test
+	public void replaceAcrossLineBreaks() throws BadLocationException {
+		create("one\ntwo\nthree\nfour");
+		replace(1, 10, "x\ny\nz");
+		replace(2, 3, "single");
+	}
+
+	@Test
+	public void joinAndSplitCarriageReturnLineFeed() throws BadLocationException {
+		create("one\rtwo\nthree");
+		replace(4, 0, "\n");
+		replace(4, 1, "");
+		replace(3, 0, "x");
+		replace(4, 1, "");
+		replace(7, 0, "\r");
+	}
+
+	@Test
+	public void occurrencesAreFoundAfterChange() throws BadLocationException {
+		create("alpha\nbeta\ngamma\nbeta\n");
+		replace(6, 5, "");
+		replace(0, 0, "beta\nbe\nta\n");
+		replace(document.getLength(), 0, "alpha\rbeta");
+	}
+
+	@Test
+	public void randomChanges() throws BadLocationException {
+		Random random = new Random(20161);
+		String alphabet = "ab\n\r";
+		create("ab\nba\r\nab\rba");
+		for (int i = 0; i < 500; i++) {
+			int offset = random.nextInt(document.getLength() + 1);
+			int length = random.nextInt(Math.min(8, document.getLength() - offset) + 1);
+			StringBuilder text = new StringBuilder();
+			for (int j = random.nextInt(8); j > 0; j--) {
+				text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			replace(offset, length, text.toString());
+		}
+	}
+
+	private void create(String content) throws BadLocationException {
+		document = new Document(content);
+		index = new DocumentIndex(content);
+		document.addDocumentListener(index);
+		assertIndex();
+	}
+
+	private void replace(int offset, int length, String text) throws BadLocationException {
+		document.replace(offset, length, text);
+		assertIndex();
+	}
+
+	private void assertIndex() throws BadLocationException {
+		String content = document.get();
+		assertEquals(content, index.getContent());
+		assertEquals(document.getNumberOfLines(), index.getNumberOfLines());
+		for (int line = 0; line < document.getNumberOfLines(); line++) {
+			assertEquals("Offset of line " + line + " in '" + content + "'",
+					document.getLineOffset(line), index.getLineOffset(line));
+		}
+		assertEquals(-1, index.getLineOffset(document.getNumberOfLines()));
+		for (int offset = 0; offset <= content.length(); offset++) {
+			assertEquals("Line of offset " + offset + " in '" + content + "'",
+					document.getLineOfOffset(offset), index.getLineOfOffset(offset));
+		}
+		assertEquals(-1, index.getLineOfOffset(content.length() + 1));
+		// the first search scans the content, next ones use postings of trigrams
+		for (int start = 0; start < content.length(); start++) {
+			String text = content.substring(start, Math.min(content.length(), start + 4));
+			for (int occurrence = 0; occurrence < 3; occurrence++) {
+				assertEquals("Occurrence " + occurrence + " of '" + text + "' in '" + content + "'",
+						offsetOf(content, text, occurrence), index.getOffsetOfText(text, occurrence));
+			}
+		}
+	}
+
+	private static int offsetOf(String content, String text, int occurrence) {
+		int offset = content.indexOf(text);
+		for (int i = 0; i < occurrence && offset != -1; i++) {
+			offset = content.indexOf(text, offset + text.length());
+		}
+		return offset;
+	}
+}
@@ -0,0 +1,66 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.workbench.test.lookup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.jboss.reddeer.workbench.api.View;
+import org.jboss.reddeer.workbench.core.lookup.WorkbenchPartLookup;
+import org.jboss.reddeer.workbench.core.lookup.WorkbenchPartRegistry;
+import org.jboss.reddeer.workbench.impl.view.WorkbenchView;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+public class WorkbenchPartRegistryTest {
+
+	private static final String VIEW_ID = "org.jboss.reddeer.workbench.test.ui.views.labelview";
+
+	private static final String VIEW_TITLE = "Workbench Test";
+
+	@Test
+	public void testRegistryTracksOpenedAndClosedView() {
+		WorkbenchPartRegistry registry = WorkbenchPartRegistry.getInstance();
+		assertTrue(registry.isInstalled());
+
+		View view = new WorkbenchView(VIEW_TITLE);
+		view.open();
+		assertEquals(VIEW_TITLE, registry.getActivePartTitle());
+		assertEquals(VIEW_ID, registry.getActivePartReference().getId());
+		assertNotNull(registry.getActivePartControl());
+		assertEquals(1, registry.getPartReferencesById(VIEW_ID).size());
+		assertEquals(1, registry.getPartReferencesByTitle(VIEW_TITLE).size());
+
+		view.close();
+		assertTrue(registry.getPartReferencesById(VIEW_ID).isEmpty());
+	}
+
+	@Test
+	public void testLookupUsesActivatedView() {
+		View view = new WorkbenchView(VIEW_TITLE);
+		view.open();
+		View markersView = new WorkbenchView("Markers");
+		markersView.open();
+		assertFalse(VIEW_TITLE.equals(WorkbenchPartLookup.getInstance().getActiveWorkbenchPartTitle()));
+
+		view.activate();
+		assertEquals(VIEW_TITLE, WorkbenchPartLookup.getInstance().getActiveWorkbenchPartTitle());
+		assertEquals(WorkbenchPartLookup.getInstance().getActiveWorkbenchPartControl(),
+				WorkbenchPartRegistry.getInstance().getActivePartControl());
+
+		view.close();
+		markersView.close();
+	}
+}